@@ -0,0 +1,245 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+import me.BaddCamden.SBPCSpecials.SpecialConfigParser;
+import me.BaddCamden.SBPCSpecials.SpecialDefinition;
+import me.BaddCamden.SBPCSpecials.SpecialIndex;
+
+/**
+ * Deterministic configs, section layouts and player records shared by the benchmarks.
+ *
+ * Every generator takes an explicit seed so runs are comparable across machines
+ * and commits.
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 0x5B9C5L;
+
+    /**
+     * Mobs used for synthetic death triggers and generated kill streams.
+     */
+    static final EntityType[] MOBS = {
+            EntityType.ZOMBIE, EntityType.SKELETON, EntityType.CREEPER, EntityType.SPIDER,
+            EntityType.ENDERMAN, EntityType.COW, EntityType.PIG, EntityType.SHEEP,
+            EntityType.CHICKEN, EntityType.WITCH, EntityType.BLAZE, EntityType.PLAYER
+    };
+
+    private static final int SYNTHETIC_SECTIONS = 40;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Resolve a config by benchmark parameter: {@code bundled}, {@code synthetic-<count>}
+     * or the path of a config.yml on disk.
+     */
+    static YamlConfiguration config(String name) {
+        if ("bundled".equals(name)) {
+            return bundledConfig();
+        }
+        if (name.startsWith("synthetic-")) {
+            return syntheticConfig(Integer.parseInt(name.substring("synthetic-".length())), SEED);
+        }
+        File file = new File(name);
+        if (file.isFile()) {
+            return stripPotionRequirements(YamlConfiguration.loadConfiguration(file));
+        }
+        throw new IllegalArgumentException("Unknown benchmark config: " + name);
+    }
+
+    /**
+     * Parse and index the specials of a config.
+     */
+    static SpecialIndex index(YamlConfiguration config) {
+        List<SpecialDefinition> defs = SpecialConfigParser.parse(
+                config.getConfigurationSection("specials"), BenchmarkServer.logger());
+        return new SpecialIndex(defs);
+    }
+
+    /**
+     * The config.yml shipped in the plugin jar. Potion requirements are dropped
+     * because effect types need a live registry.
+     */
+    static YamlConfiguration bundledConfig() {
+        InputStream in = BenchmarkFixtures.class.getResourceAsStream("/config.yml");
+        if (in == null) {
+            throw new IllegalStateException("config.yml not found on the classpath; build the plugin jar first");
+        }
+        YamlConfiguration config;
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            config = YamlConfiguration.loadConfiguration(reader);
+        } catch (java.io.IOException ex) {
+            throw new IllegalStateException("Could not read bundled config.yml", ex);
+        }
+        return stripPotionRequirements(config);
+    }
+
+    /**
+     * Drop potion requirements, which cannot be parsed without an effect registry.
+     */
+    static YamlConfiguration stripPotionRequirements(YamlConfiguration config) {
+        ConfigurationSection specials = config.getConfigurationSection("specials");
+        if (specials != null) {
+            for (String id : specials.getKeys(false)) {
+                specials.set(id + ".potion-requirement", null);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Generate a config with the same trigger mix as the bundled one, scaled up.
+     * Roughly 45% typed deaths, 10% any-mob deaths, 35% pickups and 10% unlocks.
+     */
+    static YamlConfiguration syntheticConfig(int count, long seed) {
+        Random random = new Random(seed);
+        Material[] items = pickupMaterials();
+        YamlConfiguration config = new YamlConfiguration();
+        ConfigurationSection root = config.createSection("specials");
+
+        for (int i = 0; i < count; i++) {
+            ConfigurationSection sec = root.createSection("special_" + i);
+            ConfigurationSection trig = sec.createSection("trigger");
+            int roll = random.nextInt(100);
+            if (roll < 45) {
+                trig.set("type", "ENTITY_DEATH");
+                trig.set("entity-type", MOBS[random.nextInt(MOBS.length)].name());
+            } else if (roll < 55) {
+                trig.set("type", "ENTITY_DEATH");
+            } else if (roll < 90) {
+                trig.set("type", "ENTITY_PICKUP");
+                trig.set("entity-type", "PLAYER");
+                trig.set("item-type", items[random.nextInt(items.length)].name());
+            } else {
+                trig.set("type", "UNLOCK_ENTRY");
+                trig.set("entry-id", "entry_" + random.nextInt(count));
+            }
+
+            ConfigurationSection section = sec.createSection("section");
+            if (random.nextInt(100) < 15) {
+                section.set("applies-to-all-sections", true);
+            } else {
+                List<String> allowed = new ArrayList<>();
+                int allowedCount = 1 + random.nextInt(3);
+                for (int a = 0; a < allowedCount; a++) {
+                    allowed.add(sectionId(random.nextInt(SYNTHETIC_SECTIONS)));
+                }
+                section.set("allowed-sections", allowed);
+                section.set("require-type", random.nextBoolean() ? "SPECIAL" : null);
+                if (random.nextInt(4) == 0) {
+                    section.set("min-index", random.nextInt(SYNTHETIC_SECTIONS / 2));
+                }
+                if (random.nextInt(4) == 0) {
+                    section.set("max-index", SYNTHETIC_SECTIONS / 2 + random.nextInt(SYNTHETIC_SECTIONS / 2));
+                }
+            }
+
+            sec.set("reward.speed-bonus-percent", random.nextInt(4) * 2.5);
+            sec.set("reward.speed-bonus-skip-seconds", random.nextInt(3) * 30);
+            sec.set("reward.session-time-skip-seconds", random.nextInt(5) == 0 ? 600 : 0);
+            sec.set("scope.once-per-player", true);
+            sec.set("scope.once-per-server", random.nextInt(20) == 0);
+            sec.set("messages.player", "&aSpecial " + i + " applied.");
+            sec.set("messages.broadcast", "");
+        }
+        return config;
+    }
+
+    /**
+     * @return distinct section ids referenced by the specials, in first-seen order.
+     */
+    static List<String> sectionIds(SpecialIndex index) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (SpecialDefinition def : index.getSpecialsById().values()) {
+            if (def.getSectionCondition() != null) {
+                for (String id : def.getSectionCondition().getAllowedSections()) {
+                    ids.add(id.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            ids.add(sectionId(0));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Place players in sections referenced by the config, with a share in unrelated sections.
+     */
+    static UUID[] assignPlayers(StubSbpcBridge sbpc, List<String> sectionIds, int players, Random random) {
+        UUID[] ids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            if (random.nextInt(10) == 0) {
+                sbpc.assign(ids[i], "unrelated_" + random.nextInt(8), "NORMAL", sectionIds.size() + random.nextInt(8));
+            } else {
+                int idx = random.nextInt(sectionIds.size());
+                sbpc.assign(ids[i], sectionIds.get(idx), random.nextInt(5) == 0 ? "NORMAL" : "SPECIAL", idx);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Generate a player record with the bonus, completion and unique-kill spread seen on live servers:
+     * most players hold a handful of specials, a long tail holds dozens.
+     */
+    static PlayerSpecialData randomPlayer(Random random, List<String> specialIds) {
+        PlayerSpecialData data = new PlayerSpecialData();
+        int held = (int) Math.min(specialIds.size(), Math.round(Math.abs(random.nextGaussian()) * 12));
+        for (int i = 0; i < held; i++) {
+            String id = specialIds.get(random.nextInt(specialIds.size()));
+            data.markCompleted(id);
+            if (random.nextInt(10) < 7) {
+                data.markApplied(id);
+                data.addOrUpdateBonus(id, random.nextInt(4) * 2.5, random.nextInt(3) * 30);
+            }
+        }
+        if (random.nextInt(20) == 0) {
+            Set<UUID> victims = new HashSet<>();
+            int kills = 1 + random.nextInt(5);
+            for (int k = 0; k < kills; k++) {
+                victims.add(new UUID(random.nextLong(), random.nextLong()));
+            }
+            data.setUniqueKills("massacre_unique_kills", victims);
+        }
+        return data;
+    }
+
+    /**
+     * Materials pickup specials are generated for; legacy and wall/potted block variants are excluded.
+     */
+    static Material[] pickupMaterials() {
+        List<Material> list = new ArrayList<>();
+        for (Material material : Material.values()) {
+            String name = material.name();
+            if (!name.startsWith("LEGACY_") && !name.endsWith("_WALL_SIGN") && !name.startsWith("POTTED_")) {
+                list.add(material);
+            }
+        }
+        return list.toArray(new Material[0]);
+    }
+
+    private static String sectionId(int i) {
+        return "section_" + i;
+    }
+}
@@ -0,0 +1,83 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.entity.Entity;
+
+import me.BaddCamden.SBPCSpecials.PlayerLookup;
+import me.BaddCamden.SBPCSpecials.SpecialDefinition;
+import me.BaddCamden.SBPCSpecials.SpecialsOutput;
+import me.BaddCamden.SBPCSpecials.SpecialsPlayer;
+import me.BaddCamden.SBPCSpecials.SpecialsScheduler;
+
+/**
+ * Host side of the engine outside a server: player lookup over simulated
+ * players, counted output, and a scheduler that never runs its tasks.
+ */
+final class BenchmarkHost implements PlayerLookup, SpecialsOutput, SpecialsScheduler {
+
+    private final Map<UUID, SimulatedPlayer> online = new HashMap<>();
+    private long specialMessages;
+    private long broadcasts;
+    private long applied;
+
+    /**
+     * Bring a player online.
+     */
+    SimulatedPlayer join(UUID id) {
+        return online.computeIfAbsent(id, k -> new SimulatedPlayer(k, "sim-" + k.toString().substring(0, 8)));
+    }
+
+    /**
+     * Take a player offline.
+     */
+    void quit(UUID id) {
+        online.remove(id);
+    }
+
+    @Override
+    public SpecialsPlayer getPlayer(UUID playerId) {
+        return online.get(playerId);
+    }
+
+    @Override
+    public void sendSpecialMessage(SpecialsPlayer player, String message) {
+        specialMessages++;
+    }
+
+    @Override
+    public void broadcast(String specialId, String message) {
+        broadcasts++;
+    }
+
+    @Override
+    public void specialApplied(SpecialDefinition def, SpecialsPlayer player, Entity contextEntity) {
+        applied++;
+    }
+
+    @Override
+    public Task runLater(Runnable task, long delayTicks) {
+        return () -> { };
+    }
+
+    @Override
+    public Task runRepeating(Runnable task, long delayTicks, long periodTicks) {
+        return () -> { };
+    }
+
+    /**
+     * @return specials applied since creation.
+     */
+    long getApplied() {
+        return applied;
+    }
+
+    /**
+     * @return special messages and broadcasts produced since creation.
+     */
+    long getMessages() {
+        return specialMessages + broadcasts;
+    }
+}
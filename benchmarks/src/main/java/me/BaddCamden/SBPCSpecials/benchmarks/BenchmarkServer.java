@@ -0,0 +1,172 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.Tag;
+
+/**
+ * Minimal {@link Server} stand-in so Bukkit statics (tags, registries) resolve
+ * outside a running server.
+ *
+ * Tags are approximated from material names, which is close enough for the
+ * classification benchmarks; registries are empty.
+ */
+final class BenchmarkServer {
+
+    private static final Logger LOGGER = Logger.getLogger("SBPCSpecials-bench");
+
+    static {
+        // Section mismatch diagnostics are logged at INFO for every denied candidate.
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    private BenchmarkServer() {
+    }
+
+    /**
+     * Install the stub server once per JVM. Safe to call from every benchmark state.
+     */
+    static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Server server = (Server) Proxy.newProxyInstance(
+                BenchmarkServer.class.getClassLoader(),
+                new Class<?>[]{Server.class},
+                BenchmarkServer::invokeServer);
+        Bukkit.setServer(server);
+    }
+
+    /**
+     * @return logger shared by fixtures that parse configs.
+     */
+    static Logger logger() {
+        return LOGGER;
+    }
+
+    private static Object invokeServer(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getLogger":
+                return LOGGER;
+            case "getName":
+                return "SBPCSpecials-bench";
+            case "getVersion":
+            case "getBukkitVersion":
+                return "bench";
+            case "getTag":
+                return tag((NamespacedKey) args[1]);
+            case "getRegistry":
+                return emptyRegistry();
+            case "isPrimaryThread":
+                return true;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "BenchmarkServer";
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    private static Tag<Material> tag(NamespacedKey key) {
+        Set<Material> values = EnumSet.noneOf(Material.class);
+        String name = key.getKey().toUpperCase(Locale.ROOT);
+        for (Material material : Material.values()) {
+            if (matches(name, material.name())) {
+                values.add(material);
+            }
+        }
+        Set<Material> frozen = Collections.unmodifiableSet(values);
+
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "isTagged" -> frozen.contains(args[0]);
+            case "getValues" -> frozen;
+            case "getKey" -> key;
+            case "hashCode" -> key.hashCode();
+            case "equals" -> proxy == args[0];
+            case "toString" -> "Tag[" + key + "]";
+            default -> defaultValue(method.getReturnType());
+        };
+        @SuppressWarnings("unchecked")
+        Tag<Material> tag = (Tag<Material>) Proxy.newProxyInstance(
+                BenchmarkServer.class.getClassLoader(), new Class<?>[]{Tag.class}, handler);
+        return tag;
+    }
+
+    /**
+     * Approximate the vanilla tag contents from material names.
+     */
+    private static boolean matches(String tag, String material) {
+        return switch (tag) {
+            case "LOGS" -> material.endsWith("_LOG") || material.endsWith("_WOOD")
+                    || material.endsWith("_STEM") || material.endsWith("_HYPHAE");
+            case "CROPS" -> material.equals("WHEAT") || material.equals("CARROTS") || material.equals("POTATOES")
+                    || material.equals("BEETROOTS") || material.endsWith("_STEM") || material.equals("TORCHFLOWER_CROP")
+                    || material.equals("PITCHER_CROP");
+            case "FLOWERS", "SMALL_FLOWERS" -> material.endsWith("_TULIP") || material.equals("DANDELION")
+                    || material.equals("POPPY") || material.equals("CORNFLOWER") || material.equals("ALLIUM");
+            case "SAPLINGS" -> material.endsWith("_SAPLING") || material.endsWith("_PROPAGULE");
+            case "CAVE_VINES" -> material.startsWith("CAVE_VINES");
+            default -> false;
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Registry emptyRegistry() {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "iterator" -> Collections.emptyIterator();
+            case "stream" -> Stream.empty();
+            case "getOrThrow" -> throw new IllegalArgumentException("No registry entries outside a server");
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "EmptyRegistry";
+            default -> defaultValue(method.getReturnType());
+        };
+        return (Registry) Proxy.newProxyInstance(
+                BenchmarkServer.class.getClassLoader(), new Class<?>[]{Registry.class}, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,122 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.BaddCamden.SBPCSpecials.SpecialDefinition;
+import me.BaddCamden.SBPCSpecials.SpecialIndex;
+import me.BaddCamden.SBPCSpecials.SpecialsClock;
+import me.BaddCamden.SBPCSpecials.SpecialsEngine;
+import me.BaddCamden.SBPCSpecials.SpecialsMetrics;
+
+/**
+ * Full dispatch through {@link SpecialsEngine}: pending-special sweeps, scope and
+ * section checks, reward application, metrics and message output.
+ *
+ * Rewards are applied, so player state saturates during warmup and the measured
+ * phase reflects a long-running server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineDispatchBenchmark {
+
+    private static final int EVENTS = 4096;
+
+    /**
+     * {@code bundled} is the shipped config.yml; {@code synthetic-N} generates N specials.
+     */
+    @Param({"bundled", "synthetic-5000"})
+    public String config;
+
+    @Param({"1000"})
+    public int players;
+
+    private SpecialsEngine engine;
+    private UUID[] playerIds;
+
+    private int[] eventPlayers;
+    private EntityType[] deathTypes;
+    private Material[] pickupTypes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        BenchmarkServer.install();
+        Random random = new Random(BenchmarkFixtures.SEED);
+
+        SpecialIndex index = BenchmarkFixtures.index(BenchmarkFixtures.config(config));
+        StubSbpcBridge sbpc = new StubSbpcBridge();
+        playerIds = BenchmarkFixtures.assignPlayers(sbpc, BenchmarkFixtures.sectionIds(index), players, random);
+
+        BenchmarkHost host = new BenchmarkHost();
+        engine = new SpecialsEngine(sbpc, host, host, SpecialsClock.SYSTEM, host,
+                new SpecialsMetrics(), BenchmarkServer.logger());
+        engine.setSpecials(index);
+
+        List<String> specialIds = new ArrayList<>(index.getSpecialsById().keySet());
+        for (UUID id : playerIds) {
+            host.join(id);
+            engine.getPlayerData().put(id, BenchmarkFixtures.randomPlayer(random, specialIds));
+            engine.handleJoin(id);
+        }
+
+        List<Material> pickupHits = new ArrayList<>();
+        for (SpecialDefinition def : index.getSpecialsById().values()) {
+            if (def.getTrigger().getItemType() != null) {
+                pickupHits.add(def.getTrigger().getItemType());
+            }
+        }
+        Material[] allMaterials = BenchmarkFixtures.pickupMaterials();
+
+        eventPlayers = new int[EVENTS];
+        deathTypes = new EntityType[EVENTS];
+        pickupTypes = new Material[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            eventPlayers[i] = random.nextInt(playerIds.length);
+            deathTypes[i] = BenchmarkFixtures.MOBS[random.nextInt(BenchmarkFixtures.MOBS.length)];
+            pickupTypes[i] = !pickupHits.isEmpty() && random.nextBoolean()
+                    ? pickupHits.get(random.nextInt(pickupHits.size()))
+                    : allMaterials[random.nextInt(allMaterials.length)];
+        }
+    }
+
+    @Benchmark
+    public void entityDeath() {
+        int i = nextEvent();
+        EntityType type = deathTypes[i];
+        engine.handleEntityDeath(playerIds[eventPlayers[i]], type, null, null);
+    }
+
+    @Benchmark
+    public void entityPickup() {
+        int i = nextEvent();
+        engine.handleItemPickup(playerIds[eventPlayers[i]], pickupTypes[i], null);
+    }
+
+    private int nextEvent() {
+        int i = cursor;
+        cursor = (cursor + 1) & (EVENTS - 1);
+        return i;
+    }
+}
@@ -0,0 +1,294 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import me.BaddCamden.SBPCSpecials.EventLog;
+import me.BaddCamden.SBPCSpecials.EventLogReader;
+import me.BaddCamden.SBPCSpecials.PlayerDataStore;
+import me.BaddCamden.SBPCSpecials.SectionProgressTracker;
+import me.BaddCamden.SBPCSpecials.SpecialIndex;
+import me.BaddCamden.SBPCSpecials.SpecialsEngine;
+import me.BaddCamden.SBPCSpecials.SpecialsMetrics;
+
+/**
+ * Deterministic replay of an event log written by {@code /specials record}.
+ *
+ * Every record restores the player's recorded SBPC section in a stub bridge,
+ * advances a virtual clock to the record's timestamp and is fed through a real
+ * {@link SpecialsEngine}, so two runs over the same log differ only by config
+ * or engine version.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar me.BaddCamden.SBPCSpecials.benchmarks.EventReplay \
+ *     --log=events-20260101-120000.sbrec --config=plugins/SBPCSpecials/config.yml \
+ *     [--players-folder=plugins/SBPCSpecials/Players] [--slowest=10]
+ * </pre>
+ *
+ * Potion changes are replayed without an effect type (effect registries need a
+ * server), and potion requirements are dropped from the config for the same reason.
+ */
+public final class EventReplay {
+
+    private static final String[] TYPE_NAMES = {
+            "?", "join", "quit", "entity_death", "pickup", "unlock", "potion_change", "block_activity"
+    };
+
+    private final File log;
+    private final String configName;
+    private final File playersFolder;
+    private final int slowestCount;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private VirtualServerClock clock;
+    private StubSbpcBridge sbpc;
+    private BenchmarkHost host;
+    private SpecialsEngine engine;
+    private SectionProgressTracker sectionProgress;
+
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final PriorityQueue<SlowEvent> slowest = new PriorityQueue<>(Comparator.comparingLong(e -> e.nanos));
+    private final Map<Long, Long> nanosPerSecond = new HashMap<>();
+    private long skipped;
+
+    private EventReplay(Map<String, String> options) {
+        String logPath = options.get("log");
+        if (logPath == null) {
+            throw new IllegalArgumentException("--log=<file> is required");
+        }
+        this.log = new File(logPath);
+        this.configName = options.getOrDefault("config", "bundled");
+        this.playersFolder = options.containsKey("players-folder") ? new File(options.get("players-folder")) : null;
+        this.slowestCount = Integer.parseInt(options.getOrDefault("slowest", "10"));
+        for (int type = 1; type < TYPE_NAMES.length; type++) {
+            recorders.put(TYPE_NAMES[type], new LatencyRecorder(1 << 12));
+        }
+    }
+
+    /**
+     * Entry point; options are {@code --key=value} pairs.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        new EventReplay(options).run();
+    }
+
+    private void run() throws IOException {
+        BenchmarkServer.install();
+        SpecialIndex index = BenchmarkFixtures.index(BenchmarkFixtures.config(configName));
+
+        try (EventLogReader reader = new EventLogReader(log)) {
+            long startMillis = reader.getStartMillis();
+            clock = new VirtualServerClock(startMillis);
+            sbpc = new StubSbpcBridge();
+            host = new BenchmarkHost();
+            engine = new SpecialsEngine(sbpc, host, host, clock, clock, new SpecialsMetrics(), BenchmarkServer.logger());
+            engine.setSpecials(index);
+            if (playersFolder != null) {
+                engine.getPlayerData().putAll(new PlayerDataStore(playersFolder, BenchmarkServer.logger()).loadAll());
+            }
+            engine.start();
+            sectionProgress = new SectionProgressTracker(sbpc, clock);
+
+            System.out.printf(Locale.ROOT, "Replaying %s against %s (%d specials, %d player records)%n",
+                    log.getName(), configName, index.size(), engine.getPlayerData().size());
+
+            long wallStart = System.nanoTime();
+            long events = 0L;
+            long lastMillis = startMillis;
+            EventLog.Entry entry;
+            while ((entry = reader.next()) != null) {
+                while (clock.currentTimeMillis() < entry.getTimeMillis()) {
+                    clock.tick();
+                }
+                replay(entry, startMillis);
+                lastMillis = entry.getTimeMillis();
+                events++;
+            }
+            long wallNanos = System.nanoTime() - wallStart;
+            report(events, (lastMillis - startMillis) / 1000.0, wallNanos);
+        }
+    }
+
+    private void replay(EventLog.Entry entry, long startMillis) {
+        UUID player = entry.getPlayerId();
+        if (player == null) {
+            skipped++;
+            return;
+        }
+        if (entry.getSectionId() != null) {
+            sbpc.assign(player, entry.getSectionId(), entry.getSectionType(), entry.getSectionIndex());
+        } else {
+            sbpc.unassign(player);
+        }
+        if (entry.getType() != EventLog.TYPE_JOIN && entry.getType() != EventLog.TYPE_QUIT
+                && host.getPlayer(player) == null) {
+            // The player was already online when recording started.
+            host.join(player);
+        }
+
+        Runnable action = action(entry, player);
+        if (action == null) {
+            skipped++;
+            return;
+        }
+
+        long allocStart = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        action.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocStart;
+
+        recorders.get(TYPE_NAMES[entry.getType()]).record(elapsed, allocated);
+        long offsetMillis = entry.getTimeMillis() - startMillis;
+        nanosPerSecond.merge(offsetMillis / 1000L, elapsed, Long::sum);
+        if (slowestCount > 0 && (slowest.size() < slowestCount || elapsed > slowest.peek().nanos)) {
+            slowest.add(new SlowEvent(elapsed, offsetMillis, entry));
+            if (slowest.size() > slowestCount) {
+                slowest.poll();
+            }
+        }
+    }
+
+    /**
+     * @return the engine call for a record, or null if it cannot be replayed here
+     */
+    private Runnable action(EventLog.Entry entry, UUID player) {
+        switch (entry.getType()) {
+            case EventLog.TYPE_JOIN:
+                return () -> {
+                    host.join(player);
+                    engine.handleJoin(player);
+                };
+            case EventLog.TYPE_QUIT:
+                return () -> {
+                    engine.handleQuit(player);
+                    host.quit(player);
+                };
+            case EventLog.TYPE_ENTITY_DEATH: {
+                EntityType type = entityType(entry.getValue());
+                UUID victim = entry.getOtherId();
+                return type == null ? null : () -> engine.handleEntityDeath(player, type, null, victim);
+            }
+            case EventLog.TYPE_PICKUP: {
+                Material material = entry.getValue() != null ? Material.matchMaterial(entry.getValue()) : null;
+                return material == null ? null : () -> engine.handleItemPickup(player, material, null);
+            }
+            case EventLog.TYPE_UNLOCK:
+                return entry.getValue() == null ? null : () -> engine.handleUnlock(player, entry.getValue());
+            case EventLog.TYPE_POTION:
+                return () -> engine.handlePotionEffectChange(player, null);
+            case EventLog.TYPE_BLOCK:
+                return () -> {
+                    int flags = entry.getFlags();
+                    if ((flags & EventLog.BLOCK_HOUSING) != 0) {
+                        sectionProgress.handleHousingActivity(player, entry.getOtherId(),
+                                entry.getX(), entry.getY(), entry.getZ());
+                    }
+                    if ((flags & EventLog.BLOCK_FARMING) != 0 && (flags & EventLog.BLOCK_QUALIFYING_PLANT) != 0
+                            && sectionProgress.isFarming(player)) {
+                        sectionProgress.handleFarmingHarvest(player);
+                    }
+                };
+            default:
+                return null;
+        }
+    }
+
+    private static EntityType entityType(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return EntityType.valueOf(name);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void report(long events, double logSeconds, long wallNanos) {
+        System.out.println();
+        LatencyRecorder.printTable(System.out, recorders);
+        if (skipped > 0) {
+            System.out.println("Skipped " + skipped + " records that cannot be replayed against this build.");
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%d events over %.1f s of recorded time, replayed in %.2f s%n",
+                events, logSeconds, wallNanos / 1e9);
+
+        SpecialsMetrics metrics = engine.getMetrics();
+        StringBuilder outcomes = new StringBuilder("Outcomes:");
+        for (SpecialsMetrics.Outcome outcome : SpecialsMetrics.Outcome.values()) {
+            outcomes.append(' ').append(outcome.name().toLowerCase(Locale.ROOT)).append('=')
+                    .append(metrics.getOutcomeTotal(outcome));
+        }
+        System.out.println(outcomes);
+        System.out.printf(Locale.ROOT, "Specials applied: %d, SBPC time skips: %d, section completions: %d%n",
+                host.getApplied(), sbpc.getTimeSkips(), sbpc.getCompletions());
+
+        List<Map.Entry<Long, Long>> busiest = new ArrayList<>(nanosPerSecond.entrySet());
+        busiest.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        if (!busiest.isEmpty()) {
+            System.out.println();
+            System.out.println("Busiest seconds (engine time, offset from recording start):");
+            for (Map.Entry<Long, Long> second : busiest.subList(0, Math.min(5, busiest.size()))) {
+                System.out.printf(Locale.ROOT, "  +%ds: %.3f ms%n", second.getKey(), second.getValue() / 1e6);
+            }
+        }
+
+        if (!slowest.isEmpty()) {
+            List<SlowEvent> slow = new ArrayList<>(slowest);
+            slow.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+            System.out.println();
+            System.out.println("Slowest events:");
+            for (SlowEvent event : slow) {
+                EventLog.Entry entry = event.entry;
+                System.out.printf(Locale.ROOT, "  %8.1f us  +%.3fs  %-14s %s%s%s%n",
+                        event.nanos / 1000.0,
+                        event.offsetMillis / 1000.0,
+                        TYPE_NAMES[entry.getType()],
+                        entry.getPlayerId(),
+                        entry.getValue() != null ? " " + entry.getValue() : "",
+                        entry.getSectionId() != null ? " in " + entry.getSectionId() : "");
+            }
+        }
+    }
+
+    /**
+     * A replayed record with its measured latency.
+     */
+    private static final class SlowEvent {
+        private final long nanos;
+        private final long offsetMillis;
+        private final EventLog.Entry entry;
+
+        SlowEvent(long nanos, long offsetMillis, EventLog.Entry entry) {
+            this.nanos = nanos;
+            this.offsetMillis = offsetMillis;
+            this.entry = entry;
+        }
+    }
+}
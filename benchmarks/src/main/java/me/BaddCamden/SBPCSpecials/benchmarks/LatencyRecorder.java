@@ -0,0 +1,104 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Exact latency samples with allocated-bytes totals for one event kind.
+ *
+ * Samples are kept in a growable array so percentiles are exact rather than
+ * bucketed like the plugin's {@code LatencyHistogram}.
+ */
+final class LatencyRecorder {
+
+    private long[] samples;
+    private int count;
+    private long totalNanos;
+    private long allocatedBytes;
+
+    LatencyRecorder(int expectedSamples) {
+        this.samples = new long[Math.max(16, expectedSamples)];
+    }
+
+    /**
+     * Record one event.
+     */
+    void record(long nanos, long allocated) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        totalNanos += nanos;
+        allocatedBytes += Math.max(0L, allocated);
+    }
+
+    /**
+     * Drop all samples, keeping capacity. Used after warmup.
+     */
+    void reset() {
+        count = 0;
+        totalNanos = 0L;
+        allocatedBytes = 0L;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getTotalNanos() {
+        return totalNanos;
+    }
+
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return sorted copy of the samples for percentile queries.
+     */
+    long[] sorted() {
+        long[] copy = Arrays.copyOf(samples, count);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * @param sorted     output of {@link #sorted()}
+     * @param percentile value in [0, 100]
+     * @return the sample at the percentile, or 0 without samples
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Print count, mean, p50/p99/p99.9/max in microseconds and bytes allocated per event
+     * for every recorder with samples, in map order.
+     */
+    static void printTable(PrintStream out, Map<String, LatencyRecorder> recorders) {
+        out.printf(Locale.ROOT, "%-16s %10s %9s %9s %9s %9s %9s %10s%n",
+                "event", "count", "mean us", "p50 us", "p99 us", "p99.9 us", "max us", "alloc B/ev");
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            if (recorder.getCount() == 0) {
+                continue;
+            }
+            long[] sorted = recorder.sorted();
+            out.printf(Locale.ROOT, "%-16s %10d %9.2f %9.2f %9.2f %9.2f %9.2f %10d%n",
+                    entry.getKey(),
+                    recorder.getCount(),
+                    recorder.getTotalNanos() / 1000.0 / recorder.getCount(),
+                    percentile(sorted, 50) / 1000.0,
+                    percentile(sorted, 99) / 1000.0,
+                    percentile(sorted, 99.9) / 1000.0,
+                    sorted[sorted.length - 1] / 1000.0,
+                    recorder.getAllocatedBytes() / recorder.getCount());
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import me.BaddCamden.SBPCSpecials.SectionMatchContext;
+import me.BaddCamden.SBPCSpecials.SectionProgressTracker;
+import me.BaddCamden.SBPCSpecials.SpecialDefinition;
+import me.BaddCamden.SBPCSpecials.SpecialIndex;
+import me.BaddCamden.SBPCSpecials.SpecialsEngine;
+import me.BaddCamden.SBPCSpecials.SpecialsMetrics;
+import me.BaddCamden.SBPCSpecials.TriggerType;
+
+/**
+ * Headless load simulation: N concurrent players on a virtual 20 TPS clock
+ * generating kills, pickups, potion changes, block activity, unlocks, section
+ * advances and join/quit churn against a real {@link SpecialsEngine}.
+ *
+ * Reports per-event latency percentiles, allocation per event, per-tick engine
+ * cost against the 50ms budget, throughput and heap usage.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar me.BaddCamden.SBPCSpecials.benchmarks.LoadSimulator \
+ *     --players=1000 --specials=2000 --minutes=10
+ * </pre>
+ *
+ * Options: {@code --players}, {@code --specials} (synthetic config size),
+ * {@code --config} ({@code bundled} or {@code synthetic-N}, overrides --specials),
+ * {@code --minutes}, {@code --warmup-minutes}, {@code --seed},
+ * {@code --session-minutes}, and {@code --rate.<event>=<per player per minute>}
+ * for any event kind below.
+ */
+public final class LoadSimulator {
+
+    private static final int TICKS_PER_MINUTE = 1200;
+    private static final double TICK_BUDGET_NANOS = 50_000_000.0;
+    private static final UUID WORLD_ID = new UUID(0L, 1L);
+
+    /**
+     * Simulated event kinds with default rates per player per minute.
+     */
+    enum EventKind {
+        MOB_KILL(3.0),
+        PVP_KILL(0.05),
+        PICKUP(25.0),
+        POTION_CHANGE(0.5),
+        BLOCK_ACTIVITY(40.0),
+        UNLOCK(1.0),
+        SECTION_ADVANCE(0.1),
+        JOIN(0.0),
+        QUIT(0.0),
+        SCHEDULED(0.0);
+
+        private final double defaultRate;
+
+        EventKind(double defaultRate) {
+            this.defaultRate = defaultRate;
+        }
+    }
+
+    private final int players;
+    private final String configName;
+    private final int minutes;
+    private final int warmupMinutes;
+    private final double sessionMinutes;
+    private final Map<EventKind, Double> rates = new EnumMap<>(EventKind.class);
+    private final Random random;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final Map<EventKind, LatencyRecorder> recorders = new EnumMap<>(EventKind.class);
+    private LatencyRecorder tickRecorder;
+
+    private VirtualServerClock clock;
+    private StubSbpcBridge sbpc;
+    private BenchmarkHost host;
+    private SpecialsEngine engine;
+    private SectionProgressTracker sectionProgress;
+
+    private List<String> sections;
+    private final List<UUID> online = new ArrayList<>();
+    private final List<UUID> offline = new ArrayList<>();
+    private List<Material> pickupHits;
+    private Material[] allMaterials;
+    private List<String> unlockEntries;
+    private long tickNanos;
+    private long peakHeapBytes;
+
+    private LoadSimulator(Map<String, String> options) {
+        this.players = Integer.parseInt(options.getOrDefault("players", "1000"));
+        this.configName = options.getOrDefault("config", "synthetic-" + options.getOrDefault("specials", "2000"));
+        this.minutes = Integer.parseInt(options.getOrDefault("minutes", "10"));
+        this.warmupMinutes = Integer.parseInt(options.getOrDefault("warmup-minutes", "1"));
+        this.sessionMinutes = Double.parseDouble(options.getOrDefault("session-minutes", "30"));
+        this.random = new Random(Long.parseLong(options.getOrDefault("seed", Long.toString(BenchmarkFixtures.SEED))));
+        for (EventKind kind : EventKind.values()) {
+            String key = "rate." + kind.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            rates.put(kind, Double.parseDouble(options.getOrDefault(key, Double.toString(kind.defaultRate))));
+        }
+    }
+
+    /**
+     * Entry point; options are {@code --key=value} pairs.
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        new LoadSimulator(options).run();
+    }
+
+    private void run() {
+        BenchmarkServer.install();
+        setUp();
+
+        System.out.printf(Locale.ROOT, "SBPCSpecials load simulation: %d players, config %s (%d specials), %d min (+%d warmup)%n",
+                players, configName, engine.getSpecials().size(), minutes, warmupMinutes);
+
+        simulate(warmupMinutes);
+        for (LatencyRecorder recorder : recorders.values()) {
+            recorder.reset();
+        }
+        tickRecorder.reset();
+        System.gc();
+        peakHeapBytes = 0L;
+
+        long gcCountStart = gcCount();
+        long gcTimeStart = gcTime();
+        long wallStart = System.nanoTime();
+        simulate(minutes);
+        long wallNanos = System.nanoTime() - wallStart;
+
+        report(wallNanos, gcCount() - gcCountStart, gcTime() - gcTimeStart);
+    }
+
+    private void setUp() {
+        SpecialIndex index = BenchmarkFixtures.index(BenchmarkFixtures.config(configName));
+
+        sections = new ArrayList<>(BenchmarkFixtures.sectionIds(index));
+        sections.add("housing");
+        sections.add("farming");
+
+        clock = new VirtualServerClock(0L);
+        sbpc = new StubSbpcBridge();
+        host = new BenchmarkHost();
+        engine = new SpecialsEngine(sbpc, host, host, clock, clock, new SpecialsMetrics(), BenchmarkServer.logger());
+        engine.setSpecials(index);
+        engine.start();
+        sectionProgress = new SectionProgressTracker(sbpc, clock);
+
+        pickupHits = new ArrayList<>();
+        unlockEntries = new ArrayList<>();
+        for (SpecialDefinition def : index.getSpecialsById().values()) {
+            if (def.getTrigger().getItemType() != null) {
+                pickupHits.add(def.getTrigger().getItemType());
+            }
+            if (def.getTrigger().getType() == TriggerType.UNLOCK_ENTRY && def.getTrigger().getEntryId() != null) {
+                unlockEntries.add(def.getTrigger().getEntryId());
+            }
+        }
+        allMaterials = BenchmarkFixtures.pickupMaterials();
+
+        // An established server: three times the concurrent count have played before.
+        List<String> specialIds = new ArrayList<>(index.getSpecialsById().keySet());
+        UUID[] known = BenchmarkFixtures.assignPlayers(sbpc, sections, players * 3, random);
+        for (UUID id : known) {
+            engine.getPlayerData().put(id, BenchmarkFixtures.randomPlayer(random, specialIds));
+            offline.add(id);
+        }
+
+        int expected = (int) Math.min(Integer.MAX_VALUE / 2, (long) players * minutes * 80L);
+        for (EventKind kind : EventKind.values()) {
+            recorders.put(kind, new LatencyRecorder(expected / EventKind.values().length));
+        }
+        tickRecorder = new LatencyRecorder(minutes * TICKS_PER_MINUTE);
+
+        for (int i = 0; i < players; i++) {
+            joinOne();
+        }
+    }
+
+    private void simulate(int simulatedMinutes) {
+        double quitRate = sessionMinutes > 0 ? 1.0 / sessionMinutes : 0.0;
+        for (int minute = 0; minute < simulatedMinutes; minute++) {
+            for (int t = 0; t < TICKS_PER_MINUTE; t++) {
+                tickNanos = 0L;
+                measure(EventKind.SCHEDULED, clock::tick);
+
+                for (EventKind kind : EventKind.values()) {
+                    double rate = rates.get(kind);
+                    if (rate <= 0.0) {
+                        continue;
+                    }
+                    int events = poisson(online.size() * rate / TICKS_PER_MINUTE);
+                    for (int e = 0; e < events; e++) {
+                        dispatch(kind);
+                    }
+                }
+
+                int quits = poisson(online.size() * quitRate / TICKS_PER_MINUTE);
+                for (int q = 0; q < quits; q++) {
+                    quitOne();
+                    joinOne();
+                }
+                tickRecorder.record(tickNanos, 0L);
+            }
+            peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+        }
+    }
+
+    private void dispatch(EventKind kind) {
+        UUID player = online.get(random.nextInt(online.size()));
+        switch (kind) {
+            case MOB_KILL -> {
+                EntityType type = BenchmarkFixtures.MOBS[random.nextInt(BenchmarkFixtures.MOBS.length - 1)];
+                measure(kind, () -> engine.handleEntityDeath(player, type, null, null));
+            }
+            case PVP_KILL -> {
+                UUID victim = online.get(random.nextInt(online.size()));
+                measure(kind, () -> engine.handleEntityDeath(player, EntityType.PLAYER, null, victim));
+            }
+            case PICKUP -> {
+                Material material = !pickupHits.isEmpty() && random.nextBoolean()
+                        ? pickupHits.get(random.nextInt(pickupHits.size()))
+                        : allMaterials[random.nextInt(allMaterials.length)];
+                measure(kind, () -> engine.handleItemPickup(player, material, null));
+            }
+            // Effect types need a live registry; a null type runs the full pending-potion sweep.
+            case POTION_CHANGE -> measure(kind, () -> engine.handlePotionEffectChange(player, null));
+            case BLOCK_ACTIVITY -> {
+                int x = random.nextInt(64);
+                int y = 60 + random.nextInt(16);
+                int z = random.nextInt(64);
+                boolean harvest = random.nextInt(10) < 6 && random.nextBoolean();
+                measure(kind, () -> {
+                    sectionProgress.handleHousingActivity(player, WORLD_ID, x, y, z);
+                    if (harvest && sectionProgress.isFarming(player)) {
+                        sectionProgress.handleFarmingHarvest(player);
+                    }
+                });
+            }
+            case UNLOCK -> {
+                String entry = !unlockEntries.isEmpty() && random.nextBoolean()
+                        ? unlockEntries.get(random.nextInt(unlockEntries.size()))
+                        : "entry_miss_" + random.nextInt(1000);
+                measure(kind, () -> engine.handleUnlock(player, entry));
+            }
+            case SECTION_ADVANCE -> advanceSection(player);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Move a player to the next section in order, wrapping so the section mix stays stable.
+     */
+    private void advanceSection(UUID player) {
+        SectionMatchContext current = sbpc.getCurrentSection(player);
+        int index = current != null && current.getSectionIndex() != null ? current.getSectionIndex() : -1;
+        int next = (index + 1) % sections.size();
+        sbpc.assign(player, sections.get(next), random.nextInt(5) == 0 ? "NORMAL" : "SPECIAL", next);
+    }
+
+    private void joinOne() {
+        UUID id;
+        if (!offline.isEmpty() && random.nextInt(4) != 0) {
+            id = removeRandom(offline);
+        } else {
+            id = new UUID(random.nextLong(), random.nextLong());
+            sbpc.assign(id, sections.get(0), "SPECIAL", 0);
+        }
+        online.add(id);
+        host.join(id);
+        measure(EventKind.JOIN, () -> engine.handleJoin(id));
+    }
+
+    private void quitOne() {
+        UUID id = removeRandom(online);
+        measure(EventKind.QUIT, () -> engine.handleQuit(id));
+        host.quit(id);
+        offline.add(id);
+    }
+
+    private UUID removeRandom(List<UUID> list) {
+        int i = random.nextInt(list.size());
+        UUID id = list.get(i);
+        UUID last = list.remove(list.size() - 1);
+        if (i < list.size()) {
+            list.set(i, last);
+        }
+        return id;
+    }
+
+    private void measure(EventKind kind, Runnable action) {
+        long allocStart = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        action.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocStart;
+        recorders.get(kind).record(elapsed, allocated);
+        tickNanos += elapsed;
+    }
+
+    /**
+     * Knuth's method for small means, normal approximation above 30.
+     */
+    private int poisson(double mean) {
+        if (mean <= 0.0) {
+            return 0;
+        }
+        if (mean > 30.0) {
+            return Math.max(0, (int) Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private void report(long wallNanos, long gcCount, long gcMillis) {
+        double virtualSeconds = minutes * 60.0;
+        long totalEvents = 0L;
+        long totalNanos = 0L;
+        long totalAllocated = 0L;
+
+        Map<String, LatencyRecorder> table = new LinkedHashMap<>();
+        for (EventKind kind : EventKind.values()) {
+            LatencyRecorder recorder = recorders.get(kind);
+            table.put(kind.name().toLowerCase(Locale.ROOT), recorder);
+            if (kind != EventKind.SCHEDULED) {
+                totalEvents += recorder.getCount();
+            }
+            totalNanos += recorder.getTotalNanos();
+            totalAllocated += recorder.getAllocatedBytes();
+        }
+        System.out.println();
+        LatencyRecorder.printTable(System.out, table);
+
+        long[] ticks = tickRecorder.sorted();
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Engine time per tick: p50 %.3f ms, p99 %.3f ms, max %.3f ms (p99 = %.1f%% of the 50 ms budget)%n",
+                LatencyRecorder.percentile(ticks, 50) / 1e6,
+                LatencyRecorder.percentile(ticks, 99) / 1e6,
+                ticks.length > 0 ? ticks[ticks.length - 1] / 1e6 : 0.0,
+                LatencyRecorder.percentile(ticks, 99) / TICK_BUDGET_NANOS * 100.0);
+        System.out.printf(Locale.ROOT, "Offered load: %.1f events/s of server time%n", totalEvents / virtualSeconds);
+        System.out.printf(Locale.ROOT, "Engine throughput: %.0f events/s of engine time (%.1fx real time over %.1f s wall)%n",
+                totalNanos > 0 ? totalEvents / (totalNanos / 1e9) : 0.0,
+                virtualSeconds / (wallNanos / 1e9),
+                wallNanos / 1e9);
+        System.out.printf(Locale.ROOT, "Allocation: %.2f MB/s of server time, %.1f MB total%n",
+                totalAllocated / virtualSeconds / (1024.0 * 1024.0), totalAllocated / (1024.0 * 1024.0));
+        System.out.printf(Locale.ROOT, "GC: %d collections, %d ms%n", gcCount, gcMillis);
+
+        System.gc();
+        System.out.printf(Locale.ROOT, "Heap: peak %.1f MB, after GC %.1f MB, %d player records loaded%n",
+                peakHeapBytes / (1024.0 * 1024.0),
+                memory.getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0),
+                engine.getPlayerData().size());
+        System.out.printf(Locale.ROOT, "Outcome: %d specials applied, %d SBPC time skips, %d section completions%n",
+                host.getApplied(), sbpc.getTimeSkips(), sbpc.getCompletions());
+    }
+
+    private static long gcCount() {
+        long total = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0L, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcTime() {
+        long total = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0L, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
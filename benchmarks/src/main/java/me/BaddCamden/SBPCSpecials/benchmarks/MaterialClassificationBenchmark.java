@@ -0,0 +1,64 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import me.BaddCamden.SBPCSpecials.SectionMaterials;
+
+/**
+ * Housing/farming material classification used by SectionProgressListener,
+ * cycling through every material so the worst-case string scans are included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterialClassificationBenchmark {
+
+    private Material[] materials;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        BenchmarkServer.install();
+        materials = BenchmarkFixtures.pickupMaterials();
+    }
+
+    private Material next() {
+        Material material = materials[cursor];
+        cursor = (cursor + 1) % materials.length;
+        return material;
+    }
+
+    @Benchmark
+    public boolean plantLike() {
+        return SectionMaterials.isPlantLike(next());
+    }
+
+    @Benchmark
+    public boolean log() {
+        return SectionMaterials.isLog(next());
+    }
+
+    @Benchmark
+    public void toolAndTillable(Blackhole bh) {
+        Material material = next();
+        bh.consume(SectionMaterials.isHoe(material));
+        bh.consume(SectionMaterials.isAxe(material));
+        bh.consume(SectionMaterials.isTillable(material));
+    }
+}
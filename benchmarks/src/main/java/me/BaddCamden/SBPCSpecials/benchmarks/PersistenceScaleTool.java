@@ -0,0 +1,218 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+
+/**
+ * Persistence at server scale: for each store and population size, measures
+ * full save (cold and overwrite), disk footprint, full load with retained heap,
+ * single-player load latency and a dirty save of a fraction of the population.
+ *
+ * Records come from {@link BenchmarkFixtures#randomPlayer} over the bundled
+ * special ids, so bonus, completion and unique-kill distributions match the
+ * other benchmarks. Loads run against a warm page cache.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar me.BaddCamden.SBPCSpecials.benchmarks.PersistenceScaleTool \
+ *     --records=10000,50000,200000 --stores=yaml,sharded-binary [--dirty=0.01] [--single-loads=2000] [--dir=/path] [--keep]
+ * </pre>
+ */
+public final class PersistenceScaleTool {
+
+    private static final long FS_BLOCK = 4096L;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private final int[] sizes;
+    private final List<PlayerStoreCandidate> stores = new ArrayList<>();
+    private final double dirtyFraction;
+    private final int singleLoads;
+    private final File baseDirectory;
+    private final boolean keep;
+
+    private PersistenceScaleTool(Map<String, String> options) throws IOException {
+        this.sizes = Arrays.stream(options.getOrDefault("records", "10000,50000,200000").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        for (String name : options.getOrDefault("stores", "yaml,sharded-binary").split(",")) {
+            stores.add(store(name.trim()));
+        }
+        this.dirtyFraction = Double.parseDouble(options.getOrDefault("dirty", "0.01"));
+        this.singleLoads = Integer.parseInt(options.getOrDefault("single-loads", "2000"));
+        this.baseDirectory = options.containsKey("dir")
+                ? new File(options.get("dir"))
+                : Files.createTempDirectory("sbpcspecials-persistence").toFile();
+        this.keep = options.containsKey("keep");
+    }
+
+    /**
+     * Entry point; options are {@code --key=value} pairs ({@code --keep} takes no value).
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        new PersistenceScaleTool(options).run();
+    }
+
+    private static PlayerStoreCandidate store(String name) {
+        return switch (name) {
+            case "yaml" -> new YamlPlayerStoreCandidate();
+            case "sharded-binary" -> new ShardedBinaryStoreCandidate();
+            default -> throw new IllegalArgumentException("Unknown store " + name + " (yaml, sharded-binary)");
+        };
+    }
+
+    private void run() throws IOException {
+        BenchmarkServer.install();
+        List<String> specialIds = new ArrayList<>(
+                BenchmarkFixtures.index(BenchmarkFixtures.bundledConfig()).getSpecialsById().keySet());
+
+        System.out.printf(Locale.ROOT, "%-15s %8s %10s %10s %10s %9s %8s %10s %10s %9s %9s %10s%n",
+                "store", "records", "save ms", "resave ms", "disk MiB", "files", "blk MiB",
+                "load ms", "heap MiB", "get p50us", "get p99us", "dirty ms");
+
+        for (int size : sizes) {
+            Random random = new Random(BenchmarkFixtures.SEED + size);
+            Map<UUID, PlayerSpecialData> records = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                records.put(new UUID(random.nextLong(), random.nextLong()), BenchmarkFixtures.randomPlayer(random, specialIds));
+            }
+            UUID[] ids = records.keySet().toArray(new UUID[0]);
+
+            for (PlayerStoreCandidate store : stores) {
+                File directory = new File(baseDirectory, store.name() + "-" + size);
+                deleteRecursively(directory.toPath());
+                measure(store, directory, records, ids, new Random(BenchmarkFixtures.SEED));
+                if (!keep) {
+                    deleteRecursively(directory.toPath());
+                }
+            }
+        }
+        if (!keep) {
+            deleteRecursively(baseDirectory.toPath());
+        }
+    }
+
+    private void measure(PlayerStoreCandidate store, File directory, Map<UUID, PlayerSpecialData> records,
+                         UUID[] ids, Random random) throws IOException {
+        store.open(directory);
+
+        long start = System.nanoTime();
+        store.saveAll(records);
+        long saveNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        store.saveAll(records);
+        long resaveNanos = System.nanoTime() - start;
+
+        long[] footprint = footprint(directory.toPath());
+
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        start = System.nanoTime();
+        Map<UUID, PlayerSpecialData> loaded = store.loadAll();
+        long loadNanos = System.nanoTime() - start;
+        System.gc();
+        long heapRetained = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        if (loaded.size() != records.size()) {
+            throw new IllegalStateException(store.name() + " loaded " + loaded.size() + " of " + records.size() + " records");
+        }
+        loaded = null;
+
+        long[] singles = new long[Math.min(singleLoads, ids.length)];
+        for (int i = 0; i < singles.length; i++) {
+            UUID id = ids[random.nextInt(ids.length)];
+            start = System.nanoTime();
+            PlayerSpecialData data = store.load(id);
+            singles[i] = System.nanoTime() - start;
+            if (data == null) {
+                throw new IllegalStateException(store.name() + " lost record " + id);
+            }
+        }
+        Arrays.sort(singles);
+
+        Set<UUID> dirty = new HashSet<>();
+        int dirtyCount = Math.max(1, (int) Math.round(ids.length * dirtyFraction));
+        while (dirty.size() < dirtyCount) {
+            UUID id = ids[random.nextInt(ids.length)];
+            records.get(id).addOrUpdateBonus("scale_dirty", 2.5, 30);
+            dirty.add(id);
+        }
+        start = System.nanoTime();
+        store.saveDirty(records, dirty);
+        long dirtyNanos = System.nanoTime() - start;
+
+        System.out.printf(Locale.ROOT, "%-15s %8d %10.0f %10.0f %10.1f %9d %8.1f %10.0f %10.1f %9.1f %9.1f %10.0f%n",
+                store.name(),
+                records.size(),
+                saveNanos / 1e6,
+                resaveNanos / 1e6,
+                footprint[0] / (1024.0 * 1024.0),
+                footprint[1],
+                footprint[2] / (1024.0 * 1024.0),
+                loadNanos / 1e6,
+                heapRetained / (1024.0 * 1024.0),
+                LatencyRecorder.percentile(singles, 50) / 1000.0,
+                LatencyRecorder.percentile(singles, 99) / 1000.0,
+                dirtyNanos / 1e6);
+    }
+
+    /**
+     * @return logical bytes, file count and bytes rounded up to 4 KiB blocks
+     */
+    private static long[] footprint(Path root) throws IOException {
+        long[] totals = new long[3];
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                try {
+                    long size = Files.size(path);
+                    totals[0] += size;
+                    totals[1]++;
+                    totals[2] += ((size + FS_BLOCK - 1) / FS_BLOCK) * FS_BLOCK;
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+        }
+        return totals;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
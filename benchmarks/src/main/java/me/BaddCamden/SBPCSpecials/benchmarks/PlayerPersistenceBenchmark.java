@@ -0,0 +1,117 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.BaddCamden.SBPCSpecials.PlayerDataStore;
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+
+/**
+ * YAML player persistence through {@link PlayerDataStore}: single-player save and
+ * load, and the full load/save done on enable and disable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerPersistenceBenchmark {
+
+    @Param({"500"})
+    public int players;
+
+    private Path folder;
+    private PlayerDataStore store;
+    private Map<UUID, PlayerSpecialData> records;
+    private UUID[] ids;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkServer.install();
+        Random random = new Random(BenchmarkFixtures.SEED);
+
+        List<String> specialIds = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            specialIds.add("special_" + i);
+        }
+
+        folder = Files.createTempDirectory("sbpcspecials-bench");
+        store = new PlayerDataStore(folder.toFile(), Logger.getLogger("SBPCSpecials-bench"));
+        records = new HashMap<>();
+        for (int i = 0; i < players; i++) {
+            records.put(new UUID(random.nextLong(), random.nextLong()), BenchmarkFixtures.randomPlayer(random, specialIds));
+        }
+        ids = records.keySet().toArray(new UUID[0]);
+        if (!store.saveAll(records)) {
+            throw new IllegalStateException("Could not write fixture player files to " + folder);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private UUID nextId() {
+        UUID id = ids[cursor];
+        cursor = (cursor + 1) % ids.length;
+        return id;
+    }
+
+    @Benchmark
+    public boolean savePlayer() {
+        UUID id = nextId();
+        return store.save(id, records.get(id));
+    }
+
+    @Benchmark
+    public PlayerSpecialData loadPlayer() {
+        return store.load(nextId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public Map<UUID, PlayerSpecialData> loadAll() {
+        return store.loadAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public boolean saveAll() {
+        return store.saveAll(records);
+    }
+}
@@ -0,0 +1,41 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+
+/**
+ * A player-record store measured by {@link PersistenceScaleTool}. Implement this
+ * to compare an alternative layout against the current {@code Players/<uuid>.yml} files.
+ */
+interface PlayerStoreCandidate {
+
+    /**
+     * @return short name used on the command line and in reports.
+     */
+    String name();
+
+    /**
+     * Bind the store to an empty or previously written directory.
+     */
+    void open(File directory) throws IOException;
+
+    Map<UUID, PlayerSpecialData> loadAll() throws IOException;
+
+    /**
+     * @return one player's record, or null if absent.
+     */
+    PlayerSpecialData load(UUID playerId) throws IOException;
+
+    void saveAll(Map<UUID, PlayerSpecialData> records) throws IOException;
+
+    /**
+     * Persist the records in {@code dirty}; {@code all} is the full in-memory state
+     * for stores that group several players per file.
+     */
+    void saveDirty(Map<UUID, PlayerSpecialData> all, Set<UUID> dirty) throws IOException;
+}
@@ -0,0 +1,328 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import me.BaddCamden.SBPCSpecials.SectionMaterials;
+import me.BaddCamden.SBPCSpecials.SectionProgressTracker;
+import me.BaddCamden.SBPCSpecials.SpecialDefinition;
+import me.BaddCamden.SBPCSpecials.SpecialIndex;
+import me.BaddCamden.SBPCSpecials.SpecialsEngine;
+import me.BaddCamden.SBPCSpecials.SpecialsMetrics;
+
+/**
+ * Allocation and latency regression gate for the main trigger paths.
+ *
+ * Each scenario drives {@link SpecialsEngine} (the trigger logic behind the
+ * plugin's listeners) or {@link SectionProgressTracker} (behind
+ * {@code SectionProgressListener}) in steady state, measures bytes allocated
+ * per event from the thread's allocation counter and per-event latency, and
+ * compares them to {@code perf-thresholds.properties}. Any allocation breach
+ * exits with status 1, which fails {@code mvn verify} of the plugin and of the
+ * benchmarks module. Latency depends on the machine, so latency breaches are
+ * only reported unless {@code --latency} is given.
+ *
+ * Each scenario is measured in several rounds and the best round is kept, so
+ * a GC or JIT event during one round does not fail the build.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar me.BaddCamden.SBPCSpecials.benchmarks.RegressionCheck \
+ *     --thresholds=perf-thresholds.properties [--latency] [--suggest]
+ * </pre>
+ *
+ * {@code --suggest} prints thresholds with headroom over the measured values
+ * instead of checking, for recalibration after an intended change.
+ */
+public final class RegressionCheck {
+
+    private static final int PLAYERS = 200;
+    private static final int INPUTS = 1 << 12;
+    private static final int WARMUP_OPS = 200_000;
+    private static final int MEASURED_OPS = 100_000;
+    private static final int ROUNDS = 3;
+
+    /**
+     * One measured trigger path; {@code i} selects pre-generated inputs.
+     */
+    private interface Scenario {
+        void run(int i);
+    }
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private SpecialsEngine engine;
+    private SectionProgressTracker sectionProgress;
+    private UUID[] players;
+    private UUID[] housingPlayers;
+    private UUID[] farmingPlayers;
+    private UUID worldId;
+
+    private int[] playerIndexes;
+    private EntityType[] deathTypes;
+    private Material[] pickupHits;
+    private Material[] pickupMisses;
+    private Material[] blocks;
+    private String[] unlockMisses;
+    private int[] coords;
+    private int sink;
+
+    private RegressionCheck() {
+    }
+
+    /**
+     * Entry point; see the class documentation for options.
+     */
+    public static void main(String[] args) throws IOException {
+        String thresholdsPath = "perf-thresholds.properties";
+        boolean suggest = false;
+        boolean latency = false;
+        for (String arg : args) {
+            if (arg.startsWith("--thresholds=")) {
+                thresholdsPath = arg.substring("--thresholds=".length());
+            } else if ("--latency".equals(arg) || "--latency=true".equals(arg)) {
+                latency = true;
+            } else if ("--latency=false".equals(arg)) {
+                latency = false;
+            } else if ("--suggest".equals(arg)) {
+                suggest = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        RegressionCheck check = new RegressionCheck();
+        check.setUp();
+        Map<String, Result> results = check.measureAll();
+
+        if (suggest) {
+            printSuggested(results);
+            return;
+        }
+
+        Properties thresholds = new Properties();
+        try (InputStream in = new FileInputStream(new File(thresholdsPath))) {
+            thresholds.load(in);
+        }
+        if (!compare(results, thresholds, latency)) {
+            System.exit(1);
+        }
+    }
+
+    private void setUp() {
+        BenchmarkServer.install();
+        Random random = new Random(BenchmarkFixtures.SEED);
+
+        SpecialIndex index = BenchmarkFixtures.index(BenchmarkFixtures.bundledConfig());
+        List<String> sections = new ArrayList<>(BenchmarkFixtures.sectionIds(index));
+
+        StubSbpcBridge sbpc = new StubSbpcBridge();
+        players = BenchmarkFixtures.assignPlayers(sbpc, sections, PLAYERS, random);
+        BenchmarkHost host = new BenchmarkHost();
+        VirtualServerClock clock = new VirtualServerClock(0L);
+        engine = new SpecialsEngine(sbpc, host, host, clock, clock, new SpecialsMetrics(), BenchmarkServer.logger());
+        engine.setSpecials(index);
+        sectionProgress = new SectionProgressTracker(sbpc, clock);
+
+        List<String> specialIds = new ArrayList<>(index.getSpecialsById().keySet());
+        for (UUID id : players) {
+            host.join(id);
+            engine.getPlayerData().put(id, BenchmarkFixtures.randomPlayer(random, specialIds));
+        }
+
+        housingPlayers = new UUID[16];
+        farmingPlayers = new UUID[16];
+        for (int i = 0; i < housingPlayers.length; i++) {
+            housingPlayers[i] = new UUID(1L, i);
+            farmingPlayers[i] = new UUID(2L, i);
+            sbpc.assign(housingPlayers[i], "housing", "SPECIAL", sections.size());
+            sbpc.assign(farmingPlayers[i], "farming", "SPECIAL", sections.size() + 1);
+        }
+        worldId = new UUID(3L, 0L);
+
+        List<Material> hits = new ArrayList<>();
+        for (SpecialDefinition def : index.getSpecialsById().values()) {
+            if (def.getTrigger().getItemType() != null) {
+                hits.add(def.getTrigger().getItemType());
+            }
+        }
+        List<Material> misses = new ArrayList<>();
+        for (Material material : BenchmarkFixtures.pickupMaterials()) {
+            if (index.getPickupSpecials(material).isEmpty()) {
+                misses.add(material);
+            }
+        }
+
+        playerIndexes = new int[INPUTS];
+        deathTypes = new EntityType[INPUTS];
+        pickupHits = new Material[INPUTS];
+        pickupMisses = new Material[INPUTS];
+        blocks = new Material[INPUTS];
+        unlockMisses = new String[INPUTS];
+        coords = new int[INPUTS];
+        Material[] allMaterials = BenchmarkFixtures.pickupMaterials();
+        for (int i = 0; i < INPUTS; i++) {
+            playerIndexes[i] = random.nextInt(PLAYERS);
+            deathTypes[i] = BenchmarkFixtures.MOBS[random.nextInt(BenchmarkFixtures.MOBS.length - 1)];
+            pickupHits[i] = hits.isEmpty() ? Material.DIRT : hits.get(random.nextInt(hits.size()));
+            pickupMisses[i] = misses.get(random.nextInt(misses.size()));
+            blocks[i] = allMaterials[random.nextInt(allMaterials.length)];
+            unlockMisses[i] = "entry_miss_" + i;
+            coords[i] = random.nextInt(1 << 10);
+        }
+    }
+
+    private Map<String, Result> measureAll() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("entity-death", i -> engine.handleEntityDeath(player(i), deathTypes[i], null, null));
+        scenarios.put("pickup-hit", i -> engine.handleItemPickup(player(i), pickupHits[i], null));
+        scenarios.put("pickup-miss", i -> engine.handleItemPickup(player(i), pickupMisses[i], null));
+        scenarios.put("unlock-miss", i -> engine.handleUnlock(player(i), unlockMisses[i]));
+        scenarios.put("potion-change", i -> engine.handlePotionEffectChange(player(i), null));
+        scenarios.put("join", i -> engine.handleJoin(player(i)));
+        scenarios.put("housing-activity", i -> sectionProgress.handleHousingActivity(
+                housingPlayers[i & 15], worldId, coords[i], 64, coords[(i + 1) & (INPUTS - 1)]));
+        scenarios.put("farming-harvest", i -> {
+            UUID id = farmingPlayers[i & 15];
+            if (sectionProgress.isFarming(id)) {
+                sectionProgress.handleFarmingHarvest(id);
+            }
+        });
+        scenarios.put("block-classification", i -> {
+            Material type = blocks[i];
+            if (SectionMaterials.isPlantLike(type) || SectionMaterials.isLog(type) || SectionMaterials.isTillable(type)) {
+                sink++;
+            }
+        });
+        scenarios.put("housing-outside-section", i -> sectionProgress.handleHousingActivity(player(i), worldId, 0, 64, 0));
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Scenario> entry : scenarios.entrySet()) {
+            results.put(entry.getKey(), measure(entry.getValue()));
+        }
+        return results;
+    }
+
+    private UUID player(int i) {
+        return players[playerIndexes[i]];
+    }
+
+    private Result measure(Scenario scenario) {
+        for (int op = 0; op < WARMUP_OPS; op++) {
+            scenario.run(op & (INPUTS - 1));
+        }
+
+        long[] latencies = new long[MEASURED_OPS];
+        Result best = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocStart = threads.getCurrentThreadAllocatedBytes();
+            for (int op = 0; op < MEASURED_OPS; op++) {
+                long start = System.nanoTime();
+                scenario.run(op & (INPUTS - 1));
+                latencies[op] = System.nanoTime() - start;
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocStart;
+
+            Arrays.sort(latencies);
+            Result result = new Result(
+                    (double) allocated / MEASURED_OPS,
+                    LatencyRecorder.percentile(latencies, 50),
+                    LatencyRecorder.percentile(latencies, 99));
+            best = best == null ? result : best.min(result);
+        }
+        return best;
+    }
+
+    /**
+     * @param latency fail on latency breaches too; otherwise they are only reported
+     */
+    private static boolean compare(Map<String, Result> results, Properties thresholds, boolean latency) {
+        boolean passed = true;
+        System.out.printf(Locale.ROOT, "%-22s %14s %10s %10s   %s%n", "scenario", "alloc B/op", "p50 ns", "p99 ns", "status");
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            String name = entry.getKey();
+            Result result = entry.getValue();
+            List<String> failures = new ArrayList<>();
+            List<String> slow = latency ? failures : new ArrayList<>();
+            check(thresholds, name + ".alloc-bytes-per-op", result.allocBytesPerOp, failures);
+            check(thresholds, name + ".p50-nanos", result.p50Nanos, slow);
+            check(thresholds, name + ".p99-nanos", result.p99Nanos, slow);
+
+            String status = failures.isEmpty() ? "ok" : "FAIL " + String.join(", ", failures);
+            if (!latency && !slow.isEmpty()) {
+                status += " (not enforced: " + String.join(", ", slow) + ")";
+            }
+            System.out.printf(Locale.ROOT, "%-22s %14.1f %10d %10d   %s%n",
+                    name, result.allocBytesPerOp, result.p50Nanos, result.p99Nanos, status);
+            passed &= failures.isEmpty();
+        }
+        if (!passed) {
+            System.out.println();
+            System.out.println("Performance regression detected. If the change is intended, recalibrate with --suggest "
+                    + "and commit the updated perf-thresholds.properties with a note on why.");
+        }
+        return passed;
+    }
+
+    private static void check(Properties thresholds, String key, double measured, List<String> failures) {
+        String limit = thresholds.getProperty(key);
+        if (limit == null) {
+            failures.add(key + " missing");
+            return;
+        }
+        double max = Double.parseDouble(limit.trim());
+        if (measured > max) {
+            failures.add(String.format(Locale.ROOT, "%s %.1f > %s", key.substring(key.indexOf('.') + 1), measured, limit.trim()));
+        }
+    }
+
+    private static void printSuggested(Map<String, Result> results) {
+        System.out.println("# Generated by RegressionCheck --suggest; allocation x1.5 (min 64 B), latency x4 (min 1000 ns).");
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result result = entry.getValue();
+            System.out.println(entry.getKey() + ".alloc-bytes-per-op=" + roundUp(Math.max(64.0, result.allocBytesPerOp * 1.5), 32));
+            System.out.println(entry.getKey() + ".p50-nanos=" + roundUp(Math.max(1000.0, result.p50Nanos * 4.0), 100));
+            System.out.println(entry.getKey() + ".p99-nanos=" + roundUp(Math.max(1000.0, result.p99Nanos * 4.0), 100));
+        }
+    }
+
+    private static long roundUp(double value, long step) {
+        return ((long) Math.ceil(value / step)) * step;
+    }
+
+    /**
+     * Best-of-rounds measurement of one scenario.
+     */
+    private static final class Result {
+        private final double allocBytesPerOp;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        Result(double allocBytesPerOp, long p50Nanos, long p99Nanos) {
+            this.allocBytesPerOp = allocBytesPerOp;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        Result min(Result other) {
+            return new Result(Math.min(allocBytesPerOp, other.allocBytesPerOp),
+                    Math.min(p50Nanos, other.p50Nanos),
+                    Math.min(p99Nanos, other.p99Nanos));
+        }
+    }
+}
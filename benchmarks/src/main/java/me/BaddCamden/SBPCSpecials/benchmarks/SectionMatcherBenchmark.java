@@ -0,0 +1,62 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.BaddCamden.SBPCSpecials.SectionMatchContext;
+import me.BaddCamden.SBPCSpecials.SectionMatchResult;
+import me.BaddCamden.SBPCSpecials.SectionMatcher;
+import me.BaddCamden.SBPCSpecials.SpecialDefinition;
+
+/**
+ * {@link SectionMatcher#evaluate} for the common allow/deny shapes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionMatcherBenchmark {
+
+    private final SpecialDefinition.SectionCondition allSections =
+            new SpecialDefinition.SectionCondition(null, null, null, true, Collections.emptyList());
+    private final SpecialDefinition.SectionCondition threeSections =
+            new SpecialDefinition.SectionCondition("SPECIAL", 2, 30, false,
+                    Arrays.asList("blaze_powder", "enchants_tier2", "shulker_shell"));
+
+    private final SectionMatchContext matching = new SectionMatchContext("shulker_shell", "SPECIAL", 12);
+    private final SectionMatchContext wrongSection = new SectionMatchContext("meats", "SPECIAL", 3);
+    private final SectionMatchContext belowMinIndex = new SectionMatchContext("blaze_powder", "SPECIAL", 1);
+
+    @Benchmark
+    public SectionMatchResult appliesToAll() {
+        return SectionMatcher.evaluate(allSections, matching);
+    }
+
+    @Benchmark
+    public SectionMatchResult allowed() {
+        return SectionMatcher.evaluate(threeSections, matching);
+    }
+
+    @Benchmark
+    public SectionMatchResult deniedSection() {
+        return SectionMatcher.evaluate(threeSections, wrongSection);
+    }
+
+    @Benchmark
+    public SectionMatchResult deniedIndex() {
+        return SectionMatcher.evaluate(threeSections, belowMinIndex);
+    }
+}
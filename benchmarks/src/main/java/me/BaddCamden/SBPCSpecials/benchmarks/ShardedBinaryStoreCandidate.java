@@ -0,0 +1,182 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+
+/**
+ * Reference alternative: players grouped into 256 binary shard files by the
+ * low byte of their UUID, each rewritten atomically. Trades single-record
+ * writes for far fewer files; serves as a baseline for judging other layouts.
+ *
+ * Like the YAML layout, only bonuses, completions and unique kills are stored
+ * and bonuses imply the special was applied.
+ */
+final class ShardedBinaryStoreCandidate implements PlayerStoreCandidate {
+
+    private static final int SHARDS = 256;
+    private static final int FORMAT = 1;
+
+    private File directory;
+
+    @Override
+    public String name() {
+        return "sharded-binary";
+    }
+
+    @Override
+    public void open(File directory) throws IOException {
+        this.directory = new File(directory, "PlayerShards");
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw new IOException("Could not create " + this.directory);
+        }
+    }
+
+    @Override
+    public Map<UUID, PlayerSpecialData> loadAll() throws IOException {
+        Map<UUID, PlayerSpecialData> result = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            readShard(shard, result);
+        }
+        return result;
+    }
+
+    @Override
+    public PlayerSpecialData load(UUID playerId) throws IOException {
+        Map<UUID, PlayerSpecialData> shard = new HashMap<>();
+        readShard(shardOf(playerId), shard);
+        return shard.get(playerId);
+    }
+
+    @Override
+    public void saveAll(Map<UUID, PlayerSpecialData> records) throws IOException {
+        List<Map<UUID, PlayerSpecialData>> shards = new ArrayList<>(SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new HashMap<>());
+        }
+        for (Map.Entry<UUID, PlayerSpecialData> entry : records.entrySet()) {
+            shards.get(shardOf(entry.getKey())).put(entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < SHARDS; i++) {
+            writeShard(i, shards.get(i));
+        }
+    }
+
+    @Override
+    public void saveDirty(Map<UUID, PlayerSpecialData> all, Set<UUID> dirty) throws IOException {
+        Set<Integer> touched = new HashSet<>();
+        for (UUID id : dirty) {
+            touched.add(shardOf(id));
+        }
+        Map<Integer, Map<UUID, PlayerSpecialData>> shards = new HashMap<>();
+        for (Map.Entry<UUID, PlayerSpecialData> entry : all.entrySet()) {
+            int shard = shardOf(entry.getKey());
+            if (touched.contains(shard)) {
+                shards.computeIfAbsent(shard, k -> new HashMap<>()).put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<Integer, Map<UUID, PlayerSpecialData>> shard : shards.entrySet()) {
+            writeShard(shard.getKey(), shard.getValue());
+        }
+    }
+
+    private static int shardOf(UUID id) {
+        return (int) (id.getLeastSignificantBits() & (SHARDS - 1));
+    }
+
+    private File shardFile(int shard) {
+        return new File(directory, String.format("%02x.bin", shard));
+    }
+
+    private void readShard(int shard, Map<UUID, PlayerSpecialData> into) throws IOException {
+        File file = shardFile(shard);
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readUnsignedByte() != FORMAT) {
+                throw new IOException("Unknown shard format in " + file);
+            }
+            int count = in.readInt();
+            for (int r = 0; r < count; r++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                PlayerSpecialData data = new PlayerSpecialData();
+                int bonuses = in.readUnsignedShort();
+                for (int b = 0; b < bonuses; b++) {
+                    String specialId = in.readUTF();
+                    data.addOrUpdateBonus(specialId, in.readDouble(), in.readInt());
+                    data.markApplied(specialId);
+                }
+                int completed = in.readUnsignedShort();
+                for (int c = 0; c < completed; c++) {
+                    data.markCompleted(in.readUTF());
+                }
+                int keys = in.readUnsignedShort();
+                for (int k = 0; k < keys; k++) {
+                    String key = in.readUTF();
+                    int victims = in.readInt();
+                    Set<UUID> set = new HashSet<>();
+                    for (int v = 0; v < victims; v++) {
+                        set.add(new UUID(in.readLong(), in.readLong()));
+                    }
+                    data.setUniqueKills(key, set);
+                }
+                into.put(id, data);
+            }
+        }
+    }
+
+    private void writeShard(int shard, Map<UUID, PlayerSpecialData> records) throws IOException {
+        File target = shardFile(shard);
+        File temp = new File(directory, target.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16))) {
+            out.writeByte(FORMAT);
+            out.writeInt(records.size());
+            for (Map.Entry<UUID, PlayerSpecialData> entry : records.entrySet()) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                PlayerSpecialData data = entry.getValue();
+
+                Map<String, PlayerSpecialData.SpeedBonus> bonuses = data.getBonusesBySpecialId();
+                out.writeShort(bonuses.size());
+                for (Map.Entry<String, PlayerSpecialData.SpeedBonus> bonus : bonuses.entrySet()) {
+                    out.writeUTF(bonus.getKey());
+                    out.writeDouble(bonus.getValue().getPercent());
+                    out.writeInt(bonus.getValue().getSkipSeconds());
+                }
+                Set<String> completed = data.getCompletedSpecials();
+                out.writeShort(completed.size());
+                for (String id : completed) {
+                    out.writeUTF(id);
+                }
+                Map<String, Set<UUID>> kills = data.getUniqueKillsByKey();
+                out.writeShort(kills.size());
+                for (Map.Entry<String, Set<UUID>> kill : kills.entrySet()) {
+                    out.writeUTF(kill.getKey());
+                    out.writeInt(kill.getValue().size());
+                    for (UUID victim : kill.getValue()) {
+                        out.writeLong(victim.getMostSignificantBits());
+                        out.writeLong(victim.getLeastSignificantBits());
+                    }
+                }
+            }
+        }
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
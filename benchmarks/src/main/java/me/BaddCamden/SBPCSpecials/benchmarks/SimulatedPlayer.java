@@ -0,0 +1,63 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.potion.PotionEffectType;
+
+import me.BaddCamden.SBPCSpecials.SpecialsPlayer;
+
+/**
+ * Off-server player with settable potion effects; messages are only counted.
+ */
+final class SimulatedPlayer implements SpecialsPlayer {
+
+    private final UUID id;
+    private final String name;
+    private final Map<PotionEffectType, Integer> effects = new HashMap<>();
+    private long messages;
+
+    SimulatedPlayer(UUID id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    @Override
+    public UUID getUniqueId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getPotionAmplifier(PotionEffectType type) {
+        return effects.getOrDefault(type, -1);
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        messages++;
+    }
+
+    /**
+     * Give or remove an effect; a negative amplifier removes it.
+     */
+    void setEffect(PotionEffectType type, int amplifier) {
+        if (amplifier < 0) {
+            effects.remove(type);
+        } else {
+            effects.put(type, amplifier);
+        }
+    }
+
+    /**
+     * @return direct messages received so far.
+     */
+    long getMessages() {
+        return messages;
+    }
+}
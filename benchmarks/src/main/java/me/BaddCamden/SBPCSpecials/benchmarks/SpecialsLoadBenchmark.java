@@ -0,0 +1,111 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.BaddCamden.SBPCSpecials.SpecialIndex;
+import me.BaddCamden.SBPCSpecials.SpecialsDirectoryLoader;
+
+/**
+ * Startup cost of loading a specials directory: a cold load parses every file,
+ * a warm load decodes them from the compiled definition cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SpecialsLoadBenchmark {
+
+    @Param({"500", "5000"})
+    public int specials;
+
+    @Param({"10"})
+    public int specialsPerFile;
+
+    @Param({"0", "1"})
+    public int parallelism;
+
+    private Path folder;
+    private File cacheFile;
+    private SpecialsDirectoryLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkServer.install();
+        folder = Files.createTempDirectory("sbpcspecials-load");
+        ConfigurationSection generated = BenchmarkFixtures.syntheticConfig(specials, BenchmarkFixtures.SEED)
+                .getConfigurationSection("specials");
+
+        YamlConfiguration file = new YamlConfiguration();
+        int written = 0;
+        for (String id : generated.getKeys(false)) {
+            file.set(id, generated.getConfigurationSection(id));
+            if (++written % specialsPerFile == 0) {
+                writeFile(file, written / specialsPerFile);
+                file = new YamlConfiguration();
+            }
+        }
+        if (written % specialsPerFile != 0) {
+            writeFile(file, written / specialsPerFile + 1);
+        }
+
+        cacheFile = folder.resolve("specials-cache.bin").toFile();
+        loader = new SpecialsDirectoryLoader(folder.resolve("specials").toFile(), cacheFile, "bench", parallelism);
+    }
+
+    private void writeFile(YamlConfiguration file, int number) throws IOException {
+        Path path = folder.resolve("specials").resolve(String.format("group_%04d.yml", number));
+        Files.createDirectories(path.getParent());
+        Files.write(path, file.saveToString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public SpecialIndex coldLoad() {
+        cacheFile.delete();
+        return index(loader.load(BenchmarkServer.logger()));
+    }
+
+    @Benchmark
+    public SpecialIndex warmLoad() {
+        if (!cacheFile.isFile()) {
+            loader.load(BenchmarkServer.logger());
+        }
+        return index(loader.load(BenchmarkServer.logger()));
+    }
+
+    private static SpecialIndex index(SpecialsDirectoryLoader.Result result) {
+        return new SpecialIndex(SpecialsDirectoryLoader.merge(Collections.emptyList(), result, BenchmarkServer.logger()));
+    }
+}
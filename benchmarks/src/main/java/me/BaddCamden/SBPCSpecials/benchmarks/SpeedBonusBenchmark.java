@@ -0,0 +1,86 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+import me.BaddCamden.SBPCSpecials.ProgressSpeedService;
+
+/**
+ * Bonus accounting: summing applied bonuses and pushing deltas to SBPC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeedBonusBenchmark {
+
+    /**
+     * Specials applied to the player.
+     */
+    @Param({"5", "40", "200"})
+    public int appliedSpecials;
+
+    private PlayerSpecialData data;
+    private ProgressSpeedService service;
+    private UUID playerId;
+    private StubSbpcBridge sbpc;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkFixtures.SEED);
+        data = new PlayerSpecialData();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < appliedSpecials; i++) {
+            String id = "special_" + i;
+            ids.add(id);
+            data.markCompleted(id);
+            data.markApplied(id);
+            data.addOrUpdateBonus(id, random.nextInt(4) * 2.5, random.nextInt(3) * 30);
+        }
+        // Completed-but-pending specials are part of a realistic record as well.
+        for (int i = 0; i < appliedSpecials / 4; i++) {
+            data.markCompleted("pending_" + i);
+        }
+
+        sbpc = new StubSbpcBridge();
+        service = new ProgressSpeedService(sbpc::applyExternalTimeSkip);
+        playerId = new UUID(random.nextLong(), random.nextLong());
+    }
+
+    @Benchmark
+    public double totalSpeedPercent() {
+        return data.getTotalSpeedPercent();
+    }
+
+    @Benchmark
+    public int totalSkipSeconds() {
+        return data.getTotalSkipSeconds();
+    }
+
+    /**
+     * Steady state: bonuses unchanged since the last push, so only the totals are recomputed.
+     */
+    @Benchmark
+    public long applySpeedBonusesUnchanged() {
+        service.applySpeedBonuses(playerId, data, "bench");
+        return sbpc.getTimeSkips();
+    }
+}
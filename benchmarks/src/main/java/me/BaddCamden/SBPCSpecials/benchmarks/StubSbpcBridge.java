@@ -0,0 +1,79 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import me.BaddCamden.SBPCSpecials.SbpcBridge;
+import me.BaddCamden.SBPCSpecials.SectionMatchContext;
+
+/**
+ * In-memory {@link SbpcBridge} with fixed section assignments per player.
+ * Time skips and completions are only counted.
+ */
+final class StubSbpcBridge implements SbpcBridge {
+
+    private final Map<UUID, SectionMatchContext> sections = new HashMap<>();
+    private final Map<String, Integer> sectionIndexes = new HashMap<>();
+    private long timeSkips;
+    private long completions;
+
+    /**
+     * Place a player in a section; the index is remembered for {@link #getSectionIndex(String)}.
+     *
+     * @param index section index, or null when SBPC could not resolve it
+     */
+    void assign(UUID playerId, String sectionId, String sectionType, Integer index) {
+        sections.put(playerId, new SectionMatchContext(sectionId, sectionType, index));
+        if (index != null) {
+            sectionIndexes.put(sectionId, index);
+        }
+    }
+
+    /**
+     * Remove a player's section, as for players without SBPC progress.
+     */
+    void unassign(UUID playerId) {
+        sections.remove(playerId);
+    }
+
+    @Override
+    public SectionMatchContext getCurrentSection(UUID playerId) {
+        return sections.get(playerId);
+    }
+
+    @Override
+    public String getCurrentSectionId(UUID playerId) {
+        SectionMatchContext context = sections.get(playerId);
+        return context != null ? context.getSectionId() : null;
+    }
+
+    @Override
+    public int getSectionIndex(String sectionId) {
+        return sectionIndexes.getOrDefault(sectionId, -1);
+    }
+
+    @Override
+    public void applyExternalTimeSkip(UUID playerId, int skipSeconds, double percentSpeedIncrease, String reason) {
+        timeSkips++;
+    }
+
+    @Override
+    public void completeCurrentSection(UUID playerId) {
+        completions++;
+    }
+
+    /**
+     * @return number of time skips pushed since creation.
+     */
+    long getTimeSkips() {
+        return timeSkips;
+    }
+
+    /**
+     * @return number of section completions requested since creation.
+     */
+    long getCompletions() {
+        return completions;
+    }
+}
@@ -0,0 +1,104 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.util.PriorityQueue;
+
+import me.BaddCamden.SBPCSpecials.SpecialsClock;
+import me.BaddCamden.SBPCSpecials.SpecialsScheduler;
+
+/**
+ * Tick-driven clock and scheduler for simulations. Wall time only advances
+ * through {@link #tick()}, 50ms per tick, so cooldowns and periodic tasks
+ * behave as on a server running at 20 TPS regardless of how fast the
+ * simulation executes.
+ *
+ * {@link #nanoTime()} stays real: it is only used to measure latency.
+ */
+final class VirtualServerClock implements SpecialsClock, SpecialsScheduler {
+
+    static final long MILLIS_PER_TICK = 50L;
+
+    private final long epochMillis;
+    private final PriorityQueue<ScheduledTask> queue = new PriorityQueue<>();
+    private long currentTick;
+    private long sequence;
+
+    VirtualServerClock(long epochMillis) {
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Advance one tick and run every task that became due.
+     */
+    void tick() {
+        currentTick++;
+        while (!queue.isEmpty() && queue.peek().dueTick <= currentTick) {
+            ScheduledTask task = queue.poll();
+            if (task.cancelled) {
+                continue;
+            }
+            task.runnable.run();
+            if (task.periodTicks > 0L && !task.cancelled) {
+                task.dueTick = currentTick + task.periodTicks;
+                task.order = sequence++;
+                queue.add(task);
+            }
+        }
+    }
+
+    /**
+     * @return ticks elapsed since creation.
+     */
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return epochMillis + currentTick * MILLIS_PER_TICK;
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public Task runLater(Runnable task, long delayTicks) {
+        return schedule(task, delayTicks, 0L);
+    }
+
+    @Override
+    public Task runRepeating(Runnable task, long delayTicks, long periodTicks) {
+        return schedule(task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    private Task schedule(Runnable runnable, long delayTicks, long periodTicks) {
+        ScheduledTask task = new ScheduledTask(runnable, currentTick + Math.max(1L, delayTicks), periodTicks, sequence++);
+        queue.add(task);
+        return () -> task.cancelled = true;
+    }
+
+    /**
+     * Queue entry ordered by due tick, then by submission order.
+     */
+    private static final class ScheduledTask implements Comparable<ScheduledTask> {
+        private final Runnable runnable;
+        private final long periodTicks;
+        private long dueTick;
+        private long order;
+        private boolean cancelled;
+
+        ScheduledTask(Runnable runnable, long dueTick, long periodTicks, long order) {
+            this.runnable = runnable;
+            this.dueTick = dueTick;
+            this.periodTicks = periodTicks;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            int byTick = Long.compare(dueTick, other.dueTick);
+            return byTick != 0 ? byTick : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package me.BaddCamden.SBPCSpecials.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import me.BaddCamden.SBPCSpecials.PlayerDataStore;
+import me.BaddCamden.SBPCSpecials.PlayerSpecialData;
+
+/**
+ * The plugin's current layout: one {@code Players/<uuid>.yml} per player via {@link PlayerDataStore}.
+ */
+final class YamlPlayerStoreCandidate implements PlayerStoreCandidate {
+
+    private PlayerDataStore store;
+
+    @Override
+    public String name() {
+        return "yaml";
+    }
+
+    @Override
+    public void open(File directory) {
+        store = new PlayerDataStore(new File(directory, "Players"), BenchmarkServer.logger());
+    }
+
+    @Override
+    public Map<UUID, PlayerSpecialData> loadAll() {
+        return store.loadAll();
+    }
+
+    @Override
+    public PlayerSpecialData load(UUID playerId) {
+        return store.load(playerId);
+    }
+
+    @Override
+    public void saveAll(Map<UUID, PlayerSpecialData> records) throws IOException {
+        if (!store.saveAll(records)) {
+            throw new IOException("PlayerDataStore reported a failed save");
+        }
+    }
+
+    @Override
+    public void saveDirty(Map<UUID, PlayerSpecialData> all, Set<UUID> dirty) throws IOException {
+        for (UUID id : dirty) {
+            if (!store.save(id, all.get(id))) {
+                throw new IOException("PlayerDataStore could not save " + id);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package me.BaddCamden.SBPCSpecials;
+
+/**
+ * Callback contract for handlers that run off the main server thread.
+ *
+ * Async handlers receive an immutable {@link SpecialTriggerSnapshot} instead of
+ * the live Bukkit event, and must not touch the Bukkit API except for methods
+ * documented as thread-safe.
+ */
+@FunctionalInterface
+public interface AsyncSpecialHandler {
+
+    /**
+     * Invoked on a SBPCSpecials worker thread after a special has been applied.
+     */
+    void onSpecialTriggered(SpecialTriggerSnapshot snapshot);
+}
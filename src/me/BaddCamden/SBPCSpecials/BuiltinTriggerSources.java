@@ -0,0 +1,142 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.enchantment.EnchantItemEvent;
+import org.bukkit.event.inventory.CraftItemEvent;
+import org.bukkit.event.inventory.FurnaceExtractEvent;
+import org.bukkit.event.player.PlayerAdvancementDoneEvent;
+import org.bukkit.event.player.PlayerFishEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+
+/**
+ * Trigger sources that ship with the plugin.
+ *
+ * - CRAFT_ITEM, SMELT_ITEM, FISH_ITEM and ENCHANT_ITEM match the item's
+ *   material against {@code item-type}.
+ * - ADVANCEMENT matches the advancement key against {@code advancement}
+ *   ({@code minecraft:} is assumed when no namespace is given).
+ */
+final class BuiltinTriggerSources {
+
+    private BuiltinTriggerSources() {
+    }
+
+    /**
+     * Register every built-in source; called before the specials are parsed.
+     */
+    static void registerAll() {
+        SpecialsAPI.registerTriggerSource(null, new MaterialSource("CRAFT_ITEM", context ->
+                context.on(CraftItemEvent.class, event -> {
+                    Recipe recipe = event.getRecipe();
+                    if (event.getWhoClicked() instanceof Player player && recipe != null) {
+                        fire(context, player, recipe.getResult(), null);
+                    }
+                })));
+        SpecialsAPI.registerTriggerSource(null, new MaterialSource("SMELT_ITEM", context ->
+                context.on(FurnaceExtractEvent.class, event -> {
+                    Material type = event.getItemType();
+                    if (type != null && context.isWatched(type.name())) {
+                        context.fire(event.getPlayer(), type.name(), null);
+                    }
+                })));
+        SpecialsAPI.registerTriggerSource(null, new MaterialSource("FISH_ITEM", context ->
+                context.on(PlayerFishEvent.class, event -> {
+                    if (event.getState() == PlayerFishEvent.State.CAUGHT_FISH && event.getCaught() instanceof Item item) {
+                        fire(context, event.getPlayer(), item.getItemStack(), item);
+                    }
+                })));
+        SpecialsAPI.registerTriggerSource(null, new MaterialSource("ENCHANT_ITEM", context ->
+                context.on(EnchantItemEvent.class, event -> fire(context, event.getEnchanter(), event.getItem(), null))));
+        SpecialsAPI.registerTriggerSource(null, new AdvancementSource());
+    }
+
+    private static void fire(TriggerSource.Context context, Player player, ItemStack stack, Entity entity) {
+        if (stack == null) {
+            return;
+        }
+        String key = stack.getType().name();
+        if (context.isWatched(key)) {
+            context.fire(player, key, entity);
+        }
+    }
+
+    /**
+     * A source keyed by {@code item-type}.
+     */
+    private static final class MaterialSource implements TriggerSource {
+        private final String id;
+        private final Consumer<Context> binder;
+
+        MaterialSource(String id, Consumer<Context> binder) {
+            this.id = id;
+            this.binder = binder;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String parseKey(String specialId, ConfigurationSection trigger, Logger logger) {
+            String itemName = trigger.getString("item-type", null);
+            if (itemName == null) {
+                logger.warning("Special " + specialId + " is missing item-type for its " + id + " trigger.");
+                return null;
+            }
+            try {
+                return Material.valueOf(itemName.toUpperCase(Locale.ROOT)).name();
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Special " + specialId + " has invalid item-type: " + itemName);
+                return null;
+            }
+        }
+
+        @Override
+        public void bind(Context context) {
+            binder.accept(context);
+        }
+    }
+
+    /**
+     * ADVANCEMENT, keyed by {@code advancement}. Recipe unlocks complete advancements
+     * constantly, so the key lookup comes before anything else.
+     */
+    private static final class AdvancementSource implements TriggerSource {
+
+        @Override
+        public String getId() {
+            return "ADVANCEMENT";
+        }
+
+        @Override
+        public String parseKey(String specialId, ConfigurationSection trigger, Logger logger) {
+            String advancement = trigger.getString("advancement", null);
+            if (advancement == null || advancement.trim().isEmpty()) {
+                logger.warning("Special " + specialId + " is missing advancement for its ADVANCEMENT trigger.");
+                return null;
+            }
+            String key = advancement.trim().toLowerCase(Locale.ROOT);
+            return key.indexOf(':') >= 0 ? key : "minecraft:" + key;
+        }
+
+        @Override
+        public void bind(Context context) {
+            context.on(PlayerAdvancementDoneEvent.class, event -> {
+                String key = event.getAdvancement().getKey().toString();
+                if (context.isWatched(key)) {
+                    context.fire(event.getPlayer(), key, null);
+                }
+            });
+        }
+    }
+}
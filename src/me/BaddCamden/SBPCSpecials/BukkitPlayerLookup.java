@@ -0,0 +1,48 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * {@link PlayerLookup} over the online Bukkit players.
+ *
+ * Wrappers are cached per online player so event dispatch does not allocate;
+ * {@link #forget(UUID)} must be called when a player quits.
+ */
+final class BukkitPlayerLookup implements PlayerLookup {
+
+    private final Map<UUID, BukkitSpecialsPlayer> online = new HashMap<>();
+
+    @Override
+    public SpecialsPlayer getPlayer(UUID playerId) {
+        BukkitSpecialsPlayer cached = online.get(playerId);
+        if (cached != null) {
+            return cached;
+        }
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null) {
+            return null;
+        }
+        BukkitSpecialsPlayer wrapper = new BukkitSpecialsPlayer(player);
+        online.put(playerId, wrapper);
+        return wrapper;
+    }
+
+    /**
+     * Drop the cached wrapper of a player who left.
+     */
+    void forget(UUID playerId) {
+        online.remove(playerId);
+    }
+
+    /**
+     * Drop all cached wrappers.
+     */
+    void clear() {
+        online.clear();
+    }
+}
@@ -0,0 +1,47 @@
+package me.BaddCamden.SBPCSpecials;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * {@link SpecialsOutput} that delivers through the {@link MessageAggregator}
+ * and publishes applied specials to {@link SpecialsAPI}.
+ */
+final class BukkitSpecialsOutput implements SpecialsOutput {
+
+    private final MessageAggregator messageAggregator;
+
+    BukkitSpecialsOutput(MessageAggregator messageAggregator) {
+        this.messageAggregator = messageAggregator;
+    }
+
+    @Override
+    public void sendSpecialMessage(SpecialsPlayer player, String message) {
+        Player bukkitPlayer = unwrap(player);
+        if (bukkitPlayer != null) {
+            messageAggregator.sendPlayerMessage(bukkitPlayer, message);
+        }
+    }
+
+    @Override
+    public void broadcast(String specialId, String message) {
+        messageAggregator.broadcast(specialId, message);
+    }
+
+    @Override
+    public void specialApplied(SpecialDefinition def, SpecialsPlayer player, Entity contextEntity) {
+        // Event and handlers are skipped inside publish when nobody listens.
+        Player bukkitPlayer = unwrap(player);
+        if (bukkitPlayer != null) {
+            SpecialsAPI.publish(def, bukkitPlayer, contextEntity);
+        }
+    }
+
+    private static Player unwrap(SpecialsPlayer player) {
+        if (player instanceof BukkitSpecialsPlayer bukkit) {
+            return bukkit.getPlayer();
+        }
+        return Bukkit.getPlayer(player.getUniqueId());
+    }
+}
@@ -0,0 +1,47 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * {@link SpecialsPlayer} backed by an online Bukkit player.
+ */
+final class BukkitSpecialsPlayer implements SpecialsPlayer {
+
+    private final Player player;
+
+    BukkitSpecialsPlayer(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * @return the wrapped Bukkit player.
+     */
+    Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    public UUID getUniqueId() {
+        return player.getUniqueId();
+    }
+
+    @Override
+    public String getName() {
+        return player.getName();
+    }
+
+    @Override
+    public int getPotionAmplifier(PotionEffectType type) {
+        PotionEffect effect = player.getPotionEffect(type);
+        return effect != null ? effect.getAmplifier() : -1;
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        player.sendMessage(message);
+    }
+}
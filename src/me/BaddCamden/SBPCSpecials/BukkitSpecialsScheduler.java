@@ -0,0 +1,29 @@
+package me.BaddCamden.SBPCSpecials;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * {@link SpecialsScheduler} backed by the Bukkit main-thread scheduler.
+ */
+final class BukkitSpecialsScheduler implements SpecialsScheduler {
+
+    private final Plugin plugin;
+
+    BukkitSpecialsScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public Task runLater(Runnable task, long delayTicks) {
+        BukkitTask handle = Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+        return handle::cancel;
+    }
+
+    @Override
+    public Task runRepeating(Runnable task, long delayTicks, long periodTicks) {
+        BukkitTask handle = Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        return handle::cancel;
+    }
+}
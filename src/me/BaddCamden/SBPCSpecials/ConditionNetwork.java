@@ -0,0 +1,324 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Shared condition nodes compiled from a set of specials.
+ *
+ * The trigger index already discriminates on entity type, item and entry id.
+ * The remaining per-player conditions are interned here: every distinct
+ * section condition and every distinct potion requirement becomes one node,
+ * and each special points at its nodes. During an event the engine evaluates a
+ * node at most once (see {@link Memo}), so fifty specials that share
+ * {@code allowed-sections: [meats]} cost one SBPC section lookup and one match
+ * instead of fifty. Exclusive groups are interned the same way so the engine
+ * can track per event which groups already applied. Immutable; built together
+ * with its {@link SpecialIndex}.
+ */
+public final class ConditionNetwork {
+
+    /**
+     * Node id of a special without that kind of condition.
+     */
+    public static final int NONE = -1;
+
+    private final Map<SpecialDefinition, int[]> nodesBySpecial = new IdentityHashMap<>();
+    private final List<SpecialDefinition.SectionCondition> sectionNodes = new ArrayList<>();
+    private final List<SpecialDefinition.PotionRequirement> potionNodes = new ArrayList<>();
+    private final List<String> groupNodes = new ArrayList<>();
+
+    /**
+     * @param specials definitions to compile; node ids follow first use
+     */
+    public ConditionNetwork(Collection<SpecialDefinition> specials) {
+        Map<SectionKey, Integer> sections = new HashMap<>();
+        Map<PotionKey, Integer> potions = new HashMap<>();
+        Map<String, Integer> groups = new HashMap<>();
+        for (SpecialDefinition def : specials) {
+            int section = NONE;
+            SpecialDefinition.SectionCondition condition = def.getSectionCondition();
+            if (condition != null) {
+                section = sections.computeIfAbsent(new SectionKey(condition), k -> {
+                    sectionNodes.add(condition);
+                    return sectionNodes.size() - 1;
+                });
+            }
+
+            int potion = NONE;
+            SpecialDefinition.PotionRequirement requirement = def.getPotionRequirement();
+            if (requirement != null) {
+                potion = potions.computeIfAbsent(new PotionKey(requirement), k -> {
+                    potionNodes.add(requirement);
+                    return potionNodes.size() - 1;
+                });
+            }
+            int group = NONE;
+            String exclusiveGroup = def.getPlan() != null ? def.getPlan().getExclusiveGroup() : null;
+            if (exclusiveGroup != null) {
+                group = groups.computeIfAbsent(exclusiveGroup, k -> {
+                    groupNodes.add(exclusiveGroup);
+                    return groupNodes.size() - 1;
+                });
+            }
+            nodesBySpecial.put(def, new int[]{section, potion, group});
+        }
+    }
+
+    /**
+     * @return section node of the special, or {@link #NONE}
+     */
+    public int sectionNode(SpecialDefinition def) {
+        int[] nodes = nodesBySpecial.get(def);
+        return nodes != null ? nodes[0] : NONE;
+    }
+
+    /**
+     * @return potion node of the special, or {@link #NONE}
+     */
+    public int potionNode(SpecialDefinition def) {
+        int[] nodes = nodesBySpecial.get(def);
+        return nodes != null ? nodes[1] : NONE;
+    }
+
+    /**
+     * @return exclusive group node of the special, or {@link #NONE}
+     */
+    public int groupNode(SpecialDefinition def) {
+        int[] nodes = nodesBySpecial.get(def);
+        return nodes != null ? nodes[2] : NONE;
+    }
+
+    /**
+     * @return the condition every special of the node shares.
+     */
+    public SpecialDefinition.SectionCondition getSectionCondition(int node) {
+        return sectionNodes.get(node);
+    }
+
+    /**
+     * @return the requirement every special of the node shares.
+     */
+    public SpecialDefinition.PotionRequirement getPotionRequirement(int node) {
+        return potionNodes.get(node);
+    }
+
+    /**
+     * @return number of distinct section conditions.
+     */
+    public int getSectionNodeCount() {
+        return sectionNodes.size();
+    }
+
+    /**
+     * @return number of distinct potion requirements.
+     */
+    public int getPotionNodeCount() {
+        return potionNodes.size();
+    }
+
+    /**
+     * @return number of distinct exclusive groups.
+     */
+    public int getGroupNodeCount() {
+        return groupNodes.size();
+    }
+
+    /**
+     * Per-event node results. A node is evaluated on first use and reused until
+     * {@link #invalidate()}, which the engine calls whenever a reward was applied
+     * because rewards can move the player to another section. Used exclusive
+     * groups are tracked per event and survive {@link #invalidate()}.
+     *
+     * Not thread-safe; the engine keeps one per dispatch depth and reuses it, so
+     * evaluating an event does not allocate.
+     */
+    public static final class Memo {
+        private ConditionNetwork network;
+        private int generation = 1;
+        private int[] sectionStamp = new int[0];
+        private SectionMatchResult[] sectionResults = new SectionMatchResult[0];
+        private int[] potionStamp = new int[0];
+        private boolean[] potionResults = new boolean[0];
+        private int event = 1;
+        private int[] groupStamp = new int[0];
+
+        private SectionMatchContext context;
+        private int contextStamp;
+
+        /**
+         * Start a new evaluation (one player, one event) against the network.
+         */
+        public void begin(ConditionNetwork network) {
+            if (this.network != network) {
+                this.network = network;
+                sectionStamp = new int[network.getSectionNodeCount()];
+                sectionResults = new SectionMatchResult[network.getSectionNodeCount()];
+                potionStamp = new int[network.getPotionNodeCount()];
+                potionResults = new boolean[network.getPotionNodeCount()];
+                groupStamp = new int[network.getGroupNodeCount()];
+            }
+            event++;
+            if (event == 0) {
+                Arrays.fill(groupStamp, 0);
+                event = 1;
+            }
+            invalidate();
+        }
+
+        /**
+         * Forget all node results of the current evaluation.
+         */
+        public void invalidate() {
+            generation++;
+            if (generation == 0) {
+                // Wrapped: stale stamps could collide, so clear them.
+                Arrays.fill(sectionStamp, 0);
+                Arrays.fill(potionStamp, 0);
+                contextStamp = 0;
+                generation = 1;
+            }
+            context = null;
+        }
+
+        /**
+         * Release the cached section context.
+         */
+        public void end() {
+            context = null;
+        }
+
+        public ConditionNetwork getNetwork() {
+            return network;
+        }
+
+        /**
+         * @return true if the player's section has been looked up in this evaluation.
+         */
+        public boolean hasContext() {
+            return contextStamp == generation;
+        }
+
+        /**
+         * @return the cached section of the player (may be null if it has none).
+         */
+        public SectionMatchContext getContext() {
+            return context;
+        }
+
+        public void setContext(SectionMatchContext context) {
+            this.context = context;
+            this.contextStamp = generation;
+        }
+
+        /**
+         * @return the cached result of the section node, or null if not evaluated yet.
+         */
+        public SectionMatchResult getSectionResult(int node) {
+            return sectionStamp[node] == generation ? sectionResults[node] : null;
+        }
+
+        public void setSectionResult(int node, SectionMatchResult result) {
+            sectionStamp[node] = generation;
+            sectionResults[node] = result;
+        }
+
+        /**
+         * @return true if the potion node has been evaluated in this evaluation.
+         */
+        public boolean hasPotionResult(int node) {
+            return potionStamp[node] == generation;
+        }
+
+        public boolean getPotionResult(int node) {
+            return potionResults[node];
+        }
+
+        public void setPotionResult(int node, boolean result) {
+            potionStamp[node] = generation;
+            potionResults[node] = result;
+        }
+
+        /**
+         * @return true if a special of the group already applied in this event.
+         */
+        public boolean isGroupUsed(int node) {
+            return groupStamp[node] == event;
+        }
+
+        public void useGroup(int node) {
+            groupStamp[node] = event;
+        }
+    }
+
+    /**
+     * Value key of a section condition. Ids and types match case-insensitively, so they
+     * are compared lower-cased; the order of allowed sections does not matter.
+     */
+    private static final class SectionKey {
+        private final String requireType;
+        private final Integer minIndex;
+        private final Integer maxIndex;
+        private final boolean all;
+        private final TreeSet<String> allowed = new TreeSet<>();
+
+        SectionKey(SpecialDefinition.SectionCondition condition) {
+            this.requireType = condition.getRequireType() != null ? condition.getRequireType().toLowerCase(Locale.ROOT) : null;
+            this.minIndex = condition.getMinIndex();
+            this.maxIndex = condition.getMaxIndex();
+            this.all = condition.isAppliesToAllSections();
+            if (condition.getAllowedSections() != null) {
+                for (String id : condition.getAllowedSections()) {
+                    allowed.add(id.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SectionKey other)) {
+                return false;
+            }
+            return all == other.all
+                    && Objects.equals(requireType, other.requireType)
+                    && Objects.equals(minIndex, other.minIndex)
+                    && Objects.equals(maxIndex, other.maxIndex)
+                    && allowed.equals(other.allowed);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(requireType, minIndex, maxIndex, all, allowed);
+        }
+    }
+
+    private static final class PotionKey {
+        private final PotionEffectType type;
+        private final int minAmplifier;
+
+        PotionKey(SpecialDefinition.PotionRequirement requirement) {
+            this.type = requirement.getEffectType();
+            this.minAmplifier = requirement.getMinAmplifier();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PotionKey other && Objects.equals(type, other.type) && minAmplifier == other.minAmplifier;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, minAmplifier);
+        }
+    }
+}
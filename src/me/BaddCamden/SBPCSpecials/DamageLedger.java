@@ -0,0 +1,150 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Recent player damage per entity, so a kill without a direct killer (TNT, a
+ * fall after knockback, a tamed wolf) can be credited to the last player who
+ * hurt the victim.
+ *
+ * Each tracked entity keeps a small ring of (attacker, time) hits. Entries are
+ * kept in the order they were last hit: expired entries are dropped from the
+ * head as new hits arrive, and the least recently hit entity is evicted once
+ * {@code max-entities} is reached, so memory stays bounded in large fights.
+ * Only ids are stored, never entity references. Main-thread only.
+ */
+public class DamageLedger {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxEntities;
+    private final int hitsPerEntity;
+    private final LinkedHashMap<UUID, Hits> entries;
+
+    /**
+     * @param enabled       false to never record or credit
+     * @param windowMillis  how long a hit can be credited after it landed
+     * @param maxEntities   cap on tracked victims
+     * @param hitsPerEntity ring size per victim
+     */
+    public DamageLedger(boolean enabled, long windowMillis, int maxEntities, int hitsPerEntity) {
+        this.enabled = enabled;
+        this.windowMillis = Math.max(1L, windowMillis);
+        this.maxEntities = Math.max(1, maxEntities);
+        this.hitsPerEntity = Math.max(1, hitsPerEntity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Hits> eldest) {
+                return size() > DamageLedger.this.maxEntities;
+            }
+        };
+    }
+
+    /**
+     * Build from the {@code damage-attribution} config section; a missing section disables the ledger.
+     */
+    public static DamageLedger fromConfig(ConfigurationSection sec) {
+        if (sec == null) {
+            return new DamageLedger(false, 10_000L, 4096, 4);
+        }
+        return new DamageLedger(
+                sec.getBoolean("enabled", true),
+                sec.getLong("window-seconds", 10L) * 1000L,
+                sec.getInt("max-entities", 4096),
+                sec.getInt("hits-per-entity", 4));
+    }
+
+    /**
+     * @return true if the other ledger was built from equal settings, so a reload can keep
+     *         this one and its pending credit.
+     */
+    public boolean hasSameSettings(DamageLedger other) {
+        return other != null && enabled == other.enabled && windowMillis == other.windowMillis
+                && maxEntities == other.maxEntities && hitsPerEntity == other.hitsPerEntity;
+    }
+
+    /**
+     * @return true if hits are recorded at all.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record that a player damaged the victim.
+     */
+    public void recordHit(UUID victimId, UUID attackerId, long nowMillis) {
+        if (!enabled) {
+            return;
+        }
+        expire(nowMillis);
+        Hits hits = entries.get(victimId);
+        if (hits == null) {
+            hits = new Hits(hitsPerEntity);
+            entries.put(victimId, hits);
+        }
+        hits.add(attackerId, nowMillis);
+    }
+
+    /**
+     * Remove the victim and return the player to credit for its death.
+     *
+     * @return the most recent attacker within the window, or null
+     */
+    public UUID takeCredit(UUID victimId, long nowMillis) {
+        Hits hits = entries.remove(victimId);
+        if (hits == null) {
+            return null;
+        }
+        int newest = hits.newest();
+        return nowMillis - hits.times[newest] <= windowMillis ? hits.attackers[newest] : null;
+    }
+
+    /**
+     * @return number of tracked victims.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop victims whose newest hit has left the window. The map is ordered by
+     * last hit, so this stops at the first victim still in the window.
+     */
+    private void expire(long nowMillis) {
+        Iterator<Hits> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Hits hits = it.next();
+            if (nowMillis - hits.times[hits.newest()] <= windowMillis) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private static final class Hits {
+        final UUID[] attackers;
+        final long[] times;
+        int next;
+
+        Hits(int size) {
+            attackers = new UUID[size];
+            times = new long[size];
+        }
+
+        void add(UUID attacker, long time) {
+            attackers[next] = attacker;
+            times[next] = time;
+            next = (next + 1) % attackers.length;
+        }
+
+        int newest() {
+            return (next + attackers.length - 1) % attackers.length;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * "Why didn't it fire" trace facility for the special decision path.
+ *
+ * Tracing is enabled per player or per special id. Every check made while
+ * evaluating a traced (player, special) pair is written to a bounded ring
+ * buffer owned by that player, which can be dumped with {@code /specials trace}.
+ *
+ * When nothing is traced, {@link #isTracing(UUID, String)} is a single field
+ * read and callers skip building any trace data. Ring slots are preallocated
+ * and reused, so recording does not allocate beyond the detail strings.
+ *
+ * Main-thread only.
+ */
+public class DecisionTracer {
+
+    /**
+     * Checks recorded along the decision path of a trigger.
+     */
+    public enum Step {
+        TRIGGER,
+        EXCLUSIVE_GROUP,
+        SERVER_SCOPE,
+        ALREADY_APPLIED,
+        KILL_DENSITY,
+        SECTION_MATCH,
+        PLAYER_SCOPE,
+        POTION_REQUIREMENT,
+        RATE_LIMIT,
+        COMPLETION_RECORDED,
+        APPLIED,
+        TERMINAL
+    }
+
+    private static final class Entry {
+        private long timeMillis;
+        private String specialId;
+        private Step step;
+        private boolean passed;
+        private String detail;
+    }
+
+    private static final class Ring {
+        private final Entry[] entries;
+        private int next;
+        private int size;
+
+        private Ring(int capacity) {
+            entries = new Entry[capacity];
+            for (int i = 0; i < capacity; i++) {
+                entries[i] = new Entry();
+            }
+        }
+
+        private void add(long timeMillis, String specialId, Step step, boolean passed, String detail) {
+            Entry entry = entries[next];
+            entry.timeMillis = timeMillis;
+            entry.specialId = specialId;
+            entry.step = step;
+            entry.passed = passed;
+            entry.detail = detail;
+            next = (next + 1) % entries.length;
+            if (size < entries.length) {
+                size++;
+            }
+        }
+
+        /**
+         * @return a ring of the new capacity holding the newest entries of this one
+         */
+        private Ring resize(int capacity) {
+            Ring resized = new Ring(capacity);
+            int keep = Math.min(size, capacity);
+            int start = (next - keep + entries.length) % entries.length;
+            for (int i = 0; i < keep; i++) {
+                Entry entry = entries[(start + i) % entries.length];
+                resized.add(entry.timeMillis, entry.specialId, entry.step, entry.passed, entry.detail);
+            }
+            return resized;
+        }
+    }
+
+    private final Set<UUID> tracedPlayers = new HashSet<>();
+    private final Set<String> tracedSpecials = new HashSet<>();
+    private final Map<UUID, Ring> buffers = new HashMap<>();
+    private int capacity = 64;
+    private boolean active;
+
+    /**
+     * Called on every reload; buffers are only resized, keeping their newest entries,
+     * when the capacity actually changes.
+     *
+     * @param capacity entries kept per player before the oldest are overwritten
+     */
+    public void setCapacity(int capacity) {
+        int resolved = Math.max(8, capacity);
+        if (resolved == this.capacity) {
+            return;
+        }
+        this.capacity = resolved;
+        buffers.replaceAll((playerId, ring) -> ring.resize(resolved));
+    }
+
+    /**
+     * @return true if the decision path of this player/special pair should be recorded.
+     */
+    public boolean isTracing(UUID playerId, String specialId) {
+        if (!active) {
+            return false;
+        }
+        return tracedPlayers.contains(playerId) || (specialId != null && tracedSpecials.contains(specialId));
+    }
+
+    /**
+     * Append one step to the player's ring buffer. Callers should check
+     * {@link #isTracing(UUID, String)} first so disabled tracing costs nothing.
+     */
+    public void record(UUID playerId, String specialId, Step step, boolean passed, String detail) {
+        buffers.computeIfAbsent(playerId, k -> new Ring(capacity))
+                .add(System.currentTimeMillis(), specialId, step, passed, detail);
+    }
+
+    /**
+     * Enable or disable tracing for a player. Disabling keeps the buffer for a later dump.
+     */
+    public void setPlayerTraced(UUID playerId, boolean traced) {
+        if (traced) {
+            tracedPlayers.add(playerId);
+        } else {
+            tracedPlayers.remove(playerId);
+        }
+        updateActive();
+    }
+
+    /**
+     * Enable or disable tracing of a special for every player.
+     */
+    public void setSpecialTraced(String specialId, boolean traced) {
+        if (traced) {
+            tracedSpecials.add(specialId);
+        } else {
+            tracedSpecials.remove(specialId);
+        }
+        updateActive();
+    }
+
+    /**
+     * @return true if the player is traced explicitly.
+     */
+    public boolean isPlayerTraced(UUID playerId) {
+        return tracedPlayers.contains(playerId);
+    }
+
+    /**
+     * @return immutable copy of the traced special ids.
+     */
+    public Set<String> getTracedSpecials() {
+        return Collections.unmodifiableSet(new HashSet<>(tracedSpecials));
+    }
+
+    /**
+     * Forget the buffer of a player, e.g. when they leave and are not traced explicitly.
+     */
+    public void clear(UUID playerId) {
+        buffers.remove(playerId);
+    }
+
+    /**
+     * Drop the buffer of a player who quit unless they are traced explicitly.
+     */
+    public void onQuit(UUID playerId) {
+        if (!tracedPlayers.contains(playerId)) {
+            buffers.remove(playerId);
+        }
+    }
+
+    /**
+     * @return formatted buffer contents, oldest first.
+     */
+    public List<String> dump(UUID playerId) {
+        Ring ring = buffers.get(playerId);
+        if (ring == null || ring.size == 0) {
+            return Collections.emptyList();
+        }
+
+        SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS", Locale.ROOT);
+        List<String> lines = new ArrayList<>(ring.size);
+        int start = (ring.next - ring.size + ring.entries.length) % ring.entries.length;
+        for (int i = 0; i < ring.size; i++) {
+            Entry entry = ring.entries[(start + i) % ring.entries.length];
+            lines.add(time.format(new Date(entry.timeMillis)) + " "
+                    + (entry.specialId != null ? entry.specialId : "-") + " "
+                    + entry.step.name().toLowerCase(Locale.ROOT) + " "
+                    + (entry.passed ? "PASS" : "FAIL")
+                    + (entry.detail != null ? " - " + entry.detail : ""));
+        }
+        return lines;
+    }
+
+    private void updateActive() {
+        active = !tracedPlayers.isEmpty() || !tracedSpecials.isEmpty();
+    }
+}
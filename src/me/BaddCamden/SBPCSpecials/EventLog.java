@@ -0,0 +1,148 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+/**
+ * Binary format shared by {@link EventRecorder} and {@link EventLogReader}.
+ *
+ * A log is a gzip stream starting with {@link #MAGIC}, {@link #VERSION} and the
+ * recording start time, followed by records:
+ *
+ * <pre>
+ * type:u8  deltaMillis:varint  player:uuidRef
+ * sectionId:strRef  sectionType:strRef  sectionIndex+1:varint (0 = unknown)
+ * payload (by type)
+ * </pre>
+ *
+ * Strings and UUIDs are interned per file: reference 0 is null, 1 introduces a
+ * new value inline (UTF / two longs) and assigns it the next id, and
+ * {@code n >= 2} refers to id {@code n - 2}.
+ */
+public final class EventLog {
+
+    public static final int MAGIC = 0x53425245; // "SBRE"
+    public static final int VERSION = 1;
+
+    public static final int TYPE_JOIN = 1;
+    public static final int TYPE_QUIT = 2;
+    /** Payload: entityType:strRef victim:uuidRef */
+    public static final int TYPE_ENTITY_DEATH = 3;
+    /** Payload: material:strRef */
+    public static final int TYPE_PICKUP = 4;
+    /** Payload: entryId:strRef */
+    public static final int TYPE_UNLOCK = 5;
+    /** Payload: effectKey:strRef (null when the event had no type) */
+    public static final int TYPE_POTION = 6;
+    /** Payload: world:uuidRef x,y,z:zigzag varint flags:u8 */
+    public static final int TYPE_BLOCK = 7;
+
+    /** Block activity counts for housing. */
+    public static final int BLOCK_HOUSING = 1;
+    /** Block activity may count for farming. */
+    public static final int BLOCK_FARMING = 2;
+    /** The block qualified as a harvestable plant (only evaluated while farming). */
+    public static final int BLOCK_QUALIFYING_PLANT = 4;
+
+    private EventLog() {
+    }
+
+    /**
+     * One decoded record. Fields not used by the record type are null / zero.
+     */
+    public static final class Entry {
+        private final int type;
+        private final long timeMillis;
+        private final UUID playerId;
+        private final String sectionId;
+        private final String sectionType;
+        private final Integer sectionIndex;
+        private final String value;
+        private final UUID otherId;
+        private final int x;
+        private final int y;
+        private final int z;
+        private final int flags;
+
+        Entry(int type, long timeMillis, UUID playerId, String sectionId, String sectionType, Integer sectionIndex,
+              String value, UUID otherId, int x, int y, int z, int flags) {
+            this.type = type;
+            this.timeMillis = timeMillis;
+            this.playerId = playerId;
+            this.sectionId = sectionId;
+            this.sectionType = sectionType;
+            this.sectionIndex = sectionIndex;
+            this.value = value;
+            this.otherId = otherId;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.flags = flags;
+        }
+
+        /**
+         * @return one of the {@code TYPE_*} constants.
+         */
+        public int getType() {
+            return type;
+        }
+
+        /**
+         * @return wall-clock time of the event in epoch millis.
+         */
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        /**
+         * @return SBPC section of the player when the event fired, or null.
+         */
+        public String getSectionId() {
+            return sectionId;
+        }
+
+        public String getSectionType() {
+            return sectionType;
+        }
+
+        public Integer getSectionIndex() {
+            return sectionIndex;
+        }
+
+        /**
+         * @return entity type, material, entry id or effect key, depending on the type.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return death victim for {@link #TYPE_ENTITY_DEATH}, world for {@link #TYPE_BLOCK}.
+         */
+        public UUID getOtherId() {
+            return otherId;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getZ() {
+            return z;
+        }
+
+        /**
+         * @return {@code BLOCK_*} flags for {@link #TYPE_BLOCK}.
+         */
+        public int getFlags() {
+            return flags;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sequential reader for logs written by {@link EventRecorder}.
+ *
+ * A log cut short by a crash ends at the last complete record.
+ */
+public class EventLogReader implements Closeable {
+
+    private final DataInputStream in;
+    private final long startMillis;
+    private final List<String> strings = new ArrayList<>();
+    private final List<UUID> uuids = new ArrayList<>();
+    private long lastMillis;
+
+    /**
+     * Open a log file and validate its header.
+     */
+    public EventLogReader(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    /**
+     * Read a log from a raw (gzip-compressed) stream and validate its header.
+     */
+    public EventLogReader(InputStream raw) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw, 1 << 16)));
+        if (in.readInt() != EventLog.MAGIC) {
+            in.close();
+            throw new IOException("Not an SBPCSpecials event log");
+        }
+        int version = in.readUnsignedShort();
+        if (version != EventLog.VERSION) {
+            in.close();
+            throw new IOException("Unsupported event log version " + version);
+        }
+        this.startMillis = in.readLong();
+        this.lastMillis = startMillis;
+    }
+
+    /**
+     * @return epoch millis at which recording started.
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return the next record, or null at the end of the log.
+     */
+    public EventLog.Entry next() throws IOException {
+        int type;
+        try {
+            type = in.read();
+            if (type < 0) {
+                return null;
+            }
+            return readEntry(type);
+        } catch (EOFException ex) {
+            // Truncated tail (server crashed while recording).
+            return null;
+        }
+    }
+
+    private EventLog.Entry readEntry(int type) throws IOException {
+        lastMillis += readVarLong();
+        UUID player = readUuid();
+        String sectionId = readString();
+        String sectionType = readString();
+        long indexPlusOne = readVarLong();
+        Integer sectionIndex = indexPlusOne == 0L ? null : (int) (indexPlusOne - 1L);
+
+        String value = null;
+        UUID other = null;
+        int x = 0;
+        int y = 0;
+        int z = 0;
+        int flags = 0;
+        switch (type) {
+            case EventLog.TYPE_JOIN, EventLog.TYPE_QUIT -> {
+            }
+            case EventLog.TYPE_ENTITY_DEATH -> {
+                value = readString();
+                other = readUuid();
+            }
+            case EventLog.TYPE_PICKUP, EventLog.TYPE_UNLOCK, EventLog.TYPE_POTION -> value = readString();
+            case EventLog.TYPE_BLOCK -> {
+                other = readUuid();
+                x = readZigZag();
+                y = readZigZag();
+                z = readZigZag();
+                flags = in.readUnsignedByte();
+            }
+            default -> throw new IOException("Unknown record type " + type);
+        }
+        return new EventLog.Entry(type, lastMillis, player, sectionId, sectionType, sectionIndex,
+                value, other, x, y, z, flags);
+    }
+
+    private String readString() throws IOException {
+        int ref = (int) readVarLong();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref == 1) {
+            String value = in.readUTF();
+            strings.add(value);
+            return value;
+        }
+        return strings.get(ref - 2);
+    }
+
+    private UUID readUuid() throws IOException {
+        int ref = (int) readVarLong();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref == 1) {
+            UUID value = new UUID(in.readLong(), in.readLong());
+            uuids.add(value);
+            return value;
+        }
+        return uuids.get(ref - 2);
+    }
+
+    private int readZigZag() throws IOException {
+        long raw = readVarLong();
+        return (int) ((raw >>> 1) ^ -(raw & 1L));
+    }
+
+    private long readVarLong() throws IOException {
+        long result = 0L;
+        int shift = 0;
+        while (true) {
+            int b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Malformed varint");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,390 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Opt-in recorder for the events the engine consumes, in the {@link EventLog} format.
+ *
+ * Records are encoded into an in-memory buffer on the main thread together with
+ * the player's SBPC section at that moment; full buffers are handed to a single
+ * writer thread that compresses them to disk, so the main thread never blocks on I/O.
+ * Callers should check {@link #isRecording()} before gathering event data.
+ */
+public class EventRecorder {
+
+    private static final int FLUSH_THRESHOLD_BYTES = 1 << 16;
+
+    private final SbpcBridge sbpc;
+    private final SpecialsClock clock;
+    private final SpecialsScheduler scheduler;
+    private final Logger logger;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_THRESHOLD_BYTES * 2);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<UUID, Integer> uuids = new HashMap<>();
+
+    private boolean recording;
+    private File file;
+    private OutputStream fileOut;
+    private ExecutorService writer;
+    private SpecialsScheduler.Task flushTask;
+    private volatile String writeError;
+    private long lastMillis;
+    private long records;
+    private long bytes;
+    private long maxBytes;
+
+    /**
+     * @param sbpc      section lookups stored with every record
+     * @param clock     timestamps for records
+     * @param scheduler main-thread scheduler for periodic flushes
+     * @param logger    receives start/stop and I/O diagnostics
+     */
+    public EventRecorder(SbpcBridge sbpc, SpecialsClock clock, SpecialsScheduler scheduler, Logger logger) {
+        this.sbpc = sbpc;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.logger = logger;
+    }
+
+    /**
+     * Start recording into a new file.
+     *
+     * @param target             log file; parent directories are created
+     * @param maxBytes           uncompressed size after which recording stops (0 = unlimited)
+     * @param flushIntervalTicks how often buffered records are handed to the writer
+     * @return false if already recording or the file could not be opened
+     */
+    public boolean start(File target, long maxBytes, long flushIntervalTicks) {
+        if (recording) {
+            return false;
+        }
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            logger.warning("Could not create recording directory " + parent.getPath());
+            return false;
+        }
+        try {
+            fileOut = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(target)), 1 << 16, true);
+        } catch (IOException ex) {
+            logger.warning("Could not open event recording " + target.getName() + ": " + ex.getMessage());
+            return false;
+        }
+
+        file = target;
+        this.maxBytes = maxBytes;
+        strings.clear();
+        uuids.clear();
+        buffer.reset();
+        records = 0L;
+        bytes = 0L;
+        writeError = null;
+        lastMillis = clock.currentTimeMillis();
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "SBPCSpecials-event-recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recording = true;
+
+        try {
+            out.writeInt(EventLog.MAGIC);
+            out.writeShort(EventLog.VERSION);
+            out.writeLong(lastMillis);
+        } catch (IOException ex) {
+            // ByteArrayOutputStream does not throw.
+        }
+        flushTask = scheduler.runRepeating(this::flush, flushIntervalTicks, Math.max(1L, flushIntervalTicks));
+        logger.info("Recording events to " + target.getPath());
+        return true;
+    }
+
+    /**
+     * Flush remaining records, close the file and stop recording.
+     */
+    public void stop() {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        submitBuffer();
+        OutputStream stream = fileOut;
+        writer.execute(() -> {
+            try {
+                stream.close();
+            } catch (IOException ex) {
+                writeError = ex.getMessage();
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Event recorder did not finish writing within 5 seconds.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writeError != null) {
+            logger.warning("Event recording " + file.getName() + " may be incomplete: " + writeError);
+        }
+        logger.info("Stopped event recording " + file.getName() + " (" + records + " records, " + bytes + " bytes uncompressed).");
+        writer = null;
+        fileOut = null;
+    }
+
+    /**
+     * @return true while events are being recorded.
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return current or last recording file, or null if never started.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return records written to the current or last recording.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * @return uncompressed bytes written to the current or last recording.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    // ------------------------------------------------------------------------
+    // Records
+    // ------------------------------------------------------------------------
+
+    /**
+     * Record a player joining.
+     */
+    public void recordJoin(UUID playerId) {
+        if (begin(EventLog.TYPE_JOIN, playerId)) {
+            end();
+        }
+    }
+
+    /**
+     * Record a player leaving.
+     */
+    public void recordQuit(UUID playerId) {
+        if (begin(EventLog.TYPE_QUIT, playerId)) {
+            end();
+        }
+    }
+
+    /**
+     * Record a kill credited to a player.
+     *
+     * @param victimPlayerId the victim when a player was killed, otherwise null
+     */
+    public void recordEntityDeath(UUID killerId, EntityType type, UUID victimPlayerId) {
+        if (begin(EventLog.TYPE_ENTITY_DEATH, killerId)) {
+            writeString(type != null ? type.name() : null);
+            writeUuid(victimPlayerId);
+            end();
+        }
+    }
+
+    /**
+     * Record an item pickup by a player.
+     */
+    public void recordPickup(UUID playerId, Material material) {
+        if (begin(EventLog.TYPE_PICKUP, playerId)) {
+            writeString(material != null ? material.name() : null);
+            end();
+        }
+    }
+
+    /**
+     * Record an SBPC entry unlock.
+     */
+    public void recordUnlock(UUID playerId, String entryId) {
+        if (begin(EventLog.TYPE_UNLOCK, playerId)) {
+            writeString(entryId);
+            end();
+        }
+    }
+
+    /**
+     * Record a potion effect change; a null type is kept as null.
+     */
+    public void recordPotionChange(UUID playerId, PotionEffectType type) {
+        if (begin(EventLog.TYPE_POTION, playerId)) {
+            writeString(type != null ? type.getKey().toString() : null);
+            end();
+        }
+    }
+
+    /**
+     * Record block activity seen by the housing/farming listener.
+     *
+     * @param flags {@code EventLog.BLOCK_*} flags describing how the listener classified the block
+     */
+    public void recordBlock(UUID playerId, UUID worldId, int x, int y, int z, int flags) {
+        if (begin(EventLog.TYPE_BLOCK, playerId)) {
+            writeUuid(worldId);
+            writeZigZag(x);
+            writeZigZag(y);
+            writeZigZag(z);
+            buffer.write(flags);
+            end();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Encoding
+    // ------------------------------------------------------------------------
+
+    /**
+     * Write the common record header.
+     *
+     * @return false if not recording
+     */
+    private boolean begin(int type, UUID playerId) {
+        if (!recording) {
+            return false;
+        }
+        long now = clock.currentTimeMillis();
+        buffer.write(type);
+        writeVarLong(Math.max(0L, now - lastMillis));
+        lastMillis = Math.max(lastMillis, now);
+        writeUuid(playerId);
+
+        SectionMatchContext section = playerId != null ? sbpc.getCurrentSection(playerId) : null;
+        writeString(section != null ? section.getSectionId() : null);
+        writeString(section != null ? section.getSectionType() : null);
+        writeVarLong(section != null && section.getSectionIndex() != null ? section.getSectionIndex() + 1L : 0L);
+        return true;
+    }
+
+    private void end() {
+        records++;
+        if (buffer.size() >= FLUSH_THRESHOLD_BYTES) {
+            flush();
+        }
+    }
+
+    /**
+     * Hand buffered records to the writer thread; stops on size limit or write errors.
+     */
+    private void flush() {
+        if (!recording) {
+            return;
+        }
+        if (writeError != null) {
+            logger.warning("Event recording failed: " + writeError);
+            stop();
+            return;
+        }
+        submitBuffer();
+        if (maxBytes > 0L && bytes >= maxBytes) {
+            logger.warning("Event recording reached its size limit; stopping.");
+            stop();
+        }
+    }
+
+    private void submitBuffer() {
+        if (buffer.size() == 0) {
+            return;
+        }
+        byte[] chunk = buffer.toByteArray();
+        buffer.reset();
+        bytes += chunk.length;
+        OutputStream stream = fileOut;
+        writer.execute(() -> {
+            try {
+                stream.write(chunk);
+                stream.flush();
+            } catch (IOException ex) {
+                writeError = ex.getMessage();
+            }
+        });
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0L);
+            return;
+        }
+        Integer id = strings.get(value);
+        if (id != null) {
+            writeVarLong(id + 2L);
+            return;
+        }
+        strings.put(value, strings.size());
+        writeVarLong(1L);
+        try {
+            out.writeUTF(value);
+        } catch (IOException ex) {
+            // ByteArrayOutputStream does not throw; only over-long strings end up here.
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private void writeUuid(UUID value) {
+        if (value == null) {
+            writeVarLong(0L);
+            return;
+        }
+        Integer id = uuids.get(value);
+        if (id != null) {
+            writeVarLong(id + 2L);
+            return;
+        }
+        uuids.put(value, uuids.size());
+        writeVarLong(1L);
+        writeLong(value.getMostSignificantBits());
+        writeLong(value.getLeastSignificantBits());
+    }
+
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer.write((int) (value >>> shift));
+        }
+    }
+
+    private void writeZigZag(int value) {
+        writeVarLong(((long) value << 1) ^ ((long) value >> 63));
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0L) {
+            buffer.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.write((int) value);
+    }
+}
@@ -0,0 +1,206 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Runs registered special handlers.
+ *
+ * Sync handlers run inline on the calling (main) thread and are timed; async
+ * handlers are handed an immutable {@link SpecialTriggerSnapshot} and run on a
+ * small bounded worker pool, optionally interrupted once they have run longer
+ * than their timeout. Slow handlers, timeouts and dropped invocations are each
+ * reported at most once per interval and handler.
+ */
+final class HandlerDispatcher {
+
+    private final Logger logger;
+    private final ThreadPoolExecutor asyncExecutor;
+    private final ScheduledThreadPoolExecutor watchdog;
+    private final LongAdder rejected = new LongAdder();
+
+    private final long slowWarningNanos;
+    private final long slowWarningIntervalMillis;
+
+    /**
+     * @param logger  destination for slow-handler and failure warnings
+     * @param section "handlers" config section, may be null to use defaults
+     */
+    HandlerDispatcher(Logger logger, ConfigurationSection section) {
+        this.logger = logger;
+
+        int threads = section != null ? Math.max(1, section.getInt("async-threads", 2)) : 2;
+        int queueSize = section != null ? Math.max(16, section.getInt("async-queue-size", 1024)) : 1024;
+        long slowMillis = section != null ? Math.max(0L, section.getLong("slow-warning-millis", 5L)) : 5L;
+        long intervalSeconds = section != null ? Math.max(1L, section.getLong("slow-warning-interval-seconds", 60L)) : 60L;
+
+        this.slowWarningNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.slowWarningIntervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+
+        this.asyncExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                daemonFactory("SBPCSpecials-handler-"),
+                (task, executor) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("SBPCSpecials async handler queue is full");
+                });
+        this.asyncExecutor.allowCoreThreadTimeOut(true);
+        this.watchdog = new ScheduledThreadPoolExecutor(1, daemonFactory("SBPCSpecials-handler-watchdog-"));
+        // Handlers that finish in time cancel their timer; drop it right away instead of at its deadline.
+        this.watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Deliver the event to every registration. Must be called on the main thread.
+     */
+    void dispatch(SpecialTriggeredEvent event, SpecialHandlerRegistry.Registration[] registrations) {
+        SpecialTriggerSnapshot snapshot = null;
+
+        for (SpecialHandlerRegistry.Registration registration : registrations) {
+            if (registration.isAsync()) {
+                if (snapshot == null) {
+                    snapshot = SpecialTriggerSnapshot.of(event);
+                }
+                submitAsync(registration, snapshot);
+            } else {
+                runSync(registration, event);
+            }
+        }
+    }
+
+    /**
+     * @return number of async invocations dropped because the queue was full.
+     */
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stop accepting work and give in-flight async handlers a short grace period.
+     */
+    void shutdown() {
+        asyncExecutor.shutdown();
+        watchdog.shutdownNow();
+        try {
+            if (!asyncExecutor.awaitTermination(2L, TimeUnit.SECONDS)) {
+                asyncExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            asyncExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSync(SpecialHandlerRegistry.Registration registration, SpecialTriggeredEvent event) {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            registration.getHandler().onSpecialTriggered(event);
+        } catch (Throwable t) {
+            failed = true;
+            logger.warning("Error in SpecialHandler for " + event.getSpecialDefinition().getId()
+                    + " (" + registration.getOwnerName() + "): " + t.getMessage());
+        }
+        finish(registration, event.getSpecialDefinition().getId(), System.nanoTime() - start, failed);
+    }
+
+    private void submitAsync(SpecialHandlerRegistry.Registration registration, SpecialTriggerSnapshot snapshot) {
+        String specialId = snapshot.getSpecialDefinition().getId();
+        try {
+            asyncExecutor.execute(() -> runAsync(registration, snapshot, specialId));
+        } catch (RejectedExecutionException ex) {
+            if (registration.shouldWarnDropped(System.currentTimeMillis(), slowWarningIntervalMillis)) {
+                logger.warning("Dropped async SpecialHandler " + registration.describe()
+                        + " for " + specialId + ": " + ex.getMessage() + " (" + rejected.sum() + " dropped so far).");
+            }
+        }
+    }
+
+    /**
+     * Run an async handler on a worker thread. Its timeout starts here rather than at
+     * submission, so time spent queued behind other handlers never cancels it.
+     */
+    private void runAsync(SpecialHandlerRegistry.Registration registration, SpecialTriggerSnapshot snapshot,
+                          String specialId) {
+        long timeout = registration.getTimeoutMillis();
+        Thread worker = Thread.currentThread();
+        // Cleared by whichever comes first: the handler finishing or the watchdog firing.
+        AtomicBoolean running = new AtomicBoolean(true);
+        ScheduledFuture<?> timer = null;
+        if (timeout > 0L) {
+            try {
+                timer = watchdog.schedule(() -> {
+                    synchronized (running) {
+                        if (!running.getAndSet(false)) {
+                            return;
+                        }
+                        worker.interrupt();
+                    }
+                    registration.recordTimeout();
+                    if (registration.shouldWarnTimeout(System.currentTimeMillis(), slowWarningIntervalMillis)) {
+                        logger.warning("Async SpecialHandler " + registration.describe() + " for " + specialId
+                                + " exceeded its " + timeout + "ms timeout and was interrupted ("
+                                + registration.getTimeouts() + " timeouts so far).");
+                    }
+                }, timeout, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down; run without a timeout.
+            }
+        }
+
+        long start = System.nanoTime();
+        Throwable error = null;
+        boolean timedOut = false;
+        try {
+            registration.getAsyncHandler().onSpecialTriggered(snapshot);
+        } catch (Throwable t) {
+            error = t;
+        } finally {
+            if (timer != null) {
+                timer.cancel(false);
+                synchronized (running) {
+                    timedOut = !running.getAndSet(false);
+                    // Do not leak the watchdog's interrupt into the next task on this worker.
+                    Thread.interrupted();
+                }
+            }
+        }
+        if (error != null && !timedOut) {
+            logger.warning("Error in async SpecialHandler for " + specialId
+                    + " (" + registration.getOwnerName() + "): " + error.getMessage());
+        }
+        finish(registration, specialId, System.nanoTime() - start, error != null);
+    }
+
+    private void finish(SpecialHandlerRegistry.Registration registration, String specialId, long nanos, boolean failed) {
+        registration.recordInvocation(nanos, failed);
+        if (slowWarningNanos > 0L && nanos > slowWarningNanos
+                && registration.shouldWarnSlow(System.currentTimeMillis(), slowWarningIntervalMillis)) {
+            logger.warning("Slow " + (registration.isAsync() ? "async " : "") + "SpecialHandler "
+                    + registration.describe() + " took " + TimeUnit.NANOSECONDS.toMillis(nanos)
+                    + "ms for " + specialId + " (budget " + TimeUnit.NANOSECONDS.toMillis(slowWarningNanos) + "ms).");
+        }
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,282 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Tracks which materials watched by HAS_ITEM specials each online player holds,
+ * so possession specials fire however the item was obtained (crafting, chests,
+ * furnaces, pickups) without scanning inventories on a timer.
+ *
+ * Each player has a bitset over the snapshot's watched slots, one per
+ * (material, item predicate) pair. The whole inventory is only scanned on join
+ * and after a reload; an inventory event just marks the slots of the materials
+ * it moved, and those are re-checked once on the next tick, after the server
+ * has applied the click. Plain slots use {@code contains}; only slots with an
+ * item predicate look at the matching stacks' metadata. A slot that became
+ * present fires {@link SpecialsEngine#handleItemPossessed}. Items
+ * added without an inventory event (e.g. /give) are noticed at the next event
+ * involving the material or the next join. Main-thread only.
+ */
+public class InventoryPossessionTracker {
+
+    private final Plugin plugin;
+    private final SpecialsEngine engine;
+    private final SpecialsMetrics metrics;
+    private final Map<UUID, BitSet> held = new HashMap<>();
+    private Map<UUID, BitSet> pending = new HashMap<>();
+    private SpecialIndex tracked = SpecialIndex.EMPTY;
+    private boolean flushScheduled;
+
+    /**
+     * @param plugin  plugin the re-check task is scheduled for
+     * @param engine  engine that receives possession triggers
+     * @param metrics pipeline metrics that receive handler and re-check timings
+     */
+    public InventoryPossessionTracker(Plugin plugin, SpecialsEngine engine, SpecialsMetrics metrics) {
+        this.plugin = plugin;
+        this.engine = engine;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Scan the player's whole inventory, e.g. on join.
+     */
+    public void scan(Player player) {
+        SpecialIndex index = current();
+        if (index.getWatchedItemCount() == 0) {
+            return;
+        }
+        BitSet present = new BitSet(index.getWatchedItemCount());
+        for (ItemStack stack : player.getInventory().getContents()) {
+            mark(index, stack, present);
+        }
+        mark(index, player.getItemOnCursor(), present);
+
+        BitSet acquired = (BitSet) present.clone();
+        BitSet previous = held.put(player.getUniqueId(), present);
+        if (previous != null) {
+            acquired.andNot(previous);
+        }
+        for (int slot = acquired.nextSetBit(0); slot >= 0; slot = acquired.nextSetBit(slot + 1)) {
+            fire(player.getUniqueId(), index, slot);
+        }
+    }
+
+    /**
+     * Scan every player, e.g. after a reload changed the watched materials.
+     */
+    public void scanAll(Collection<? extends Player> players) {
+        if (current().getWatchedItemCount() == 0) {
+            return;
+        }
+        for (Player player : players) {
+            scan(player);
+        }
+    }
+
+    /**
+     * Drop the state of a player leaving the server.
+     */
+    public void forget(UUID playerId) {
+        held.remove(playerId);
+        pending.remove(playerId);
+    }
+
+    /**
+     * Re-check the picked up material on the next tick. The pickup may still be
+     * cancelled by a later listener, so nothing is marked held from the event itself.
+     */
+    public void onEntityPickup(EntityPickupItemEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleEntityPickup(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.INVENTORY_CHANGE, System.nanoTime() - start);
+        }
+    }
+
+    private void handleEntityPickup(EntityPickupItemEvent event) {
+        if (!(event.getEntity() instanceof Player player)) {
+            return;
+        }
+        int[] picked = slots(current(), event.getItem().getItemStack());
+        if (picked.length == 0) {
+            return;
+        }
+        BitSet marked = pending(player.getUniqueId());
+        for (int slot : picked) {
+            marked.set(slot);
+        }
+    }
+
+    /**
+     * Re-check the watched materials under the cursor and in the clicked slot.
+     * Crafting and furnace output clicks arrive here as well.
+     */
+    public void onInventoryClick(InventoryClickEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleInventoryClick(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.INVENTORY_CHANGE, System.nanoTime() - start);
+        }
+    }
+
+    private void handleInventoryClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+        SpecialIndex index = current();
+        if (index.getWatchedItemCount() == 0) {
+            return;
+        }
+        int[] clicked = slots(index, event.getCurrentItem());
+        int[] cursor = slots(index, event.getCursor());
+        if (clicked.length == 0 && cursor.length == 0) {
+            return;
+        }
+        BitSet marked = pending(player.getUniqueId());
+        for (int slot : clicked) {
+            marked.set(slot);
+        }
+        for (int slot : cursor) {
+            marked.set(slot);
+        }
+    }
+
+    /**
+     * Re-check the dragged material.
+     */
+    public void onInventoryDrag(InventoryDragEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleInventoryDrag(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.INVENTORY_CHANGE, System.nanoTime() - start);
+        }
+    }
+
+    private void handleInventoryDrag(InventoryDragEvent event) {
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+        SpecialIndex index = current();
+        int[] dragged = slots(index, event.getOldCursor());
+        if (dragged.length == 0) {
+            return;
+        }
+        BitSet marked = pending(player.getUniqueId());
+        for (int slot : dragged) {
+            marked.set(slot);
+        }
+    }
+
+    private BitSet pending(UUID playerId) {
+        BitSet slots = pending.get(playerId);
+        if (slots == null) {
+            slots = new BitSet();
+            pending.put(playerId, slots);
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+        return slots;
+    }
+
+    /**
+     * Re-check the marked materials of every player who moved one this tick.
+     */
+    private void flush() {
+        flushScheduled = false;
+        long start = System.nanoTime();
+        SpecialIndex index = current();
+        // Swap first: a reward may itself move items and mark new re-checks.
+        Map<UUID, BitSet> batch = pending;
+        pending = new HashMap<>();
+        for (Map.Entry<UUID, BitSet> entry : batch.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) {
+                continue;
+            }
+            BitSet bits = held.get(entry.getKey());
+            if (bits == null) {
+                scan(player);
+                continue;
+            }
+            PlayerInventory inventory = player.getInventory();
+            ItemStack cursor = player.getItemOnCursor();
+            BitSet slots = entry.getValue();
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                boolean present = holds(inventory, cursor, index.getWatchedItem(slot),
+                        index.getWatchedItemPredicate(slot));
+                if (present && !bits.get(slot)) {
+                    bits.set(slot);
+                    fire(entry.getKey(), index, slot);
+                } else if (!present) {
+                    bits.clear(slot);
+                }
+            }
+        }
+        metrics.recordEvent(SpecialsMetrics.EventSource.INVENTORY_CHANGE, System.nanoTime() - start);
+    }
+
+    /**
+     * @return the engine's snapshot; slots are per snapshot, so a new one resets all state.
+     */
+    private SpecialIndex current() {
+        SpecialIndex index = engine.getSpecials();
+        if (index != tracked) {
+            tracked = index;
+            held.clear();
+            pending.clear();
+        }
+        return index;
+    }
+
+    private void fire(UUID playerId, SpecialIndex index, int slot) {
+        engine.handleItemPossessed(playerId, index.getWatchedItem(slot), index.getWatchedItemPredicate(slot));
+    }
+
+    private static boolean holds(PlayerInventory inventory, ItemStack cursor, Material type, ItemPredicate predicate) {
+        if (predicate == null) {
+            return cursor != null && cursor.getType() == type || inventory.contains(type);
+        }
+        if (cursor != null && cursor.getType() == type && predicate.matches(cursor)) {
+            return true;
+        }
+        for (ItemStack stack : inventory.getContents()) {
+            if (stack != null && stack.getType() == type && predicate.matches(stack)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void mark(SpecialIndex index, ItemStack stack, BitSet present) {
+        for (int slot : slots(index, stack)) {
+            ItemPredicate predicate = index.getWatchedItemPredicate(slot);
+            if (predicate == null || predicate.matches(stack)) {
+                present.set(slot);
+            }
+        }
+    }
+
+    private static int[] slots(SpecialIndex index, ItemStack stack) {
+        return index.getWatchedItemSlots(stack != null ? stack.getType() : null);
+    }
+}
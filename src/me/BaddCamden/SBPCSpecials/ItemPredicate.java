@@ -0,0 +1,286 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Item metadata an item must carry for a pickup or possession trigger, on top
+ * of its material: display name, custom model data, minimum enchantment levels
+ * and string PersistentDataContainer tags.
+ *
+ * The exact-match parts (name, model data, tags) are hashed into a 64-bit
+ * fingerprint when the config loads. Predicates that read the same parts share
+ * a {@link Shape}; an event item is hashed once per shape of its material and
+ * only predicates with an equal fingerprint are verified field by field, so a
+ * fingerprint collision can never produce a false match. Immutable.
+ */
+public final class ItemPredicate {
+
+    private static final long SEED = 0xCBF29CE484222325L;
+    private static final long ABSENT = 0x9E3779B97F4A7C15L;
+
+    private final String displayName;
+    private final Integer customModelData;
+    private final Map<Enchantment, Integer> enchantments;
+    private final Map<NamespacedKey, String> tags;
+    private final Shape shape;
+    private final long fingerprint;
+
+    /**
+     * @param displayName     exact display name (color codes translated), or null for any
+     * @param customModelData exact custom model data, or null for any
+     * @param enchantments    minimum level per enchantment
+     * @param tags            exact string value per PersistentDataContainer key
+     */
+    public ItemPredicate(String displayName, Integer customModelData, Map<Enchantment, Integer> enchantments,
+                         Map<NamespacedKey, String> tags) {
+        this.displayName = displayName;
+        this.customModelData = customModelData;
+        this.enchantments = Collections.unmodifiableMap(new LinkedHashMap<>(enchantments));
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.shape = new Shape(displayName != null, customModelData != null,
+                this.tags.keySet().toArray(new NamespacedKey[0]));
+
+        long h = SEED;
+        if (shape.name) {
+            h = mix(h, displayName.hashCode());
+        }
+        if (shape.model) {
+            h = mix(h, customModelData);
+        }
+        for (String value : this.tags.values()) {
+            h = mix(h, value.hashCode());
+        }
+        this.fingerprint = h;
+    }
+
+    /**
+     * @return required display name, or null.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return required custom model data, or null.
+     */
+    public Integer getCustomModelData() {
+        return customModelData;
+    }
+
+    /**
+     * @return read-only minimum level per enchantment.
+     */
+    public Map<Enchantment, Integer> getEnchantments() {
+        return enchantments;
+    }
+
+    /**
+     * @return read-only required string value per tag key.
+     */
+    public Map<NamespacedKey, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return which item parts the fingerprint covers.
+     */
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * @return hash of the required name, model data and tag values.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return true if the item satisfies every requirement.
+     */
+    public boolean matches(ItemStack stack) {
+        ItemMeta meta = meta(stack);
+        return meta != null && verify(stack, meta);
+    }
+
+    private boolean verify(ItemStack stack, ItemMeta meta) {
+        if (displayName != null && !(meta.hasDisplayName() && displayName.equals(meta.getDisplayName()))) {
+            return false;
+        }
+        if (customModelData != null
+                && !(meta.hasCustomModelData() && customModelData == meta.getCustomModelData())) {
+            return false;
+        }
+        for (Map.Entry<Enchantment, Integer> entry : enchantments.entrySet()) {
+            Integer level = stack.getEnchantments().get(entry.getKey());
+            if (level == null || level < entry.getValue()) {
+                return false;
+            }
+        }
+        if (!tags.isEmpty()) {
+            PersistentDataContainer container = meta.getPersistentDataContainer();
+            for (Map.Entry<NamespacedKey, String> entry : tags.entrySet()) {
+                if (!entry.getValue().equals(readTag(container, entry.getKey()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distinct predicate shapes of a set of specials, for {@link #filter}.
+     *
+     * @return the shapes, or null if no special has a predicate
+     */
+    public static Shape[] shapesOf(List<SpecialDefinition> defs) {
+        List<Shape> shapes = new ArrayList<>();
+        for (SpecialDefinition def : defs) {
+            ItemPredicate predicate = def.getTrigger().getItemPredicate();
+            if (predicate != null && !shapes.contains(predicate.shape)) {
+                shapes.add(predicate.shape);
+            }
+        }
+        return shapes.isEmpty() ? null : shapes.toArray(new Shape[0]);
+    }
+
+    /**
+     * Drop specials whose predicate rejects the item. The item is hashed once per
+     * shape; specials without a predicate always pass.
+     *
+     * @param shapes shapes of the plan's predicates, from {@link #shapesOf}
+     * @param stack  the event item, or null if unknown (only specials without a predicate pass)
+     * @return a new list in plan order
+     */
+    public static List<SpecialDefinition> filter(List<SpecialDefinition> plan, Shape[] shapes, ItemStack stack) {
+        ItemMeta meta = meta(stack);
+        long[] fingerprints = new long[shapes.length];
+        if (meta != null) {
+            for (int i = 0; i < shapes.length; i++) {
+                fingerprints[i] = shapes[i].fingerprint(meta);
+            }
+        }
+
+        List<SpecialDefinition> matched = new ArrayList<>(plan.size());
+        for (SpecialDefinition def : plan) {
+            ItemPredicate predicate = def.getTrigger().getItemPredicate();
+            if (predicate == null) {
+                matched.add(def);
+            } else if (meta != null
+                    && fingerprints[indexOf(shapes, predicate.shape)] == predicate.fingerprint
+                    && predicate.verify(stack, meta)) {
+                matched.add(def);
+            }
+        }
+        return matched;
+    }
+
+    private static int indexOf(Shape[] shapes, Shape shape) {
+        for (int i = 0; i < shapes.length; i++) {
+            if (shapes[i].equals(shape)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ItemMeta meta(ItemStack stack) {
+        return stack != null && stack.hasItemMeta() ? stack.getItemMeta() : null;
+    }
+
+    private static String readTag(PersistentDataContainer container, NamespacedKey key) {
+        // A tag of another type under the key simply does not match.
+        return container.has(key, PersistentDataType.STRING) ? container.get(key, PersistentDataType.STRING) : null;
+    }
+
+    private static long mix(long h, long value) {
+        h = (h ^ value) * 0x100000001B3L;
+        return h ^ (h >>> 29);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ItemPredicate other)) {
+            return false;
+        }
+        return fingerprint == other.fingerprint
+                && Objects.equals(displayName, other.displayName)
+                && Objects.equals(customModelData, other.customModelData)
+                && enchantments.equals(other.enchantments)
+                && tags.equals(other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint) * 31 + enchantments.hashCode();
+    }
+
+    /**
+     * The item parts a fingerprint is computed over.
+     */
+    public static final class Shape {
+        private final boolean name;
+        private final boolean model;
+        private final NamespacedKey[] tagKeys;
+
+        Shape(boolean name, boolean model, NamespacedKey[] tagKeys) {
+            this.name = name;
+            this.model = model;
+            this.tagKeys = tagKeys;
+        }
+
+        /**
+         * @return fingerprint of the item's values for this shape; equal to a predicate's
+         *         fingerprint whenever the item matches its exact-match parts.
+         */
+        long fingerprint(ItemMeta meta) {
+            long h = SEED;
+            if (name) {
+                h = mix(h, meta.hasDisplayName() ? meta.getDisplayName().hashCode() : ABSENT);
+            }
+            if (model) {
+                h = mix(h, meta.hasCustomModelData() ? meta.getCustomModelData() : ABSENT);
+            }
+            if (tagKeys.length > 0) {
+                PersistentDataContainer container = meta.getPersistentDataContainer();
+                for (NamespacedKey key : tagKeys) {
+                    String value = readTag(container, key);
+                    h = mix(h, value != null ? value.hashCode() : ABSENT);
+                }
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Shape other)) {
+                return false;
+            }
+            return name == other.name && model == other.model && Arrays.equals(tagKeys, other.tagKeys);
+        }
+
+        @Override
+        public int hashCode() {
+            return (Boolean.hashCode(name) * 31 + Boolean.hashCode(model)) * 31 + Arrays.hashCode(tagKeys);
+        }
+    }
+}
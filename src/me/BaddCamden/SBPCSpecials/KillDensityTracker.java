@@ -0,0 +1,201 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Per-player kill density on a coarse grid, used to throttle repeatable
+ * death specials on mob farms.
+ *
+ * Each player has a small fixed table of grid cells with exponentially
+ * decaying kill counters. A kill probes two slots, so recording one is O(1),
+ * and a player never holds more than {@code cells-per-player} cells however
+ * many kills they make; the least dense cell is evicted. Up to
+ * {@code threshold} recent kills in a cell count fully; beyond it each kill
+ * earns {@code threshold / density} of an activation, and at {@code cutoff}
+ * none. Cells are keyed by a hash of world and coordinates, so a rare
+ * collision merges two cells. Main-thread only.
+ */
+public class KillDensityTracker {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    // Counters below this are treated as empty when pruning.
+    private static final double EMPTY = 0.5;
+
+    private final boolean enabled;
+    private final int cellShift;
+    private final int slots;
+    private final double decayPerNano;
+    private final double threshold;
+    private final double cutoff;
+    private final Map<UUID, Cells> players = new HashMap<>();
+
+    /**
+     * @param enabled         false to never throttle
+     * @param cellSize        grid cell edge in blocks, rounded up to a power of two
+     * @param halfLifeSeconds time for a cell's kill count to halve
+     * @param threshold       decayed kills in a cell before returns diminish
+     * @param cutoff          decayed kills at which repeatable specials stop (0 = never)
+     * @param cellsPerPlayer  cells tracked per player, rounded up to a power of two
+     */
+    public KillDensityTracker(boolean enabled, int cellSize, int halfLifeSeconds, double threshold, double cutoff,
+                              int cellsPerPlayer) {
+        this.enabled = enabled;
+        this.cellShift = 32 - Integer.numberOfLeadingZeros(Math.max(1, cellSize) - 1);
+        this.slots = Math.max(2, Integer.highestOneBit(Math.max(2, cellsPerPlayer) * 2 - 1));
+        this.decayPerNano = Math.log(2.0) / (Math.max(1, halfLifeSeconds) * NANOS_PER_SECOND);
+        this.threshold = Math.max(1.0, threshold);
+        this.cutoff = cutoff > 0.0 ? Math.max(this.threshold, cutoff) : 0.0;
+    }
+
+    /**
+     * Build from the {@code kill-density} config section; a missing section disables tracking.
+     */
+    public static KillDensityTracker fromConfig(ConfigurationSection sec) {
+        if (sec == null) {
+            return new KillDensityTracker(false, 16, 300, 20.0, 0.0, 16);
+        }
+        return new KillDensityTracker(
+                sec.getBoolean("enabled", true),
+                sec.getInt("cell-size", 16),
+                sec.getInt("half-life-seconds", 300),
+                sec.getDouble("threshold", 20.0),
+                sec.getDouble("cutoff", 0.0),
+                sec.getInt("cells-per-player", 16));
+    }
+
+    /**
+     * @return true if the other tracker was built from equal settings, so a reload can keep
+     *         this one and its recent kills.
+     */
+    public boolean hasSameSettings(KillDensityTracker other) {
+        return other != null && enabled == other.enabled && cellShift == other.cellShift
+                && slots == other.slots && decayPerNano == other.decayPerNano
+                && threshold == other.threshold && cutoff == other.cutoff;
+    }
+
+    /**
+     * @return true if kills are tracked at all.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a kill and decide whether it may activate repeatable specials.
+     *
+     * @return false if the kill is throttled
+     */
+    public boolean recordKill(UUID playerId, UUID worldId, int blockX, int blockZ, long nowNanos) {
+        if (!enabled) {
+            return true;
+        }
+        Cells cells = players.get(playerId);
+        if (cells == null) {
+            cells = new Cells(slots);
+            players.put(playerId, cells);
+        }
+
+        long key = cellKey(worldId, blockX >> cellShift, blockZ >> cellShift);
+        int slot = mix(key) & (slots - 1);
+        int other = slot ^ 1;
+        if (cells.keys[slot] != key || !cells.used[slot]) {
+            if (cells.used[other] && cells.keys[other] == key) {
+                slot = other;
+            } else if (cells.used[slot]
+                    && (!cells.used[other] || decayed(cells, other, nowNanos) < decayed(cells, slot, nowNanos))) {
+                // Evict the emptier of the two candidate slots.
+                slot = other;
+                cells.reset(slot, key, nowNanos);
+            } else {
+                cells.reset(slot, key, nowNanos);
+            }
+        }
+
+        double density = decayed(cells, slot, nowNanos) + 1.0;
+        cells.counts[slot] = density;
+        cells.times[slot] = nowNanos;
+
+        double weight = weight(density);
+        if (weight >= 1.0) {
+            return true;
+        }
+        // Diminishing returns: accumulate fractional credit, one activation per whole unit.
+        cells.credits[slot] += weight;
+        if (cells.credits[slot] >= 1.0) {
+            cells.credits[slot] -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drop players whose cells have all decayed.
+     */
+    public void prune(long nowNanos) {
+        Iterator<Cells> it = players.values().iterator();
+        while (it.hasNext()) {
+            Cells cells = it.next();
+            boolean empty = true;
+            for (int i = 0; i < slots && empty; i++) {
+                empty = !cells.used[i] || decayed(cells, i, nowNanos) < EMPTY;
+            }
+            if (empty) {
+                it.remove();
+            }
+        }
+    }
+
+    private double weight(double density) {
+        if (density <= threshold) {
+            return 1.0;
+        }
+        if (cutoff > 0.0 && density >= cutoff) {
+            return 0.0;
+        }
+        return threshold / density;
+    }
+
+    private double decayed(Cells cells, int slot, long nowNanos) {
+        long elapsed = nowNanos - cells.times[slot];
+        return elapsed <= 0L ? cells.counts[slot] : cells.counts[slot] * Math.exp(-elapsed * decayPerNano);
+    }
+
+    private static long cellKey(UUID worldId, int cellX, int cellZ) {
+        long world = worldId != null ? worldId.getMostSignificantBits() ^ worldId.getLeastSignificantBits() : 0L;
+        return world * 0x9E3779B97F4A7C15L ^ (((long) cellX << 32) | (cellZ & 0xFFFFFFFFL));
+    }
+
+    private static int mix(long key) {
+        long h = key * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Cells {
+        final long[] keys;
+        final boolean[] used;
+        final double[] counts;
+        final double[] credits;
+        final long[] times;
+
+        Cells(int slots) {
+            keys = new long[slots];
+            used = new boolean[slots];
+            counts = new double[slots];
+            credits = new double[slots];
+            times = new long[slots];
+        }
+
+        void reset(int slot, long key, long nowNanos) {
+            keys[slot] = key;
+            used[slot] = true;
+            counts[slot] = 0.0;
+            credits[slot] = 0.0;
+            times[slot] = nowNanos;
+        }
+    }
+}
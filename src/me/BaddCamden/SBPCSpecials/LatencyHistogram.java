@@ -0,0 +1,123 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ *
+ * Bucket 0 holds samples below 1µs, bucket {@code i} holds samples in
+ * {@code [2^(i-1), 2^i)} µs. Recording is allocation-free and safe from any
+ * thread; percentiles are approximated by the upper bound of their bucket.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record one sample.
+     *
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0L) {
+            nanos = 0L;
+        }
+        long micros = nanos / 1000L;
+        int index = micros == 0L ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(index);
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    /**
+     * @return number of recorded samples.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return sum of all recorded samples in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return largest recorded sample in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return mean sample in nanoseconds, 0 when empty.
+     */
+    public long getMeanNanos() {
+        long samples = getCount();
+        return samples == 0L ? 0L : getTotalNanos() / samples;
+    }
+
+    /**
+     * Approximate a percentile from the bucket counts.
+     *
+     * @param percentile value in (0, 100]
+     * @return bucket upper bound in nanoseconds, 0 when empty
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0L;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+
+        long target = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1L, target)) {
+                return Math.min(getMaxNanos(), getBucketUpperBoundNanos(i));
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return copy of the per-bucket sample counts.
+     */
+    public long[] getBucketCounts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = buckets.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * @return exclusive upper bound of the bucket in nanoseconds.
+     */
+    public static long getBucketUpperBoundNanos(int index) {
+        return TimeUnit.MICROSECONDS.toNanos(1L << index);
+    }
+
+    /**
+     * @return number of buckets in every histogram.
+     */
+    public static int getBucketCount() {
+        return BUCKETS;
+    }
+}
@@ -0,0 +1,190 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+
+/**
+ * Per-player message coalescing for repeatable specials.
+ *
+ * The first occurrence of a message inside a window is delivered immediately;
+ * identical messages that follow within the same window are only counted and
+ * flushed as a single digest of the repeats (e.g. "Killing mobs speeds up Meats x14"
+ * after 15 kills) when the window closes. Broadcasts are rate-limited per special id.
+ *
+ * All methods are expected to be called from the main server thread.
+ */
+public class MessageAggregator {
+
+    private static final String DEFAULT_DIGEST_FORMAT = "{message} &7x{count}";
+
+    private static class PendingMessage {
+        private final String message;
+        /** Copies after the first one, which was delivered right away. */
+        private int repeats;
+
+        private PendingMessage(String message) {
+            this.message = message;
+        }
+    }
+
+    private final Plugin plugin;
+    private final Map<UUID, Map<String, PendingMessage>> pendingByPlayer = new HashMap<>();
+    private final Map<String, Long> lastBroadcastBySpecial = new HashMap<>();
+
+    private long windowTicks;
+    private boolean actionBar;
+    private long broadcastCooldownMillis;
+    private String digestFormat = DEFAULT_DIGEST_FORMAT;
+    private BukkitTask flushTask;
+
+    /**
+     * @param plugin owning plugin used to schedule the flush task
+     */
+    public MessageAggregator(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Read the "message-delivery" config section and (re)start the flush task.
+     *
+     * @param section configuration section, may be null to use defaults
+     */
+    public void configure(ConfigurationSection section) {
+        flushAll();
+        stop();
+
+        this.windowTicks = section != null ? Math.max(0L, section.getLong("coalesce-window-ticks", 40L)) : 40L;
+        this.actionBar = section != null && section.getBoolean("action-bar", false);
+        this.broadcastCooldownMillis = section != null
+                ? Math.max(0L, section.getLong("broadcast-cooldown-seconds", 0L)) * 1000L
+                : 0L;
+        this.digestFormat = section != null
+                ? section.getString("digest-format", DEFAULT_DIGEST_FORMAT)
+                : DEFAULT_DIGEST_FORMAT;
+
+        if (windowTicks > 0L) {
+            flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flushAll, windowTicks, windowTicks);
+        }
+    }
+
+    /**
+     * Cancel the flush task. Pending digests are discarded.
+     */
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        pendingByPlayer.clear();
+    }
+
+    /**
+     * Deliver a message to the player, coalescing repeats inside the current window.
+     *
+     * @param player  recipient
+     * @param message already colorized message text
+     */
+    public void sendPlayerMessage(Player player, String message) {
+        if (player == null || message == null || message.isEmpty()) {
+            return;
+        }
+
+        if (windowTicks <= 0L) {
+            deliver(player, message);
+            return;
+        }
+
+        Map<String, PendingMessage> pending =
+                pendingByPlayer.computeIfAbsent(player.getUniqueId(), k -> new LinkedHashMap<>());
+        PendingMessage existing = pending.get(message);
+        if (existing != null) {
+            existing.repeats++;
+            return;
+        }
+
+        pending.put(message, new PendingMessage(message));
+        deliver(player, message);
+    }
+
+    /**
+     * Broadcast a special's message unless the same special broadcast within the cooldown.
+     *
+     * @param specialId special that produced the broadcast
+     * @param message   already colorized broadcast text
+     */
+    public void broadcast(String specialId, String message) {
+        if (message == null || message.isEmpty()) {
+            return;
+        }
+
+        if (broadcastCooldownMillis > 0L) {
+            long now = System.currentTimeMillis();
+            Long last = lastBroadcastBySpecial.get(specialId);
+            if (last != null && (now - last) < broadcastCooldownMillis) {
+                return;
+            }
+            lastBroadcastBySpecial.put(specialId, now);
+        }
+
+        Bukkit.broadcastMessage(message);
+    }
+
+    /**
+     * Drop any pending digests for a player, typically on quit.
+     */
+    public void clear(UUID playerId) {
+        pendingByPlayer.remove(playerId);
+    }
+
+    /**
+     * Close the current window: send one digest per repeated message, counting the copies
+     * after the first, and reset counts.
+     */
+    public void flushAll() {
+        if (pendingByPlayer.isEmpty()) {
+            return;
+        }
+
+        Iterator<Map.Entry<UUID, Map<String, PendingMessage>>> it = pendingByPlayer.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Map<String, PendingMessage>> entry = it.next();
+            it.remove();
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null || !player.isOnline()) {
+                continue;
+            }
+
+            for (PendingMessage pending : entry.getValue().values()) {
+                if (pending.repeats > 0) {
+                    deliver(player, SpecialsEngine.color(digestFormat
+                            .replace("{message}", pending.message)
+                            .replace("{count}", Integer.toString(pending.repeats))));
+                }
+            }
+        }
+    }
+
+    /**
+     * Send to chat or the action bar depending on configuration.
+     */
+    private void deliver(Player player, String message) {
+        if (actionBar) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(message));
+        } else {
+            player.sendMessage(message);
+        }
+    }
+}
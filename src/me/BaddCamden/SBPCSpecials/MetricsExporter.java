@@ -0,0 +1,268 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exposes {@link SpecialsMetrics} in the Prometheus text exposition format,
+ * either over a small embedded HTTP endpoint or as a periodically rewritten file.
+ *
+ * Rendering only reads lock-free counters and gauges, so it always runs off
+ * the main thread (HTTP worker or async scheduler task).
+ */
+public class MetricsExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Plugin plugin;
+    private final SpecialsMetrics metrics;
+
+    private final boolean httpEnabled;
+    private final String bindAddress;
+    private final int port;
+    private final String httpPath;
+
+    private final boolean fileEnabled;
+    private final File file;
+    private final long fileIntervalTicks;
+
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+    private BukkitTask fileTask;
+
+    /**
+     * @param plugin  owning plugin, used for scheduling and logging
+     * @param metrics source of all exported values
+     * @param section "metrics-export" config section, may be null (everything disabled)
+     */
+    public MetricsExporter(Plugin plugin, SpecialsMetrics metrics, ConfigurationSection section) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+
+        ConfigurationSection http = section != null ? section.getConfigurationSection("http") : null;
+        this.httpEnabled = http != null && http.getBoolean("enabled", false);
+        this.bindAddress = http != null ? http.getString("bind-address", "127.0.0.1") : "127.0.0.1";
+        this.port = http != null ? http.getInt("port", 9464) : 9464;
+        this.httpPath = http != null ? http.getString("path", "/metrics") : "/metrics";
+
+        ConfigurationSection fileSec = section != null ? section.getConfigurationSection("file") : null;
+        this.fileEnabled = fileSec != null && fileSec.getBoolean("enabled", false);
+        this.file = new File(plugin.getDataFolder(), fileSec != null ? fileSec.getString("path", "metrics.prom") : "metrics.prom");
+        this.fileIntervalTicks = 20L * Math.max(1L, fileSec != null ? fileSec.getLong("interval-seconds", 15L) : 15L);
+    }
+
+    /**
+     * Start the configured exporters. Failures are logged and leave the plugin running.
+     */
+    public void start() {
+        if (httpEnabled) {
+            try {
+                httpServer = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+                httpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "SBPCSpecials-metrics-http");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                httpServer.setExecutor(httpExecutor);
+                httpServer.createContext(httpPath, exchange -> {
+                    try {
+                        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                            exchange.sendResponseHeaders(405, -1);
+                            return;
+                        }
+                        byte[] body = render().getBytes(StandardCharsets.UTF_8);
+                        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                        exchange.sendResponseHeaders(200, body.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(body);
+                        }
+                    } finally {
+                        exchange.close();
+                    }
+                });
+                httpServer.start();
+                plugin.getLogger().info("Serving specials metrics on http://" + bindAddress + ":" + port + httpPath);
+            } catch (IOException | IllegalArgumentException ex) {
+                plugin.getLogger().warning("Could not start metrics endpoint on " + bindAddress + ":" + port + ": " + ex.getMessage());
+                stopHttp();
+            }
+        }
+
+        if (fileEnabled) {
+            fileTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::writeFile, fileIntervalTicks, fileIntervalTicks);
+        }
+    }
+
+    /**
+     * Stop the HTTP endpoint and the file writer.
+     */
+    public void stop() {
+        stopHttp();
+        if (fileTask != null) {
+            fileTask.cancel();
+            fileTask = null;
+        }
+    }
+
+    private void stopHttp() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+    }
+
+    /**
+     * Write the exposition to a temp file and atomically move it into place.
+     */
+    private void writeFile() {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            plugin.getLogger().warning("Could not create metrics directory " + parent.getPath());
+            return;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            Files.write(tmp.toPath(), render().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            plugin.getLogger().warning("Could not write metrics file " + file.getPath() + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * @return the current metrics in Prometheus text format.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(8192);
+
+        header(out, "sbpcspecials_trigger_fires_total", "counter", "Events dispatched to candidate specials, by trigger type.");
+        for (TriggerType type : TriggerType.values()) {
+            sample(out, "sbpcspecials_trigger_fires_total", labels("trigger", type.name()), metrics.getTriggerFires(type));
+        }
+
+        header(out, "sbpcspecials_candidates_evaluated_total", "counter", "Candidate specials evaluated across all triggers.");
+        sample(out, "sbpcspecials_candidates_evaluated_total", "", metrics.getCandidatesEvaluated());
+
+        header(out, "sbpcspecials_special_activations_total", "counter", "Specials applied to a player.");
+        List<Map.Entry<String, SpecialsMetrics.SpecialStats>> specials = new ArrayList<>(metrics.getAllSpecialStats().entrySet());
+        specials.sort(Map.Entry.comparingByKey());
+        for (Map.Entry<String, SpecialsMetrics.SpecialStats> entry : specials) {
+            sample(out, "sbpcspecials_special_activations_total", labels("special", entry.getKey()),
+                    entry.getValue().getCount(SpecialsMetrics.Outcome.APPLIED));
+        }
+
+        header(out, "sbpcspecials_special_evaluations_total", "counter", "Special evaluations by outcome.");
+        for (Map.Entry<String, SpecialsMetrics.SpecialStats> entry : specials) {
+            for (SpecialsMetrics.Outcome outcome : SpecialsMetrics.Outcome.values()) {
+                long count = entry.getValue().getCount(outcome);
+                if (count > 0L) {
+                    sample(out, "sbpcspecials_special_evaluations_total",
+                            labels("special", entry.getKey(), "outcome", outcome.name().toLowerCase(Locale.ROOT)), count);
+                }
+            }
+        }
+
+        header(out, "sbpcspecials_event_handler_seconds", "histogram", "Main-thread time spent in event handlers.");
+        for (SpecialsMetrics.EventSource source : SpecialsMetrics.EventSource.values()) {
+            histogram(out, "sbpcspecials_event_handler_seconds", "event", source.name().toLowerCase(Locale.ROOT),
+                    metrics.getEventLatency(source));
+        }
+
+        header(out, "sbpcspecials_pending_specials", "gauge", "Completed specials waiting for their section or potion requirement.");
+        sample(out, "sbpcspecials_pending_specials", "", metrics.getPendingSpecials());
+
+        header(out, "sbpcspecials_player_records_loaded", "gauge", "Player records held in memory.");
+        sample(out, "sbpcspecials_player_records_loaded", "", metrics.getLoadedPlayerRecords());
+
+        header(out, "sbpcspecials_persistence_seconds", "histogram", "Duration of player and server data persistence.");
+        for (SpecialsMetrics.PersistenceOperation operation : SpecialsMetrics.PersistenceOperation.values()) {
+            histogram(out, "sbpcspecials_persistence_seconds", "operation", operation.name().toLowerCase(Locale.ROOT),
+                    metrics.getPersistenceLatency(operation));
+        }
+
+        header(out, "sbpcspecials_persistence_failures_total", "counter", "Persistence operations that reported an error.");
+        for (SpecialsMetrics.PersistenceOperation operation : SpecialsMetrics.PersistenceOperation.values()) {
+            sample(out, "sbpcspecials_persistence_failures_total",
+                    labels("operation", operation.name().toLowerCase(Locale.ROOT)), metrics.getPersistenceFailures(operation));
+        }
+
+        header(out, "sbpcspecials_sbpc_calls_total", "counter", "Calls made into the SBPC API.");
+        for (SpecialsMetrics.SbpcOperation operation : SpecialsMetrics.SbpcOperation.values()) {
+            sample(out, "sbpcspecials_sbpc_calls_total",
+                    labels("operation", operation.name().toLowerCase(Locale.ROOT)), metrics.getSbpcCalls(operation));
+        }
+
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(formatDouble(value)).append('\n');
+    }
+
+    /**
+     * Render a latency histogram as cumulative Prometheus buckets in seconds.
+     */
+    private static void histogram(StringBuilder out, String name, String labelName, String labelValue, LatencyHistogram histogram) {
+        long[] counts = histogram.getBucketCounts();
+        long cumulative = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            double le = LatencyHistogram.getBucketUpperBoundNanos(i) / 1_000_000_000.0;
+            sample(out, name + "_bucket", labels(labelName, labelValue, "le", formatDouble(le)), cumulative);
+        }
+        sample(out, name + "_bucket", labels(labelName, labelValue, "le", "+Inf"), cumulative);
+        sample(out, name + "_sum", labels(labelName, labelValue), histogram.getTotalNanos() / 1_000_000_000.0);
+        sample(out, name + "_count", labels(labelName, labelValue), cumulative);
+    }
+
+    private static String labels(String... pairs) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(pairs[i]).append("=\"").append(escape(pairs[i + 1])).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String formatDouble(double value) {
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,200 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Reads and writes per-player specials state as Players/&lt;uuid&gt;.yml files.
+ *
+ * Holds no player state itself; callers own the in-memory map.
+ */
+public class PlayerDataStore {
+
+    private final File playersFolder;
+    private final Logger logger;
+
+    /**
+     * @param playersFolder directory containing one YAML file per player
+     * @param logger        receives warnings about unreadable or unwritable files
+     */
+    public PlayerDataStore(File playersFolder, Logger logger) {
+        this.playersFolder = playersFolder;
+        this.logger = logger;
+    }
+
+    /**
+     * @return the directory this store reads from and writes to.
+     */
+    public File getPlayersFolder() {
+        return playersFolder;
+    }
+
+    /**
+     * Read every player file. Files whose name is not a UUID are logged and skipped.
+     */
+    public Map<UUID, PlayerSpecialData> loadAll() {
+        Map<UUID, PlayerSpecialData> result = new HashMap<>();
+        if (!playersFolder.exists() || !playersFolder.isDirectory()) {
+            return result;
+        }
+
+        File[] files = playersFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
+        if (files == null) return result;
+
+        for (File file : files) {
+            String name = file.getName();
+            int dot = name.lastIndexOf('.');
+            String uuidStr = (dot == -1) ? name : name.substring(0, dot);
+
+            try {
+                UUID uuid = UUID.fromString(uuidStr);
+                result.put(uuid, read(YamlConfiguration.loadConfiguration(file)));
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Invalid player UUID in Players folder: " + name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the stored state of one player, or null if the player has no file.
+     */
+    public PlayerSpecialData load(UUID uuid) {
+        File file = fileFor(uuid);
+        if (!file.isFile()) {
+            return null;
+        }
+        return read(YamlConfiguration.loadConfiguration(file));
+    }
+
+    /**
+     * Write one player's state.
+     *
+     * @return false if the file could not be written
+     */
+    public boolean save(UUID uuid, PlayerSpecialData data) {
+        if (!ensureFolder()) {
+            return false;
+        }
+        return write(uuid, data);
+    }
+
+    /**
+     * Write every player's state.
+     *
+     * @return false if any file could not be written
+     */
+    public boolean saveAll(Map<UUID, PlayerSpecialData> playerData) {
+        if (!ensureFolder()) {
+            return false;
+        }
+
+        boolean success = true;
+        for (Map.Entry<UUID, PlayerSpecialData> entry : playerData.entrySet()) {
+            success &= write(entry.getKey(), entry.getValue());
+        }
+        return success;
+    }
+
+    private boolean ensureFolder() {
+        if (!playersFolder.exists() && !playersFolder.mkdirs()) {
+            logger.warning("Could not create Players folder at " + playersFolder.getPath());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean write(UUID uuid, PlayerSpecialData data) {
+        try {
+            toYaml(data).save(fileFor(uuid));
+            return true;
+        } catch (IOException ex) {
+            logger.warning("Could not save specials data for " + uuid + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    private File fileFor(UUID uuid) {
+        return new File(playersFolder, uuid.toString() + ".yml");
+    }
+
+    /**
+     * Rebuild player state from a parsed player file.
+     */
+    public static PlayerSpecialData read(ConfigurationSection cfg) {
+        PlayerSpecialData data = new PlayerSpecialData();
+
+        ConfigurationSection bonusesSec = cfg.getConfigurationSection("speed-bonuses");
+        if (bonusesSec != null) {
+            for (String specialId : bonusesSec.getKeys(false)) {
+                double percent = bonusesSec.getDouble(specialId + ".percent", 0.0);
+                int skip = bonusesSec.getInt(specialId + ".skip-seconds", 0);
+                data.addOrUpdateBonus(specialId, percent, skip);
+                data.markApplied(specialId); // bonuses imply the special was already applied
+            }
+        }
+
+        List<String> completed = cfg.getStringList("completed-specials");
+        for (String s : completed) {
+            data.markCompleted(s);
+        }
+
+        ConfigurationSection uniqueSec = cfg.getConfigurationSection("unique-kills");
+        if (uniqueSec != null) {
+            for (String key : uniqueSec.getKeys(false)) {
+                List<String> victimList = uniqueSec.getStringList(key);
+                Set<UUID> victims = new HashSet<>();
+                for (String victimId : victimList) {
+                    try {
+                        victims.add(UUID.fromString(victimId));
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                }
+                data.setUniqueKills(key, victims);
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Serialize player state into the player file layout.
+     */
+    public static YamlConfiguration toYaml(PlayerSpecialData data) {
+        YamlConfiguration cfg = new YamlConfiguration();
+
+        ConfigurationSection bonusesSec = cfg.createSection("speed-bonuses");
+        for (Map.Entry<String, PlayerSpecialData.SpeedBonus> bonusEntry :
+                data.getBonusesBySpecialId().entrySet()) {
+            String specialId = bonusEntry.getKey();
+            PlayerSpecialData.SpeedBonus bonus = bonusEntry.getValue();
+            bonusesSec.set(specialId + ".percent", bonus.getPercent());
+            bonusesSec.set(specialId + ".skip-seconds", bonus.getSkipSeconds());
+        }
+
+        cfg.set("completed-specials", new ArrayList<>(data.getCompletedSpecials()));
+
+        ConfigurationSection uniqueSec = cfg.createSection("unique-kills");
+        for (Map.Entry<String, Set<UUID>> e : data.getUniqueKillsByKey().entrySet()) {
+            List<String> victims = new ArrayList<>(e.getValue().size());
+            for (UUID victim : e.getValue()) {
+                victims.add(victim.toString());
+            }
+            uniqueSec.set(e.getKey(), victims);
+        }
+
+        return cfg;
+    }
+}
@@ -0,0 +1,14 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+/**
+ * Resolves online players for the specials engine.
+ */
+public interface PlayerLookup {
+
+    /**
+     * @return the online player, or null if the player is offline.
+     */
+    SpecialsPlayer getPlayer(UUID playerId);
+}
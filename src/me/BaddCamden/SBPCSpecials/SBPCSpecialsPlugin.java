@@ -2,11 +2,12 @@ package me.BaddCamden.SBPCSpecials;
 
 import java.io.File;
 import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -15,70 +16,81 @@ import org.bukkit.command.PluginCommand;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.AreaEffectCloud;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.entity.TNTPrimed;
+import org.bukkit.entity.Tameable;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.entity.EntityPotionEffectEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.potion.PotionEffect;
-import org.bukkit.potion.PotionEffectType;
 
-import me.BaddCamden.SBPC.api.SbpcAPI;
-import me.BaddCamden.SBPCSpecials.ProgressSpeedService;
 import me.BaddCamden.SBPCSpecials.SectionProgressListener;
 import me.BaddCamden.SBPC.events.UnlockItemEvent;
-import me.BaddCamden.SBPC.progress.SectionDefinition;
 
 /**
  * Config-driven specials implementation for SBPC.
  *
  * - All specials are declared in this plugin's config under "specials".
- * - onEntityDeath / onEntityPickup / UnlockItemEvent are routed through hash maps
- *   built from config, instead of hardcoded switch logic.
+ * - The plugin is the Bukkit adapter: it loads config and data, owns commands,
+ *   and forwards onEntityDeath / onEntityPickup / UnlockItemEvent etc. to the
+ *   server-independent {@link SpecialsEngine}.
  * - Per-player speed bonuses are stored in Players/<uuid>.yml.
  * - Section checks are done via section type (SectionDefinition.getType()) and index.
  */
 public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandExecutor, TabCompleter {
 
-    private final ProgressSpeedService progressSpeedService =
-            new ProgressSpeedService(SbpcAPI::applyExternalTimeSkip);
-
-    // ------------------------------------------------------------------------
-    // Config-driven specials indexes
-    // ------------------------------------------------------------------------
-
-    private final Map<String, SpecialDefinition> specialsById = new HashMap<>();
-    private final Map<EntityType, List<SpecialDefinition>> deathSpecials = new HashMap<>();
-    private final List<SpecialDefinition> deathSpecialsAny = new ArrayList<>();
-    private final Map<Material, List<SpecialDefinition>> pickupSpecials = new HashMap<>();
-    private final Map<String, List<SpecialDefinition>> unlockEntrySpecials = new HashMap<>();
-    private final Map<PotionEffectType, List<SpecialDefinition>> potionEffectSpecials = new HashMap<>();
-
-    // ------------------------------------------------------------------------
-    // Per-player & server state
-    // ------------------------------------------------------------------------
-
-    private final Map<UUID, PlayerSpecialData> playerData = new HashMap<>();
-    private final Set<String> completedSpecialsServerWide = new HashSet<>();
-
-    private static final String MURDER_SECTION_ID = "murder";
-    private static final String MASSACRE_SECTION_ID = "massacre";
-    private static final String MASSACRE_UNIQUE_KEY = "massacre_unique_kills";
-    private static final int MASSACRE_MAX_UNIQUE_KILLS = 3;
-    private static final int MASSACRE_ENTRY_SKIP_SECONDS = 3600;
-    private static final String SERIAL_KILLER_SECTION_ID = "serial_killer";
-    private static final int SERIAL_KILLER_KILL_SKIP_SECONDS = 1800;
+    private final SpecialsMetrics metrics = new SpecialsMetrics();
+    private final SbpcBridge sbpc = new SbpcApiBridge(metrics);
+    private final MessageAggregator messageAggregator = new MessageAggregator(this);
+    private final BukkitPlayerLookup playerLookup = new BukkitPlayerLookup();
+    private final SpecialsEngine engine = new SpecialsEngine(
+            sbpc,
+            playerLookup,
+            new BukkitSpecialsOutput(messageAggregator),
+            SpecialsClock.SYSTEM,
+            new BukkitSpecialsScheduler(this),
+            metrics,
+            getLogger());
+    private final DecisionTracer tracer = engine.getTracer();
+    private final EventRecorder eventRecorder = new EventRecorder(
+            sbpc, SpecialsClock.SYSTEM, new BukkitSpecialsScheduler(this), getLogger());
+    private SpecialsDirectoryLoader directoryLoader;
+    private SpecialsReloader reloader;
+    private TriggerListeners triggerListeners;
+    private SectionProgressTracker sectionTracker;
+    private SpawnReasonTagger spawnReasonTagger;
+    private InventoryPossessionTracker possessionTracker;
+    private DamageLedger damageLedger = DamageLedger.fromConfig(null);
+    private MetricsExporter metricsExporter;
 
     private static final String PERMISSION_ACTIVATE = "sbpcspecials.command.activate";
     private static final String PERMISSION_REMOVE = "sbpcspecials.command.remove";
+    private static final String PERMISSION_STATS = "sbpcspecials.command.stats";
+    private static final String PERMISSION_TRACE = "sbpcspecials.command.trace";
+    private static final String PERMISSION_RECORD = "sbpcspecials.command.record";
+    private static final String PERMISSION_RELOAD = "sbpcspecials.command.reload";
 
-    private File playersFolder;
+    private PlayerDataStore playerStore;
     private File specialsDataFile;
+    private Map<String, byte[]> specialFingerprints = Collections.emptyMap();
+    private boolean reloadInProgress;
+    private Map<String, Map<String, ConfigurationSection>> sourceTriggerSections = Collections.emptyMap();
 
     /**
      * Bootstraps configuration, listeners, and commands for the plugin.
@@ -88,19 +100,42 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
         saveDefaultConfig();
         reloadConfig();
 
-        this.playersFolder = new File(getDataFolder(), "Players");
+        this.playerStore = new PlayerDataStore(new File(getDataFolder(), "Players"), getLogger());
         this.specialsDataFile = new File(getDataFolder(), "specials-data.yml");
+        this.directoryLoader = createDirectoryLoader(getConfig().getConfigurationSection("specials-directory"));
+        this.reloader = new SpecialsReloader(this, directoryLoader);
 
+        SpecialsAPI.initTriggerSources();
         loadSpecialsFromConfig();
         loadPlayerData();
         loadGlobalSpecialsData();
+        messageAggregator.configure(getConfig().getConfigurationSection("message-delivery"));
+        tracer.setCapacity(getConfig().getInt("trace.buffer-size", 64));
+        engine.setServerWideRateLimit(SpecialConfigParser.parseRateLimit(
+                getConfig().getConfigurationSection("rate-limits.server-wide")));
+        engine.setKillDensity(KillDensityTracker.fromConfig(getConfig().getConfigurationSection("kill-density")));
+        damageLedger = DamageLedger.fromConfig(getConfig().getConfigurationSection("damage-attribution"));
+
+        engine.start();
+        metricsExporter = new MetricsExporter(this, metrics, getConfig().getConfigurationSection("metrics-export"));
+        metricsExporter.start();
+
+        // Initialize hook API before anything can apply a special, including the startup inventory scan
+        SpecialsAPI.init(this, new HandlerDispatcher(getLogger(), getConfig().getConfigurationSection("handlers")));
 
-        // Register listeners
+        // Register listeners; trigger listeners only for sources the loaded specials use.
         Bukkit.getPluginManager().registerEvents(this, this);
-        Bukkit.getPluginManager().registerEvents(new SectionProgressListener(), this);
+        sectionTracker = new SectionProgressTracker(sbpc, SpecialsClock.SYSTEM);
+        triggerListeners = new TriggerListeners(this);
+        spawnReasonTagger = new SpawnReasonTagger(this);
+        possessionTracker = new InventoryPossessionTracker(this, engine, metrics);
+        bindTriggerListeners(new SectionProgressListener(sectionTracker, eventRecorder, metrics));
+        updateTriggerListeners();
+        possessionTracker.scanAll(Bukkit.getOnlinePlayers());
 
-        // Initialize hook API
-        SpecialsAPI.init(this);
+        if (getConfig().getBoolean("recorder.enabled", false)) {
+            startEventRecording();
+        }
 
         PluginCommand command = getCommand("specials");
         if (command != null) {
@@ -119,6 +154,19 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
      */
     @Override
     public void onDisable() {
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+            metricsExporter = null;
+        }
+        messageAggregator.flushAll();
+        messageAggregator.stop();
+        SpecialsAPI.shutdown();
+        if (triggerListeners != null) {
+            triggerListeners.clear();
+        }
+        eventRecorder.stop();
+        engine.stop();
+        playerLookup.clear();
         savePlayerData();
         saveGlobalSpecialsData();
         getLogger().info("SBPCSpecials disabled.");
@@ -129,190 +177,174 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
     // ------------------------------------------------------------------------
 
     /**
-     * Parse plugin configuration into in-memory special definitions and trigger indexes.
+     * Parse config.yml and the specials directory into in-memory special definitions and trigger indexes.
      */
     private void loadSpecialsFromConfig() {
-        specialsById.clear();
-        deathSpecials.clear();
-        deathSpecialsAny.clear();
-        pickupSpecials.clear();
-        unlockEntrySpecials.clear();
-        potionEffectSpecials.clear();
-
         ConfigurationSection root = getConfig().getConfigurationSection("specials");
-        if (root == null) {
-            getLogger().warning("No specials defined in SBPCSpecials config (specials section is missing).");
+        SpecialsDirectoryLoader.Result directory = directoryLoader.load(getLogger());
+        if (root == null && directory.getFiles() == 0) {
+            getLogger().warning("No specials defined in SBPCSpecials config (specials section is missing and "
+                    + directoryLoader.getDirectory().getName() + "/ is empty).");
+            engine.setSpecials(SpecialIndex.EMPTY);
+            specialFingerprints = Collections.emptyMap();
+            sourceTriggerSections = Collections.emptyMap();
             return;
         }
 
-        for (String id : root.getKeys(false)) {
-            ConfigurationSection sec = root.getConfigurationSection(id);
-            if (sec == null) continue;
+        List<SpecialDefinition> configSpecials = SpecialConfigParser.parse(root, getLogger());
+        SpecialIndex specials = new SpecialIndex(SpecialsDirectoryLoader.merge(configSpecials, directory, getLogger()));
+        engine.setSpecials(specials);
+        specialFingerprints = SpecialsReloader.fingerprints(specials.getSpecialsById().values());
+        sourceTriggerSections = SpecialsReloader.sourceTriggerSections(root, directory);
 
-            // --- Trigger ---
-            ConfigurationSection trigSec = sec.getConfigurationSection("trigger");
-            if (trigSec == null) {
-                getLogger().warning("Special " + id + " is missing trigger section.");
-                continue;
-            }
+        SpecialsAPI.getRegistry().invalidate();
+        if (directory.getFiles() == 0) {
+            getLogger().info("Loaded " + specials.size() + " specials from config.");
+        } else {
+            getLogger().info("Loaded " + specials.size() + " specials (" + configSpecials.size() + " from config.yml, "
+                    + directory.size() + " from " + directory.getFiles() + " files in "
+                    + directoryLoader.getDirectory().getName() + "/, " + directory.getCachedFiles() + " cached) in "
+                    + (directory.getNanos() / 1_000_000L) + " ms.");
+        }
+    }
 
-            TriggerType triggerType;
-            try {
-                triggerType = TriggerType.valueOf(
-                        trigSec.getString("type", "UNLOCK_ENTRY").toUpperCase(Locale.ROOT)
-                );
-            } catch (IllegalArgumentException ex) {
-                getLogger().warning("Special " + id + " has invalid trigger type: " + trigSec.getString("type"));
-                continue;
-            }
+    /**
+     * Bind every trigger source's event handlers; registration happens in {@link #updateTriggerListeners()}.
+     */
+    private void bindTriggerListeners(SectionProgressListener sectionListener) {
+        triggerListeners.bind(TriggerListeners.Source.ENTITY_DEATH, EntityDeathEvent.class, this::onEntityDeath);
+        triggerListeners.bind(TriggerListeners.Source.ENTITY_PICKUP, EntityPickupItemEvent.class, this::onEntityPickup);
+        triggerListeners.bind(TriggerListeners.Source.HAS_ITEM, EntityPickupItemEvent.class, possessionTracker::onEntityPickup);
+        triggerListeners.bind(TriggerListeners.Source.HAS_ITEM, InventoryClickEvent.class, possessionTracker::onInventoryClick);
+        triggerListeners.bind(TriggerListeners.Source.HAS_ITEM, InventoryDragEvent.class, possessionTracker::onInventoryDrag);
+        triggerListeners.bind(TriggerListeners.Source.UNLOCK_ENTRY, UnlockItemEvent.class, this::onUnlockItem);
+        triggerListeners.bind(TriggerListeners.Source.POTION_EFFECT, EntityPotionEffectEvent.class, this::onEntityPotionEffect);
+        triggerListeners.bind(TriggerListeners.Source.SECTION_PROGRESS, BlockPlaceEvent.class, sectionListener::onBlockPlace);
+        triggerListeners.bind(TriggerListeners.Source.SECTION_PROGRESS, BlockBreakEvent.class, sectionListener::onBlockBreak);
+        triggerListeners.bind(TriggerListeners.Source.SECTION_PROGRESS, PlayerInteractEvent.class, sectionListener::onPlayerInteract);
+        triggerListeners.bind(TriggerListeners.Source.SPAWN_REASON, CreatureSpawnEvent.class, spawnReasonTagger::onCreatureSpawn);
+        triggerListeners.bind(TriggerListeners.Source.DAMAGE_ATTRIBUTION, EntityDamageByEntityEvent.class, this::onEntityDamageByEntity);
+    }
 
-            EntityType entityType = null;
-            boolean killerMustBePlayer = false;
-            Material itemType = null;
-            String entryId = null;
-
-            if (triggerType == TriggerType.ENTITY_DEATH || triggerType == TriggerType.ENTITY_PICKUP) {
-                String entName = trigSec.getString("entity-type", null);
-                if (entName != null) {
-                    try {
-                        entityType = EntityType.valueOf(entName.toUpperCase(Locale.ROOT));
-                    } catch (IllegalArgumentException ex) {
-                        getLogger().warning("Special " + id + " has invalid entity-type: " + entName);
-                    }
-                }
-            }
+    /**
+     * Register listeners for the trigger sources the active specials need and drop the rest.
+     */
+    private void updateTriggerListeners() {
+        EnumSet<TriggerListeners.Source> required = TriggerListeners.requiredBy(engine.getSpecials());
+        if (sectionTracker.hasTrackedSections()) {
+            required.add(TriggerListeners.Source.SECTION_PROGRESS);
+        }
+        if (engine.hasPvpSections()) {
+            required.add(TriggerListeners.Source.ENTITY_DEATH);
+        }
+        if (!damageLedger.isEnabled()) {
+            required.remove(TriggerListeners.Source.DAMAGE_ATTRIBUTION);
+        }
+        if (!required.equals(triggerListeners.getActive())) {
+            triggerListeners.update(required);
+            getLogger().info("Listening for trigger sources: " + (required.isEmpty() ? "none" : required) + ".");
+        }
 
-            if (triggerType == TriggerType.ENTITY_DEATH) {
-                killerMustBePlayer = trigSec.getBoolean("killer-must-be-player", true);
+        Set<String> sources = new TreeSet<>();
+        for (String sourceId : engine.getSpecials().getTriggerSourceIds()) {
+            TriggerSource source = SpecialsAPI.getTriggerSource(sourceId);
+            if (source == null) {
+                continue;
             }
-
-            if (triggerType == TriggerType.ENTITY_PICKUP) {
-                String itemName = trigSec.getString("item-type", null);
-                if (itemName != null) {
-                    try {
-                        itemType = Material.valueOf(itemName.toUpperCase(Locale.ROOT));
-                    } catch (IllegalArgumentException ex) {
-                        getLogger().warning("Special " + id + " has invalid item-type: " + itemName);
-                    }
+            if (!triggerListeners.isBound(sourceId)) {
+                triggerListeners.bindTriggerSource(sourceId);
+                try {
+                    source.bind(new TriggerSourceContext(sourceId, triggerListeners, engine, metrics));
+                } catch (RuntimeException ex) {
+                    getLogger().warning("Trigger source " + sourceId + " failed to bind: " + ex.getMessage());
+                    triggerListeners.unbind(sourceId);
+                    continue;
                 }
             }
+            sources.add(sourceId);
+        }
+        if (!sources.equals(triggerListeners.getActiveTriggerSources())) {
+            triggerListeners.updateTriggerSources(sources);
+            getLogger().info("Listening for trigger types: " + (sources.isEmpty() ? "none" : sources) + ".");
+        }
+    }
 
-            if (triggerType == TriggerType.UNLOCK_ENTRY) {
-                entryId = trigSec.getString("entry-id", null);
-            }
+    /**
+     * A trigger source registered after the specials were loaded: parse the specials of its
+     * type from the sections kept in memory and add them to the active snapshot. Nothing is
+     * re-read from disk, and no other special or runtime state is touched.
+     */
+    void onTriggerSourceRegistered(String sourceId) {
+        getLogger().info("Trigger source " + sourceId + " registered.");
+        SpecialIndex current = engine.getSpecials();
+        SpecialIndex resolved = withRegisteredSourceSpecials(current, sourceId);
+        if (resolved != current) {
+            engine.setSpecials(resolved);
+            specialFingerprints = SpecialsReloader.fingerprints(resolved.getSpecialsById().values());
+            SpecialsAPI.getRegistry().invalidate();
+            possessionTracker.scanAll(Bukkit.getOnlinePlayers());
+        }
+        updateTriggerListeners();
+    }
 
-            boolean commandActivatable = trigSec.getBoolean("command-activatable", false);
-
-            SpecialDefinition.TriggerDefinition triggerDef = new SpecialDefinition.TriggerDefinition(
-                    triggerType,
-                    entityType,
-                    killerMustBePlayer,
-                    itemType,
-                    entryId,
-                    commandActivatable
-            );
-
-            // --- Section condition ---
-            ConfigurationSection secCond = sec.getConfigurationSection("section");
-            String requireType = secCond != null ? secCond.getString("require-type", null) : null;
-            Integer minIndex = (secCond != null && secCond.contains("min-index"))
-                    ? secCond.getInt("min-index") : null;
-            Integer maxIndex = (secCond != null && secCond.contains("max-index"))
-                    ? secCond.getInt("max-index") : null;
-
-            boolean appliesToAllSections = secCond != null && secCond.getBoolean("applies-to-all-sections", false);
-            List<String> allowedSections = secCond != null ? secCond.getStringList("allowed-sections") : Collections.emptyList();
-            allowedSections = new ArrayList<>(allowedSections);
-            allowedSections.removeIf(s -> s == null || s.trim().isEmpty());
-
-            if (!appliesToAllSections && allowedSections.isEmpty()) {
-                getLogger().warning("Special " + id + " is missing allowed-sections and does not apply to all sections; skipping.");
+    /**
+     * @param sourceId only add specials of this source, or null for every registered source
+     * @return the snapshot plus the kept specials of registered trigger sources it is missing,
+     *         or the snapshot itself if there are none
+     */
+    private SpecialIndex withRegisteredSourceSpecials(SpecialIndex index, String sourceId) {
+        List<SpecialDefinition> added = new ArrayList<>();
+        for (Map.Entry<String, Map<String, ConfigurationSection>> type : sourceTriggerSections.entrySet()) {
+            if ((sourceId != null && !sourceId.equals(type.getKey())) || SpecialsAPI.getTriggerSource(type.getKey()) == null) {
                 continue;
             }
-
-            SpecialDefinition.SectionCondition sectionCondition =
-                    new SpecialDefinition.SectionCondition(requireType, minIndex, maxIndex, appliesToAllSections, allowedSections);
-
-            // --- Reward ---
-            ConfigurationSection rewardSec = sec.getConfigurationSection("reward");
-            double speedPercent = rewardSec != null ? rewardSec.getDouble("speed-bonus-percent", 0.0) : 0.0;
-            int skipSeconds = rewardSec != null ? rewardSec.getInt("speed-bonus-skip-seconds", 0) : 0;
-            int sessionSkip = rewardSec != null ? rewardSec.getInt("session-time-skip-seconds", 0) : 0;
-            boolean autoCompleteSection = rewardSec != null && rewardSec.getBoolean("auto-complete-section", false);
-            boolean defaultTimeSkip = rewardSec != null && rewardSec.getBoolean("default-time-skip", false);
-
-            SpecialDefinition.RewardDefinition rewardDef =
-                    new SpecialDefinition.RewardDefinition(speedPercent, skipSeconds, sessionSkip, autoCompleteSection, defaultTimeSkip);
-
-            // --- Scope ---
-            ConfigurationSection scopeSec = sec.getConfigurationSection("scope");
-            boolean oncePerPlayer = scopeSec != null && scopeSec.getBoolean("once-per-player", true);
-            boolean oncePerServer = scopeSec != null && scopeSec.getBoolean("once-per-server", false);
-
-            SpecialDefinition.ScopeDefinition scopeDef =
-                    new SpecialDefinition.ScopeDefinition(oncePerPlayer, oncePerServer);
-
-            // --- Messages ---
-            ConfigurationSection msgSec = sec.getConfigurationSection("messages");
-            String playerMsg = msgSec != null ? msgSec.getString("player", "") : "";
-            String broadcastMsg = msgSec != null ? msgSec.getString("broadcast", "") : "";
-
-            SpecialDefinition.MessagesDefinition msgDef =
-                    new SpecialDefinition.MessagesDefinition(playerMsg, broadcastMsg);
-
-            // --- Potion requirement ---
-            ConfigurationSection potionSec = sec.getConfigurationSection("potion-requirement");
-            SpecialDefinition.PotionRequirement potionRequirement = null;
-            if (potionSec != null) {
-                String effectName = potionSec.getString("effect", "");
-                PotionEffectType effectType = PotionEffectType.getByName(effectName);
-                if (effectType == null) {
-                    getLogger().warning("Special " + id + " has invalid potion effect: " + effectName);
-                } else {
-                    int minAmplifier = Math.max(0, potionSec.getInt("min-amplifier", 0));
-                    potionRequirement = new SpecialDefinition.PotionRequirement(effectType, minAmplifier);
+            for (Map.Entry<String, ConfigurationSection> special : type.getValue().entrySet()) {
+                if (index.get(special.getKey()) != null) {
+                    continue;
+                }
+                SpecialDefinition def = SpecialConfigParser.parseSpecial(special.getKey(), special.getValue(), getLogger());
+                if (def != null) {
+                    added.add(def);
                 }
             }
-
-            SpecialDefinition def = new SpecialDefinition(
-                    id,
-                    triggerDef,
-                    sectionCondition,
-                    rewardDef,
-                    scopeDef,
-                    msgDef,
-                    potionRequirement
-            );
-            specialsById.put(id, def);
-
-            if (potionRequirement != null && potionRequirement.getEffectType() != null) {
-                potionEffectSpecials.computeIfAbsent(potionRequirement.getEffectType(), k -> new ArrayList<>()).add(def);
-            }
-
-            // Index by trigger type
-            switch (triggerType) {
-                case ENTITY_DEATH:
-                    if (entityType != null) {
-                        deathSpecials.computeIfAbsent(entityType, k -> new ArrayList<>()).add(def);
-                    } else {
-                        // No entity specified: allow this special to trigger on any mob kill.
-                        deathSpecialsAny.add(def);
-                    }
-                    break;
-                case ENTITY_PICKUP:
-                    if (itemType != null) {
-                        pickupSpecials.computeIfAbsent(itemType, k -> new ArrayList<>()).add(def);
-                    }
-                    break;
-                case UNLOCK_ENTRY:
-                    if (entryId != null && !entryId.isEmpty()) {
-                        unlockEntrySpecials.computeIfAbsent(entryId, k -> new ArrayList<>()).add(def);
-                    }
-                    break;
-            }
         }
+        if (added.isEmpty()) {
+            return index;
+        }
+        List<SpecialDefinition> merged = new ArrayList<>(index.getSpecialsById().values());
+        merged.addAll(added);
+        List<String> ids = new ArrayList<>();
+        for (SpecialDefinition def : added) {
+            ids.add(def.getId());
+        }
+        getLogger().info("Loaded " + added.size() + " special(s) of newly registered trigger sources: " + ids + ".");
+        return new SpecialIndex(merged);
+    }
 
-        getLogger().info("Loaded " + specialsById.size() + " specials from config.");
+    /**
+     * Drop the listeners of an unregistered trigger source; specials using it stay loaded but inert.
+     */
+    void onTriggerSourceUnregistered(String sourceId) {
+        triggerListeners.unbind(sourceId);
+        updateTriggerListeners();
+        getLogger().info("Trigger source " + sourceId + " unregistered.");
+    }
+
+    /**
+     * Build the loader for the specials directory from the specials-directory config section.
+     */
+    private SpecialsDirectoryLoader createDirectoryLoader(ConfigurationSection section) {
+        String path = section != null ? section.getString("path", "specials") : "specials";
+        int parallelism = section != null ? section.getInt("parallelism", 0) : 0;
+        boolean cache = section == null || section.getBoolean("cache", true);
+
+        File directory = new File(getDataFolder(), path);
+        if (!directory.exists() && !directory.mkdirs()) {
+            getLogger().warning("Could not create specials directory at " + directory.getPath());
+        }
+        File cacheFile = cache ? new File(getDataFolder(), "specials-cache.bin") : null;
+        String stamp = getDescription().getVersion() + "/" + Bukkit.getBukkitVersion();
+        return new SpecialsDirectoryLoader(directory, cacheFile, stamp, parallelism);
     }
 
     // ------------------------------------------------------------------------
@@ -323,60 +355,16 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
      * Restore per-player special progress from disk into memory.
      */
     private void loadPlayerData() {
+        Map<UUID, PlayerSpecialData> playerData = engine.getPlayerData();
         playerData.clear();
 
-        if (!playersFolder.exists() || !playersFolder.isDirectory()) {
-            return;
-        }
-
-        File[] files = playersFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
-        if (files == null) return;
-
-        for (File file : files) {
-            String name = file.getName();
-            int dot = name.lastIndexOf('.');
-            String uuidStr = (dot == -1) ? name : name.substring(0, dot);
-
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
-
-                PlayerSpecialData data = new PlayerSpecialData();
-
-                ConfigurationSection bonusesSec = cfg.getConfigurationSection("speed-bonuses");
-                if (bonusesSec != null) {
-                    for (String specialId : bonusesSec.getKeys(false)) {
-                        double percent = bonusesSec.getDouble(specialId + ".percent", 0.0);
-                        int skip = bonusesSec.getInt(specialId + ".skip-seconds", 0);
-                        data.addOrUpdateBonus(specialId, percent, skip);
-                        data.markApplied(specialId); // bonuses imply the special was already applied
-                    }
-                }
-
-                List<String> completed = cfg.getStringList("completed-specials");
-                for (String s : completed) {
-                    data.markCompleted(s);
-                }
-
-                ConfigurationSection uniqueSec = cfg.getConfigurationSection("unique-kills");
-                if (uniqueSec != null) {
-                    for (String key : uniqueSec.getKeys(false)) {
-                        List<String> victimList = uniqueSec.getStringList(key);
-                        Set<UUID> victims = new HashSet<>();
-                        for (String victimId : victimList) {
-                            try {
-                                victims.add(UUID.fromString(victimId));
-                            } catch (IllegalArgumentException ignored) {
-                            }
-                        }
-                        data.setUniqueKills(key, victims);
-                    }
-                }
-
-                playerData.put(uuid, data);
-            } catch (IllegalArgumentException ex) {
-                getLogger().warning("Invalid player UUID in Players folder: " + name);
-            }
+        SpecialsFlightEvents.Persistence jfr = new SpecialsFlightEvents.Persistence();
+        jfr.begin();
+        long start = System.nanoTime();
+        try {
+            playerData.putAll(playerStore.loadAll());
+        } finally {
+            commitPersistence(jfr, SpecialsMetrics.PersistenceOperation.LOAD_PLAYERS, start, playerData.size(), true);
         }
     }
 
@@ -385,168 +373,138 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
-        UUID uuid = player.getUniqueId();
-
-        PlayerSpecialData data = playerData.get(uuid);
-        if (data == null) {
-            return;
+        long start = System.nanoTime();
+        try {
+            handlePlayerJoin(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.PLAYER_JOIN, System.nanoTime() - start);
         }
+    }
 
-        // Reapply any stored bonuses on join so progress timers stay in sync after restarts.
-        progressSpeedService.applySpeedBonuses(
-                uuid,
-                data,
-                "SBPCSpecials persisted bonuses on join"
-        );
-
-        // Specials completed in past sections may become applicable now.
-        applyPendingSpecialsForCurrentSection(player);
-        applyPendingPotionRequirementSpecials(player, null);
+    private void handlePlayerJoin(PlayerJoinEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        if (eventRecorder.isRecording()) {
+            eventRecorder.recordJoin(uuid);
+        }
+        engine.handleJoin(uuid);
+        possessionTracker.scan(event.getPlayer());
     }
 
     /**
-     * Persist per-player bonuses, completions, and unique kill tracking.
+     * Release special handlers owned by plugins that are shutting down.
      */
-    private void savePlayerData() {
-        if (!playersFolder.exists() && !playersFolder.mkdirs()) {
-            getLogger().warning("Could not create Players folder at " + playersFolder.getPath());
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == this) {
             return;
         }
+        int removed = SpecialsAPI.unregisterHandlers(event.getPlugin());
+        if (removed > 0) {
+            getLogger().info("Unregistered " + removed + " special handler(s) owned by " + event.getPlugin().getName() + ".");
+        }
+        SpecialsAPI.unregisterTriggerSources(event.getPlugin());
+    }
 
-        for (Map.Entry<UUID, PlayerSpecialData> entry : playerData.entrySet()) {
-            UUID uuid = entry.getKey();
-            PlayerSpecialData data = entry.getValue();
-
-            File file = new File(playersFolder, uuid.toString() + ".yml");
-            YamlConfiguration cfg = new YamlConfiguration();
-
-            ConfigurationSection bonusesSec = cfg.createSection("speed-bonuses");
-            for (Map.Entry<String, PlayerSpecialData.SpeedBonus> bonusEntry :
-                    data.getBonusesBySpecialId().entrySet()) {
-                String specialId = bonusEntry.getKey();
-                PlayerSpecialData.SpeedBonus bonus = bonusEntry.getValue();
-                bonusesSec.set(specialId + ".percent", bonus.getPercent());
-                bonusesSec.set(specialId + ".skip-seconds", bonus.getSkipSeconds());
-            }
+    /**
+     * Drop buffered message digests for players leaving the server.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        if (eventRecorder.isRecording()) {
+            eventRecorder.recordQuit(uuid);
+        }
+        messageAggregator.clear(uuid);
+        engine.handleQuit(uuid);
+        possessionTracker.forget(uuid);
+        playerLookup.forget(uuid);
+    }
 
-            cfg.set("completed-specials", new ArrayList<>(data.getCompletedSpecials()));
+    /**
+     * Persist per-player bonuses, completions, and unique kill tracking.
+     */
+    private void savePlayerData() {
+        SpecialsFlightEvents.Persistence jfr = new SpecialsFlightEvents.Persistence();
+        jfr.begin();
+        long start = System.nanoTime();
 
-            ConfigurationSection uniqueSec = cfg.createSection("unique-kills");
-            for (Map.Entry<String, Set<UUID>> e : data.getUniqueKillsByKey().entrySet()) {
-                List<String> victims = e.getValue().stream()
-                        .map(UUID::toString)
-                        .collect(Collectors.toList());
-                uniqueSec.set(e.getKey(), victims);
-            }
+        Map<UUID, PlayerSpecialData> playerData = engine.getPlayerData();
+        boolean success = playerStore.saveAll(playerData);
 
-            try {
-                cfg.save(file);
-            } catch (IOException ex) {
-                getLogger().warning("Could not save specials data for " + uuid + ": " + ex.getMessage());
-            }
-        }
+        commitPersistence(jfr, SpecialsMetrics.PersistenceOperation.SAVE_PLAYERS, start, playerData.size(), success);
     }
 
     /**
      * Load once-per-server completions from disk.
      */
     private void loadGlobalSpecialsData() {
+        Set<String> completedSpecialsServerWide = engine.getCompletedSpecialsServerWide();
         completedSpecialsServerWide.clear();
 
         if (!specialsDataFile.exists()) {
             return;
         }
 
+        SpecialsFlightEvents.Persistence jfr = new SpecialsFlightEvents.Persistence();
+        jfr.begin();
+        long start = System.nanoTime();
         YamlConfiguration cfg = YamlConfiguration.loadConfiguration(specialsDataFile);
         List<String> list = cfg.getStringList("completed-specials-server");
         completedSpecialsServerWide.addAll(list);
+        commitPersistence(jfr, SpecialsMetrics.PersistenceOperation.LOAD_GLOBAL, start, completedSpecialsServerWide.size(), true);
     }
 
     /**
      * Save once-per-server completions to disk.
      */
     private void saveGlobalSpecialsData() {
+        SpecialsFlightEvents.Persistence jfr = new SpecialsFlightEvents.Persistence();
+        jfr.begin();
+        long start = System.nanoTime();
+        boolean success = true;
+
+        Set<String> completedSpecialsServerWide = engine.getCompletedSpecialsServerWide();
         YamlConfiguration cfg = new YamlConfiguration();
         cfg.set("completed-specials-server", new ArrayList<>(completedSpecialsServerWide));
         try {
             cfg.save(specialsDataFile);
         } catch (IOException ex) {
+            success = false;
             getLogger().warning("Could not save specials-data.yml: " + ex.getMessage());
         }
-    }
 
-    /**
-     * @return cached or newly created PlayerSpecialData for the uuid.
-     */
-    private PlayerSpecialData getOrCreatePlayerData(UUID uuid) {
-        return playerData.computeIfAbsent(uuid, k -> new PlayerSpecialData());
+        commitPersistence(jfr, SpecialsMetrics.PersistenceOperation.SAVE_GLOBAL, start, completedSpecialsServerWide.size(), success);
     }
 
     /**
-     * Push the aggregated related-material bonus into SBPC for this player.
-     * If no specials are recorded, we leave SBPC's defaults alone.
+     * Record persistence latency and commit the JFR event if it is being recorded.
      */
+    private void commitPersistence(SpecialsFlightEvents.Persistence jfr,
+                                   SpecialsMetrics.PersistenceOperation operation,
+                                   long startNanos,
+                                   int records,
+                                   boolean success) {
+        metrics.recordPersistence(operation, System.nanoTime() - startNanos, success);
+        if (jfr.shouldCommit()) {
+            jfr.operation = operation.name();
+            jfr.records = records;
+            jfr.success = success;
+            jfr.commit();
+        }
+    }
 
     /**
-     * Apply any specials that were completed earlier but not yet applied,
-     * if their section condition now matches the player's current section.
-     */
-    /**
-     * Apply any completed specials that were waiting for the player's current section.
+     * @return runtime metrics for the trigger pipeline.
      */
-    private void applyPendingSpecialsForCurrentSection(Player player) {
-        if (player == null) {
-            return;
-        }
-
-        UUID uuid = player.getUniqueId();
-        PlayerSpecialData data = playerData.get(uuid);
-        if (data == null) {
-            return;
-        }
-
-        // We only care about specials that are completed but not applied yet
-        for (String id : data.getCompletedSpecials()) {
-            if (data.isApplied(id)) {
-                continue;
-            }
-
-            SpecialDefinition def = specialsById.get(id);
-            if (def == null) {
-                continue;
-            }
-
-            // Only apply if the current section condition matches now
-            if (!sectionConditionMatches(def, player)) {
-                continue;
-            }
-
-            if (!requirementsMet(def, player)) {
-                continue;
-            }
-
-            // Apply reward now (no trigger context entity available here)
-            applySpecialReward(def, player, null);
-        }
+    public SpecialsMetrics getMetrics() {
+        return metrics;
     }
 
     /**
      * Look up a special definition by id, ignoring case when necessary.
      */
     private SpecialDefinition getSpecialDefinition(String specialId) {
-        SpecialDefinition def = specialsById.get(specialId);
-        if (def != null) {
-            return def;
-        }
-
-        for (SpecialDefinition candidate : specialsById.values()) {
-            if (candidate.getId().equalsIgnoreCase(specialId)) {
-                return candidate;
-            }
-        }
-
-        return null;
+        return engine.getSpecials().find(specialId);
     }
 
     /**
@@ -558,6 +516,26 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
             return false;
         }
 
+        if (args.length >= 1 && "stats".equalsIgnoreCase(args[0])) {
+            handleStatsCommand(sender, args.length >= 2 ? args[1] : null);
+            return true;
+        }
+
+        if (args.length >= 1 && "trace".equalsIgnoreCase(args[0])) {
+            handleTraceCommand(sender, label, args);
+            return true;
+        }
+
+        if (args.length >= 1 && "record".equalsIgnoreCase(args[0])) {
+            handleRecordCommand(sender, label, args.length >= 2 ? args[1] : null);
+            return true;
+        }
+
+        if (args.length >= 1 && "reload".equalsIgnoreCase(args[0])) {
+            handleReloadCommand(sender, label, args.length >= 2 ? args[1] : null);
+            return true;
+        }
+
         if (!(sender instanceof Player player)) {
             sender.sendMessage(ChatColor.RED + "Only players can use this command.");
             return true;
@@ -595,7 +573,42 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
         }
 
         if (args.length == 1) {
-            return Arrays.asList("activate", "remove");
+            return Arrays.asList("activate", "remove", "stats", "trace", "record", "reload");
+        }
+
+        if ("reload".equalsIgnoreCase(args[0])) {
+            if (args.length != 2 || !sender.hasPermission(PERMISSION_RELOAD)) {
+                return Collections.emptyList();
+            }
+            return "force".startsWith(args[1].toLowerCase(Locale.ROOT)) ? List.of("force") : Collections.emptyList();
+        }
+
+        if ("record".equalsIgnoreCase(args[0])) {
+            if (args.length != 2 || !sender.hasPermission(PERMISSION_RECORD)) {
+                return Collections.emptyList();
+            }
+            String current = args[1].toLowerCase(Locale.ROOT);
+            return Arrays.asList("start", "stop", "status").stream().filter(o -> o.startsWith(current)).toList();
+        }
+
+        if ("trace".equalsIgnoreCase(args[0]) && sender.hasPermission(PERMISSION_TRACE)) {
+            String current = args[args.length - 1].toLowerCase(Locale.ROOT);
+            if (args.length == 2) {
+                List<String> options = new ArrayList<>();
+                options.add("special");
+                for (Player online : Bukkit.getOnlinePlayers()) {
+                    options.add(online.getName());
+                }
+                return options.stream().filter(o -> o.toLowerCase(Locale.ROOT).startsWith(current)).sorted().toList();
+            }
+            if (args.length == 3 && "special".equalsIgnoreCase(args[1])) {
+                return engine.getSpecials().getSpecialsById().keySet().stream()
+                        .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(current))
+                        .sorted()
+                        .toList();
+            }
+            List<String> actions = Arrays.asList("on", "off", "dump", "clear");
+            return actions.stream().filter(o -> o.startsWith(current)).toList();
         }
 
         if (!(sender instanceof Player player)) {
@@ -607,15 +620,22 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
 
         if (args.length == 2) {
             if ("activate".equals(sub) && player.hasPermission(PERMISSION_ACTIVATE)) {
-                return specialsById.values().stream()
+                return engine.getSpecials().getSpecialsById().values().stream()
                         .map(SpecialDefinition::getId)
                         .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(current))
                         .sorted()
                         .toList();
             }
 
+            if ("stats".equals(sub) && player.hasPermission(PERMISSION_STATS)) {
+                return engine.getSpecials().getSpecialsById().keySet().stream()
+                        .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(current))
+                        .sorted()
+                        .toList();
+            }
+
             if ("remove".equals(sub) && player.hasPermission(PERMISSION_REMOVE)) {
-                PlayerSpecialData data = getOrCreatePlayerData(player.getUniqueId());
+                PlayerSpecialData data = engine.getOrCreatePlayerData(player.getUniqueId());
                 return data.getAppliedSpecials().stream()
                         .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(current))
                         .sorted()
@@ -626,87 +646,37 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
         return Collections.emptyList();
     }
 
-    /**
-     * Manually activate a special via command, honoring permissions and scope.
-     */
     private void handleActivateCommand(Player player, SpecialDefinition def) {
         if (!player.hasPermission(PERMISSION_ACTIVATE)) {
             player.sendMessage(ChatColor.RED + "You do not have permission to activate specials.");
             return;
         }
 
-        if (def.getTrigger() == null || !def.getTrigger().isCommandActivatable()) {
-            player.sendMessage(ChatColor.RED + "This special cannot be activated via command.");
-            return;
-        }
-
-        applyPendingSpecialsForCurrentSection(player);
-
-        if (!sectionConditionMatches(def, player)) {
-            player.sendMessage(ChatColor.RED + "You must be in the correct section or entry to activate this special.");
-            return;
-        }
-
-        String id = def.getId();
-        UUID uuid = player.getUniqueId();
-        PlayerSpecialData data = getOrCreatePlayerData(uuid);
-
-        if (data.isApplied(id)) {
-            player.sendMessage(ChatColor.YELLOW + "That special is already active.");
-            return;
+        SpecialsPlayer specialsPlayer = playerLookup.getPlayer(player.getUniqueId());
+        switch (engine.activate(specialsPlayer, def)) {
+            case NOT_COMMAND_ACTIVATABLE ->
+                    player.sendMessage(ChatColor.RED + "This special cannot be activated via command.");
+            case WRONG_SECTION ->
+                    player.sendMessage(ChatColor.RED + "You must be in the correct section or entry to activate this special.");
+            case ALREADY_ACTIVE -> player.sendMessage(ChatColor.YELLOW + "That special is already active.");
+            case COMPLETED_SERVER_WIDE ->
+                    player.sendMessage(ChatColor.RED + "This special has already been completed server-wide.");
+            case COMPLETED_BY_PLAYER -> player.sendMessage(ChatColor.RED + "You have already completed this special.");
+            case ACTIVATED -> player.sendMessage(ChatColor.GREEN + "Special " + def.getId() + " activated.");
         }
-
-        SpecialDefinition.ScopeDefinition scope = def.getScope();
-        if (scope != null) {
-            if (scope.isOncePerServer() && completedSpecialsServerWide.contains(id)) {
-                player.sendMessage(ChatColor.RED + "This special has already been completed server-wide.");
-                return;
-            }
-            if (scope.isOncePerPlayer() && data.isCompleted(id)) {
-                player.sendMessage(ChatColor.RED + "You have already completed this special.");
-                return;
-            }
-        }
-
-        if (scope != null && scope.isOncePerServer()) {
-            completedSpecialsServerWide.add(id);
-        }
-
-        applySpecialReward(def, player, null);
-        player.sendMessage(ChatColor.GREEN + "Special " + id + " activated.");
     }
 
-    /**
-     * Remove an applied special and re-sync speed bonuses for a player.
-     */
     private void handleRemoveCommand(Player player, SpecialDefinition def) {
         if (!player.hasPermission(PERMISSION_REMOVE)) {
             player.sendMessage(ChatColor.RED + "You do not have permission to remove specials.");
             return;
         }
 
-        String id = def.getId();
-        PlayerSpecialData data = getOrCreatePlayerData(player.getUniqueId());
-
-        if (!data.isApplied(id)) {
-            player.sendMessage(ChatColor.RED + "That special is not currently active for you.");
-            return;
-        }
-
-        boolean clearCompletion = def.getScope() != null && !def.getScope().isOncePerPlayer();
-        boolean removed = data.removeSpecial(id, clearCompletion);
-        if (!removed) {
-            player.sendMessage(ChatColor.RED + "Could not remove that special.");
-            return;
+        switch (engine.remove(player.getUniqueId(), def)) {
+            case NOT_ACTIVE -> player.sendMessage(ChatColor.RED + "That special is not currently active for you.");
+            case FAILED -> player.sendMessage(ChatColor.RED + "Could not remove that special.");
+            case REMOVED -> player.sendMessage(ChatColor.YELLOW + "Special " + def.getId() + " removed.");
         }
-
-        progressSpeedService.applySpeedBonuses(
-                player.getUniqueId(),
-                data,
-                "SBPCSpecials command removal (" + id + ")"
-        );
-
-        player.sendMessage(ChatColor.YELLOW + "Special " + id + " removed.");
     }
 
     /**
@@ -714,440 +684,475 @@ public class SBPCSpecialsPlugin extends JavaPlugin implements Listener, CommandE
      */
     private void sendCommandUsage(Player player, String label) {
         player.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " <activate|remove> <special-id>");
+        player.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " stats [special-id]");
+        player.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " trace <player> [on|off|dump|clear] | trace special <special-id> <on|off>");
+        player.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " record <start|stop|status>");
+        player.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " reload [force]");
     }
+
     /**
-     * Apply pending specials gated by potion requirements when the player's effects change.
+     * Start, stop or show the status of the event recorder.
      */
-    private void applyPendingPotionRequirementSpecials(Player player, PotionEffectType changedEffect) {
-        if (player == null) {
+    private void handleRecordCommand(CommandSender sender, String label, String action) {
+        if (!sender.hasPermission(PERMISSION_RECORD)) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission to record events.");
             return;
         }
 
-        UUID uuid = player.getUniqueId();
-        PlayerSpecialData data = playerData.get(uuid);
-        if (data == null) {
-            return;
-        }
-
-        for (String id : data.getCompletedSpecials()) {
-            if (data.isApplied(id)) {
-                continue;
-            }
-
-            SpecialDefinition def = specialsById.get(id);
-            if (def == null) {
-                continue;
-            }
-
-            SpecialDefinition.PotionRequirement potionRequirement = def.getPotionRequirement();
-            if (potionRequirement == null) {
-                continue;
-            }
-
-            PotionEffectType requiredEffect = potionRequirement.getEffectType();
-            if (changedEffect != null && requiredEffect != null && !requiredEffect.equals(changedEffect)) {
-                continue;
+        String sub = action != null ? action.toLowerCase(Locale.ROOT) : "status";
+        switch (sub) {
+            case "start" -> {
+                if (eventRecorder.isRecording()) {
+                    sender.sendMessage(ChatColor.RED + "Already recording to " + eventRecorder.getFile().getName() + ".");
+                } else if (startEventRecording()) {
+                    sender.sendMessage(ChatColor.YELLOW + "Recording events to " + eventRecorder.getFile().getName() + ".");
+                } else {
+                    sender.sendMessage(ChatColor.RED + "Could not start recording; see the server log.");
+                }
             }
-
-            if (!sectionConditionMatches(def, player)) {
-                continue;
+            case "stop" -> {
+                if (!eventRecorder.isRecording()) {
+                    sender.sendMessage(ChatColor.RED + "Not recording.");
+                    return;
+                }
+                eventRecorder.stop();
+                sender.sendMessage(ChatColor.YELLOW + "Recording stopped: " + eventRecorder.getFile().getName()
+                        + " (" + eventRecorder.getRecords() + " events).");
             }
-
-            if (!requirementsMet(def, player)) {
-                continue;
+            case "status" -> {
+                if (eventRecorder.isRecording()) {
+                    sender.sendMessage(ChatColor.YELLOW + "Recording to " + eventRecorder.getFile().getName() + ": "
+                            + eventRecorder.getRecords() + " events, " + (eventRecorder.getBytes() / 1024L) + " KiB uncompressed.");
+                } else {
+                    sender.sendMessage(ChatColor.YELLOW + "Not recording.");
+                }
             }
-
-            applySpecialReward(def, player, null);
+            default -> sender.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " record <start|stop|status>");
         }
     }
-    /**
-     * Apply the reward for a special to the given player, mark it applied,
-     * update bonuses, and fire events/messages.
-     *
-     * Assumes that scope checks (once-per-player/server) and section conditions
-     * have already been handled by the caller.
-     */
-    private void applySpecialReward(SpecialDefinition def, Player player, Entity contextEntity) {
-        String id = def.getId();
-        UUID uuid = player.getUniqueId();
-
-        PlayerSpecialData data = getOrCreatePlayerData(uuid);
-
-        // Mark completed & applied on this player (if you have these)
-        data.markCompleted(id);
-        data.markApplied(id);
-
-        SpecialDefinition.RewardDefinition reward = def.getReward();
-
-        if (reward.isDefaultTimeSkip()) {
-            SbpcAPI.applyExternalTimeSkip(
-                    uuid,
-                    0,
-                    0.0,
-                    "SBPCSpecials default time skip (" + id + ")"
-            );
-        } else if (reward.getSpeedBonusPercent() != 0.0 || reward.getSpeedBonusSkipSeconds() != 0) {
-            data.addOrUpdateBonus(id, reward.getSpeedBonusPercent(), reward.getSpeedBonusSkipSeconds());
-        }
-
-        progressSpeedService.applySpeedBonuses(
-                uuid,
-                data,
-                "SBPCSpecials progress speed bonuses (" + id + ")"
-        );
-
-        if (reward.getSessionTimeSkipSeconds() > 0) {
-            progressSpeedService.applySessionSkip(
-                    uuid,
-                    reward.getSessionTimeSkipSeconds(),
-                    "SBPCSpecials special: " + id
-            );
-        }
-
-        // NEW: auto-complete current section if configured
-        if (reward.isAutoCompleteSection()) {
-            SbpcAPI.completeCurrentSection(uuid);
-        }
-
-        // Messages
-        SpecialDefinition.MessagesDefinition msg = def.getMessages();
-        if (msg.getPlayerMessage() != null && !msg.getPlayerMessage().isEmpty()) {
-            player.sendMessage(color(msg.getPlayerMessage()
-                    .replace("{player}", player.getName())
-                    .replace("{special}", id)));
-        }
-        sendSectionApplicabilityMessage(player, def.getSectionCondition());
-        if (msg.getBroadcastMessage() != null && !msg.getBroadcastMessage().isEmpty()) {
-            Bukkit.broadcastMessage(color(msg.getBroadcastMessage()
-                    .replace("{player}", player.getName())
-                    .replace("{special}", id)));
-        }
-
-        // Fire hook event & invoke registered handlers
-        SpecialTriggeredEvent ev = new SpecialTriggeredEvent(def, player, contextEntity);
-        Bukkit.getPluginManager().callEvent(ev);
-        SpecialsAPI.fireHandlers(ev);
-    }
-
-
-    // ------------------------------------------------------------------------
-    // Section condition helper
-    // ------------------------------------------------------------------------
 
     /**
-     * Check whether the player's current section satisfies the special's section condition.
+     * Re-read config.yml off the main thread and swap in the new specials if it parses cleanly.
+     * {@code force} applies the config even when some specials were skipped with warnings.
      */
-    private boolean sectionConditionMatches(SpecialDefinition def, Player player) {
-        SpecialDefinition.SectionCondition cond = def.getSectionCondition();
-        if (cond == null) return true;
-
-        UUID uuid = player.getUniqueId();
-
-        SectionDefinition section = SbpcAPI.getCurrentSectionDefinition(uuid, true);
-        if (section == null) return false;
-
-        String sectionId = section.getId();
-        int idx = SbpcAPI.getSectionIndex(sectionId);
-        if (idx < 0) {
-            logSectionMismatch(def, player, SectionMatchResult.denied("Could not determine section index for " + sectionId));
-            return false;
+    private void handleReloadCommand(CommandSender sender, String label, String option) {
+        if (!sender.hasPermission(PERMISSION_RELOAD)) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission to reload specials.");
+            return;
         }
-
-        SectionMatchContext context = new SectionMatchContext(sectionId, section.getType(), idx);
-        SectionMatchResult result = SectionMatcher.evaluate(cond, context);
-        if (!result.isAllowed()) {
-            logSectionMismatch(def, player, result);
+        boolean force = option != null && "force".equalsIgnoreCase(option);
+        if (option != null && !force) {
+            sender.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " reload [force]");
+            return;
+        }
+        if (reloadInProgress) {
+            sender.sendMessage(ChatColor.RED + "A reload is already in progress.");
+            return;
         }
-        return result.isAllowed();
+
+        reloadInProgress = true;
+        sender.sendMessage(ChatColor.YELLOW + "Reloading specials from config.yml...");
+        reloader.reload(new File(getDataFolder(), "config.yml"), force, specialFingerprints, result -> {
+            reloadInProgress = false;
+            applyReload(sender, result);
+        });
     }
 
     /**
-     * Log diagnostic information when a special cannot apply due to section mismatch.
+     * Apply a finished reload on the main thread: swap the specials snapshot, report the diff
+     * and re-check pending specials for online players.
      */
-    private void logSectionMismatch(SpecialDefinition def, Player player, SectionMatchResult result) {
-        if (result == null || result.isAllowed()) {
+    private void applyReload(CommandSender sender, SpecialsReloader.Result result) {
+        if (!result.isSuccess()) {
+            sender.sendMessage(ChatColor.RED + "Reload failed, keeping current specials: " + result.getError());
+            for (String warning : truncate(result.getWarnings(), 10)) {
+                sender.sendMessage(ChatColor.RED + " - " + warning);
+            }
+            getLogger().warning("Specials reload failed: " + result.getError());
             return;
         }
-        String playerName = player != null ? player.getName() : "unknown";
-        getLogger().info("Special " + def.getId() + " not applied for " + playerName + ": " + result.getReason());
+
+        // A source may have registered while the reload was parsing.
+        sourceTriggerSections = result.getSourceTriggerSections();
+        SpecialIndex index = withRegisteredSourceSpecials(result.getIndex(), null);
+        engine.setSpecials(index);
+        specialFingerprints = index == result.getIndex() ? result.getFingerprints()
+                : SpecialsReloader.fingerprints(index.getSpecialsById().values());
+        SpecialsAPI.getRegistry().invalidate();
+
+        YamlConfiguration config = result.getConfig();
+        messageAggregator.configure(config.getConfigurationSection("message-delivery"));
+        tracer.setCapacity(config.getInt("trace.buffer-size", 64));
+        engine.setServerWideRateLimit(SpecialConfigParser.parseRateLimit(
+                config.getConfigurationSection("rate-limits.server-wide")));
+        // Keep farm density and pending kill credit unless their settings changed.
+        KillDensityTracker killDensity = KillDensityTracker.fromConfig(config.getConfigurationSection("kill-density"));
+        if (!killDensity.hasSameSettings(engine.getKillDensity())) {
+            engine.setKillDensity(killDensity);
+        }
+        DamageLedger ledger = DamageLedger.fromConfig(config.getConfigurationSection("damage-attribution"));
+        if (!ledger.hasSameSettings(damageLedger)) {
+            damageLedger = ledger;
+        }
+        updateTriggerListeners();
+        possessionTracker.scanAll(Bukkit.getOnlinePlayers());
+
+        String summary = "Reloaded " + result.getIndex().size() + " specials in "
+                + (result.getBuildNanos() / 1_000_000L) + " ms: "
+                + result.getAdded().size() + " added, " + result.getRemoved().size() + " removed, "
+                + result.getChanged().size() + " changed.";
+        sender.sendMessage(ChatColor.GREEN + summary);
+        sendReloadDiff(sender, "Added", result.getAdded());
+        sendReloadDiff(sender, "Removed", result.getRemoved());
+        sendReloadDiff(sender, "Changed", result.getChanged());
+        for (String warning : truncate(result.getWarnings(), 10)) {
+            sender.sendMessage(ChatColor.GOLD + " - " + warning);
+        }
+        getLogger().info(summary + " Added " + result.getAdded() + ", removed " + result.getRemoved()
+                + ", changed " + result.getChanged() + ".");
+
+        List<UUID> online = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            online.add(player.getUniqueId());
+        }
+        long budgetMillis = config.getLong("reload.pending-budget-millis", 2L);
+        engine.reevaluatePending(online, Math.max(1L, budgetMillis) * 1_000_000L,
+                count -> getLogger().info("Re-checked pending specials for " + count + " online players after reload."));
     }
 
     /**
-     * Validate potion requirements before applying a special.
+     * Print one category of the reload diff, capped to keep chat readable.
      */
-    private boolean requirementsMet(SpecialDefinition def, Player player) {
-        SpecialDefinition.PotionRequirement potionReq = def.getPotionRequirement();
-        if (potionReq == null) {
-            return true;
-        }
-
-        PotionEffectType type = potionReq.getEffectType();
-        if (type == null) {
-            return false;
+    private void sendReloadDiff(CommandSender sender, String title, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
         }
+        List<String> shown = truncate(ids, 15);
+        String suffix = shown.size() < ids.size() ? " (+" + (ids.size() - shown.size()) + " more)" : "";
+        sender.sendMessage(ChatColor.YELLOW + title + ": " + ChatColor.WHITE + String.join(", ", shown) + suffix);
+    }
 
-        PotionEffect effect = player.getPotionEffect(type);
-        return effect != null && effect.getAmplifier() >= potionReq.getMinAmplifier();
+    private static List<String> truncate(List<String> list, int max) {
+        return list.size() <= max ? list : list.subList(0, max);
     }
 
     /**
-     * Record a special as completed for player/server scope without applying rewards.
+     * Start a new event recording in the configured directory.
+     *
+     * @return true if recording started
      */
-    private void markSpecialCompletion(SpecialDefinition def,
-                                       PlayerSpecialData data,
-                                       SpecialDefinition.ScopeDefinition scope) {
-        if (!data.isCompleted(def.getId())) {
-            data.markCompleted(def.getId());
-        }
-        if (scope.isOncePerServer()) {
-            completedSpecialsServerWide.add(def.getId());
-        }
+    private boolean startEventRecording() {
+        ConfigurationSection section = getConfig().getConfigurationSection("recorder");
+        String directory = section != null ? section.getString("directory", "recordings") : "recordings";
+        long maxMegabytes = section != null ? section.getLong("max-megabytes", 512L) : 512L;
+        long flushTicks = section != null ? section.getLong("flush-interval-ticks", 20L) : 20L;
+
+        String name = "events-" + new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date()) + ".sbrec";
+        File file = new File(new File(getDataFolder(), directory), name);
+        return eventRecorder.start(file, Math.max(0L, maxMegabytes) * 1024L * 1024L, flushTicks);
     }
 
-    // ------------------------------------------------------------------------
-    // Special triggering pipeline
-    // ------------------------------------------------------------------------
-
     /**
-     * Central entry for applying a special after a trigger fires.
+     * Toggle decision tracing for a player or special, or dump a player's trace buffer.
      */
-    private void triggerSpecial(SpecialDefinition def, Player player, Entity contextEntity) {
-        String id = def.getId();
-        UUID uuid = player.getUniqueId();
-
-        SpecialDefinition.ScopeDefinition scope = def.getScope();
-
-        // Once-per-server check
-        if (scope.isOncePerServer() && completedSpecialsServerWide.contains(id)) {
+    private void handleTraceCommand(CommandSender sender, String label, String[] args) {
+        if (!sender.hasPermission(PERMISSION_TRACE)) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission to trace specials.");
             return;
         }
 
-        PlayerSpecialData data = getOrCreatePlayerData(uuid);
-
-        // If already applied, nothing more to do
-        if (data.isApplied(id)) {
-            return;
-        }
-
-        // Section condition: determines whether we apply now or just record completion
-        boolean sectionMatches = sectionConditionMatches(def, player);
-
-        // If section does NOT match yet:
-        // - record completion so we can apply later when the player reaches that section
-        if (!sectionMatches) {
-            markSpecialCompletion(def, data, scope);
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " trace <player> [on|off|dump|clear] | trace special <special-id> <on|off>");
             return;
         }
 
-        // At this point, section matches. If once-per-player and already applied, avoid re-applying.
-        if (scope.isOncePerPlayer() && data.isCompleted(id) && data.isApplied(id)) {
+        if ("special".equalsIgnoreCase(args[1])) {
+            if (args.length < 3) {
+                Set<String> traced = tracer.getTracedSpecials();
+                sender.sendMessage(ChatColor.YELLOW + "Traced specials: " + (traced.isEmpty() ? "none" : String.join(", ", traced)));
+                return;
+            }
+            SpecialDefinition def = getSpecialDefinition(args[2]);
+            if (def == null) {
+                sender.sendMessage(ChatColor.RED + "Unknown special id: " + args[2]);
+                return;
+            }
+            boolean enable = args.length < 4 || !"off".equalsIgnoreCase(args[3]);
+            tracer.setSpecialTraced(def.getId(), enable);
+            sender.sendMessage(ChatColor.YELLOW + "Tracing " + (enable ? "enabled" : "disabled") + " for special " + def.getId() + ".");
             return;
         }
 
-        if (!requirementsMet(def, player)) {
-            markSpecialCompletion(def, data, scope);
+        Player target = Bukkit.getPlayerExact(args[1]);
+        if (target == null) {
+            sender.sendMessage(ChatColor.RED + "Player " + args[1] + " is not online.");
             return;
         }
 
-        // Mark server-wide completion if needed
-        if (scope.isOncePerServer()) {
-            completedSpecialsServerWide.add(id);
+        UUID targetId = target.getUniqueId();
+        String action = args.length >= 3 ? args[2].toLowerCase(Locale.ROOT) : "dump";
+        switch (action) {
+            case "on" -> {
+                tracer.setPlayerTraced(targetId, true);
+                sender.sendMessage(ChatColor.YELLOW + "Tracing enabled for " + target.getName() + ".");
+            }
+            case "off" -> {
+                tracer.setPlayerTraced(targetId, false);
+                sender.sendMessage(ChatColor.YELLOW + "Tracing disabled for " + target.getName() + " (buffer kept).");
+            }
+            case "clear" -> {
+                tracer.clear(targetId);
+                sender.sendMessage(ChatColor.YELLOW + "Trace buffer cleared for " + target.getName() + ".");
+            }
+            default -> {
+                List<String> lines = tracer.dump(targetId);
+                if (lines.isEmpty()) {
+                    sender.sendMessage(ChatColor.YELLOW + "No trace entries for " + target.getName()
+                            + (tracer.isPlayerTraced(targetId) ? "." : " (use '/" + label + " trace " + target.getName() + " on')."));
+                    return;
+                }
+                sender.sendMessage(ChatColor.GOLD + "Trace for " + target.getName() + " (" + lines.size() + " entries, oldest first):");
+                for (String line : lines) {
+                    sender.sendMessage(ChatColor.GRAY + line);
+                }
+            }
         }
-
-        // Apply reward now (marks completed + applied, sets bonuses, fires events)
-        applySpecialReward(def, player, contextEntity);
     }
 
     /**
-     * Handle bespoke PVP-driven section logic for murder/massacre progression.
+     * Print pipeline metrics, either a server overview or the stats of one special.
      */
-    private void handlePvpSectionSpecials(Player killer, Player victim) {
-        if (killer == null || victim == null) {
+    private void handleStatsCommand(CommandSender sender, String specialId) {
+        if (!sender.hasPermission(PERMISSION_STATS)) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission to view specials stats.");
             return;
         }
 
-        if (killer.getUniqueId().equals(victim.getUniqueId())) {
-            return; // ignore self kills
-        }
-
-        SectionDefinition section = SbpcAPI.getCurrentSectionDefinition(killer.getUniqueId(), true);
-        if (section == null) {
+        if (specialId != null) {
+            SpecialDefinition def = getSpecialDefinition(specialId);
+            String id = def != null ? def.getId() : specialId;
+            SpecialsMetrics.SpecialStats stats = metrics.getSpecialStats(id);
+            if (stats == null) {
+                sender.sendMessage(ChatColor.YELLOW + "No evaluations recorded for " + id + ".");
+                return;
+            }
+            sender.sendMessage(ChatColor.GOLD + "Special " + id + ": " + stats.getEvaluations() + " evaluations, "
+                    + formatLatency(stats.getLatency()));
+            for (SpecialsMetrics.Outcome outcome : SpecialsMetrics.Outcome.values()) {
+                sender.sendMessage(ChatColor.GRAY + "  " + outcome.name().toLowerCase(Locale.ROOT) + ": " + stats.getCount(outcome));
+            }
             return;
         }
 
-        String sectionId = section.getId().toLowerCase(Locale.ROOT);
+        long uptimeSeconds = Math.max(1L, (System.currentTimeMillis() - metrics.getStartedAtMillis()) / 1000L);
+        sender.sendMessage(ChatColor.GOLD + "SBPCSpecials stats (" + uptimeSeconds + "s, "
+                + metrics.getCandidatesEvaluated() + " candidates evaluated)");
 
-        if (MURDER_SECTION_ID.equals(sectionId)) {
-            SbpcAPI.completeCurrentSection(killer.getUniqueId());
-            killer.sendMessage(ChatColor.RED + "Killing a player completed the Murder section.");
-            return;
+        StringBuilder triggers = new StringBuilder("Trigger fires:");
+        for (TriggerType type : TriggerType.values()) {
+            triggers.append(' ').append(type.name().toLowerCase(Locale.ROOT)).append('=').append(metrics.getTriggerFires(type));
         }
+        sender.sendMessage(ChatColor.YELLOW + triggers.toString());
 
-        if (MASSACRE_SECTION_ID.equals(sectionId)) {
-            PlayerSpecialData data = getOrCreatePlayerData(killer.getUniqueId());
-            if (data.recordUniqueKill(MASSACRE_UNIQUE_KEY, victim.getUniqueId())) {
-                int count = data.getUniqueKillCount(MASSACRE_UNIQUE_KEY);
-                if (count <= MASSACRE_MAX_UNIQUE_KILLS) {
-                    progressSpeedService.applySessionSkip(
-                            killer.getUniqueId(),
-                            MASSACRE_ENTRY_SKIP_SECONDS,
-                            "SBPCSpecials Massacre unique player kill " + count
-                    );
-                    killer.sendMessage(ChatColor.DARK_RED + "Unique player kill " + count
-                            + " recorded for Massacre.");
-                }
-            }
-            return;
+        StringBuilder outcomes = new StringBuilder("Outcomes:");
+        for (SpecialsMetrics.Outcome outcome : SpecialsMetrics.Outcome.values()) {
+            outcomes.append(' ').append(outcome.name().toLowerCase(Locale.ROOT)).append('=').append(metrics.getOutcomeTotal(outcome));
         }
+        sender.sendMessage(ChatColor.YELLOW + outcomes.toString());
 
-        if (SERIAL_KILLER_SECTION_ID.equals(sectionId)) {
-            progressSpeedService.applySessionSkip(
-                    killer.getUniqueId(),
-                    SERIAL_KILLER_KILL_SKIP_SECONDS,
-                    "SBPCSpecials Serial Killer player kill"
-            );
-            killer.sendMessage(ChatColor.DARK_PURPLE + "Player kill skipped 30 minutes in Serial Killer.");
+        for (SpecialsMetrics.EventSource source : SpecialsMetrics.EventSource.values()) {
+            LatencyHistogram latency = metrics.getEventLatency(source);
+            if (latency.getCount() == 0L) {
+                continue;
+            }
+            sender.sendMessage(ChatColor.GRAY + "  " + source.name().toLowerCase(Locale.ROOT) + ": "
+                    + latency.getCount() + " calls, " + formatLatency(latency));
+        }
+
+        List<Map.Entry<String, SpecialsMetrics.SpecialStats>> top = metrics.getAllSpecialStats().entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().getLatency().getTotalNanos(), a.getValue().getLatency().getTotalNanos()))
+                .limit(5)
+                .toList();
+        if (!top.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "Most expensive specials (total time):");
+            for (Map.Entry<String, SpecialsMetrics.SpecialStats> entry : top) {
+                LatencyHistogram latency = entry.getValue().getLatency();
+                sender.sendMessage(ChatColor.GRAY + "  " + entry.getKey() + ": "
+                        + String.format(Locale.ROOT, "%.2fms total, ", latency.getTotalNanos() / 1_000_000.0)
+                        + entry.getValue().getCount(SpecialsMetrics.Outcome.APPLIED) + " applied / "
+                        + entry.getValue().getEvaluations() + " evaluated");
+            }
         }
     }
 
     /**
-     * Utility to translate color codes on configurable messages.
+     * Render mean / p99 / max of a histogram in microseconds.
      */
-    private String color(String msg) {
-        return ChatColor.translateAlternateColorCodes('&', msg);
-    }
-
-    /**
-     * Inform the player about section restrictions after a special fires.
-     */
-    private void sendSectionApplicabilityMessage(Player player, SpecialDefinition.SectionCondition condition) {
-        if (condition == null) {
-            return;
-        }
-
-        if (condition.isAppliesToAllSections()) {
-            player.sendMessage(ChatColor.YELLOW + "This special applies to all sections.");
-            return;
-        }
-
-        if (condition.getAllowedSections() != null && !condition.getAllowedSections().isEmpty()) {
-            player.sendMessage(ChatColor.YELLOW + "Allowed sections: " + String.join(", ", condition.getAllowedSections()));
-        }
+    private String formatLatency(LatencyHistogram latency) {
+        return "mean " + (latency.getMeanNanos() / 1000L) + "µs, p99 "
+                + (latency.getPercentileNanos(99.0) / 1000L) + "µs, max "
+                + (latency.getMaxNanos() / 1000L) + "µs";
     }
 
     // ------------------------------------------------------------------------
-    // Event listeners (generic)
+    // Trigger listeners, bound in bindTriggerListeners
     // ------------------------------------------------------------------------
 
     /**
      * Listen for potion effect changes so potion-gated specials can activate.
      */
-    @EventHandler(ignoreCancelled = true)
-    public void onEntityPotionEffect(EntityPotionEffectEvent event) {
-        if (!(event.getEntity() instanceof Player player)) {
-            return;
+    private void onEntityPotionEffect(EntityPotionEffectEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleEntityPotionEffect(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.POTION_EFFECT, System.nanoTime() - start);
         }
+    }
 
-        PotionEffectType changedType = event.getModifiedType();
-        if (changedType != null && !potionEffectSpecials.containsKey(changedType)) {
+    private void handleEntityPotionEffect(EntityPotionEffectEvent event) {
+        if (!(event.getEntity() instanceof Player player)) {
             return;
         }
 
-        applyPendingPotionRequirementSpecials(player, changedType);
+        if (eventRecorder.isRecording()) {
+            eventRecorder.recordPotionChange(player.getUniqueId(), event.getModifiedType());
+        }
+        engine.handlePotionEffectChange(player.getUniqueId(), event.getModifiedType());
     }
 
     /**
      * Route mob/player deaths into the relevant specials based on config.
      */
-    @EventHandler(ignoreCancelled = true)
-    public void onEntityDeath(EntityDeathEvent event) {
+    private void onEntityDeath(EntityDeathEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleEntityDeath(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.ENTITY_DEATH, System.nanoTime() - start);
+        }
+    }
+
+    private void handleEntityDeath(EntityDeathEvent event) {
         Player killer = event.getEntity().getKiller();
+        boolean credited = false;
+        if (damageLedger.isEnabled()) {
+            // Always take the victim out of the ledger; its hits only matter without a direct killer.
+            UUID creditId = damageLedger.takeCredit(event.getEntity().getUniqueId(), System.currentTimeMillis());
+            if (killer == null && creditId != null && engine.getSpecials().acceptsCreditedKills(event.getEntityType())) {
+                killer = Bukkit.getPlayer(creditId);
+                credited = killer != null;
+            }
+        }
         if (killer == null) {
             return;
         }
 
-        applyPendingPotionRequirementSpecials(killer, null);
-
-        if (event.getEntity() instanceof Player victimPlayer) {
-            handlePvpSectionSpecials(killer, victimPlayer);
+        UUID victimPlayerId = event.getEntity() instanceof Player victim ? victim.getUniqueId() : null;
+        // Recordings replay every kill as a direct one, so credited kills are left out.
+        if (eventRecorder.isRecording() && !credited) {
+            eventRecorder.recordEntityDeath(killer.getUniqueId(), event.getEntityType(), victimPlayerId);
         }
+        // The spawn tag is only read when a death special of this type filters on it.
+        CreatureSpawnEvent.SpawnReason spawnReason = engine.getSpecials().hasSpawnReasonFilter(event.getEntityType())
+                ? spawnReasonTagger.read(event.getEntity()) : null;
+        Location location = event.getEntity().getLocation();
+        engine.handleEntityDeath(killer.getUniqueId(), event.getEntityType(), event.getEntity(), victimPlayerId,
+                credited, spawnReason, location.getWorld() != null ? location.getWorld().getUID() : null,
+                location.getBlockX(), location.getBlockZ());
+    }
 
-        EntityType type = event.getEntityType();
-        List<SpecialDefinition> defs = new ArrayList<>();
-
-        List<SpecialDefinition> typeDefs = deathSpecials.get(type);
-        if (typeDefs != null) {
-            defs.addAll(typeDefs);
-        }
-        // "Any" death specials should ignore player deaths so PVP doesn't trigger mob-based bonuses.
-        if (type != EntityType.PLAYER) {
-            defs.addAll(deathSpecialsAny);
+    /**
+     * Remember which player hurt a mob that death specials accepting credited kills watch.
+     */
+    private void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleEntityDamageByEntity(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.ENTITY_DAMAGE, System.nanoTime() - start);
         }
+    }
 
-        if (defs.isEmpty()) {
+    private void handleEntityDamageByEntity(EntityDamageByEntityEvent event) {
+        if (!(event.getEntity() instanceof LivingEntity victim)
+                || !engine.getSpecials().acceptsCreditedKills(event.getEntityType())) {
             return;
         }
+        Player attacker = resolveAttacker(event.getDamager());
+        if (attacker == null || attacker == victim) {
+            return;
+        }
+        damageLedger.recordHit(victim.getUniqueId(), attacker.getUniqueId(), System.currentTimeMillis());
+    }
 
-        // First, apply any specials that were completed earlier but
-        // only become valid in the killer's current section.
-        applyPendingSpecialsForCurrentSection(killer);
-
-        for (SpecialDefinition def : defs) {
-            SpecialDefinition.TriggerDefinition trig = def.getTrigger();
-            if (trig.isKillerMustBePlayer() && killer == null) {
-                continue;
+    /**
+     * @return the player responsible for damage dealt by the entity: the player itself, the
+     *         shooter of a projectile, the owner of a tamed animal or the igniter of TNT
+     */
+    private static Player resolveAttacker(Entity damager) {
+        for (int depth = 0; damager != null && depth < 3; depth++) {
+            if (damager instanceof Player player) {
+                return player;
+            }
+            if (damager instanceof Tameable tameable) {
+                return tameable.getOwner() instanceof Player owner ? owner : null;
+            }
+            if (damager instanceof Projectile projectile) {
+                // Dispenser arrows have a block as shooter and stay uncredited.
+                damager = projectile.getShooter() instanceof Entity shooter ? shooter : null;
+            } else if (damager instanceof TNTPrimed tnt) {
+                damager = tnt.getSource();
+            } else if (damager instanceof AreaEffectCloud cloud) {
+                damager = cloud.getSource() instanceof Entity source ? source : null;
+            } else {
+                return null;
             }
-            // Trigger this special; triggerSpecial will handle section matching vs. early completion.
-            triggerSpecial(def, killer, event.getEntity());
         }
+        return null;
     }
 
     /**
      * Trigger pickup-based specials when a player collects matching items.
      */
-    @EventHandler(ignoreCancelled = true)
-    public void onEntityPickup(EntityPickupItemEvent event) {
-        if (!(event.getEntity() instanceof Player)) {
-            return;
+    private void onEntityPickup(EntityPickupItemEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleEntityPickup(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.ENTITY_PICKUP, System.nanoTime() - start);
         }
-        Player player = (Player) event.getEntity();
-        Material type = event.getItem().getItemStack().getType();
-
-        applyPendingPotionRequirementSpecials(player, null);
+    }
 
-        List<SpecialDefinition> defs = pickupSpecials.get(type);
-        if (defs == null || defs.isEmpty()) {
+    private void handleEntityPickup(EntityPickupItemEvent event) {
+        if (!(event.getEntity() instanceof Player player)) {
             return;
         }
 
-        // Apply any pending specials whose section condition now matches
-        applyPendingSpecialsForCurrentSection(player);
-
-        for (SpecialDefinition def : defs) {
-            triggerSpecial(def, player, event.getItem());
+        Material type = event.getItem().getItemStack().getType();
+        if (eventRecorder.isRecording()) {
+            eventRecorder.recordPickup(player.getUniqueId(), type);
         }
+        engine.handleItemPickup(player.getUniqueId(), type, event.getItem());
     }
 
     /**
      * Trigger unlock-entry specials when SBPC entries are completed.
      */
-    @EventHandler(ignoreCancelled = true)
-    public void onUnlockItem(UnlockItemEvent event) {
-        String entryId = event.getEntry().getId();
-        List<SpecialDefinition> defs = unlockEntrySpecials.get(entryId);
-        if (defs == null || defs.isEmpty()) {
-            return;
+    private void onUnlockItem(UnlockItemEvent event) {
+        long start = System.nanoTime();
+        try {
+            handleUnlockItem(event);
+        } finally {
+            metrics.recordEvent(SpecialsMetrics.EventSource.UNLOCK_ITEM, System.nanoTime() - start);
         }
+    }
 
-        Player player = event.getPlayer();
-
-        // Apply any pending specials first
-        applyPendingSpecialsForCurrentSection(player);
-        applyPendingPotionRequirementSpecials(player, null);
-
-        for (SpecialDefinition def : defs) {
-            triggerSpecial(def, player, null);
+    private void handleUnlockItem(UnlockItemEvent event) {
+        if (eventRecorder.isRecording()) {
+            eventRecorder.recordUnlock(event.getPlayer().getUniqueId(), event.getEntry().getId());
         }
+        engine.handleUnlock(event.getPlayer().getUniqueId(), event.getEntry().getId());
     }
 
 }
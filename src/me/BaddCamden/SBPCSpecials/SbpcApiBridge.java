@@ -0,0 +1,99 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+import me.BaddCamden.SBPC.api.SbpcAPI;
+import me.BaddCamden.SBPC.progress.SectionDefinition;
+
+/**
+ * {@link SbpcBridge} backed by the static {@link SbpcAPI}, counting and emitting a JFR event per call.
+ */
+public class SbpcApiBridge implements SbpcBridge {
+
+    private final SpecialsMetrics metrics;
+
+    /**
+     * @param metrics receives one count per SBPC call
+     */
+    public SbpcApiBridge(SpecialsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Resolve the current section and its index.
+     */
+    @Override
+    public SectionMatchContext getCurrentSection(UUID playerId) {
+        SpecialsFlightEvents.SbpcCall jfr = new SpecialsFlightEvents.SbpcCall();
+        jfr.begin();
+
+        SectionDefinition section = SbpcAPI.getCurrentSectionDefinition(playerId, true);
+        SectionMatchContext context = null;
+        if (section != null) {
+            int idx = SbpcAPI.getSectionIndex(section.getId());
+            context = new SectionMatchContext(section.getId(), section.getType(), idx >= 0 ? idx : null);
+        }
+
+        metrics.recordSbpcCall(SpecialsMetrics.SbpcOperation.GET_CURRENT_SECTION);
+        commit(jfr, "getCurrentSection", playerId);
+        return context;
+    }
+
+    /**
+     * Resolve only the current section id.
+     */
+    @Override
+    public String getCurrentSectionId(UUID playerId) {
+        SpecialsFlightEvents.SbpcCall jfr = new SpecialsFlightEvents.SbpcCall();
+        jfr.begin();
+        SectionDefinition section = SbpcAPI.getCurrentSectionDefinition(playerId, true);
+        metrics.recordSbpcCall(SpecialsMetrics.SbpcOperation.GET_CURRENT_SECTION_ID);
+        commit(jfr, "getCurrentSectionId", playerId);
+        return section != null ? section.getId() : null;
+    }
+
+    /**
+     * Look up a section index by id.
+     */
+    @Override
+    public int getSectionIndex(String sectionId) {
+        SpecialsFlightEvents.SbpcCall jfr = new SpecialsFlightEvents.SbpcCall();
+        jfr.begin();
+        int idx = SbpcAPI.getSectionIndex(sectionId);
+        metrics.recordSbpcCall(SpecialsMetrics.SbpcOperation.GET_SECTION_INDEX);
+        commit(jfr, "getSectionIndex", null);
+        return idx;
+    }
+
+    /**
+     * Forward a time skip to SBPC.
+     */
+    @Override
+    public void applyExternalTimeSkip(UUID playerId, int skipSeconds, double percentSpeedIncrease, String reason) {
+        SpecialsFlightEvents.SbpcCall jfr = new SpecialsFlightEvents.SbpcCall();
+        jfr.begin();
+        SbpcAPI.applyExternalTimeSkip(playerId, skipSeconds, percentSpeedIncrease, reason);
+        metrics.recordSbpcCall(SpecialsMetrics.SbpcOperation.APPLY_TIME_SKIP);
+        commit(jfr, "applyExternalTimeSkip", playerId);
+    }
+
+    /**
+     * Complete the current section in SBPC.
+     */
+    @Override
+    public void completeCurrentSection(UUID playerId) {
+        SpecialsFlightEvents.SbpcCall jfr = new SpecialsFlightEvents.SbpcCall();
+        jfr.begin();
+        SbpcAPI.completeCurrentSection(playerId);
+        metrics.recordSbpcCall(SpecialsMetrics.SbpcOperation.COMPLETE_SECTION);
+        commit(jfr, "completeCurrentSection", playerId);
+    }
+
+    private static void commit(SpecialsFlightEvents.SbpcCall jfr, String operation, UUID playerId) {
+        if (jfr.shouldCommit()) {
+            jfr.operation = operation;
+            jfr.player = playerId != null ? playerId.toString() : null;
+            jfr.commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+/**
+ * The subset of SBPC that the specials engine depends on.
+ *
+ * Keeping SBPC behind this interface lets every call be instrumented in one
+ * place and lets the engine run against a stub outside a server.
+ */
+public interface SbpcBridge {
+
+    /**
+     * @return the player's current section (id, type, index), or null if the player has none.
+     *         The index is null when SBPC cannot resolve it.
+     */
+    SectionMatchContext getCurrentSection(UUID playerId);
+
+    /**
+     * @return id of the player's current section, or null if the player has none.
+     *         Cheaper than {@link #getCurrentSection(UUID)} when only the id is needed.
+     */
+    String getCurrentSectionId(UUID playerId);
+
+    /**
+     * @return ordinal index of the section, or a negative value if unknown.
+     */
+    int getSectionIndex(String sectionId);
+
+    /**
+     * Push a time skip / speed increase into the player's SBPC timers.
+     */
+    void applyExternalTimeSkip(UUID playerId, int skipSeconds, double percentSpeedIncrease, String reason);
+
+    /**
+     * Complete the player's current SBPC section.
+     */
+    void completeCurrentSection(UUID playerId);
+}
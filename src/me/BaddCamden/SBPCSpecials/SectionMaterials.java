@@ -0,0 +1,66 @@
+package me.BaddCamden.SBPCSpecials;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+/**
+ * Material classification used by {@link SectionProgressListener} for the
+ * housing and farming sections.
+ */
+public final class SectionMaterials {
+
+    private SectionMaterials() {
+    }
+
+    /**
+     * @return true when the material is considered crop/plant-like for farming.
+     */
+    public static boolean isPlantLike(Material type) {
+        return Tag.CROPS.isTagged(type)
+                || Tag.FLOWERS.isTagged(type)
+                || Tag.SAPLINGS.isTagged(type)
+                || Tag.CAVE_VINES.isTagged(type)
+                || type.name().contains("VINE")
+                || type.name().contains("SAPLING")
+                || type.name().contains("STEM")
+                || type.name().contains("BAMBOO")
+                || type.name().contains("FUNGUS")
+                || type.name().contains("WART")
+                || type.name().contains("CACTUS")
+                || type.name().contains("SUGAR_CANE")
+                || type.name().contains("MUSHROOM");
+    }
+
+    /**
+     * @return true when the material is a log that an axe can strip.
+     */
+    public static boolean isLog(Material type) {
+        return Tag.LOGS.isTagged(type);
+    }
+
+    /**
+     * @return true when the material is any hoe variant.
+     */
+    public static boolean isHoe(Material type) {
+        return type != null && type.name().endsWith("_HOE");
+    }
+
+    /**
+     * @return true when the material is any axe variant.
+     */
+    public static boolean isAxe(Material type) {
+        return type != null && type.name().endsWith("_AXE");
+    }
+
+    /**
+     * @return true if the material type can be tilled by a hoe.
+     */
+    public static boolean isTillable(Material type) {
+        return type == Material.DIRT
+                || type == Material.GRASS_BLOCK
+                || type == Material.DIRT_PATH
+                || type == Material.ROOTED_DIRT
+                || type == Material.COARSE_DIRT
+                || type == Material.MYCELIUM;
+    }
+}
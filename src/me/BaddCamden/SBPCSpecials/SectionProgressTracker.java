@@ -0,0 +1,144 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Cooldown and anti-spam bookkeeping behind the housing and farming sections.
+ *
+ * Block and item classification stays in {@link SectionProgressListener}; this
+ * class only sees player ids and block coordinates so it can be driven off-server.
+ * Main-thread only.
+ */
+public class SectionProgressTracker {
+
+    private static final String HOUSING_SECTION_ID = "housing";
+    private static final String FARMING_SECTION_ID = "farming";
+
+    private static final double SPEED_MULTIPLIER = 1.05; // +5% speed per tick
+    private static final int SKIP_SECONDS = 1;
+    private static final long COOLDOWN_MILLIS = 1000L;
+
+    private final Map<UUID, Long> lastHousingTick = new HashMap<>();
+    private final Map<UUID, BlockPosition> lastHousingPosition = new HashMap<>();
+    private final Map<UUID, Long> lastFarmingTick = new HashMap<>();
+
+    private final SbpcBridge sbpc;
+    private final SpecialsClock clock;
+
+    /**
+     * @param sbpc  bridge used to read sections and push time skips
+     * @param clock time source for the per-player cooldowns
+     */
+    public SectionProgressTracker(SbpcBridge sbpc, SpecialsClock clock) {
+        this.sbpc = sbpc;
+        this.clock = clock;
+    }
+
+    /**
+     * Apply a housing progress tick if the player is in the housing section and
+     * is not spamming the same block position.
+     */
+    public void handleHousingActivity(UUID playerId, UUID worldId, int x, int y, int z) {
+        if (!isInSection(playerId, HOUSING_SECTION_ID)) {
+            return;
+        }
+
+        long now = clock.currentTimeMillis();
+        if (isOnCooldown(lastHousingTick, playerId, now)) {
+            return;
+        }
+
+        BlockPosition position = new BlockPosition(worldId, x, y, z);
+        if (position.equals(lastHousingPosition.get(playerId))) {
+            return; // prevent spam on the same block position
+        }
+
+        lastHousingTick.put(playerId, now);
+        lastHousingPosition.put(playerId, position);
+        applySkip(playerId, "Housing infrastructure activity");
+    }
+
+    /**
+     * @return true if SBPC defines a housing or farming section, i.e. block activity can matter.
+     */
+    public boolean hasTrackedSections() {
+        return sbpc.getSectionIndex(HOUSING_SECTION_ID) >= 0 || sbpc.getSectionIndex(FARMING_SECTION_ID) >= 0;
+    }
+
+    /**
+     * @return true if the player is currently progressing through the farming section.
+     */
+    public boolean isFarming(UUID playerId) {
+        return isInSection(playerId, FARMING_SECTION_ID);
+    }
+
+    /**
+     * Apply a farming progress tick for a qualifying harvest, honoring the cooldown.
+     * Callers check {@link #isFarming(UUID)} and the plant first.
+     */
+    public void handleFarmingHarvest(UUID playerId) {
+        long now = clock.currentTimeMillis();
+        if (isOnCooldown(lastFarmingTick, playerId, now)) {
+            return;
+        }
+
+        lastFarmingTick.put(playerId, now);
+        applySkip(playerId, "Farming harvest activity");
+    }
+
+    /**
+     * Simple one-second cooldown for progression ticks per player.
+     */
+    private boolean isOnCooldown(Map<UUID, Long> map, UUID uuid, long nowMillis) {
+        Long last = map.get(uuid);
+        return last != null && (nowMillis - last) < COOLDOWN_MILLIS;
+    }
+
+    /**
+     * Forward time-skip events into SBPC with configured values.
+     */
+    private void applySkip(UUID playerId, String reason) {
+        sbpc.applyExternalTimeSkip(playerId, SKIP_SECONDS, SPEED_MULTIPLIER, reason);
+    }
+
+    /**
+     * @return true if the player is currently progressing through the section id.
+     */
+    private boolean isInSection(UUID playerId, String sectionId) {
+        String current = sbpc.getCurrentSectionId(playerId);
+        return current != null && current.equalsIgnoreCase(sectionId);
+    }
+
+    /**
+     * Block coordinates in a world, compared by value.
+     */
+    private static final class BlockPosition {
+        private final UUID worldId;
+        private final int x;
+        private final int y;
+        private final int z;
+
+        BlockPosition(UUID worldId, int x, int y, int z) {
+            this.worldId = worldId;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BlockPosition other)) {
+                return false;
+            }
+            return x == other.x && y == other.y && z == other.z && Objects.equals(worldId, other.worldId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(worldId, x, y, z);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package me.BaddCamden.SBPCSpecials;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Records why a mob spawned in its PersistentDataContainer so death triggers
+ * can tell spawner and farm mobs from natural ones.
+ *
+ * Natural spawns are not tagged (an untagged mob reads as natural), which keeps
+ * the common case free of writes. The spawn handler is bound through
+ * {@link TriggerListeners} and only registered while a special filters on
+ * spawn reasons, so mobs that spawned while none did also read as natural.
+ */
+public class SpawnReasonTagger {
+
+    private final NamespacedKey key;
+
+    /**
+     * @param plugin namespace of the tag
+     */
+    public SpawnReasonTagger(Plugin plugin) {
+        this.key = new NamespacedKey(plugin, "spawn-reason");
+    }
+
+    /**
+     * Tag a spawning creature with its spawn reason unless it spawned naturally.
+     */
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        CreatureSpawnEvent.SpawnReason reason = event.getSpawnReason();
+        if (reason == null || reason == CreatureSpawnEvent.SpawnReason.NATURAL) {
+            return;
+        }
+        event.getEntity().getPersistentDataContainer().set(key, PersistentDataType.STRING, reason.name());
+    }
+
+    /**
+     * @return the recorded spawn reason of the entity; NATURAL if untagged or unknown
+     */
+    public CreatureSpawnEvent.SpawnReason read(Entity entity) {
+        PersistentDataContainer container = entity.getPersistentDataContainer();
+        String name = container.get(key, PersistentDataType.STRING);
+        if (name == null) {
+            return CreatureSpawnEvent.SpawnReason.NATURAL;
+        }
+        try {
+            return CreatureSpawnEvent.SpawnReason.valueOf(name);
+        } catch (IllegalArgumentException ex) {
+            // Tagged by a server version with a reason this one does not know.
+            return CreatureSpawnEvent.SpawnReason.NATURAL;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Parses the "specials" config section into {@link SpecialDefinition}s.
+ *
+ * Independent of the plugin instance so the same parsing can be used by
+ * benchmarks and tools that run without a server.
+ */
+public final class SpecialConfigParser {
+
+    private SpecialConfigParser() {
+    }
+
+    /**
+     * Parse every special under the section. Invalid specials are logged and skipped.
+     *
+     * @param root   the "specials" config section
+     * @param logger receives warnings about invalid entries
+     * @return parsed definitions in config order
+     */
+    public static List<SpecialDefinition> parse(ConfigurationSection root, Logger logger) {
+        List<SpecialDefinition> specials = new ArrayList<>();
+        if (root == null) {
+            return specials;
+        }
+
+        for (String id : root.getKeys(false)) {
+            ConfigurationSection sec = root.getConfigurationSection(id);
+            if (sec == null) continue;
+
+            SpecialDefinition def = parseSpecial(id, sec, logger);
+            if (def != null) {
+                specials.add(def);
+            }
+        }
+
+        return specials;
+    }
+
+    /**
+     * Collect the sections of specials whose trigger type is not built in, so they can be
+     * parsed from memory when a trigger source of that type registers later. Ids already
+     * collected are kept.
+     *
+     * @param root the "specials" config section, or null
+     * @param into special id to section per upper-case trigger type, in config order
+     */
+    public static void collectSourceTriggerSections(ConfigurationSection root,
+                                                    Map<String, Map<String, ConfigurationSection>> into) {
+        if (root == null) {
+            return;
+        }
+        for (String id : root.getKeys(false)) {
+            ConfigurationSection trigSec = root.getConfigurationSection(id + ".trigger");
+            if (trigSec == null) continue;
+
+            String typeName = trigSec.getString("type", "UNLOCK_ENTRY").toUpperCase(Locale.ROOT);
+            if (builtinTriggerType(typeName) == null) {
+                into.computeIfAbsent(typeName, k -> new LinkedHashMap<>())
+                        .putIfAbsent(id, root.getConfigurationSection(id));
+            }
+        }
+    }
+
+    /**
+     * Parse a single special.
+     *
+     * @param id     special id (the section's key)
+     * @param sec    the special's config section
+     * @param logger receives warnings about invalid entries
+     * @return the definition, or null if the special is invalid and should be skipped
+     */
+    public static SpecialDefinition parseSpecial(String id, ConfigurationSection sec, Logger logger) {
+        // --- Trigger ---
+        ConfigurationSection trigSec = sec.getConfigurationSection("trigger");
+        if (trigSec == null) {
+            logger.warning("Special " + id + " is missing trigger section.");
+            return null;
+        }
+
+        String typeName = trigSec.getString("type", "UNLOCK_ENTRY").toUpperCase(Locale.ROOT);
+        SpecialDefinition.TriggerDefinition triggerDef;
+        TriggerType triggerType = builtinTriggerType(typeName);
+        if (triggerType != null) {
+            triggerDef = parseTrigger(id, triggerType, trigSec, logger);
+        } else {
+            // Not built in: the registered trigger source compiles the section.
+            TriggerSource source = SpecialsAPI.getTriggerSource(typeName);
+            if (source == null) {
+                logger.warning("Special " + id + " has invalid trigger type: " + trigSec.getString("type"));
+                return null;
+            }
+            String key = source.parseKey(id, trigSec, logger);
+            if (key == null) {
+                return null;
+            }
+            triggerDef = new SpecialDefinition.TriggerDefinition(TriggerSourceRegistry.normalize(source.getId()), key,
+                    trigSec.getBoolean("command-activatable", false));
+        }
+
+        // --- Section condition ---
+        ConfigurationSection secCond = sec.getConfigurationSection("section");
+        String requireType = secCond != null ? secCond.getString("require-type", null) : null;
+        Integer minIndex = (secCond != null && secCond.contains("min-index"))
+                ? secCond.getInt("min-index") : null;
+        Integer maxIndex = (secCond != null && secCond.contains("max-index"))
+                ? secCond.getInt("max-index") : null;
+
+        boolean appliesToAllSections = secCond != null && secCond.getBoolean("applies-to-all-sections", false);
+        List<String> allowedSections = secCond != null ? secCond.getStringList("allowed-sections") : Collections.emptyList();
+        allowedSections = new ArrayList<>(allowedSections);
+        allowedSections.removeIf(s -> s == null || s.trim().isEmpty());
+
+        if (!appliesToAllSections && allowedSections.isEmpty()) {
+            logger.warning("Special " + id + " is missing allowed-sections and does not apply to all sections; skipping.");
+            return null;
+        }
+
+        SpecialDefinition.SectionCondition sectionCondition =
+                new SpecialDefinition.SectionCondition(requireType, minIndex, maxIndex, appliesToAllSections, allowedSections);
+
+        // --- Reward ---
+        ConfigurationSection rewardSec = sec.getConfigurationSection("reward");
+        double speedPercent = rewardSec != null ? rewardSec.getDouble("speed-bonus-percent", 0.0) : 0.0;
+        int skipSeconds = rewardSec != null ? rewardSec.getInt("speed-bonus-skip-seconds", 0) : 0;
+        int sessionSkip = rewardSec != null ? rewardSec.getInt("session-time-skip-seconds", 0) : 0;
+        boolean autoCompleteSection = rewardSec != null && rewardSec.getBoolean("auto-complete-section", false);
+        boolean defaultTimeSkip = rewardSec != null && rewardSec.getBoolean("default-time-skip", false);
+
+        SpecialDefinition.RewardDefinition rewardDef =
+                new SpecialDefinition.RewardDefinition(speedPercent, skipSeconds, sessionSkip, autoCompleteSection, defaultTimeSkip);
+
+        // --- Scope ---
+        ConfigurationSection scopeSec = sec.getConfigurationSection("scope");
+        boolean oncePerPlayer = scopeSec != null && scopeSec.getBoolean("once-per-player", true);
+        boolean oncePerServer = scopeSec != null && scopeSec.getBoolean("once-per-server", false);
+
+        ConfigurationSection limitSec = scopeSec != null ? scopeSec.getConfigurationSection("rate-limit") : null;
+        SpecialDefinition.ScopeDefinition scopeDef;
+        if (limitSec == null) {
+            scopeDef = new SpecialDefinition.ScopeDefinition(oncePerPlayer, oncePerServer);
+        } else {
+            SpecialDefinition.RateLimitOverflow overflow;
+            try {
+                overflow = SpecialDefinition.RateLimitOverflow.valueOf(
+                        limitSec.getString("overflow", "DROP").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                logger.warning("Special " + id + " has invalid rate-limit overflow: " + limitSec.getString("overflow")
+                        + "; dropping excess activations.");
+                overflow = SpecialDefinition.RateLimitOverflow.DROP;
+            }
+            scopeDef = new SpecialDefinition.ScopeDefinition(
+                    oncePerPlayer,
+                    oncePerServer,
+                    parseRateLimit(limitSec.getConfigurationSection("per-player")),
+                    parseRateLimit(limitSec.getConfigurationSection("per-special")),
+                    overflow,
+                    Math.max(0, limitSec.getInt("max-folded", 16))
+            );
+        }
+
+        // --- Messages ---
+        ConfigurationSection msgSec = sec.getConfigurationSection("messages");
+        String playerMsg = msgSec != null ? msgSec.getString("player", "") : "";
+        String broadcastMsg = msgSec != null ? msgSec.getString("broadcast", "") : "";
+
+        SpecialDefinition.MessagesDefinition msgDef =
+                new SpecialDefinition.MessagesDefinition(playerMsg, broadcastMsg);
+
+        // --- Potion requirement ---
+        ConfigurationSection potionSec = sec.getConfigurationSection("potion-requirement");
+        SpecialDefinition.PotionRequirement potionRequirement = null;
+        if (potionSec != null) {
+            String effectName = potionSec.getString("effect", "");
+            PotionEffectType effectType = PotionEffectType.getByName(effectName);
+            if (effectType == null) {
+                logger.warning("Special " + id + " has invalid potion effect: " + effectName);
+            } else {
+                int minAmplifier = Math.max(0, potionSec.getInt("min-amplifier", 0));
+                potionRequirement = new SpecialDefinition.PotionRequirement(effectType, minAmplifier);
+            }
+        }
+
+        // --- Evaluation plan ---
+        ConfigurationSection planSec = sec.getConfigurationSection("evaluation");
+        SpecialDefinition.PlanDefinition planDef = SpecialDefinition.PlanDefinition.defaults(rewardDef);
+        if (planSec != null) {
+            String group = planSec.getString("exclusive-group", null);
+            if (group != null && group.trim().isEmpty()) {
+                group = null;
+            }
+            planDef = new SpecialDefinition.PlanDefinition(
+                    planSec.getInt("priority", 0),
+                    group != null ? group.trim().toLowerCase(Locale.ROOT) : null,
+                    planSec.getBoolean("terminal", planDef.isTerminal())
+            );
+        }
+
+        return new SpecialDefinition(
+                id,
+                triggerDef,
+                sectionCondition,
+                rewardDef,
+                scopeDef,
+                msgDef,
+                potionRequirement,
+                planDef
+        );
+    }
+
+    /**
+     * @return the built-in trigger type with the name, or null (CUSTOM is never written in config)
+     */
+    private static TriggerType builtinTriggerType(String name) {
+        try {
+            TriggerType type = TriggerType.valueOf(name);
+            return type != TriggerType.CUSTOM ? type : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse the trigger section of a built-in trigger type.
+     */
+    private static SpecialDefinition.TriggerDefinition parseTrigger(String id, TriggerType triggerType,
+                                                                    ConfigurationSection trigSec, Logger logger) {
+        EntityType entityType = null;
+        boolean killerMustBePlayer = false;
+        Material itemType = null;
+        String entryId = null;
+
+        if (triggerType == TriggerType.ENTITY_DEATH || triggerType == TriggerType.ENTITY_PICKUP) {
+            String entName = trigSec.getString("entity-type", null);
+            if (entName != null) {
+                try {
+                    entityType = EntityType.valueOf(entName.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                    logger.warning("Special " + id + " has invalid entity-type: " + entName);
+                }
+            }
+        }
+
+        Set<CreatureSpawnEvent.SpawnReason> spawnReasons = null;
+        ItemPredicate itemPredicate = null;
+        if (triggerType == TriggerType.ENTITY_DEATH) {
+            killerMustBePlayer = trigSec.getBoolean("killer-must-be-player", true);
+            spawnReasons = parseSpawnReasons(id, trigSec, logger);
+        }
+
+        if (triggerType == TriggerType.ENTITY_PICKUP || triggerType == TriggerType.HAS_ITEM) {
+            String itemName = trigSec.getString("item-type", null);
+            if (itemName != null) {
+                try {
+                    itemType = Material.valueOf(itemName.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                    logger.warning("Special " + id + " has invalid item-type: " + itemName);
+                }
+            }
+            itemPredicate = parseItemPredicate(id, trigSec.getConfigurationSection("item"), logger);
+        }
+
+        if (triggerType == TriggerType.UNLOCK_ENTRY) {
+            entryId = trigSec.getString("entry-id", null);
+        }
+
+        boolean commandActivatable = trigSec.getBoolean("command-activatable", false);
+
+        return new SpecialDefinition.TriggerDefinition(
+                triggerType,
+                entityType,
+                killerMustBePlayer,
+                itemType,
+                entryId,
+                commandActivatable,
+                spawnReasons,
+                itemPredicate
+        );
+    }
+
+    /**
+     * Compile {@code spawn-reasons} (allow list) and {@code exclude-spawn-reasons} into
+     * the set of accepted reasons.
+     *
+     * @return accepted reasons, or null if neither key is set
+     */
+    private static Set<CreatureSpawnEvent.SpawnReason> parseSpawnReasons(String id, ConfigurationSection trigSec,
+                                                                        Logger logger) {
+        List<String> include = trigSec.getStringList("spawn-reasons");
+        List<String> exclude = trigSec.getStringList("exclude-spawn-reasons");
+        if (include.isEmpty() && exclude.isEmpty()) {
+            return null;
+        }
+
+        EnumSet<CreatureSpawnEvent.SpawnReason> reasons = include.isEmpty()
+                ? EnumSet.allOf(CreatureSpawnEvent.SpawnReason.class)
+                : EnumSet.noneOf(CreatureSpawnEvent.SpawnReason.class);
+        for (String name : include) {
+            CreatureSpawnEvent.SpawnReason reason = parseSpawnReason(id, name, logger);
+            if (reason != null) {
+                reasons.add(reason);
+            }
+        }
+        for (String name : exclude) {
+            CreatureSpawnEvent.SpawnReason reason = parseSpawnReason(id, name, logger);
+            if (reason != null) {
+                reasons.remove(reason);
+            }
+        }
+        if (reasons.isEmpty()) {
+            logger.warning("Special " + id + " accepts no spawn reasons; its death trigger can never fire.");
+        }
+        return Collections.unmodifiableSet(reasons);
+    }
+
+    /**
+     * Compile the trigger's {@code item} section: {@code display-name}, {@code custom-model-data},
+     * {@code enchantments} (key to minimum level) and {@code tags} (PersistentDataContainer key
+     * to string value). Invalid enchantments and tag keys are logged and ignored.
+     *
+     * @return the predicate, or null if the section is missing or requires nothing
+     */
+    private static ItemPredicate parseItemPredicate(String id, ConfigurationSection itemSec, Logger logger) {
+        if (itemSec == null) {
+            return null;
+        }
+        String displayName = itemSec.getString("display-name", null);
+        if (displayName != null) {
+            displayName = ChatColor.translateAlternateColorCodes('&', displayName);
+        }
+        Integer customModelData = itemSec.contains("custom-model-data") ? itemSec.getInt("custom-model-data") : null;
+
+        Map<Enchantment, Integer> enchantments = new LinkedHashMap<>();
+        ConfigurationSection enchSec = itemSec.getConfigurationSection("enchantments");
+        if (enchSec != null) {
+            for (String name : enchSec.getKeys(false)) {
+                NamespacedKey key = NamespacedKey.fromString(name.trim().toLowerCase(Locale.ROOT));
+                Enchantment enchantment = key != null ? Enchantment.getByKey(key) : null;
+                if (enchantment == null) {
+                    logger.warning("Special " + id + " has invalid enchantment: " + name);
+                    continue;
+                }
+                enchantments.put(enchantment, Math.max(1, enchSec.getInt(name, 1)));
+            }
+        }
+
+        // Sorted by key so equal predicates fingerprint and encode identically.
+        Map<String, String> sortedTags = new TreeMap<>();
+        ConfigurationSection tagSec = itemSec.getConfigurationSection("tags");
+        if (tagSec != null) {
+            for (String name : tagSec.getKeys(false)) {
+                sortedTags.put(name.trim().toLowerCase(Locale.ROOT), tagSec.getString(name, ""));
+            }
+        }
+        Map<NamespacedKey, String> tags = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : sortedTags.entrySet()) {
+            NamespacedKey key = NamespacedKey.fromString(entry.getKey());
+            if (key == null) {
+                logger.warning("Special " + id + " has invalid item tag key: " + entry.getKey());
+                continue;
+            }
+            tags.put(key, entry.getValue());
+        }
+
+        if (displayName == null && customModelData == null && enchantments.isEmpty() && tags.isEmpty()) {
+            return null;
+        }
+        return new ItemPredicate(displayName, customModelData, enchantments, tags);
+    }
+
+    private static CreatureSpawnEvent.SpawnReason parseSpawnReason(String id, String name, Logger logger) {
+        try {
+            return CreatureSpawnEvent.SpawnReason.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            logger.warning("Special " + id + " has invalid spawn reason: " + name);
+            return null;
+        }
+    }
+
+    /**
+     * Parse a rate limit with {@code activations}, {@code per-seconds} and optional {@code burst}.
+     *
+     * @return the limit, or null if the section is missing or allows no activations (unlimited)
+     */
+    public static SpecialDefinition.RateLimit parseRateLimit(ConfigurationSection sec) {
+        if (sec == null) {
+            return null;
+        }
+        int activations = sec.getInt("activations", 0);
+        if (activations <= 0) {
+            return null;
+        }
+        int periodSeconds = Math.max(1, sec.getInt("per-seconds", 1));
+        int burst = Math.max(1, sec.getInt("burst", activations));
+        return new SpecialDefinition.RateLimit(activations, periodSeconds, burst);
+    }
+}
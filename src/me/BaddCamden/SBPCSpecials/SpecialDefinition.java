@@ -1,7 +1,10 @@
 package me.BaddCamden.SBPCSpecials;
 
+import java.util.Set;
+
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.potion.PotionEffectType;
 
 /**
@@ -16,6 +19,7 @@ public class SpecialDefinition {
     private final ScopeDefinition scope;
     private final MessagesDefinition messages;
     private final PotionRequirement potionRequirement;
+    private final PlanDefinition plan;
 
     /**
      * @param id                unique identifier configured in specials.yml
@@ -33,6 +37,28 @@ public class SpecialDefinition {
                              ScopeDefinition scope,
                              MessagesDefinition messages,
                              PotionRequirement potionRequirement) {
+        this(id, trigger, sectionCondition, reward, scope, messages, potionRequirement,
+                PlanDefinition.defaults(reward));
+    }
+
+    /**
+     * @param id                unique identifier configured in specials.yml
+     * @param trigger           trigger conditions that activate the special
+     * @param sectionCondition  section constraints that gate the reward
+     * @param reward            rewards granted when activated
+     * @param scope             limits on how often the special can apply
+     * @param messages          player/broadcast messaging templates
+     * @param potionRequirement optional potion effect requirement
+     * @param plan              evaluation order and exclusivity within one event
+     */
+    public SpecialDefinition(String id,
+                             TriggerDefinition trigger,
+                             SectionCondition sectionCondition,
+                             RewardDefinition reward,
+                             ScopeDefinition scope,
+                             MessagesDefinition messages,
+                             PotionRequirement potionRequirement,
+                             PlanDefinition plan) {
         this.id = id;
         this.trigger = trigger;
         this.sectionCondition = sectionCondition;
@@ -40,6 +66,7 @@ public class SpecialDefinition {
         this.scope = scope;
         this.messages = messages;
         this.potionRequirement = potionRequirement;
+        this.plan = plan;
     }
 
     /**
@@ -91,6 +118,13 @@ public class SpecialDefinition {
         return potionRequirement;
     }
 
+    /**
+     * @return priority, exclusive group and terminal flag used when ordering an event's specials.
+     */
+    public PlanDefinition getPlan() {
+        return plan;
+    }
+
     // ------------------------------------------------------------------------
     // Nested DTOs
     // ------------------------------------------------------------------------
@@ -102,12 +136,16 @@ public class SpecialDefinition {
         private final Material itemType;
         private final String entryId;
         private final boolean commandActivatable;
+        private final Set<CreatureSpawnEvent.SpawnReason> spawnReasons;
+        private final ItemPredicate itemPredicate;
+        private final String sourceId;
+        private final String sourceKey;
 
         /**
          * @param type               trigger type being described
          * @param entityType         optional entity restriction
          * @param killerMustBePlayer whether the killer must be a player
-         * @param itemType           optional item type for pickups
+         * @param itemType           optional item type for pickup and possession triggers
          * @param entryId            unlock entry identifier
          * @param commandActivatable true when the special can be invoked by command
          */
@@ -117,12 +155,81 @@ public class SpecialDefinition {
                                  Material itemType,
                                  String entryId,
                                  boolean commandActivatable) {
+            this(type, entityType, killerMustBePlayer, itemType, entryId, commandActivatable, null);
+        }
+
+        /**
+         * @param type               trigger type being described
+         * @param entityType         optional entity restriction
+         * @param killerMustBePlayer whether the killer must be a player
+         * @param itemType           optional item type for pickup and possession triggers
+         * @param entryId            unlock entry identifier
+         * @param commandActivatable true when the special can be invoked by command
+         * @param spawnReasons       spawn reasons a killed mob must have, or null for any
+         */
+        public TriggerDefinition(TriggerType type,
+                                 EntityType entityType,
+                                 boolean killerMustBePlayer,
+                                 Material itemType,
+                                 String entryId,
+                                 boolean commandActivatable,
+                                 Set<CreatureSpawnEvent.SpawnReason> spawnReasons) {
+            this(type, entityType, killerMustBePlayer, itemType, entryId, commandActivatable, spawnReasons, null);
+        }
+
+        /**
+         * @param type               trigger type being described
+         * @param entityType         optional entity restriction
+         * @param killerMustBePlayer whether the killer must be a player
+         * @param itemType           optional item type for pickup and possession triggers
+         * @param entryId            unlock entry identifier
+         * @param commandActivatable true when the special can be invoked by command
+         * @param spawnReasons       spawn reasons a killed mob must have, or null for any
+         * @param itemPredicate      item metadata required on top of the item type, or null
+         */
+        public TriggerDefinition(TriggerType type,
+                                 EntityType entityType,
+                                 boolean killerMustBePlayer,
+                                 Material itemType,
+                                 String entryId,
+                                 boolean commandActivatable,
+                                 Set<CreatureSpawnEvent.SpawnReason> spawnReasons,
+                                 ItemPredicate itemPredicate) {
+            this(type, entityType, killerMustBePlayer, itemType, entryId, commandActivatable, spawnReasons,
+                    itemPredicate, null, null);
+        }
+
+        /**
+         * Trigger of a registered {@link TriggerSource}.
+         *
+         * @param sourceId           id of the source (upper case)
+         * @param sourceKey          key compiled by the source
+         * @param commandActivatable true when the special can be invoked by command
+         */
+        public TriggerDefinition(String sourceId, String sourceKey, boolean commandActivatable) {
+            this(TriggerType.CUSTOM, null, false, null, null, commandActivatable, null, null, sourceId, sourceKey);
+        }
+
+        private TriggerDefinition(TriggerType type,
+                                  EntityType entityType,
+                                  boolean killerMustBePlayer,
+                                  Material itemType,
+                                  String entryId,
+                                  boolean commandActivatable,
+                                  Set<CreatureSpawnEvent.SpawnReason> spawnReasons,
+                                  ItemPredicate itemPredicate,
+                                  String sourceId,
+                                  String sourceKey) {
             this.type = type;
             this.entityType = entityType;
             this.killerMustBePlayer = killerMustBePlayer;
             this.itemType = itemType;
             this.entryId = entryId;
             this.commandActivatable = commandActivatable;
+            this.spawnReasons = spawnReasons;
+            this.itemPredicate = itemPredicate;
+            this.sourceId = sourceId;
+            this.sourceKey = sourceKey;
         }
 
         /**
@@ -147,12 +254,40 @@ public class SpecialDefinition {
         }
 
         /**
-         * @return item type required for pickup triggers.
+         * @return item type required for pickup and possession triggers.
          */
         public Material getItemType() {
             return itemType;
         }
 
+        /**
+         * @return item metadata required on top of the item type, or null if any item of the type qualifies.
+         */
+        public ItemPredicate getItemPredicate() {
+            return itemPredicate;
+        }
+
+        /**
+         * @return id of the trigger source for CUSTOM triggers, otherwise null.
+         */
+        public String getSourceId() {
+            return sourceId;
+        }
+
+        /**
+         * @return key compiled by the trigger source for CUSTOM triggers, otherwise null.
+         */
+        public String getSourceKey() {
+            return sourceKey;
+        }
+
+        /**
+         * @return the trigger type as configured: the source id for CUSTOM triggers, otherwise the type name.
+         */
+        public String getTypeName() {
+            return type == TriggerType.CUSTOM ? sourceId : type.name();
+        }
+
         /**
          * @return unlock entry id for UNLOCK_ENTRY triggers.
          */
@@ -166,6 +301,22 @@ public class SpecialDefinition {
         public boolean isCommandActivatable() {
             return commandActivatable;
         }
+
+        /**
+         * @return spawn reasons a killed mob must have, or null if any reason qualifies.
+         */
+        public Set<CreatureSpawnEvent.SpawnReason> getSpawnReasons() {
+            return spawnReasons;
+        }
+
+        /**
+         * @param reason spawn reason of the killed mob; null (untagged) counts as natural
+         * @return true if the spawn reason passes this trigger's filter
+         */
+        public boolean acceptsSpawnReason(CreatureSpawnEvent.SpawnReason reason) {
+            return spawnReasons == null
+                    || spawnReasons.contains(reason != null ? reason : CreatureSpawnEvent.SpawnReason.NATURAL);
+        }
     }
 
     public static class SectionCondition {
@@ -296,14 +447,39 @@ public class SpecialDefinition {
     public static class ScopeDefinition {
         private final boolean oncePerPlayer;
         private final boolean oncePerServer;
+        private final RateLimit perPlayerLimit;
+        private final RateLimit perSpecialLimit;
+        private final RateLimitOverflow overflow;
+        private final int maxFolded;
 
         /**
          * @param oncePerPlayer whether the reward should only be applied once per player
          * @param oncePerServer whether the reward should only occur once per server
          */
         public ScopeDefinition(boolean oncePerPlayer, boolean oncePerServer) {
+            this(oncePerPlayer, oncePerServer, null, null, RateLimitOverflow.DROP, 0);
+        }
+
+        /**
+         * @param oncePerPlayer   whether the reward should only be applied once per player
+         * @param oncePerServer   whether the reward should only occur once per server
+         * @param perPlayerLimit  optional limit on each player's activations of the special
+         * @param perSpecialLimit optional limit on the special's activations across all players
+         * @param overflow        what happens to activations over a limit
+         * @param maxFolded       cap on activations folded into the next allowed one
+         */
+        public ScopeDefinition(boolean oncePerPlayer,
+                               boolean oncePerServer,
+                               RateLimit perPlayerLimit,
+                               RateLimit perSpecialLimit,
+                               RateLimitOverflow overflow,
+                               int maxFolded) {
             this.oncePerPlayer = oncePerPlayer;
             this.oncePerServer = oncePerServer;
+            this.perPlayerLimit = perPlayerLimit;
+            this.perSpecialLimit = perSpecialLimit;
+            this.overflow = overflow;
+            this.maxFolded = maxFolded;
         }
 
         /**
@@ -319,6 +495,96 @@ public class SpecialDefinition {
         public boolean isOncePerServer() {
             return oncePerServer;
         }
+
+        /**
+         * @return true if the special can apply again and again (neither once per player nor per server).
+         */
+        public boolean isRepeatable() {
+            return !oncePerPlayer && !oncePerServer;
+        }
+
+        /**
+         * @return limit on each player's activations, or null if unlimited.
+         */
+        public RateLimit getPerPlayerLimit() {
+            return perPlayerLimit;
+        }
+
+        /**
+         * @return limit on activations across all players, or null if unlimited.
+         */
+        public RateLimit getPerSpecialLimit() {
+            return perSpecialLimit;
+        }
+
+        /**
+         * @return handling of activations denied by a rate limit.
+         */
+        public RateLimitOverflow getOverflow() {
+            return overflow;
+        }
+
+        /**
+         * @return maximum activations folded into the next allowed one.
+         */
+        public int getMaxFolded() {
+            return maxFolded;
+        }
+    }
+
+    /**
+     * Handling of activations over a rate limit.
+     */
+    public enum RateLimitOverflow {
+        /** The activation is discarded. */
+        DROP,
+        /** The activation is counted and its session skip added to the next allowed activation. */
+        FOLD
+    }
+
+    public static class RateLimit {
+        private final int activations;
+        private final int periodSeconds;
+        private final int burst;
+
+        /**
+         * @param activations   activations allowed per period
+         * @param periodSeconds length of the period
+         * @param burst         activations allowed back to back after an idle period
+         */
+        public RateLimit(int activations, int periodSeconds, int burst) {
+            this.activations = activations;
+            this.periodSeconds = periodSeconds;
+            this.burst = burst;
+        }
+
+        /**
+         * @return activations allowed per period.
+         */
+        public int getActivations() {
+            return activations;
+        }
+
+        /**
+         * @return length of the period in seconds.
+         */
+        public int getPeriodSeconds() {
+            return periodSeconds;
+        }
+
+        /**
+         * @return activations allowed back to back.
+         */
+        public int getBurst() {
+            return burst;
+        }
+
+        /**
+         * @return time needed to earn one activation.
+         */
+        public long getIntervalNanos() {
+            return periodSeconds * 1_000_000_000L / activations;
+        }
     }
 
     public static class MessagesDefinition {
@@ -376,4 +642,50 @@ public class SpecialDefinition {
             return minAmplifier;
         }
     }
+
+    public static class PlanDefinition {
+        private final int priority;
+        private final String exclusiveGroup;
+        private final boolean terminal;
+
+        /**
+         * @param priority       higher priorities are evaluated first within an event
+         * @param exclusiveGroup optional group of which at most one special applies per event
+         * @param terminal       whether applying this special stops evaluation of the event
+         */
+        public PlanDefinition(int priority, String exclusiveGroup, boolean terminal) {
+            this.priority = priority;
+            this.exclusiveGroup = exclusiveGroup;
+            this.terminal = terminal;
+        }
+
+        /**
+         * Defaults for specials without plan settings: priority 0, no group, and
+         * terminal only if the reward completes the section.
+         */
+        public static PlanDefinition defaults(RewardDefinition reward) {
+            return new PlanDefinition(0, null, reward != null && reward.isAutoCompleteSection());
+        }
+
+        /**
+         * @return evaluation priority; ties keep config order.
+         */
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return exclusive group id, or null.
+         */
+        public String getExclusiveGroup() {
+            return exclusiveGroup;
+        }
+
+        /**
+         * @return true if no further specials of the event are evaluated after this one applies.
+         */
+        public boolean isTerminal() {
+            return terminal;
+        }
+    }
 }
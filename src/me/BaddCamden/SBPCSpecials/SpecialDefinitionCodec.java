@@ -0,0 +1,320 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Compact binary form of a {@link SpecialDefinition}, used by the compiled
+ * definition cache and to diff definitions on reload.
+ *
+ * Materials, entity types, spawn reasons, enchantments and potion effects are stored by name and resolved
+ * again on read, so a cache written by another server version never yields a
+ * definition with a stale constant; it is reported as unreadable instead.
+ */
+public final class SpecialDefinitionCodec {
+
+    /**
+     * Bump whenever the encoding or the meaning of a parsed field changes.
+     */
+    static final int FORMAT_VERSION = 6;
+
+    private SpecialDefinitionCodec() {
+    }
+
+    /**
+     * @return the encoded definition; equal definitions encode to equal bytes.
+     */
+    public static byte[] encode(SpecialDefinition def) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            write(new DataOutputStream(bytes), def);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write one definition.
+     */
+    public static void write(DataOutput out, SpecialDefinition def) throws IOException {
+        out.writeUTF(def.getId());
+
+        SpecialDefinition.TriggerDefinition trigger = def.getTrigger();
+        out.writeUTF(trigger.getType().name());
+        writeNullable(out, trigger.getEntityType() != null ? trigger.getEntityType().name() : null);
+        out.writeBoolean(trigger.isKillerMustBePlayer());
+        writeNullable(out, trigger.getItemType() != null ? trigger.getItemType().name() : null);
+        writeNullable(out, trigger.getEntryId());
+        out.writeBoolean(trigger.isCommandActivatable());
+        Set<CreatureSpawnEvent.SpawnReason> spawnReasons = trigger.getSpawnReasons();
+        out.writeInt(spawnReasons != null ? spawnReasons.size() : -1);
+        if (spawnReasons != null) {
+            for (CreatureSpawnEvent.SpawnReason reason : spawnReasons) {
+                out.writeUTF(reason.name());
+            }
+        }
+        writeNullable(out, trigger.getSourceId());
+        writeNullable(out, trigger.getSourceKey());
+        ItemPredicate predicate = trigger.getItemPredicate();
+        out.writeBoolean(predicate != null);
+        if (predicate != null) {
+            writeNullable(out, predicate.getDisplayName());
+            writeNullableInt(out, predicate.getCustomModelData());
+            out.writeInt(predicate.getEnchantments().size());
+            for (Map.Entry<Enchantment, Integer> entry : predicate.getEnchantments().entrySet()) {
+                out.writeUTF(entry.getKey().getKey().toString());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(predicate.getTags().size());
+            for (Map.Entry<NamespacedKey, String> entry : predicate.getTags().entrySet()) {
+                out.writeUTF(entry.getKey().toString());
+                out.writeUTF(entry.getValue());
+            }
+        }
+
+        SpecialDefinition.SectionCondition section = def.getSectionCondition();
+        writeNullable(out, section.getRequireType());
+        writeNullableInt(out, section.getMinIndex());
+        writeNullableInt(out, section.getMaxIndex());
+        out.writeBoolean(section.isAppliesToAllSections());
+        out.writeInt(section.getAllowedSections().size());
+        for (String allowed : section.getAllowedSections()) {
+            out.writeUTF(allowed);
+        }
+
+        SpecialDefinition.RewardDefinition reward = def.getReward();
+        out.writeDouble(reward.getSpeedBonusPercent());
+        out.writeInt(reward.getSpeedBonusSkipSeconds());
+        out.writeInt(reward.getSessionTimeSkipSeconds());
+        out.writeBoolean(reward.isAutoCompleteSection());
+        out.writeBoolean(reward.isDefaultTimeSkip());
+
+        SpecialDefinition.ScopeDefinition scope = def.getScope();
+        out.writeBoolean(scope.isOncePerPlayer());
+        out.writeBoolean(scope.isOncePerServer());
+        writeRateLimit(out, scope.getPerPlayerLimit());
+        writeRateLimit(out, scope.getPerSpecialLimit());
+        out.writeUTF(scope.getOverflow().name());
+        out.writeInt(scope.getMaxFolded());
+
+        writeNullable(out, def.getMessages().getPlayerMessage());
+        writeNullable(out, def.getMessages().getBroadcastMessage());
+
+        SpecialDefinition.PotionRequirement potion = def.getPotionRequirement();
+        out.writeBoolean(potion != null);
+        if (potion != null) {
+            out.writeUTF(potion.getEffectType().getName());
+            out.writeInt(potion.getMinAmplifier());
+        }
+
+        SpecialDefinition.PlanDefinition plan = def.getPlan();
+        out.writeInt(plan.getPriority());
+        writeNullable(out, plan.getExclusiveGroup());
+        out.writeBoolean(plan.isTerminal());
+    }
+
+    /**
+     * Read one definition.
+     *
+     * @return the definition, or null if a referenced material, entity type or effect
+     *         no longer exists (the remaining bytes of this definition are still consumed)
+     */
+    public static SpecialDefinition read(DataInput in) throws IOException {
+        String id = in.readUTF();
+
+        TriggerType type = TriggerType.valueOf(in.readUTF());
+        String entityName = readNullable(in);
+        boolean killerMustBePlayer = in.readBoolean();
+        String itemName = readNullable(in);
+        String entryId = readNullable(in);
+        boolean commandActivatable = in.readBoolean();
+        int spawnReasonCount = in.readInt();
+        List<String> spawnReasonNames = spawnReasonCount >= 0 ? new ArrayList<>(spawnReasonCount) : null;
+        for (int i = 0; i < spawnReasonCount; i++) {
+            spawnReasonNames.add(in.readUTF());
+        }
+        String sourceId = readNullable(in);
+        String sourceKey = readNullable(in);
+        boolean hasPredicate = in.readBoolean();
+        String displayName = null;
+        Integer customModelData = null;
+        Map<String, Integer> enchantmentNames = new LinkedHashMap<>();
+        Map<String, String> tagNames = new LinkedHashMap<>();
+        if (hasPredicate) {
+            displayName = readNullable(in);
+            customModelData = readNullableInt(in);
+            int enchantmentCount = in.readInt();
+            for (int i = 0; i < enchantmentCount; i++) {
+                enchantmentNames.put(in.readUTF(), in.readInt());
+            }
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                tagNames.put(in.readUTF(), in.readUTF());
+            }
+        }
+
+        String requireType = readNullable(in);
+        Integer minIndex = readNullableInt(in);
+        Integer maxIndex = readNullableInt(in);
+        boolean appliesToAll = in.readBoolean();
+        int allowedCount = in.readInt();
+        List<String> allowed = new ArrayList<>(allowedCount);
+        for (int i = 0; i < allowedCount; i++) {
+            allowed.add(in.readUTF());
+        }
+
+        double speedPercent = in.readDouble();
+        int skipSeconds = in.readInt();
+        int sessionSkip = in.readInt();
+        boolean autoComplete = in.readBoolean();
+        boolean defaultTimeSkip = in.readBoolean();
+
+        boolean oncePerPlayer = in.readBoolean();
+        boolean oncePerServer = in.readBoolean();
+        SpecialDefinition.RateLimit perPlayerLimit = readRateLimit(in);
+        SpecialDefinition.RateLimit perSpecialLimit = readRateLimit(in);
+        SpecialDefinition.RateLimitOverflow overflow = SpecialDefinition.RateLimitOverflow.valueOf(in.readUTF());
+        int maxFolded = in.readInt();
+
+        String playerMessage = readNullable(in);
+        String broadcastMessage = readNullable(in);
+
+        String effectName = null;
+        int minAmplifier = 0;
+        if (in.readBoolean()) {
+            effectName = in.readUTF();
+            minAmplifier = in.readInt();
+        }
+
+        int priority = in.readInt();
+        String exclusiveGroup = readNullable(in);
+        boolean terminal = in.readBoolean();
+
+        EntityType entityType = null;
+        if (entityName != null) {
+            try {
+                entityType = EntityType.valueOf(entityName);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+        Material itemType = null;
+        if (itemName != null) {
+            itemType = Material.getMaterial(itemName);
+            if (itemType == null) {
+                return null;
+            }
+        }
+        Set<CreatureSpawnEvent.SpawnReason> spawnReasons = null;
+        if (spawnReasonNames != null) {
+            EnumSet<CreatureSpawnEvent.SpawnReason> reasons = EnumSet.noneOf(CreatureSpawnEvent.SpawnReason.class);
+            for (String name : spawnReasonNames) {
+                try {
+                    reasons.add(CreatureSpawnEvent.SpawnReason.valueOf(name));
+                } catch (IllegalArgumentException ex) {
+                    return null;
+                }
+            }
+            spawnReasons = Collections.unmodifiableSet(reasons);
+        }
+        ItemPredicate itemPredicate = null;
+        if (hasPredicate) {
+            Map<Enchantment, Integer> enchantments = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : enchantmentNames.entrySet()) {
+                NamespacedKey key = NamespacedKey.fromString(entry.getKey());
+                Enchantment enchantment = key != null ? Enchantment.getByKey(key) : null;
+                if (enchantment == null) {
+                    return null;
+                }
+                enchantments.put(enchantment, entry.getValue());
+            }
+            Map<NamespacedKey, String> tags = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : tagNames.entrySet()) {
+                NamespacedKey key = NamespacedKey.fromString(entry.getKey());
+                if (key == null) {
+                    return null;
+                }
+                tags.put(key, entry.getValue());
+            }
+            itemPredicate = new ItemPredicate(displayName, customModelData, enchantments, tags);
+        }
+        SpecialDefinition.PotionRequirement potion = null;
+        if (effectName != null) {
+            PotionEffectType effectType = PotionEffectType.getByName(effectName);
+            if (effectType == null) {
+                return null;
+            }
+            potion = new SpecialDefinition.PotionRequirement(effectType, minAmplifier);
+        }
+
+        // A CUSTOM trigger whose source is not registered stays inert until it is.
+        SpecialDefinition.TriggerDefinition trigger = type == TriggerType.CUSTOM
+                ? new SpecialDefinition.TriggerDefinition(sourceId, sourceKey, commandActivatable)
+                : new SpecialDefinition.TriggerDefinition(type, entityType, killerMustBePlayer, itemType, entryId,
+                        commandActivatable, spawnReasons, itemPredicate);
+        return new SpecialDefinition(
+                id,
+                trigger,
+                new SpecialDefinition.SectionCondition(requireType, minIndex, maxIndex, appliesToAll, allowed),
+                new SpecialDefinition.RewardDefinition(speedPercent, skipSeconds, sessionSkip, autoComplete, defaultTimeSkip),
+                new SpecialDefinition.ScopeDefinition(oncePerPlayer, oncePerServer, perPlayerLimit, perSpecialLimit,
+                        overflow, maxFolded),
+                new SpecialDefinition.MessagesDefinition(playerMessage, broadcastMessage),
+                potion,
+                new SpecialDefinition.PlanDefinition(priority, exclusiveGroup, terminal));
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeRateLimit(DataOutput out, SpecialDefinition.RateLimit limit) throws IOException {
+        out.writeBoolean(limit != null);
+        if (limit != null) {
+            out.writeInt(limit.getActivations());
+            out.writeInt(limit.getPeriodSeconds());
+            out.writeInt(limit.getBurst());
+        }
+    }
+
+    private static SpecialDefinition.RateLimit readRateLimit(DataInput in) throws IOException {
+        return in.readBoolean() ? new SpecialDefinition.RateLimit(in.readInt(), in.readInt(), in.readInt()) : null;
+    }
+
+    private static void writeNullableInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
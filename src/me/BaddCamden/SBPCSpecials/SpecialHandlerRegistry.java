@@ -0,0 +1,361 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Copy-on-write registry of {@link SpecialHandler}s.
+ *
+ * Registrations live in an immutable snapshot that is swapped with a CAS, so
+ * registering or unregistering from any thread is safe and readers never lock.
+ * Each snapshot lazily resolves and caches a registration array per special id,
+ * so dispatch for a special is a plain array loop.
+ */
+final class SpecialHandlerRegistry {
+
+    private static final Registration[] NO_HANDLERS = new Registration[0];
+
+    /**
+     * What a registration is attached to.
+     */
+    enum Selector {
+        SPECIAL,
+        TRIGGER,
+        SECTION,
+        ANY
+    }
+
+    /**
+     * One registered handler and the plugin that owns it (null for legacy registrations).
+     * Exactly one of the sync or async handler is set. Timing counters are
+     * updated by {@link HandlerDispatcher} from whichever thread ran the handler.
+     */
+    static final class Registration {
+        private final Plugin owner;
+        private final Selector selector;
+        private final String key;
+        private final SpecialHandler handler;
+        private final AsyncSpecialHandler asyncHandler;
+        private final long timeoutMillis;
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong lastSlowWarningMillis = new AtomicLong();
+        private final AtomicLong lastTimeoutWarningMillis = new AtomicLong();
+        private final AtomicLong lastDropWarningMillis = new AtomicLong();
+
+        Registration(Plugin owner, Selector selector, String key, SpecialHandler handler) {
+            this(owner, selector, key, handler, null, 0L);
+        }
+
+        Registration(Plugin owner, Selector selector, String key,
+                     SpecialHandler handler, AsyncSpecialHandler asyncHandler, long timeoutMillis) {
+            this.owner = owner;
+            this.selector = selector;
+            this.key = key;
+            this.handler = handler;
+            this.asyncHandler = asyncHandler;
+            this.timeoutMillis = Math.max(0L, timeoutMillis);
+        }
+
+        Plugin getOwner() {
+            return owner;
+        }
+
+        /**
+         * @return owning plugin name, or a placeholder for legacy registrations.
+         */
+        String getOwnerName() {
+            return owner != null ? owner.getName() : "unknown plugin";
+        }
+
+        SpecialHandler getHandler() {
+            return handler;
+        }
+
+        AsyncSpecialHandler getAsyncHandler() {
+            return asyncHandler;
+        }
+
+        boolean isAsync() {
+            return asyncHandler != null;
+        }
+
+        /**
+         * @return async timeout in milliseconds, 0 when unbounded.
+         */
+        long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        /**
+         * @return class name of the wrapped handler for diagnostics.
+         */
+        String describe() {
+            Object target = asyncHandler != null ? asyncHandler : handler;
+            return target.getClass().getName() + " (" + getOwnerName() + ")";
+        }
+
+        /**
+         * Record one completed invocation.
+         */
+        void recordInvocation(long nanos, boolean failed) {
+            invocations.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        void recordTimeout() {
+            timeouts.increment();
+        }
+
+        /**
+         * @return true at most once per interval, used to rate-limit slow warnings.
+         */
+        boolean shouldWarnSlow(long nowMillis, long intervalMillis) {
+            return shouldWarn(lastSlowWarningMillis, nowMillis, intervalMillis);
+        }
+
+        /**
+         * @return true at most once per interval, used to rate-limit timeout warnings.
+         */
+        boolean shouldWarnTimeout(long nowMillis, long intervalMillis) {
+            return shouldWarn(lastTimeoutWarningMillis, nowMillis, intervalMillis);
+        }
+
+        /**
+         * @return true at most once per interval, used to rate-limit warnings about dropped invocations.
+         */
+        boolean shouldWarnDropped(long nowMillis, long intervalMillis) {
+            return shouldWarn(lastDropWarningMillis, nowMillis, intervalMillis);
+        }
+
+        private static boolean shouldWarn(AtomicLong lastWarningMillis, long nowMillis, long intervalMillis) {
+            long last = lastWarningMillis.get();
+            return nowMillis - last >= intervalMillis && lastWarningMillis.compareAndSet(last, nowMillis);
+        }
+
+        long getInvocations() {
+            return invocations.sum();
+        }
+
+        long getFailures() {
+            return failures.sum();
+        }
+
+        long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * @return true if this registration wants events for the given special.
+         */
+        boolean matches(SpecialDefinition def) {
+            switch (selector) {
+                case SPECIAL:
+                    return key.equals(def.getId());
+                case TRIGGER:
+                    return def.getTrigger() != null && key.equals(def.getTrigger().getTypeName());
+                case SECTION:
+                    SpecialDefinition.SectionCondition cond = def.getSectionCondition();
+                    if (cond == null || cond.isAppliesToAllSections()) {
+                        return true;
+                    }
+                    for (String section : cond.getAllowedSections()) {
+                        if (section.equalsIgnoreCase(key)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case ANY:
+                default:
+                    return true;
+            }
+        }
+    }
+
+    /**
+     * Immutable set of registrations plus the per-special resolution cache.
+     */
+    private static final class Snapshot {
+        private final List<Registration> registrations;
+        private final ConcurrentMap<String, Registration[]> resolved = new ConcurrentHashMap<>();
+
+        private Snapshot(List<Registration> registrations) {
+            this.registrations = registrations;
+        }
+    }
+
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(new Snapshot(Collections.emptyList()));
+
+    /**
+     * Add a registration. Safe to call from any thread.
+     */
+    void register(Plugin owner, Selector selector, String key, SpecialHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler is required");
+        }
+        add(new Registration(owner, selector, normalizeKey(selector, key), handler));
+    }
+
+    /**
+     * Add an async registration executed off the main thread. Safe to call from any thread.
+     *
+     * @param timeoutMillis cancel the handler after this long, 0 for no timeout
+     */
+    void registerAsync(Plugin owner, Selector selector, String key, AsyncSpecialHandler handler, long timeoutMillis) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler is required");
+        }
+        add(new Registration(owner, selector, normalizeKey(selector, key), null, handler, timeoutMillis));
+    }
+
+    private static String normalizeKey(Selector selector, String key) {
+        if (selector == null) {
+            throw new IllegalArgumentException("Selector is required");
+        }
+        if (selector != Selector.ANY && (key == null || key.isEmpty())) {
+            throw new IllegalArgumentException("A key is required for " + selector + " handlers");
+        }
+        return selector == Selector.SECTION ? key.toLowerCase(Locale.ROOT) : key;
+    }
+
+    private void add(Registration registration) {
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = snapshot.get();
+            List<Registration> list = new ArrayList<>(current.registrations.size() + 1);
+            list.addAll(current.registrations);
+            list.add(registration);
+            next = new Snapshot(Collections.unmodifiableList(list));
+        } while (!snapshot.compareAndSet(current, next));
+    }
+
+    /**
+     * Remove every registration owned by the plugin.
+     *
+     * @return number of registrations removed
+     */
+    int unregisterAll(Plugin owner) {
+        if (owner == null) {
+            return 0;
+        }
+        return removeIf(r -> r.getOwner() == owner);
+    }
+
+    /**
+     * Remove every registration of the handler instance, regardless of selector.
+     *
+     * @return number of registrations removed
+     */
+    int unregister(SpecialHandler handler) {
+        if (handler == null) {
+            return 0;
+        }
+        return removeIf(r -> r.getHandler() == handler);
+    }
+
+    /**
+     * Remove every registration of the async handler instance, regardless of selector.
+     *
+     * @return number of registrations removed
+     */
+    int unregister(AsyncSpecialHandler handler) {
+        if (handler == null) {
+            return 0;
+        }
+        return removeIf(r -> r.getAsyncHandler() == handler);
+    }
+
+    /**
+     * Remove registrations whose owner disabled while SBPCSpecials was not listening.
+     * Registrations without an owner are kept.
+     *
+     * @return number of registrations removed
+     */
+    int unregisterDisabledOwners() {
+        return removeIf(r -> r.getOwner() != null && !r.getOwner().isEnabled());
+    }
+
+    /**
+     * Discard cached handler arrays, e.g. after special definitions changed.
+     */
+    void invalidate() {
+        Snapshot current;
+        do {
+            current = snapshot.get();
+        } while (!snapshot.compareAndSet(current, new Snapshot(current.registrations)));
+    }
+
+    /**
+     * @return registrations interested in the special, in registration order. Never null.
+     */
+    Registration[] handlersFor(SpecialDefinition def) {
+        Snapshot current = snapshot.get();
+        if (current.registrations.isEmpty()) {
+            return NO_HANDLERS;
+        }
+        return current.resolved.computeIfAbsent(def.getId(), id -> resolve(current.registrations, def));
+    }
+
+    /**
+     * @return immutable view of the current registrations.
+     */
+    List<Registration> getRegistrations() {
+        return snapshot.get().registrations;
+    }
+
+    private int removeIf(Predicate<Registration> filter) {
+        Snapshot current;
+        Snapshot next;
+        int removed;
+        do {
+            current = snapshot.get();
+            List<Registration> list = new ArrayList<>(current.registrations);
+            int before = list.size();
+            list.removeIf(filter);
+            removed = before - list.size();
+            if (removed == 0) {
+                return 0;
+            }
+            next = new Snapshot(Collections.unmodifiableList(list));
+        } while (!snapshot.compareAndSet(current, next));
+        return removed;
+    }
+
+    private static Registration[] resolve(List<Registration> registrations, SpecialDefinition def) {
+        List<Registration> matched = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (registration.matches(def)) {
+                matched.add(registration);
+            }
+        }
+        return matched.isEmpty() ? NO_HANDLERS : matched.toArray(NO_HANDLERS);
+    }
+}
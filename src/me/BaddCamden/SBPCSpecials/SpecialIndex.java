@@ -0,0 +1,442 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Immutable lookup tables from trigger keys to the specials they can fire.
+ *
+ * Built once per config load; every list handed out is read-only and shared,
+ * so lookups on the event path never allocate. Each list is an evaluation plan:
+ * specials are ordered by {@code evaluation.priority} (highest first), ties
+ * keep config order.
+ */
+public final class SpecialIndex {
+
+    /**
+     * Index with no specials, used before the config is loaded.
+     */
+    public static final SpecialIndex EMPTY = new SpecialIndex(Collections.emptyList());
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private static final Comparator<SpecialDefinition> PLAN_ORDER =
+            Comparator.comparingInt((SpecialDefinition def) -> def.getPlan().getPriority()).reversed();
+
+    private final Map<String, SpecialDefinition> byId;
+    private final Map<EntityType, List<SpecialDefinition>> deathSpecials;
+    private final List<SpecialDefinition> deathSpecialsAny;
+    private final Map<EntityType, List<SpecialDefinition>> deathPlans;
+    private final DeathTypeSet repeatableDeathTypes;
+    private final DeathTypeSet spawnFilteredDeathTypes;
+    private final DeathTypeSet creditedDeathTypes;
+    private final Map<Material, List<SpecialDefinition>> pickupSpecials;
+    private final Map<Material, ItemPredicate.Shape[]> pickupShapes;
+    private final Map<Material, List<SpecialDefinition>> hasItemSpecials;
+    private final Material[] watchedItems;
+    private final ItemPredicate[] watchedPredicates;
+    private final List<List<SpecialDefinition>> watchedSpecials;
+    private final int[][] watchedItemSlots;
+    private final Map<String, List<SpecialDefinition>> unlockEntrySpecials;
+    private final Map<String, Map<String, List<SpecialDefinition>>> sourceSpecials;
+    private final Map<PotionEffectType, List<SpecialDefinition>> potionEffectSpecials;
+    private final ConditionNetwork conditions;
+
+    /**
+     * @param specials parsed definitions; later duplicates of an id replace earlier ones
+     */
+    public SpecialIndex(Collection<SpecialDefinition> specials) {
+        Map<String, SpecialDefinition> ids = new LinkedHashMap<>();
+        for (SpecialDefinition def : specials) {
+            ids.put(def.getId(), def);
+        }
+
+        Map<EntityType, List<SpecialDefinition>> death = new EnumMap<>(EntityType.class);
+        List<SpecialDefinition> deathAny = new ArrayList<>();
+        Map<Material, List<SpecialDefinition>> pickup = new EnumMap<>(Material.class);
+        Map<Material, List<SpecialDefinition>> hasItem = new EnumMap<>(Material.class);
+        Map<String, List<SpecialDefinition>> unlock = new HashMap<>();
+        Map<String, Map<String, List<SpecialDefinition>>> sources = new HashMap<>();
+        Map<PotionEffectType, List<SpecialDefinition>> potion = new HashMap<>();
+
+        for (SpecialDefinition def : ids.values()) {
+            SpecialDefinition.PotionRequirement potionRequirement = def.getPotionRequirement();
+            if (potionRequirement != null && potionRequirement.getEffectType() != null) {
+                potion.computeIfAbsent(potionRequirement.getEffectType(), k -> new ArrayList<>()).add(def);
+            }
+
+            SpecialDefinition.TriggerDefinition trigger = def.getTrigger();
+            switch (trigger.getType()) {
+                case ENTITY_DEATH:
+                    if (trigger.getEntityType() != null) {
+                        death.computeIfAbsent(trigger.getEntityType(), k -> new ArrayList<>()).add(def);
+                    } else {
+                        // No entity specified: allow this special to trigger on any mob kill.
+                        deathAny.add(def);
+                    }
+                    break;
+                case ENTITY_PICKUP:
+                    if (trigger.getItemType() != null) {
+                        pickup.computeIfAbsent(trigger.getItemType(), k -> new ArrayList<>()).add(def);
+                    }
+                    break;
+                case HAS_ITEM:
+                    if (trigger.getItemType() != null) {
+                        hasItem.computeIfAbsent(trigger.getItemType(), k -> new ArrayList<>()).add(def);
+                    }
+                    break;
+                case UNLOCK_ENTRY:
+                    String entryId = trigger.getEntryId();
+                    if (entryId != null && !entryId.isEmpty()) {
+                        unlock.computeIfAbsent(entryId, k -> new ArrayList<>()).add(def);
+                    }
+                    break;
+                case CUSTOM:
+                    sources.computeIfAbsent(trigger.getSourceId(), k -> new HashMap<>())
+                            .computeIfAbsent(trigger.getSourceKey(), k -> new ArrayList<>()).add(def);
+                    break;
+            }
+        }
+
+        deathAny.sort(PLAN_ORDER);
+        Map<EntityType, List<SpecialDefinition>> plans = new EnumMap<>(EntityType.class);
+        for (Map.Entry<EntityType, List<SpecialDefinition>> entry : death.entrySet()) {
+            entry.getValue().sort(PLAN_ORDER);
+            List<SpecialDefinition> plan = new ArrayList<>(entry.getValue());
+            if (entry.getKey() != EntityType.PLAYER) {
+                // Stable sort: on equal priority typed specials stay ahead of untyped ones.
+                plan.addAll(deathAny);
+                plan.sort(PLAN_ORDER);
+            }
+            plans.put(entry.getKey(), plan);
+        }
+
+        this.byId = Collections.unmodifiableMap(ids);
+        this.deathSpecials = freeze(death);
+        this.deathSpecialsAny = Collections.unmodifiableList(deathAny);
+        this.deathPlans = freeze(plans);
+        this.repeatableDeathTypes = new DeathTypeSet(plans, deathAny, def -> def.getScope().isRepeatable());
+        this.spawnFilteredDeathTypes = new DeathTypeSet(plans, deathAny, def -> def.getTrigger().getSpawnReasons() != null);
+        this.creditedDeathTypes = new DeathTypeSet(plans, deathAny, def -> !def.getTrigger().isKillerMustBePlayer());
+        this.pickupSpecials = freeze(pickup);
+        this.pickupShapes = shapes(pickupSpecials);
+        this.hasItemSpecials = freeze(hasItem);
+
+        // Each watched (material, predicate) pair gets a dense slot so per-player
+        // possession fits in a small bitset.
+        List<Material> items = new ArrayList<>();
+        List<ItemPredicate> predicates = new ArrayList<>();
+        List<List<SpecialDefinition>> slotSpecials = new ArrayList<>();
+        int[][] slots = new int[hasItem.isEmpty() ? 0 : Material.values().length][];
+        for (Map.Entry<Material, List<SpecialDefinition>> entry : hasItemSpecials.entrySet()) {
+            Map<ItemPredicate, List<SpecialDefinition>> variants = new LinkedHashMap<>();
+            for (SpecialDefinition def : entry.getValue()) {
+                variants.computeIfAbsent(def.getTrigger().getItemPredicate(), k -> new ArrayList<>()).add(def);
+            }
+            int[] materialSlots = new int[variants.size()];
+            int i = 0;
+            for (Map.Entry<ItemPredicate, List<SpecialDefinition>> variant : variants.entrySet()) {
+                materialSlots[i++] = items.size();
+                items.add(entry.getKey());
+                predicates.add(variant.getKey());
+                slotSpecials.add(Collections.unmodifiableList(variant.getValue()));
+            }
+            slots[entry.getKey().ordinal()] = materialSlots;
+        }
+        this.watchedItems = items.toArray(new Material[0]);
+        this.watchedPredicates = predicates.toArray(new ItemPredicate[0]);
+        this.watchedSpecials = Collections.unmodifiableList(slotSpecials);
+        this.watchedItemSlots = slots;
+        this.unlockEntrySpecials = freeze(unlock);
+        sources.replaceAll((sourceId, keys) -> freeze(keys));
+        this.sourceSpecials = Collections.unmodifiableMap(sources);
+        this.potionEffectSpecials = freeze(potion);
+        this.conditions = new ConditionNetwork(ids.values());
+    }
+
+    private static Map<Material, ItemPredicate.Shape[]> shapes(Map<Material, List<SpecialDefinition>> specials) {
+        Map<Material, ItemPredicate.Shape[]> shapes = new EnumMap<>(Material.class);
+        for (Map.Entry<Material, List<SpecialDefinition>> entry : specials.entrySet()) {
+            ItemPredicate.Shape[] materialShapes = ItemPredicate.shapesOf(entry.getValue());
+            if (materialShapes != null) {
+                shapes.put(entry.getKey(), materialShapes);
+            }
+        }
+        return shapes;
+    }
+
+    private static <K> Map<K, List<SpecialDefinition>> freeze(Map<K, List<SpecialDefinition>> map) {
+        map.replaceAll((k, v) -> {
+            v.sort(PLAN_ORDER);
+            return Collections.unmodifiableList(v);
+        });
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @return the special with the exact id, or null.
+     */
+    public SpecialDefinition get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * @return the special with the id, falling back to a case-insensitive match, or null.
+     */
+    public SpecialDefinition find(String id) {
+        SpecialDefinition def = byId.get(id);
+        if (def != null) {
+            return def;
+        }
+        for (SpecialDefinition candidate : byId.values()) {
+            if (candidate.getId().equalsIgnoreCase(id)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return read-only map of all specials keyed by id, in config order.
+     */
+    public Map<String, SpecialDefinition> getSpecialsById() {
+        return byId;
+    }
+
+    /**
+     * @return shared section and potion condition nodes of the indexed specials.
+     */
+    public ConditionNetwork getConditionNetwork() {
+        return conditions;
+    }
+
+    /**
+     * @return number of indexed specials.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * @return death specials bound to the entity type (never null).
+     */
+    public List<SpecialDefinition> getDeathSpecials(EntityType type) {
+        List<SpecialDefinition> defs = deathSpecials.get(type);
+        return defs != null ? defs : Collections.emptyList();
+    }
+
+    /**
+     * @return death specials without an entity type, which fire on any mob kill.
+     */
+    public List<SpecialDefinition> getDeathSpecialsAny() {
+        return deathSpecialsAny;
+    }
+
+    /**
+     * @return every death special that can fire for the entity type, in evaluation
+     *         order (never null). Untyped specials never fire on player kills.
+     */
+    public List<SpecialDefinition> getDeathPlan(EntityType type) {
+        List<SpecialDefinition> plan = deathPlans.get(type);
+        if (plan != null) {
+            return plan;
+        }
+        return type == EntityType.PLAYER ? Collections.emptyList() : deathSpecialsAny;
+    }
+
+    /**
+     * @return true if the death plan of the entity type contains a repeatable special.
+     */
+    public boolean hasRepeatableDeathSpecials(EntityType type) {
+        return repeatableDeathTypes.contains(type, deathPlans);
+    }
+
+    /**
+     * @return true if a death special of the entity type filters on spawn reason,
+     *         i.e. the killed mob's spawn tag needs to be read.
+     */
+    public boolean hasSpawnReasonFilter(EntityType type) {
+        return spawnFilteredDeathTypes.contains(type, deathPlans);
+    }
+
+    /**
+     * @return true if a death special of the entity type accepts kills credited to a
+     *         player who did not land the final blow ({@code killer-must-be-player: false}).
+     */
+    public boolean acceptsCreditedKills(EntityType type) {
+        return creditedDeathTypes.contains(type, deathPlans);
+    }
+
+    /**
+     * @return true if any death special accepts credited kills.
+     */
+    public boolean acceptsCreditedKills() {
+        return !creditedDeathTypes.isEmpty();
+    }
+
+    /**
+     * @return pickup specials bound to the material (never null).
+     */
+    public List<SpecialDefinition> getPickupSpecials(Material type) {
+        List<SpecialDefinition> defs = pickupSpecials.get(type);
+        return defs != null ? defs : Collections.emptyList();
+    }
+
+    /**
+     * Pickup specials of the material whose item predicate accepts the stack. Materials
+     * without predicates return the shared plan; otherwise the stack is fingerprinted once
+     * per predicate shape and a filtered copy is returned.
+     *
+     * @param stack the picked up item, or null if unknown (predicated specials never match)
+     */
+    public List<SpecialDefinition> getPickupSpecials(Material type, ItemStack stack) {
+        List<SpecialDefinition> defs = getPickupSpecials(type);
+        ItemPredicate.Shape[] shapes = pickupShapes.get(type);
+        return shapes != null ? ItemPredicate.filter(defs, shapes, stack) : defs;
+    }
+
+    /**
+     * @return possession specials bound to the material, with or without a predicate (never null).
+     */
+    public List<SpecialDefinition> getHasItemSpecials(Material type) {
+        List<SpecialDefinition> defs = hasItemSpecials.get(type);
+        return defs != null ? defs : Collections.emptyList();
+    }
+
+    /**
+     * @param predicate the specials' item predicate, or null for specials without one
+     * @return possession specials bound to exactly this material and predicate (never null).
+     */
+    public List<SpecialDefinition> getHasItemSpecials(Material type, ItemPredicate predicate) {
+        for (int slot : getWatchedItemSlots(type)) {
+            if (Objects.equals(watchedPredicates[slot], predicate)) {
+                return watchedSpecials.get(slot);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return number of (material, predicate) pairs watched by possession specials.
+     */
+    public int getWatchedItemCount() {
+        return watchedItems.length;
+    }
+
+    /**
+     * @return dense slots of the pairs watching the material (empty if none watches it).
+     */
+    public int[] getWatchedItemSlots(Material type) {
+        int[] slots = type != null && watchedItemSlots.length > 0 ? watchedItemSlots[type.ordinal()] : null;
+        return slots != null ? slots : NO_SLOTS;
+    }
+
+    /**
+     * @return the watched material in the slot.
+     */
+    public Material getWatchedItem(int slot) {
+        return watchedItems[slot];
+    }
+
+    /**
+     * @return the item predicate of the slot, or null if any item of the material counts.
+     */
+    public ItemPredicate getWatchedItemPredicate(int slot) {
+        return watchedPredicates[slot];
+    }
+
+    /**
+     * @return unlock specials bound to the SBPC entry id (never null).
+     */
+    public List<SpecialDefinition> getUnlockEntrySpecials(String entryId) {
+        List<SpecialDefinition> defs = unlockEntrySpecials.get(entryId);
+        return defs != null ? defs : Collections.emptyList();
+    }
+
+    /**
+     * @return ids of the trigger sources used by the indexed specials.
+     */
+    public Set<String> getTriggerSourceIds() {
+        return sourceSpecials.keySet();
+    }
+
+    /**
+     * @return true if a special of the trigger source is indexed under the key.
+     */
+    public boolean isTriggerSourceKeyWatched(String sourceId, String key) {
+        Map<String, List<SpecialDefinition>> keys = sourceSpecials.get(sourceId);
+        return keys != null && keys.containsKey(key);
+    }
+
+    /**
+     * @return specials of the trigger source indexed under the key (never null).
+     */
+    public List<SpecialDefinition> getTriggerSourceSpecials(String sourceId, String key) {
+        Map<String, List<SpecialDefinition>> keys = sourceSpecials.get(sourceId);
+        List<SpecialDefinition> defs = keys != null ? keys.get(key) : null;
+        return defs != null ? defs : Collections.emptyList();
+    }
+
+    /**
+     * @return true if any special has a potion requirement on the effect.
+     */
+    public boolean hasPotionSpecials(PotionEffectType type) {
+        return potionEffectSpecials.containsKey(type);
+    }
+
+    /**
+     * Entity types whose death plan contains a special with some property,
+     * precomputed so the death handler can skip optional work with one lookup.
+     */
+    private static final class DeathTypeSet {
+        private final Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        private final boolean any;
+
+        DeathTypeSet(Map<EntityType, List<SpecialDefinition>> plans, List<SpecialDefinition> deathAny,
+                     Predicate<SpecialDefinition> property) {
+            for (Map.Entry<EntityType, List<SpecialDefinition>> entry : plans.entrySet()) {
+                if (anyMatch(entry.getValue(), property)) {
+                    types.add(entry.getKey());
+                }
+            }
+            this.any = anyMatch(deathAny, property);
+        }
+
+        boolean contains(EntityType type, Map<EntityType, List<SpecialDefinition>> plans) {
+            if (plans.containsKey(type)) {
+                return types.contains(type);
+            }
+            // Types without typed specials use the "any" list, which never applies to players.
+            return type != EntityType.PLAYER && any;
+        }
+
+        boolean isEmpty() {
+            return types.isEmpty() && !any;
+        }
+
+        private static boolean anyMatch(List<SpecialDefinition> defs, Predicate<SpecialDefinition> property) {
+            for (SpecialDefinition def : defs) {
+                if (property.test(def)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
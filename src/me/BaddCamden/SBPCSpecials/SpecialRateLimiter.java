@@ -0,0 +1,150 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Throughput limits on special activations: per player and special, per
+ * special across all players, and server-wide across all specials.
+ *
+ * Buckets are created on first use, so specials without limits cost one null
+ * check. A denial by a later bucket still consumes the tokens taken from the
+ * earlier ones, which errs on the side of fewer activations. Per-player state
+ * (bucket and folded count) is pruned once the bucket has refilled, or at the
+ * next prune if the special has no per-player limit, so folded activations
+ * expire when the player stops triggering the special.
+ * Per-player state is main-thread only; the buckets themselves are lock-free.
+ */
+public class SpecialRateLimiter {
+
+    private volatile SpecialDefinition.RateLimit serverWideLimit;
+    private volatile TokenBucket serverWide;
+    private final Map<String, TokenBucket> perSpecial = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, PlayerState>> perPlayer = new HashMap<>();
+
+    /**
+     * Set the limit shared by all specials, or null for none. Keeps the current
+     * bucket if the limit did not change.
+     */
+    public void setServerWideLimit(SpecialDefinition.RateLimit limit, long nowNanos) {
+        SpecialDefinition.RateLimit current = serverWideLimit;
+        if (limit != null && current != null && limit.getActivations() == current.getActivations()
+                && limit.getPeriodSeconds() == current.getPeriodSeconds() && limit.getBurst() == current.getBurst()) {
+            return;
+        }
+        serverWideLimit = limit;
+        serverWide = limit != null ? new TokenBucket(limit, nowNanos) : null;
+    }
+
+    /**
+     * @return true if the special has any limit that applies to it.
+     */
+    public boolean isLimited(SpecialDefinition def) {
+        SpecialDefinition.ScopeDefinition scope = def.getScope();
+        return serverWide != null || scope.getPerPlayerLimit() != null || scope.getPerSpecialLimit() != null;
+    }
+
+    /**
+     * Take a token from every bucket that applies to the activation.
+     *
+     * @return true if the activation is within all limits
+     */
+    public boolean tryAcquire(SpecialDefinition def, UUID playerId, long nowNanos) {
+        SpecialDefinition.ScopeDefinition scope = def.getScope();
+        SpecialDefinition.RateLimit playerLimit = scope.getPerPlayerLimit();
+        if (playerLimit != null) {
+            PlayerState state = state(playerId, def.getId());
+            if (state.bucket == null) {
+                state.bucket = new TokenBucket(playerLimit, nowNanos);
+            }
+            if (!state.bucket.tryAcquire(nowNanos)) {
+                return false;
+            }
+        }
+
+        SpecialDefinition.RateLimit specialLimit = scope.getPerSpecialLimit();
+        if (specialLimit != null) {
+            TokenBucket bucket = perSpecial.get(def.getId());
+            if (bucket == null) {
+                bucket = perSpecial.computeIfAbsent(def.getId(), k -> new TokenBucket(specialLimit, nowNanos));
+            }
+            if (!bucket.tryAcquire(nowNanos)) {
+                return false;
+            }
+        }
+
+        TokenBucket global = serverWide;
+        return global == null || global.tryAcquire(nowNanos);
+    }
+
+    /**
+     * Count a denied activation towards the player's next allowed one.
+     *
+     * @return number of folded activations, or -1 if the cap was reached and the activation dropped
+     */
+    public int fold(SpecialDefinition def, UUID playerId) {
+        PlayerState state = state(playerId, def.getId());
+        if (state.folded >= def.getScope().getMaxFolded()) {
+            return -1;
+        }
+        return ++state.folded;
+    }
+
+    /**
+     * @return folded activations of the player for the special, reset to zero.
+     */
+    public int takeFolded(SpecialDefinition def, UUID playerId) {
+        Map<String, PlayerState> states = perPlayer.get(playerId);
+        PlayerState state = states != null ? states.get(def.getId()) : null;
+        if (state == null) {
+            return 0;
+        }
+        int folded = state.folded;
+        state.folded = 0;
+        return folded;
+    }
+
+    /**
+     * Drop per-player state whose bucket has refilled (or that never had one).
+     */
+    public void prune(long nowNanos) {
+        Iterator<Map<String, PlayerState>> players = perPlayer.values().iterator();
+        while (players.hasNext()) {
+            Map<String, PlayerState> states = players.next();
+            states.values().removeIf(state -> state.bucket == null || state.bucket.isFull(nowNanos));
+            if (states.isEmpty()) {
+                players.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget all per-special and per-player state, e.g. after the specials were reloaded.
+     */
+    public void reset() {
+        perSpecial.clear();
+        perPlayer.clear();
+    }
+
+    private PlayerState state(UUID playerId, String specialId) {
+        Map<String, PlayerState> states = perPlayer.get(playerId);
+        if (states == null) {
+            states = new HashMap<>();
+            perPlayer.put(playerId, states);
+        }
+        PlayerState state = states.get(specialId);
+        if (state == null) {
+            state = new PlayerState();
+            states.put(specialId, state);
+        }
+        return state;
+    }
+
+    private static final class PlayerState {
+        private TokenBucket bucket;
+        private int folded;
+    }
+}
@@ -0,0 +1,96 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+import org.bukkit.entity.EntityType;
+
+/**
+ * Immutable, thread-safe copy of a {@link SpecialTriggeredEvent} for async handlers.
+ */
+public final class SpecialTriggerSnapshot {
+
+    private final SpecialDefinition specialDefinition;
+    private final UUID playerId;
+    private final String playerName;
+    private final UUID contextEntityId;
+    private final EntityType contextEntityType;
+    private final long triggeredAtMillis;
+
+    /**
+     * @param specialDefinition definition of the special that fired
+     * @param playerId          uuid of the player who earned the special
+     * @param playerName        name of the player at trigger time
+     * @param contextEntityId   uuid of the context entity, may be null
+     * @param contextEntityType type of the context entity, may be null
+     * @param triggeredAtMillis wall-clock time the special was applied
+     */
+    public SpecialTriggerSnapshot(SpecialDefinition specialDefinition,
+                                  UUID playerId,
+                                  String playerName,
+                                  UUID contextEntityId,
+                                  EntityType contextEntityType,
+                                  long triggeredAtMillis) {
+        this.specialDefinition = specialDefinition;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.contextEntityId = contextEntityId;
+        this.contextEntityType = contextEntityType;
+        this.triggeredAtMillis = triggeredAtMillis;
+    }
+
+    /**
+     * Copy the thread-safe parts of a live event.
+     */
+    static SpecialTriggerSnapshot of(SpecialTriggeredEvent event) {
+        return new SpecialTriggerSnapshot(
+                event.getSpecialDefinition(),
+                event.getPlayer().getUniqueId(),
+                event.getPlayer().getName(),
+                event.getContextEntity() != null ? event.getContextEntity().getUniqueId() : null,
+                event.getContextEntity() != null ? event.getContextEntity().getType() : null,
+                System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * @return the immutable configuration for the triggered special.
+     */
+    public SpecialDefinition getSpecialDefinition() {
+        return specialDefinition;
+    }
+
+    /**
+     * @return uuid of the player who activated the special.
+     */
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return player name captured when the special fired.
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * @return uuid of the context entity, or null if the trigger had none.
+     */
+    public UUID getContextEntityId() {
+        return contextEntityId;
+    }
+
+    /**
+     * @return type of the context entity, or null if the trigger had none.
+     */
+    public EntityType getContextEntityType() {
+        return contextEntityType;
+    }
+
+    /**
+     * @return wall-clock millis when the special was applied.
+     */
+    public long getTriggeredAtMillis() {
+        return triggeredAtMillis;
+    }
+}
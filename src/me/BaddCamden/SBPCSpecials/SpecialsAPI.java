@@ -1,17 +1,27 @@
 package me.BaddCamden.SBPCSpecials;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 
 /**
  * Static API for other plugins to hook SBPCSpecials.
+ *
+ * Handler registration is thread-safe. Handlers registered with an owning
+ * plugin are removed automatically when that plugin disables. Sync handlers
+ * run on the main thread; async handlers run on a worker pool and receive an
+ * immutable {@link SpecialTriggerSnapshot}. New trigger types are added by
+ * registering a {@link TriggerSource}.
  */
 public final class SpecialsAPI {
 
-    private static SBPCSpecialsPlugin plugin;
-    private static final Map<String, List<SpecialHandler>> handlersById = new HashMap<>();
+    private static volatile SBPCSpecialsPlugin plugin;
+    private static final SpecialHandlerRegistry registry = new SpecialHandlerRegistry();
+    private static final TriggerSourceRegistry triggerSources = new TriggerSourceRegistry();
+    private static volatile HandlerDispatcher dispatcher;
 
     private SpecialsAPI() {
     }
@@ -19,8 +29,33 @@ public final class SpecialsAPI {
     /**
      * Internal bootstrap from the plugin entry point.
      */
-    static void init(SBPCSpecialsPlugin pl) {
+    static void init(SBPCSpecialsPlugin pl, HandlerDispatcher handlerDispatcher) {
+        registry.unregisterDisabledOwners();
         plugin = pl;
+        dispatcher = handlerDispatcher;
+    }
+
+    /**
+     * Internal teardown when SBPCSpecials disables. Handlers of other plugins stay registered,
+     * since they only register once; those whose owner disables meanwhile are pruned on init.
+     */
+    static void shutdown() {
+        HandlerDispatcher current = dispatcher;
+        dispatcher = null;
+        if (current != null) {
+            current.shutdown();
+        }
+        triggerSources.unregisterBuiltins();
+        plugin = null;
+    }
+
+    /**
+     * Internal: drop trigger sources of plugins that disabled while SBPCSpecials was disabled,
+     * then register the built-in ones. Called before the specials are parsed.
+     */
+    static void initTriggerSources() {
+        triggerSources.unregisterDisabledOwners();
+        BuiltinTriggerSources.registerAll();
     }
 
     /**
@@ -31,28 +66,214 @@ public final class SpecialsAPI {
     }
 
     /**
-     * Register a handler for a given special id.
+     * Register a handler for a given special id. The handler is not tied to a
+     * plugin lifecycle; prefer {@link #registerHandler(Plugin, String, SpecialHandler)}.
      */
     public static void registerHandler(String specialId, SpecialHandler handler) {
-        handlersById.computeIfAbsent(specialId, k -> new ArrayList<>()).add(handler);
+        registry.register(null, SpecialHandlerRegistry.Selector.SPECIAL, specialId, handler);
     }
 
     /**
-     * Invoke all registered handlers for the triggered special.
+     * Register a handler for a given special id, owned by the calling plugin.
      */
-    static void fireHandlers(SpecialTriggeredEvent event) {
-        SpecialDefinition def = event.getSpecialDefinition();
-        if (def == null) return;
-        List<SpecialHandler> list = handlersById.get(def.getId());
-        if (list == null || list.isEmpty()) return;
-        for (SpecialHandler h : list) {
-            try {
-                h.onSpecialTriggered(event);
-            } catch (Throwable t) {
-                if (plugin != null) {
-                    plugin.getLogger().warning("Error in SpecialHandler for " + def.getId() + ": " + t.getMessage());
-                }
+    public static void registerHandler(Plugin owner, String specialId, SpecialHandler handler) {
+        registry.register(owner, SpecialHandlerRegistry.Selector.SPECIAL, specialId, handler);
+    }
+
+    /**
+     * Register a handler for every special using the given trigger type.
+     */
+    public static void registerTriggerHandler(Plugin owner, TriggerType triggerType, SpecialHandler handler) {
+        if (triggerType == null) {
+            throw new IllegalArgumentException("Trigger type is required");
+        }
+        registry.register(owner, SpecialHandlerRegistry.Selector.TRIGGER, triggerType.name(), handler);
+    }
+
+    /**
+     * Register a handler for every special using the given trigger type, including the id of a
+     * {@link TriggerSource}.
+     */
+    public static void registerTriggerHandler(Plugin owner, String triggerType, SpecialHandler handler) {
+        if (triggerType == null) {
+            throw new IllegalArgumentException("Trigger type is required");
+        }
+        registry.register(owner, SpecialHandlerRegistry.Selector.TRIGGER, TriggerSourceRegistry.normalize(triggerType),
+                handler);
+    }
+
+    /**
+     * Register a handler for every special that can apply in the given section
+     * (including specials that apply to all sections).
+     */
+    public static void registerSectionHandler(Plugin owner, String sectionId, SpecialHandler handler) {
+        registry.register(owner, SpecialHandlerRegistry.Selector.SECTION, sectionId, handler);
+    }
+
+    /**
+     * Register a handler that receives every triggered special.
+     */
+    public static void registerGlobalHandler(Plugin owner, SpecialHandler handler) {
+        registry.register(owner, SpecialHandlerRegistry.Selector.ANY, null, handler);
+    }
+
+    /**
+     * Register an async handler for a given special id, run off the main thread.
+     *
+     * @param timeoutMillis cancel the handler if it runs longer than this, 0 for no timeout
+     */
+    public static void registerAsyncHandler(Plugin owner, String specialId,
+                                            AsyncSpecialHandler handler, long timeoutMillis) {
+        registry.registerAsync(owner, SpecialHandlerRegistry.Selector.SPECIAL, specialId, handler, timeoutMillis);
+    }
+
+    /**
+     * Register an async handler for every special using the given trigger type.
+     *
+     * @param timeoutMillis cancel the handler if it runs longer than this, 0 for no timeout
+     */
+    public static void registerAsyncTriggerHandler(Plugin owner, TriggerType triggerType,
+                                                   AsyncSpecialHandler handler, long timeoutMillis) {
+        if (triggerType == null) {
+            throw new IllegalArgumentException("Trigger type is required");
+        }
+        registry.registerAsync(owner, SpecialHandlerRegistry.Selector.TRIGGER, triggerType.name(), handler, timeoutMillis);
+    }
+
+    /**
+     * Register an async handler that receives every triggered special.
+     *
+     * @param timeoutMillis cancel the handler if it runs longer than this, 0 for no timeout
+     */
+    public static void registerAsyncGlobalHandler(Plugin owner, AsyncSpecialHandler handler, long timeoutMillis) {
+        registry.registerAsync(owner, SpecialHandlerRegistry.Selector.ANY, null, handler, timeoutMillis);
+    }
+
+    /**
+     * Remove all registrations of a handler instance.
+     *
+     * @return number of registrations removed
+     */
+    public static int unregisterHandler(SpecialHandler handler) {
+        return registry.unregister(handler);
+    }
+
+    /**
+     * Remove all registrations of an async handler instance.
+     *
+     * @return number of registrations removed
+     */
+    public static int unregisterHandler(AsyncSpecialHandler handler) {
+        return registry.unregister(handler);
+    }
+
+    /**
+     * Remove every handler registered by the plugin.
+     *
+     * @return number of registrations removed
+     */
+    public static int unregisterHandlers(Plugin owner) {
+        return registry.unregisterAll(owner);
+    }
+
+    /**
+     * Register a trigger type, owned by the calling plugin and removed when it disables
+     * (it survives SBPCSpecials itself being disabled and enabled again). Call from the main
+     * thread. If SBPCSpecials is already running, the specials of this type from the last
+     * load are parsed from memory and added right away; nothing is re-read from disk.
+     *
+     * @throws IllegalArgumentException if the id is taken or names a built-in trigger type
+     */
+    public static void registerTriggerSource(Plugin owner, TriggerSource source) {
+        String id = triggerSources.register(owner, source);
+        SBPCSpecialsPlugin pl = plugin;
+        if (pl != null) {
+            pl.onTriggerSourceRegistered(id);
+        }
+    }
+
+    /**
+     * Remove a trigger source. Its specials stay loaded but no longer fire.
+     *
+     * @return true if the source was registered
+     */
+    public static boolean unregisterTriggerSource(String id) {
+        if (id == null || !triggerSources.unregister(id)) {
+            return false;
+        }
+        SBPCSpecialsPlugin pl = plugin;
+        if (pl != null) {
+            pl.onTriggerSourceUnregistered(TriggerSourceRegistry.normalize(id));
+        }
+        return true;
+    }
+
+    /**
+     * Remove every trigger source registered by the plugin.
+     *
+     * @return number of sources removed
+     */
+    public static int unregisterTriggerSources(Plugin owner) {
+        List<String> removed = triggerSources.unregisterAll(owner);
+        SBPCSpecialsPlugin pl = plugin;
+        if (pl != null) {
+            for (String id : removed) {
+                pl.onTriggerSourceUnregistered(id);
             }
         }
+        return removed.size();
+    }
+
+    /**
+     * @return the trigger source registered under the id (any case), or null.
+     */
+    public static TriggerSource getTriggerSource(String id) {
+        return triggerSources.get(id);
+    }
+
+    /**
+     * @return true if the id names a trigger source that ships with SBPCSpecials.
+     */
+    static boolean isBuiltinTriggerSource(String id) {
+        return triggerSources.isBuiltin(id);
+    }
+
+    /**
+     * @return runtime metrics of the specials trigger pipeline, or null before enable.
+     */
+    public static SpecialsMetrics getMetrics() {
+        SBPCSpecialsPlugin pl = plugin;
+        return pl != null ? pl.getMetrics() : null;
+    }
+
+    /**
+     * Internal access for lifecycle hooks and cache invalidation.
+     */
+    static SpecialHandlerRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Fire {@link SpecialTriggeredEvent} and invoke registered handlers for an applied special.
+     * The event is only built when a Bukkit listener or handler will observe it.
+     */
+    static void publish(SpecialDefinition def, Player player, Entity contextEntity) {
+        if (def == null) return;
+
+        SpecialHandlerRegistry.Registration[] handlers = registry.handlersFor(def);
+        boolean hasListeners = SpecialTriggeredEvent.getHandlerList().getRegisteredListeners().length > 0;
+        if (!hasListeners && handlers.length == 0) {
+            return;
+        }
+
+        SpecialTriggeredEvent event = new SpecialTriggeredEvent(def, player, contextEntity);
+        if (hasListeners) {
+            Bukkit.getPluginManager().callEvent(event);
+        }
+
+        HandlerDispatcher current = dispatcher;
+        if (handlers.length > 0 && current != null) {
+            current.dispatch(event, handlers);
+        }
     }
 }
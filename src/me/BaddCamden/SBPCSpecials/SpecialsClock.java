@@ -0,0 +1,32 @@
+package me.BaddCamden.SBPCSpecials;
+
+/**
+ * Time source of the specials engine, replaceable by a virtual clock in simulations.
+ */
+public interface SpecialsClock {
+
+    /**
+     * Wall-clock time backed by {@link System}.
+     */
+    SpecialsClock SYSTEM = new SpecialsClock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * @return current wall-clock time in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * @return monotonic time in nanoseconds, used for latency measurements.
+     */
+    long nanoTime();
+}
@@ -0,0 +1,503 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Loads specials from a directory of YAML files in addition to config.yml.
+ *
+ * Each {@code .yml} file holds one or more specials as top-level keys (a
+ * {@code specials:} wrapper is also accepted). Files are parsed on a small
+ * worker pool, and the compiled definitions of every file that parsed without
+ * warnings and uses no other plugin's trigger types are stored in a binary
+ * cache keyed by the SHA-256 of the file's content, so an unchanged file is
+ * decoded instead of parsed on the next load.
+ * The cache is discarded when the plugin or server version changes.
+ */
+public class SpecialsDirectoryLoader {
+
+    private static final int CACHE_MAGIC = 0x53424443; // "SBDC"
+
+    private final File directory;
+    private final File cacheFile;
+    private final String cacheStamp;
+    private final int parallelism;
+
+    /**
+     * @param directory   directory scanned recursively for .yml/.yaml files
+     * @param cacheFile   compiled definition cache, or null to always parse
+     * @param cacheStamp  plugin/server version; a cache written under another stamp is ignored
+     * @param parallelism parser threads, or 0 for one per available core
+     */
+    public SpecialsDirectoryLoader(File directory, File cacheFile, String cacheStamp, int parallelism) {
+        this.directory = directory;
+        this.cacheFile = cacheFile;
+        this.cacheStamp = cacheStamp != null ? cacheStamp : "";
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return the directory specials files are read from.
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Read every specials file, using the cache for unchanged ones. Parse warnings are
+     * reported to the logger prefixed with the file name, in file order.
+     */
+    public Result load(Logger logger) {
+        long start = System.nanoTime();
+        List<Path> files = listFiles(logger);
+        if (files.isEmpty() && (cacheFile == null || !cacheFile.exists())) {
+            return new Result(Collections.emptyMap(), Collections.emptyMap(), 0, 0, System.nanoTime() - start);
+        }
+
+        Map<String, CacheEntry> cache = readCache(logger);
+        Path base = directory.toPath();
+        List<FileResult> results = new ArrayList<>(files.size());
+
+        int threads = Math.min(parallelism, files.size());
+        if (threads <= 1) {
+            for (Path file : files) {
+                results.add(loadFile(file, key(base, file), cache));
+            }
+        } else {
+            AtomicInteger threadId = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "SBPCSpecials-parser-" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<FileResult>> futures = new ArrayList<>(files.size());
+                for (Path file : files) {
+                    String key = key(base, file);
+                    futures.add(pool.submit(() -> loadFile(file, key, cache)));
+                }
+                for (Future<FileResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                logger.warning("Interrupted while loading specials files.");
+                return new Result(Collections.emptyMap(), Collections.emptyMap(), files.size(), 0, System.nanoTime() - start);
+            } catch (ExecutionException ex) {
+                logger.warning("Could not load specials files: " + ex.getCause());
+                return new Result(Collections.emptyMap(), Collections.emptyMap(), files.size(), 0, System.nanoTime() - start);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        Map<String, List<SpecialDefinition>> byFile = new LinkedHashMap<>();
+        Map<String, Map<String, ConfigurationSection>> sourceSections = new LinkedHashMap<>();
+        int cached = 0;
+        int cacheable = 0;
+        boolean cacheDirty = false;
+        for (FileResult result : results) {
+            for (String warning : result.warnings) {
+                logger.warning(result.key + ": " + warning);
+            }
+            byFile.put(result.key, result.definitions);
+            for (Map.Entry<String, Map<String, ConfigurationSection>> type : result.sourceSections.entrySet()) {
+                Map<String, ConfigurationSection> sections = sourceSections.computeIfAbsent(type.getKey(), k -> new LinkedHashMap<>());
+                type.getValue().forEach(sections::putIfAbsent);
+            }
+            if (result.fromCache) {
+                cached++;
+            } else if (result.payload != null) {
+                cacheDirty = true;
+            }
+            if (result.payload != null) {
+                cacheable++;
+            }
+        }
+        // Also rewrite when files were deleted or stopped being cacheable.
+        cacheDirty |= cacheable != cache.size();
+        if (cacheDirty && cacheFile != null) {
+            writeCache(results, logger);
+        }
+        return new Result(byFile, sourceSections, results.size(), cached, System.nanoTime() - start);
+    }
+
+    /**
+     * Combine the specials from config.yml with those loaded from the directory. The
+     * first definition of an id wins; later duplicates are reported and dropped.
+     */
+    public static List<SpecialDefinition> merge(List<SpecialDefinition> configSpecials, Result directory, Logger logger) {
+        List<SpecialDefinition> merged = new ArrayList<>(configSpecials);
+        Map<String, String> origin = new HashMap<>();
+        for (SpecialDefinition def : configSpecials) {
+            origin.put(def.getId(), "config.yml");
+        }
+        for (Map.Entry<String, List<SpecialDefinition>> file : directory.getSpecialsByFile().entrySet()) {
+            for (SpecialDefinition def : file.getValue()) {
+                String previous = origin.putIfAbsent(def.getId(), file.getKey());
+                if (previous != null) {
+                    logger.warning("Special " + def.getId() + " in " + file.getKey()
+                            + " is already defined in " + previous + "; skipping.");
+                } else {
+                    merged.add(def);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return a logger that appends every message to the list instead of printing it
+     */
+    static Logger capturingLogger(List<String> messages) {
+        Logger capture = Logger.getAnonymousLogger();
+        capture.setUseParentHandlers(false);
+        capture.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return capture;
+    }
+
+    // ------------------------------------------------------------------------
+    // Files
+    // ------------------------------------------------------------------------
+
+    private List<Path> listFiles(Logger logger) {
+        if (!directory.isDirectory()) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+                        return name.endsWith(".yml") || name.endsWith(".yaml");
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            logger.warning("Could not list specials directory " + directory.getPath() + ": " + ex.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static String key(Path base, Path file) {
+        return base.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Decode a file from the cache when its hash matches, otherwise parse it. Runs on a worker thread.
+     */
+    private static FileResult loadFile(Path file, String key, Map<String, CacheEntry> cache) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException ex) {
+            return FileResult.failed(key, "could not read file: " + ex.getMessage());
+        }
+        byte[] hash = sha256(bytes);
+
+        CacheEntry entry = cache.get(key);
+        if (entry != null && Arrays.equals(entry.hash, hash)) {
+            List<SpecialDefinition> decoded = decode(entry.payload);
+            if (decoded != null) {
+                return new FileResult(key, hash, decoded, entry.payload, Collections.emptyList(), true,
+                        Collections.emptyMap());
+            }
+        }
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(new String(bytes, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException ex) {
+            return FileResult.failed(key, "invalid YAML: " + ex.getMessage());
+        }
+        ConfigurationSection root = yaml.isConfigurationSection("specials") ? yaml.getConfigurationSection("specials") : yaml;
+
+        List<String> warnings = new ArrayList<>();
+        List<SpecialDefinition> definitions = SpecialConfigParser.parse(root, capturingLogger(warnings));
+        Map<String, Map<String, ConfigurationSection>> sourceSections = new LinkedHashMap<>();
+        SpecialConfigParser.collectSourceTriggerSections(root, sourceSections);
+        // Files with warnings are re-parsed every load so the warnings are not hidden by the cache;
+        // files using other plugins' trigger sources are too, since those sources may come or go.
+        byte[] payload = warnings.isEmpty() && !usesThirdPartySources(sourceSections) ? encode(definitions) : null;
+        return new FileResult(key, hash, definitions, payload, warnings, false, sourceSections);
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static byte[] encode(List<SpecialDefinition> definitions) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + definitions.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(definitions.size());
+            for (SpecialDefinition def : definitions) {
+                SpecialDefinitionCodec.write(out, def);
+            }
+        } catch (IOException ex) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the definitions, or null if any of them no longer resolves
+     */
+    private static boolean usesThirdPartySources(Map<String, Map<String, ConfigurationSection>> sourceSections) {
+        for (String sourceId : sourceSections.keySet()) {
+            if (!SpecialsAPI.isBuiltinTriggerSource(sourceId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<SpecialDefinition> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int count = in.readInt();
+            List<SpecialDefinition> definitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                SpecialDefinition def = SpecialDefinitionCodec.read(in);
+                if (def == null) {
+                    return null;
+                }
+                definitions.add(def);
+            }
+            return definitions;
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Cache file
+    // ------------------------------------------------------------------------
+
+    private Map<String, CacheEntry> readCache(Logger logger) {
+        Map<String, CacheEntry> cache = new HashMap<>();
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return cache;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (in.readInt() != CACHE_MAGIC
+                    || in.readInt() != SpecialDefinitionCodec.FORMAT_VERSION
+                    || !cacheStamp.equals(in.readUTF())) {
+                return cache;
+            }
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                String key = in.readUTF();
+                byte[] hash = readBytes(in);
+                byte[] payload = readBytes(in);
+                cache.put(key, new CacheEntry(hash, payload));
+            }
+        } catch (EOFException ex) {
+            logger.warning("Specials cache " + cacheFile.getName() + " is truncated; rebuilding it.");
+            cache.clear();
+        } catch (IOException ex) {
+            logger.warning("Could not read specials cache " + cacheFile.getName() + ": " + ex.getMessage());
+            cache.clear();
+        }
+        return cache;
+    }
+
+    private void writeCache(List<FileResult> results, Logger logger) {
+        Path target = cacheFile.toPath();
+        Path temp = target.resolveSibling(cacheFile.getName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(SpecialDefinitionCodec.FORMAT_VERSION);
+                out.writeUTF(cacheStamp);
+                Set<String> written = new HashSet<>();
+                List<FileResult> cacheable = new ArrayList<>();
+                for (FileResult result : results) {
+                    if (result.payload != null && written.add(result.key)) {
+                        cacheable.add(result);
+                    }
+                }
+                out.writeInt(cacheable.size());
+                for (FileResult result : cacheable) {
+                    out.writeUTF(result.key);
+                    writeBytes(out, result.hash);
+                    writeBytes(out, result.payload);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            logger.warning("Could not write specials cache " + cacheFile.getName() + ": " + ex.getMessage());
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("negative length");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static final class CacheEntry {
+        final byte[] hash;
+        final byte[] payload;
+
+        CacheEntry(byte[] hash, byte[] payload) {
+            this.hash = hash;
+            this.payload = payload;
+        }
+    }
+
+    private static final class FileResult {
+        final String key;
+        final byte[] hash;
+        final List<SpecialDefinition> definitions;
+        final byte[] payload;
+        final List<String> warnings;
+        final boolean fromCache;
+        // Empty for cached files: they use built-in trigger types only, which are always registered.
+        final Map<String, Map<String, ConfigurationSection>> sourceSections;
+
+        FileResult(String key, byte[] hash, List<SpecialDefinition> definitions, byte[] payload,
+                   List<String> warnings, boolean fromCache, Map<String, Map<String, ConfigurationSection>> sourceSections) {
+            this.key = key;
+            this.hash = hash;
+            this.definitions = definitions;
+            this.payload = payload;
+            this.warnings = warnings;
+            this.fromCache = fromCache;
+            this.sourceSections = sourceSections;
+        }
+
+        static FileResult failed(String key, String warning) {
+            return new FileResult(key, null, Collections.emptyList(), null, List.of(warning), false,
+                    Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Specials loaded from the directory, grouped by file.
+     */
+    public static final class Result {
+        private final Map<String, List<SpecialDefinition>> specialsByFile;
+        private final Map<String, Map<String, ConfigurationSection>> sourceTriggerSections;
+        private final int files;
+        private final int cachedFiles;
+        private final long nanos;
+
+        Result(Map<String, List<SpecialDefinition>> specialsByFile,
+               Map<String, Map<String, ConfigurationSection>> sourceTriggerSections, int files, int cachedFiles, long nanos) {
+            this.specialsByFile = specialsByFile;
+            this.sourceTriggerSections = sourceTriggerSections;
+            this.files = files;
+            this.cachedFiles = cachedFiles;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return definitions per file (path relative to the directory), in file order.
+         */
+        public Map<String, List<SpecialDefinition>> getSpecialsByFile() {
+            return specialsByFile;
+        }
+
+        /**
+         * @return sections of specials with a non-built-in trigger type in parsed files,
+         *         see {@link SpecialConfigParser#collectSourceTriggerSections}
+         */
+        public Map<String, Map<String, ConfigurationSection>> getSourceTriggerSections() {
+            return sourceTriggerSections;
+        }
+
+        /**
+         * @return number of specials across all files.
+         */
+        public int size() {
+            int size = 0;
+            for (List<SpecialDefinition> defs : specialsByFile.values()) {
+                size += defs.size();
+            }
+            return size;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        /**
+         * @return files decoded from the cache rather than parsed.
+         */
+        public int getCachedFiles() {
+            return cachedFiles;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,1246 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.logging.Logger;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * The specials engine: trigger dispatch, scope and section checks, bonus
+ * accounting and per-player state.
+ *
+ * Talks to the host only through {@link SbpcBridge}, {@link PlayerLookup},
+ * {@link SpecialsOutput}, {@link SpecialsClock} and {@link SpecialsScheduler},
+ * so it runs unchanged inside the plugin, in benchmarks and in simulations.
+ * Bukkit value types (materials, entity and effect types) are used as keys but
+ * no server services are called.
+ *
+ * Main-thread only.
+ */
+public class SpecialsEngine {
+
+    private static final String MURDER_SECTION_ID = "murder";
+    private static final String MASSACRE_SECTION_ID = "massacre";
+    private static final String MASSACRE_UNIQUE_KEY = "massacre_unique_kills";
+    private static final int MASSACRE_MAX_UNIQUE_KILLS = 3;
+    private static final int MASSACRE_ENTRY_SKIP_SECONDS = 3600;
+    private static final String SERIAL_KILLER_SECTION_ID = "serial_killer";
+    private static final int SERIAL_KILLER_KILL_SKIP_SECONDS = 1800;
+
+    private static final long GAUGE_PERIOD_TICKS = 20L * 15L;
+    private static final SectionMatchResult NO_ACTIVE_SECTION = SectionMatchResult.denied("No active section");
+
+    /**
+     * Result of a manual activation request.
+     */
+    public enum ActivationResult {
+        ACTIVATED,
+        NOT_COMMAND_ACTIVATABLE,
+        WRONG_SECTION,
+        ALREADY_ACTIVE,
+        COMPLETED_SERVER_WIDE,
+        COMPLETED_BY_PLAYER
+    }
+
+    /**
+     * Result of a manual removal request.
+     */
+    public enum RemovalResult {
+        REMOVED,
+        NOT_ACTIVE,
+        FAILED
+    }
+
+    private final SbpcBridge sbpc;
+    private final PlayerLookup players;
+    private final SpecialsOutput output;
+    private final SpecialsClock clock;
+    private final SpecialsScheduler scheduler;
+    private final SpecialsMetrics metrics;
+    private final Logger logger;
+    private final ProgressSpeedService progressSpeedService;
+    private final DecisionTracer tracer = new DecisionTracer();
+    private final SpecialRateLimiter rateLimiter = new SpecialRateLimiter();
+    private KillDensityTracker killDensity = KillDensityTracker.fromConfig(null);
+
+    // Immutable snapshot, replaced as a whole on reload; volatile so off-thread readers see it fully built.
+    private volatile SpecialIndex specials = SpecialIndex.EMPTY;
+    private final Map<UUID, PlayerSpecialData> playerData = new HashMap<>();
+    private final Set<String> completedSpecialsServerWide = new HashSet<>();
+    private SpecialsScheduler.Task gaugeTask;
+    private PendingSweep pendingSweep;
+    // One memo per nested dispatch (handlers may re-enter the engine); reused across events.
+    private final List<ConditionNetwork.Memo> memos = new ArrayList<>();
+    private int memoDepth;
+
+    /**
+     * @param sbpc      section lookups and timer adjustments
+     * @param players   resolves online players by id
+     * @param output    message delivery and applied-special notifications
+     * @param clock     time source for latency measurements
+     * @param scheduler main-thread scheduler for periodic maintenance
+     * @param metrics   receives pipeline counters and timings
+     * @param logger    receives section mismatch diagnostics
+     */
+    public SpecialsEngine(SbpcBridge sbpc,
+                          PlayerLookup players,
+                          SpecialsOutput output,
+                          SpecialsClock clock,
+                          SpecialsScheduler scheduler,
+                          SpecialsMetrics metrics,
+                          Logger logger) {
+        this.sbpc = sbpc;
+        this.players = players;
+        this.output = output;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+        this.logger = logger;
+        this.progressSpeedService = new ProgressSpeedService(sbpc::applyExternalTimeSkip);
+    }
+
+    // ------------------------------------------------------------------------
+    // Lifecycle & state
+    // ------------------------------------------------------------------------
+
+    /**
+     * Start periodic gauge updates. Gauges are computed on the main thread and read lock-free by exporters.
+     */
+    public void start() {
+        updateGauges();
+        gaugeTask = scheduler.runRepeating(this::updateGauges, GAUGE_PERIOD_TICKS, GAUGE_PERIOD_TICKS);
+    }
+
+    /**
+     * Stop periodic tasks.
+     */
+    public void stop() {
+        if (gaugeTask != null) {
+            gaugeTask.cancel();
+            gaugeTask = null;
+        }
+        if (pendingSweep != null) {
+            pendingSweep.cancel();
+            pendingSweep = null;
+        }
+    }
+
+    /**
+     * Replace the active specials with a fully built snapshot in one step.
+     */
+    public void setSpecials(SpecialIndex specials) {
+        this.specials = specials;
+        // Limits may have changed with the definitions.
+        rateLimiter.reset();
+    }
+
+    /**
+     * Set the activation limit shared by all specials, or null for none.
+     */
+    public void setServerWideRateLimit(SpecialDefinition.RateLimit limit) {
+        rateLimiter.setServerWideLimit(limit, clock.nanoTime());
+    }
+
+    /**
+     * Replace the kill-density tracker, e.g. after its config changed.
+     */
+    public void setKillDensity(KillDensityTracker killDensity) {
+        this.killDensity = killDensity;
+    }
+
+    /**
+     * @return the active kill-density tracker.
+     */
+    public KillDensityTracker getKillDensity() {
+        return killDensity;
+    }
+
+    /**
+     * @return the active specials.
+     */
+    public SpecialIndex getSpecials() {
+        return specials;
+    }
+
+    /**
+     * @return runtime metrics for the trigger pipeline.
+     */
+    public SpecialsMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the decision tracer behind /specials trace.
+     */
+    public DecisionTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * @return live map of per-player state, for persistence.
+     */
+    public Map<UUID, PlayerSpecialData> getPlayerData() {
+        return playerData;
+    }
+
+    /**
+     * @return live set of once-per-server specials already completed, for persistence.
+     */
+    public Set<String> getCompletedSpecialsServerWide() {
+        return completedSpecialsServerWide;
+    }
+
+    /**
+     * @return cached or newly created PlayerSpecialData for the uuid.
+     */
+    public PlayerSpecialData getOrCreatePlayerData(UUID uuid) {
+        return playerData.computeIfAbsent(uuid, k -> new PlayerSpecialData());
+    }
+
+    /**
+     * Recompute the loaded-records and pending-specials gauges.
+     */
+    public void updateGauges() {
+        long now = clock.nanoTime();
+        rateLimiter.prune(now);
+        killDensity.prune(now);
+        long pending = 0L;
+        for (PlayerSpecialData data : playerData.values()) {
+            for (String id : data.getCompletedSpecials()) {
+                if (!data.isApplied(id)) {
+                    pending++;
+                }
+            }
+        }
+        metrics.updateGauges(playerData.size(), pending);
+    }
+
+    // ------------------------------------------------------------------------
+    // Triggers
+    // ------------------------------------------------------------------------
+
+    /**
+     * Reapply persisted bonuses and pending specials as a player joins.
+     */
+    public void handleJoin(UUID playerId) {
+        PlayerSpecialData data = playerData.get(playerId);
+        if (data == null) {
+            return;
+        }
+        SpecialsPlayer player = players.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+
+        // Reapply any stored bonuses on join so progress timers stay in sync after restarts.
+        progressSpeedService.applySpeedBonuses(
+                playerId,
+                data,
+                "SBPCSpecials persisted bonuses on join"
+        );
+
+        // Specials completed in past sections may become applicable now.
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            applyPendingSpecialsForCurrentSection(player, memo);
+            applyPendingPotionRequirementSpecials(player, null, memo);
+        } finally {
+            endMemo(memo);
+        }
+    }
+
+    /**
+     * Drop per-player transient state of a player who left.
+     */
+    public void handleQuit(UUID playerId) {
+        tracer.onQuit(playerId);
+    }
+
+    /**
+     * Re-check potion-gated specials after a player's effects changed.
+     *
+     * @param changedType effect that changed, or null if unknown
+     */
+    public void handlePotionEffectChange(UUID playerId, PotionEffectType changedType) {
+        if (changedType != null && !specials.hasPotionSpecials(changedType)) {
+            return;
+        }
+        SpecialsPlayer player = players.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            applyPendingPotionRequirementSpecials(player, changedType, memo);
+        } finally {
+            endMemo(memo);
+        }
+    }
+
+    /**
+     * Route a kill into PvP section logic and the death specials of the entity type.
+     *
+     * @param entity         the entity that died, passed on to handlers (may be null)
+     * @param victimPlayerId the victim when a player was killed, otherwise null
+     */
+    public void handleEntityDeath(UUID killerId, EntityType type, Entity entity, UUID victimPlayerId) {
+        handleEntityDeath(killerId, type, entity, victimPlayerId, false, null, null, 0, 0);
+    }
+
+    /**
+     * Route a kill at a known position; repeatable death specials are throttled
+     * by the kill density around it.
+     *
+     * @param credited    true if the killer did not land the final blow but was credited
+     *                    from recent damage; only specials without killer-must-be-player fire
+     * @param spawnReason why the victim spawned, or null if unknown (treated as natural)
+     * @param worldId     world of the kill, or null to skip density tracking
+     */
+    public void handleEntityDeath(UUID killerId, EntityType type, Entity entity, UUID victimPlayerId, boolean credited,
+                                  CreatureSpawnEvent.SpawnReason spawnReason, UUID worldId, int blockX, int blockZ) {
+        SpecialsPlayer killer = players.getPlayer(killerId);
+        if (killer == null) {
+            return;
+        }
+
+        // Only kills that could fire a repeatable special feed the density grid.
+        boolean throttled = worldId != null && killDensity.isEnabled()
+                && specials.hasRepeatableDeathSpecials(type)
+                && hasUnappliedRepeatableDeathSpecial(killerId, type)
+                && !killDensity.recordKill(killerId, worldId, blockX, blockZ, clock.nanoTime());
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            dispatchEntityDeath(killer, type, entity, victimPlayerId, credited, spawnReason, throttled, memo);
+        } finally {
+            endMemo(memo);
+        }
+    }
+
+    /**
+     * Repeatable specials still apply once per player until they are removed, so kills
+     * only count towards the density grid while one of them is open for the killer.
+     */
+    private boolean hasUnappliedRepeatableDeathSpecial(UUID killerId, EntityType type) {
+        PlayerSpecialData data = playerData.get(killerId);
+        List<SpecialDefinition> plan = specials.getDeathPlan(type);
+        for (int i = 0; i < plan.size(); i++) {
+            SpecialDefinition def = plan.get(i);
+            if (def.getScope().isRepeatable() && (data == null || !data.isApplied(def.getId()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dispatchEntityDeath(SpecialsPlayer killer, EntityType type, Entity entity, UUID victimPlayerId,
+                                     boolean credited, CreatureSpawnEvent.SpawnReason spawnReason, boolean throttled,
+                                     ConditionNetwork.Memo memo) {
+        applyPendingPotionRequirementSpecials(killer, null, memo);
+
+        // PvP sections only count players who landed the kill themselves.
+        if (victimPlayerId != null && !credited) {
+            handlePvpSectionSpecials(killer, victimPlayerId);
+            // PvP sections may have completed the killer's section.
+            memo.invalidate();
+        }
+
+        // Precomputed per type; "any" death specials ignore player deaths so PVP doesn't trigger mob-based bonuses.
+        List<SpecialDefinition> defs = specials.getDeathPlan(type);
+        if (defs.isEmpty()) {
+            return;
+        }
+        metrics.recordTriggerFire(TriggerType.ENTITY_DEATH);
+
+        SpecialsFlightEvents.TriggerDispatch jfr = new SpecialsFlightEvents.TriggerDispatch();
+        jfr.begin();
+
+        // First, apply any specials that were completed earlier but
+        // only become valid in the killer's current section.
+        applyPendingSpecialsForCurrentSection(killer, memo);
+
+        runPlan(defs, killer, entity, credited, spawnReason, throttled, memo);
+
+        commitDispatch(jfr, TriggerType.ENTITY_DEATH, killer.getUniqueId(), defs.size());
+    }
+
+    /**
+     * Trigger pickup specials for the collected material.
+     *
+     * @param item the picked up item entity, passed on to handlers (may be null)
+     */
+    public void handleItemPickup(UUID playerId, Material type, Entity item) {
+        SpecialsPlayer player = players.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            dispatchItemPickup(player, type, item, memo);
+        } finally {
+            endMemo(memo);
+        }
+    }
+
+    private void dispatchItemPickup(SpecialsPlayer player, Material type, Entity item, ConditionNetwork.Memo memo) {
+        applyPendingPotionRequirementSpecials(player, null, memo);
+
+        // Item predicates need the stack; replayed pickups have no entity and only match plain specials.
+        List<SpecialDefinition> defs = specials.getPickupSpecials(type,
+                item instanceof Item drop ? drop.getItemStack() : null);
+        if (defs.isEmpty()) {
+            return;
+        }
+        metrics.recordTriggerFire(TriggerType.ENTITY_PICKUP);
+
+        SpecialsFlightEvents.TriggerDispatch jfr = new SpecialsFlightEvents.TriggerDispatch();
+        jfr.begin();
+
+        // Apply any pending specials whose section condition now matches
+        applyPendingSpecialsForCurrentSection(player, memo);
+
+        runPlan(defs, player, item, false, null, false, memo);
+
+        commitDispatch(jfr, TriggerType.ENTITY_PICKUP, player.getUniqueId(), defs.size());
+    }
+
+    /**
+     * Trigger possession specials when a watched item enters the player's inventory.
+     *
+     * @param predicate item predicate the held item matched, or null to fire the specials without one
+     */
+    public void handleItemPossessed(UUID playerId, Material type, ItemPredicate predicate) {
+        List<SpecialDefinition> defs = specials.getHasItemSpecials(type, predicate);
+        if (defs.isEmpty()) {
+            return;
+        }
+        SpecialsPlayer player = players.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+        metrics.recordTriggerFire(TriggerType.HAS_ITEM);
+
+        SpecialsFlightEvents.TriggerDispatch jfr = new SpecialsFlightEvents.TriggerDispatch();
+        jfr.begin();
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            applyPendingSpecialsForCurrentSection(player, memo);
+            applyPendingPotionRequirementSpecials(player, null, memo);
+            runPlan(defs, player, null, false, null, false, memo);
+        } finally {
+            endMemo(memo);
+        }
+
+        commitDispatch(jfr, TriggerType.HAS_ITEM, player.getUniqueId(), defs.size());
+    }
+
+    /**
+     * Trigger the specials a {@link TriggerSource} indexed under the key.
+     *
+     * @param entity event entity passed on to handlers (may be null)
+     */
+    public void handleSourceTrigger(UUID playerId, String sourceId, String key, Entity entity) {
+        List<SpecialDefinition> defs = specials.getTriggerSourceSpecials(sourceId, key);
+        if (defs.isEmpty()) {
+            return;
+        }
+        SpecialsPlayer player = players.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+        metrics.recordTriggerFire(TriggerType.CUSTOM);
+
+        SpecialsFlightEvents.TriggerDispatch jfr = new SpecialsFlightEvents.TriggerDispatch();
+        jfr.begin();
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            applyPendingSpecialsForCurrentSection(player, memo);
+            applyPendingPotionRequirementSpecials(player, null, memo);
+            runPlan(defs, player, entity, false, null, false, memo);
+        } finally {
+            endMemo(memo);
+        }
+
+        commitDispatch(jfr, sourceId, player.getUniqueId(), defs.size());
+    }
+
+    /**
+     * Trigger unlock-entry specials when an SBPC entry is completed.
+     */
+    public void handleUnlock(UUID playerId, String entryId) {
+        List<SpecialDefinition> defs = specials.getUnlockEntrySpecials(entryId);
+        if (defs.isEmpty()) {
+            return;
+        }
+        SpecialsPlayer player = players.getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+        metrics.recordTriggerFire(TriggerType.UNLOCK_ENTRY);
+
+        SpecialsFlightEvents.TriggerDispatch jfr = new SpecialsFlightEvents.TriggerDispatch();
+        jfr.begin();
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            // Apply any pending specials first
+            applyPendingSpecialsForCurrentSection(player, memo);
+            applyPendingPotionRequirementSpecials(player, null, memo);
+
+            runPlan(defs, player, null, false, null, false, memo);
+        } finally {
+            endMemo(memo);
+        }
+
+        commitDispatch(jfr, TriggerType.UNLOCK_ENTRY, playerId, defs.size());
+    }
+
+    /**
+     * Fill and commit a trigger dispatch JFR event if it is being recorded.
+     */
+    private static void commitDispatch(SpecialsFlightEvents.TriggerDispatch jfr, TriggerType type, UUID playerId, int candidates) {
+        commitDispatch(jfr, type.name(), playerId, candidates);
+    }
+
+    private static void commitDispatch(SpecialsFlightEvents.TriggerDispatch jfr, String typeName, UUID playerId, int candidates) {
+        if (jfr.shouldCommit()) {
+            jfr.triggerType = typeName;
+            jfr.player = playerId.toString();
+            jfr.candidates = candidates;
+            jfr.commit();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Manual activation / removal
+    // ------------------------------------------------------------------------
+
+    /**
+     * Activate a command-activatable special for a player, honoring section and scope.
+     */
+    public ActivationResult activate(SpecialsPlayer player, SpecialDefinition def) {
+        if (def.getTrigger() == null || !def.getTrigger().isCommandActivatable()) {
+            return ActivationResult.NOT_COMMAND_ACTIVATABLE;
+        }
+
+        ConditionNetwork.Memo memo = beginMemo();
+        try {
+            applyPendingSpecialsForCurrentSection(player, memo);
+
+            if (!sectionConditionMatches(def, player, memo)) {
+                return ActivationResult.WRONG_SECTION;
+            }
+        } finally {
+            endMemo(memo);
+        }
+
+        String id = def.getId();
+        PlayerSpecialData data = getOrCreatePlayerData(player.getUniqueId());
+
+        if (data.isApplied(id)) {
+            return ActivationResult.ALREADY_ACTIVE;
+        }
+
+        SpecialDefinition.ScopeDefinition scope = def.getScope();
+        if (scope != null) {
+            if (scope.isOncePerServer() && completedSpecialsServerWide.contains(id)) {
+                return ActivationResult.COMPLETED_SERVER_WIDE;
+            }
+            if (scope.isOncePerPlayer() && data.isCompleted(id)) {
+                return ActivationResult.COMPLETED_BY_PLAYER;
+            }
+        }
+
+        if (scope != null && scope.isOncePerServer()) {
+            completedSpecialsServerWide.add(id);
+        }
+
+        applySpecialReward(def, player, null, 1);
+        return ActivationResult.ACTIVATED;
+    }
+
+    /**
+     * Remove an applied special and re-sync speed bonuses for a player.
+     */
+    public RemovalResult remove(UUID playerId, SpecialDefinition def) {
+        String id = def.getId();
+        PlayerSpecialData data = getOrCreatePlayerData(playerId);
+
+        if (!data.isApplied(id)) {
+            return RemovalResult.NOT_ACTIVE;
+        }
+
+        boolean clearCompletion = def.getScope() != null && !def.getScope().isOncePerPlayer();
+        if (!data.removeSpecial(id, clearCompletion)) {
+            return RemovalResult.FAILED;
+        }
+
+        progressSpeedService.applySpeedBonuses(
+                playerId,
+                data,
+                "SBPCSpecials command removal (" + id + ")"
+        );
+        return RemovalResult.REMOVED;
+    }
+
+    // ------------------------------------------------------------------------
+    // Pending specials
+    // ------------------------------------------------------------------------
+
+    /**
+     * Re-check pending specials for the given players, e.g. after a reload changed
+     * section conditions. Work is spread over ticks so that at most
+     * {@code budgetNanos} of main-thread time is spent per tick; a sweep already
+     * running is replaced.
+     *
+     * @param onComplete receives the number of online players re-checked
+     */
+    public void reevaluatePending(Collection<UUID> playerIds, long budgetNanos, IntConsumer onComplete) {
+        if (pendingSweep != null) {
+            pendingSweep.cancel();
+        }
+        pendingSweep = new PendingSweep(new ArrayDeque<>(playerIds), budgetNanos, onComplete);
+        pendingSweep.task = scheduler.runRepeating(pendingSweep, 1L, 1L);
+    }
+
+    /**
+     * Budgeted per-tick pass over a queue of players.
+     */
+    private final class PendingSweep implements Runnable {
+        private final Deque<UUID> queue;
+        private final long budgetNanos;
+        private final IntConsumer onComplete;
+        private SpecialsScheduler.Task task;
+        private int processed;
+
+        PendingSweep(Deque<UUID> queue, long budgetNanos, IntConsumer onComplete) {
+            this.queue = queue;
+            this.budgetNanos = budgetNanos;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void run() {
+            long deadline = clock.nanoTime() + budgetNanos;
+            do {
+                UUID id = queue.poll();
+                if (id == null) {
+                    break;
+                }
+                SpecialsPlayer player = players.getPlayer(id);
+                if (player != null) {
+                    ConditionNetwork.Memo memo = beginMemo();
+                    try {
+                        applyPendingSpecialsForCurrentSection(player, memo);
+                        applyPendingPotionRequirementSpecials(player, null, memo);
+                    } finally {
+                        endMemo(memo);
+                    }
+                    processed++;
+                }
+            } while (clock.nanoTime() < deadline);
+
+            if (queue.isEmpty()) {
+                cancel();
+                if (pendingSweep == this) {
+                    pendingSweep = null;
+                }
+                if (onComplete != null) {
+                    onComplete.accept(processed);
+                }
+            }
+        }
+
+        void cancel() {
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+
+    /**
+     * Apply any completed specials that were waiting for the player's current section.
+     */
+    private void applyPendingSpecialsForCurrentSection(SpecialsPlayer player, ConditionNetwork.Memo memo) {
+        PlayerSpecialData data = playerData.get(player.getUniqueId());
+        if (data == null) {
+            return;
+        }
+
+        // We only care about specials that are completed but not applied yet
+        for (String id : data.getCompletedSpecials()) {
+            if (data.isApplied(id)) {
+                continue;
+            }
+
+            SpecialDefinition def = specials.get(id);
+            if (def == null) {
+                continue;
+            }
+
+            // Only apply if the current section condition matches now
+            if (!sectionConditionMatches(def, player, memo)) {
+                continue;
+            }
+
+            if (!requirementsMet(def, player, memo)) {
+                continue;
+            }
+
+            // Apply reward now (no trigger context entity available here)
+            applySpecialReward(def, player, null, 1);
+        }
+    }
+
+    /**
+     * Apply pending specials gated by potion requirements when the player's effects change.
+     */
+    private void applyPendingPotionRequirementSpecials(SpecialsPlayer player, PotionEffectType changedEffect,
+                                                       ConditionNetwork.Memo memo) {
+        PlayerSpecialData data = playerData.get(player.getUniqueId());
+        if (data == null) {
+            return;
+        }
+
+        for (String id : data.getCompletedSpecials()) {
+            if (data.isApplied(id)) {
+                continue;
+            }
+
+            SpecialDefinition def = specials.get(id);
+            if (def == null) {
+                continue;
+            }
+
+            SpecialDefinition.PotionRequirement potionRequirement = def.getPotionRequirement();
+            if (potionRequirement == null) {
+                continue;
+            }
+
+            PotionEffectType requiredEffect = potionRequirement.getEffectType();
+            if (changedEffect != null && requiredEffect != null && !requiredEffect.equals(changedEffect)) {
+                continue;
+            }
+
+            if (!sectionConditionMatches(def, player, memo)) {
+                continue;
+            }
+
+            if (!requirementsMet(def, player, memo)) {
+                continue;
+            }
+
+            applySpecialReward(def, player, null, 1);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Special triggering pipeline
+    // ------------------------------------------------------------------------
+
+    /**
+     * Evaluate an event's specials in plan order until a terminal special applies.
+     *
+     * @param credited    true for a kill credited from recent damage; killer-must-be-player specials are skipped
+     * @param spawnReason spawn reason of a killed mob; specials whose trigger rejects it are skipped
+     * @param throttled   true to deny repeatable specials (e.g. a kill on a dense mob farm)
+     */
+    private void runPlan(List<SpecialDefinition> plan, SpecialsPlayer player, Entity contextEntity, boolean credited,
+                         CreatureSpawnEvent.SpawnReason spawnReason, boolean throttled, ConditionNetwork.Memo memo) {
+        for (SpecialDefinition def : plan) {
+            // Part of the trigger like the entity type: a rejected kill never reaches the pipeline.
+            SpecialDefinition.TriggerDefinition trigger = def.getTrigger();
+            if ((credited && trigger.isKillerMustBePlayer()) || !trigger.acceptsSpawnReason(spawnReason)) {
+                continue;
+            }
+            // triggerSpecial handles section matching vs. early completion.
+            if (triggerSpecial(def, player, contextEntity, throttled, memo) == SpecialsMetrics.Outcome.APPLIED
+                    && def.getPlan().isTerminal()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Central entry for applying a special after a trigger fires.
+     *
+     * @return outcome of the evaluation
+     */
+    private SpecialsMetrics.Outcome triggerSpecial(SpecialDefinition def, SpecialsPlayer player, Entity contextEntity,
+                                                   boolean throttled, ConditionNetwork.Memo memo) {
+        SpecialsFlightEvents.SpecialEvaluation jfr = new SpecialsFlightEvents.SpecialEvaluation();
+        jfr.begin();
+        long start = clock.nanoTime();
+
+        SpecialsMetrics.Outcome outcome = evaluateSpecial(def, player, contextEntity, throttled, memo);
+        metrics.recordCandidate(def.getId(), outcome, clock.nanoTime() - start);
+
+        if (jfr.shouldCommit()) {
+            jfr.specialId = def.getId();
+            jfr.player = player.getUniqueId().toString();
+            jfr.triggerType = def.getTrigger().getTypeName();
+            jfr.outcome = outcome.name();
+            jfr.commit();
+        }
+        return outcome;
+    }
+
+    /**
+     * Run scope, section, and potion checks for a special and apply it if they pass.
+     *
+     * @return outcome of the evaluation for metrics
+     */
+    private SpecialsMetrics.Outcome evaluateSpecial(SpecialDefinition def, SpecialsPlayer player, Entity contextEntity,
+                                                    boolean throttled, ConditionNetwork.Memo memo) {
+        String id = def.getId();
+        UUID uuid = player.getUniqueId();
+        boolean tracing = tracer.isTracing(uuid, id);
+
+        SpecialDefinition.ScopeDefinition scope = def.getScope();
+        if (tracing) {
+            tracer.record(uuid, id, DecisionTracer.Step.TRIGGER, true, def.getTrigger().getTypeName()
+                    + (contextEntity != null ? " by " + contextEntity.getType().name() : ""));
+        }
+
+        // Another special of the same exclusive group already applied in this event
+        int group = memo.getNetwork().groupNode(def);
+        if (group != ConditionNetwork.NONE && memo.isGroupUsed(group)) {
+            if (tracing) {
+                tracer.record(uuid, id, DecisionTracer.Step.EXCLUSIVE_GROUP, false,
+                        "Group " + def.getPlan().getExclusiveGroup() + " already applied this event");
+            }
+            return SpecialsMetrics.Outcome.DENIED_EXCLUSIVE_GROUP;
+        }
+
+        // Once-per-server check
+        if (scope.isOncePerServer() && completedSpecialsServerWide.contains(id)) {
+            if (tracing) {
+                tracer.record(uuid, id, DecisionTracer.Step.SERVER_SCOPE, false, "Already completed server-wide");
+            }
+            return SpecialsMetrics.Outcome.DENIED_SERVER_SCOPE;
+        }
+
+        PlayerSpecialData data = getOrCreatePlayerData(uuid);
+
+        // If already applied, nothing more to do
+        if (data.isApplied(id)) {
+            if (tracing) {
+                tracer.record(uuid, id, DecisionTracer.Step.ALREADY_APPLIED, false, "Already applied for this player");
+            }
+            return SpecialsMetrics.Outcome.DENIED_ALREADY_APPLIED;
+        }
+
+        // Diminishing returns for repeatable specials on farmed kills
+        if (throttled && scope.isRepeatable()) {
+            if (tracing) {
+                tracer.record(uuid, id, DecisionTracer.Step.KILL_DENSITY, false, "Too many recent kills in this area");
+            }
+            return SpecialsMetrics.Outcome.DENIED_KILL_DENSITY;
+        }
+
+        // Section condition: determines whether we apply now or just record completion
+        boolean sectionMatches = sectionConditionMatches(def, player, memo);
+
+        // If section does NOT match yet:
+        // - record completion so we can apply later when the player reaches that section
+        if (!sectionMatches) {
+            markSpecialCompletion(def, data, scope);
+            if (tracing) {
+                tracer.record(uuid, id, DecisionTracer.Step.COMPLETION_RECORDED, true, "Will apply once the section matches");
+            }
+            return SpecialsMetrics.Outcome.DENIED_SECTION;
+        }
+
+        // At this point, section matches. If once-per-player and already applied, avoid re-applying.
+        if (scope.isOncePerPlayer() && data.isCompleted(id) && data.isApplied(id)) {
+            if (tracing) {
+                tracer.record(uuid, id, DecisionTracer.Step.PLAYER_SCOPE, false, "Once-per-player special already used");
+            }
+            return SpecialsMetrics.Outcome.DENIED_PLAYER_SCOPE;
+        }
+
+        if (!requirementsMet(def, player, memo)) {
+            markSpecialCompletion(def, data, scope);
+            if (tracing) {
+                SpecialDefinition.PotionRequirement req = def.getPotionRequirement();
+                int current = req.getEffectType() != null ? player.getPotionAmplifier(req.getEffectType()) : -1;
+                tracer.record(uuid, id, DecisionTracer.Step.POTION_REQUIREMENT, false,
+                        "Needs " + (req.getEffectType() != null ? req.getEffectType().getName() : "unknown effect")
+                                + " amplifier >= " + req.getMinAmplifier()
+                                + ", has " + (current >= 0 ? Integer.toString(current) : "none")
+                                + "; completion recorded");
+            }
+            return SpecialsMetrics.Outcome.DENIED_POTION;
+        }
+
+        // Throughput limits: excess activations are dropped or folded into the next allowed one
+        int activations = 1;
+        if (rateLimiter.isLimited(def)) {
+            if (!rateLimiter.tryAcquire(def, uuid, clock.nanoTime())) {
+                int folded = scope.getOverflow() == SpecialDefinition.RateLimitOverflow.FOLD
+                        ? rateLimiter.fold(def, uuid) : -1;
+                if (tracing) {
+                    tracer.record(uuid, id, DecisionTracer.Step.RATE_LIMIT, false, folded > 0
+                            ? "Rate limited; folded into the next allowed activation (" + folded + " folded)"
+                            : "Rate limited; activation dropped");
+                }
+                return SpecialsMetrics.Outcome.DENIED_RATE_LIMITED;
+            }
+            activations += rateLimiter.takeFolded(def, uuid);
+        }
+
+        // Mark server-wide completion if needed
+        if (scope.isOncePerServer()) {
+            completedSpecialsServerWide.add(id);
+        }
+
+        // Apply reward now (marks completed + applied, sets bonuses, fires events)
+        applySpecialReward(def, player, contextEntity, activations);
+        if (group != ConditionNetwork.NONE) {
+            memo.useGroup(group);
+        }
+        if (tracing) {
+            tracer.record(uuid, id, DecisionTracer.Step.APPLIED, true, null);
+            if (def.getPlan().isTerminal()) {
+                tracer.record(uuid, id, DecisionTracer.Step.TERMINAL, true, "Remaining specials of this event are skipped");
+            }
+        }
+        return SpecialsMetrics.Outcome.APPLIED;
+    }
+
+    /**
+     * Apply the reward for a special to the given player, mark it applied,
+     * update bonuses, and fire events/messages.
+     *
+     * Assumes that scope checks (once-per-player/server) and section conditions
+     * have already been handled by the caller.
+     *
+     * @param activations activations this application stands for (more than one when
+     *                    rate-limited activations were folded into it); scales the session skip
+     */
+    private void applySpecialReward(SpecialDefinition def, SpecialsPlayer player, Entity contextEntity, int activations) {
+        SpecialsFlightEvents.RewardApply jfr = new SpecialsFlightEvents.RewardApply();
+        jfr.begin();
+
+        String id = def.getId();
+        UUID uuid = player.getUniqueId();
+
+        PlayerSpecialData data = getOrCreatePlayerData(uuid);
+
+        // Mark completed & applied on this player (if you have these)
+        data.markCompleted(id);
+        data.markApplied(id);
+
+        SpecialDefinition.RewardDefinition reward = def.getReward();
+
+        if (reward.isDefaultTimeSkip()) {
+            sbpc.applyExternalTimeSkip(
+                    uuid,
+                    0,
+                    0.0,
+                    "SBPCSpecials default time skip (" + id + ")"
+            );
+        } else if (reward.getSpeedBonusPercent() != 0.0 || reward.getSpeedBonusSkipSeconds() != 0) {
+            data.addOrUpdateBonus(id, reward.getSpeedBonusPercent(), reward.getSpeedBonusSkipSeconds());
+        }
+
+        progressSpeedService.applySpeedBonuses(
+                uuid,
+                data,
+                "SBPCSpecials progress speed bonuses (" + id + ")"
+        );
+
+        if (reward.getSessionTimeSkipSeconds() > 0) {
+            progressSpeedService.applySessionSkip(
+                    uuid,
+                    reward.getSessionTimeSkipSeconds() * activations,
+                    "SBPCSpecials special: " + id
+            );
+        }
+
+        // NEW: auto-complete current section if configured
+        if (reward.isAutoCompleteSection()) {
+            sbpc.completeCurrentSection(uuid);
+        }
+
+        // Messages (repeats are coalesced into digests, broadcasts rate-limited per special)
+        SpecialDefinition.MessagesDefinition msg = def.getMessages();
+        if (msg.getPlayerMessage() != null && !msg.getPlayerMessage().isEmpty()) {
+            output.sendSpecialMessage(player, color(msg.getPlayerMessage()
+                    .replace("{player}", player.getName())
+                    .replace("{special}", id)));
+        }
+        sendSectionApplicabilityMessage(player, def.getSectionCondition());
+        if (msg.getBroadcastMessage() != null && !msg.getBroadcastMessage().isEmpty()) {
+            output.broadcast(id, color(msg.getBroadcastMessage()
+                    .replace("{player}", player.getName())
+                    .replace("{special}", id)));
+        }
+
+        // Fire hook event & invoke registered handlers
+        output.specialApplied(def, player, contextEntity);
+
+        // Rewards and handlers can move the player to another section; drop cached condition results.
+        for (int i = 0; i < memoDepth; i++) {
+            memos.get(i).invalidate();
+        }
+
+        if (jfr.shouldCommit()) {
+            jfr.specialId = id;
+            jfr.player = uuid.toString();
+            jfr.triggerType = def.getTrigger().getTypeName();
+            jfr.commit();
+        }
+    }
+
+    /**
+     * Record a special as completed for player/server scope without applying rewards.
+     */
+    private void markSpecialCompletion(SpecialDefinition def,
+                                       PlayerSpecialData data,
+                                       SpecialDefinition.ScopeDefinition scope) {
+        if (!data.isCompleted(def.getId())) {
+            data.markCompleted(def.getId());
+        }
+        if (scope.isOncePerServer()) {
+            completedSpecialsServerWide.add(def.getId());
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Section & potion conditions
+    // ------------------------------------------------------------------------
+
+    /**
+     * Start a condition memo for one player's event. Must be paired with {@link #endMemo}.
+     */
+    private ConditionNetwork.Memo beginMemo() {
+        if (memoDepth == memos.size()) {
+            memos.add(new ConditionNetwork.Memo());
+        }
+        ConditionNetwork.Memo memo = memos.get(memoDepth++);
+        memo.begin(specials.getConditionNetwork());
+        return memo;
+    }
+
+    private void endMemo(ConditionNetwork.Memo memo) {
+        memo.end();
+        memoDepth--;
+    }
+
+    /**
+     * Check whether the player's current section satisfies the special's section condition.
+     * The shared section node is evaluated once per memo; logging and tracing stay per special.
+     */
+    private boolean sectionConditionMatches(SpecialDefinition def, SpecialsPlayer player, ConditionNetwork.Memo memo) {
+        SpecialDefinition.SectionCondition cond = def.getSectionCondition();
+        if (cond == null) return true;
+
+        int node = memo.getNetwork().sectionNode(def);
+        SectionMatchResult result = node != ConditionNetwork.NONE ? memo.getSectionResult(node) : null;
+        if (result == null) {
+            result = evaluateSectionNode(def, cond, player, memo);
+            if (node != ConditionNetwork.NONE) {
+                memo.setSectionResult(node, result);
+            }
+        }
+
+        SectionMatchContext context = memo.getContext();
+        if (!result.isAllowed() && context != null) {
+            logSectionMismatch(def, player, result);
+        }
+        if (tracer.isTracing(player.getUniqueId(), def.getId())) {
+            String detail = result.getReason();
+            if (context != null && context.getSectionIndex() != null) {
+                detail += " (current " + context.getSectionId() + " #" + context.getSectionIndex() + ")";
+            }
+            tracer.record(player.getUniqueId(), def.getId(), DecisionTracer.Step.SECTION_MATCH, result.isAllowed(), detail);
+        }
+        return result.isAllowed();
+    }
+
+    /**
+     * Evaluate a section condition against the player's current section, looking the
+     * section up at most once per memo.
+     */
+    private SectionMatchResult evaluateSectionNode(SpecialDefinition def,
+                                                   SpecialDefinition.SectionCondition cond,
+                                                   SpecialsPlayer player,
+                                                   ConditionNetwork.Memo memo) {
+        SpecialsFlightEvents.SectionMatch jfr = new SpecialsFlightEvents.SectionMatch();
+        jfr.begin();
+
+        if (!memo.hasContext()) {
+            memo.setContext(sbpc.getCurrentSection(player.getUniqueId()));
+        }
+        SectionMatchContext context = memo.getContext();
+
+        SectionMatchResult result;
+        if (context == null) {
+            result = NO_ACTIVE_SECTION;
+        } else if (context.getSectionIndex() == null) {
+            result = SectionMatchResult.denied("Could not determine section index for " + context.getSectionId());
+        } else {
+            result = SectionMatcher.evaluate(cond, context);
+        }
+
+        if (jfr.shouldCommit()) {
+            jfr.specialId = def.getId();
+            jfr.player = player.getUniqueId().toString();
+            jfr.sectionId = context != null ? context.getSectionId() : null;
+            jfr.allowed = result.isAllowed();
+            jfr.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Log diagnostic information when a special cannot apply due to section mismatch.
+     */
+    private void logSectionMismatch(SpecialDefinition def, SpecialsPlayer player, SectionMatchResult result) {
+        if (result == null || result.isAllowed()) {
+            return;
+        }
+        String playerName = player != null ? player.getName() : "unknown";
+        logger.info("Special " + def.getId() + " not applied for " + playerName + ": " + result.getReason());
+    }
+
+    /**
+     * Validate potion requirements before applying a special. Shared requirements are
+     * checked once per memo.
+     */
+    private boolean requirementsMet(SpecialDefinition def, SpecialsPlayer player, ConditionNetwork.Memo memo) {
+        SpecialDefinition.PotionRequirement potionReq = def.getPotionRequirement();
+        if (potionReq == null) {
+            return true;
+        }
+
+        int node = memo.getNetwork().potionNode(def);
+        if (node == ConditionNetwork.NONE) {
+            return potionRequirementMet(potionReq, player);
+        }
+        if (!memo.hasPotionResult(node)) {
+            memo.setPotionResult(node, potionRequirementMet(potionReq, player));
+        }
+        return memo.getPotionResult(node);
+    }
+
+    private static boolean potionRequirementMet(SpecialDefinition.PotionRequirement potionReq, SpecialsPlayer player) {
+        PotionEffectType type = potionReq.getEffectType();
+        if (type == null) {
+            return false;
+        }
+
+        return player.getPotionAmplifier(type) >= potionReq.getMinAmplifier();
+    }
+
+    // ------------------------------------------------------------------------
+    // Section-specific logic & messages
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return true if SBPC defines a PvP section, whose progress comes from player kills
+     *         whether or not any death special is loaded.
+     */
+    public boolean hasPvpSections() {
+        return sbpc.getSectionIndex(MURDER_SECTION_ID) >= 0
+                || sbpc.getSectionIndex(MASSACRE_SECTION_ID) >= 0
+                || sbpc.getSectionIndex(SERIAL_KILLER_SECTION_ID) >= 0;
+    }
+
+    /**
+     * Handle bespoke PVP-driven section logic for murder/massacre progression.
+     */
+    private void handlePvpSectionSpecials(SpecialsPlayer killer, UUID victimId) {
+        if (killer.getUniqueId().equals(victimId)) {
+            return; // ignore self kills
+        }
+
+        String currentSectionId = sbpc.getCurrentSectionId(killer.getUniqueId());
+        if (currentSectionId == null) {
+            return;
+        }
+
+        String sectionId = currentSectionId.toLowerCase(Locale.ROOT);
+
+        if (MURDER_SECTION_ID.equals(sectionId)) {
+            sbpc.completeCurrentSection(killer.getUniqueId());
+            killer.sendMessage(ChatColor.RED + "Killing a player completed the Murder section.");
+            return;
+        }
+
+        if (MASSACRE_SECTION_ID.equals(sectionId)) {
+            PlayerSpecialData data = getOrCreatePlayerData(killer.getUniqueId());
+            if (data.recordUniqueKill(MASSACRE_UNIQUE_KEY, victimId)) {
+                int count = data.getUniqueKillCount(MASSACRE_UNIQUE_KEY);
+                if (count <= MASSACRE_MAX_UNIQUE_KILLS) {
+                    progressSpeedService.applySessionSkip(
+                            killer.getUniqueId(),
+                            MASSACRE_ENTRY_SKIP_SECONDS,
+                            "SBPCSpecials Massacre unique player kill " + count
+                    );
+                    killer.sendMessage(ChatColor.DARK_RED + "Unique player kill " + count
+                            + " recorded for Massacre.");
+                }
+            }
+            return;
+        }
+
+        if (SERIAL_KILLER_SECTION_ID.equals(sectionId)) {
+            progressSpeedService.applySessionSkip(
+                    killer.getUniqueId(),
+                    SERIAL_KILLER_KILL_SKIP_SECONDS,
+                    "SBPCSpecials Serial Killer player kill"
+            );
+            killer.sendMessage(ChatColor.DARK_PURPLE + "Player kill skipped 30 minutes in Serial Killer.");
+        }
+    }
+
+    /**
+     * Inform the player about section restrictions after a special fires.
+     */
+    private void sendSectionApplicabilityMessage(SpecialsPlayer player, SpecialDefinition.SectionCondition condition) {
+        if (condition == null) {
+            return;
+        }
+
+        if (condition.isAppliesToAllSections()) {
+            output.sendSpecialMessage(player, ChatColor.YELLOW + "This special applies to all sections.");
+            return;
+        }
+
+        if (condition.getAllowedSections() != null && !condition.getAllowedSections().isEmpty()) {
+            output.sendSpecialMessage(player,
+                    ChatColor.YELLOW + "Allowed sections: " + String.join(", ", condition.getAllowedSections()));
+        }
+    }
+
+    /**
+     * Utility to translate color codes on configurable messages.
+     */
+    static String color(String msg) {
+        return ChatColor.translateAlternateColorCodes('&', msg);
+    }
+}
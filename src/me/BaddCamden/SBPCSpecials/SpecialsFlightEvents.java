@@ -0,0 +1,126 @@
+package me.BaddCamden.SBPCSpecials;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by SBPCSpecials.
+ *
+ * Usage follows the JFR idiom: create, {@code begin()}, do the work, then fill
+ * fields and {@code commit()} only when {@code shouldCommit()} is true. With
+ * recording disabled this costs a couple of branches and the event object is
+ * normally scalar-replaced by the JIT.
+ *
+ * Enable in a recording with e.g. {@code -XX:StartFlightRecording} and filter
+ * on the "SBPCSpecials" category.
+ */
+final class SpecialsFlightEvents {
+
+    private static final String CATEGORY = "SBPCSpecials";
+
+    private SpecialsFlightEvents() {
+    }
+
+    @Name("sbpcspecials.TriggerDispatch")
+    @Label("Trigger Dispatch")
+    @Description("A Bukkit/SBPC event routed to candidate specials")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class TriggerDispatch extends Event {
+        @Label("Trigger Type")
+        String triggerType;
+
+        @Label("Player")
+        String player;
+
+        @Label("Candidates")
+        int candidates;
+    }
+
+    @Name("sbpcspecials.SpecialEvaluation")
+    @Label("Special Evaluation")
+    @Description("Scope, section and potion checks plus reward application for one special")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class SpecialEvaluation extends Event {
+        @Label("Special Id")
+        String specialId;
+
+        @Label("Player")
+        String player;
+
+        @Label("Trigger Type")
+        String triggerType;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("sbpcspecials.SectionMatch")
+    @Label("Section Match")
+    @Description("Evaluation of a special's section condition against the player's current section")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class SectionMatch extends Event {
+        @Label("Special Id")
+        String specialId;
+
+        @Label("Player")
+        String player;
+
+        @Label("Section Id")
+        String sectionId;
+
+        @Label("Allowed")
+        boolean allowed;
+    }
+
+    @Name("sbpcspecials.RewardApply")
+    @Label("Reward Apply")
+    @Description("Application of a special's reward, messages and handler dispatch")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class RewardApply extends Event {
+        @Label("Special Id")
+        String specialId;
+
+        @Label("Player")
+        String player;
+
+        @Label("Trigger Type")
+        String triggerType;
+    }
+
+    @Name("sbpcspecials.SbpcCall")
+    @Label("SBPC Call")
+    @Description("A call from SBPCSpecials into the SBPC API")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class SbpcCall extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Player")
+        String player;
+    }
+
+    @Name("sbpcspecials.Persistence")
+    @Label("Persistence")
+    @Description("Loading or saving SBPCSpecials player or server data")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Persistence extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Records")
+        int records;
+
+        @Label("Success")
+        boolean success;
+    }
+}
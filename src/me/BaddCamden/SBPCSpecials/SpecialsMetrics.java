@@ -0,0 +1,289 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime counters and latency histograms for the specials trigger pipeline.
+ *
+ * All recording methods are lock-free and allocation-free after a special's
+ * stats entry has been created, so they can stay enabled on the main thread.
+ * Readers (the stats command, exporters, other plugins via
+ * {@link SpecialsAPI#getMetrics()}) may query from any thread.
+ */
+public final class SpecialsMetrics {
+
+    /**
+     * Bukkit/SBPC events whose handlers are timed.
+     */
+    public enum EventSource {
+        ENTITY_DEATH,
+        ENTITY_PICKUP,
+        UNLOCK_ITEM,
+        POTION_EFFECT,
+        PLAYER_JOIN,
+        BLOCK_PLACE,
+        BLOCK_BREAK,
+        PLAYER_INTERACT,
+        ENTITY_DAMAGE,
+        INVENTORY_CHANGE,
+        TRIGGER_SOURCE
+    }
+
+    /**
+     * Result of evaluating one candidate special for a trigger.
+     */
+    public enum Outcome {
+        APPLIED,
+        DENIED_SERVER_SCOPE,
+        DENIED_ALREADY_APPLIED,
+        DENIED_SECTION,
+        DENIED_PLAYER_SCOPE,
+        DENIED_POTION,
+        DENIED_EXCLUSIVE_GROUP,
+        DENIED_RATE_LIMITED,
+        DENIED_KILL_DENSITY
+    }
+
+    /**
+     * Player/server data persistence operations.
+     */
+    public enum PersistenceOperation {
+        LOAD_PLAYERS,
+        SAVE_PLAYERS,
+        LOAD_GLOBAL,
+        SAVE_GLOBAL
+    }
+
+    /**
+     * Calls made into the SBPC API.
+     */
+    public enum SbpcOperation {
+        GET_CURRENT_SECTION,
+        GET_CURRENT_SECTION_ID,
+        GET_SECTION_INDEX,
+        APPLY_TIME_SKIP,
+        COMPLETE_SECTION
+    }
+
+    /**
+     * Per-special outcome counters and evaluation latency.
+     */
+    public static final class SpecialStats {
+        private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private SpecialStats() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * @return number of evaluations that ended with the outcome.
+         */
+        public long getCount(Outcome outcome) {
+            return outcomes[outcome.ordinal()].sum();
+        }
+
+        /**
+         * @return total evaluations across all outcomes.
+         */
+        public long getEvaluations() {
+            long total = 0L;
+            for (LongAdder adder : outcomes) {
+                total += adder.sum();
+            }
+            return total;
+        }
+
+        /**
+         * @return time spent evaluating and applying this special.
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+
+    private final LatencyHistogram[] eventLatency = new LatencyHistogram[EventSource.values().length];
+    private final LongAdder[] triggerFires = new LongAdder[TriggerType.values().length];
+    private final LongAdder candidatesEvaluated = new LongAdder();
+    private final LongAdder[] outcomeTotals = new LongAdder[Outcome.values().length];
+    private final Map<String, SpecialStats> specialStats = new ConcurrentHashMap<>();
+    private final LatencyHistogram[] persistenceLatency = new LatencyHistogram[PersistenceOperation.values().length];
+    private final LongAdder[] persistenceFailures = new LongAdder[PersistenceOperation.values().length];
+    private final LongAdder[] sbpcCalls = new LongAdder[SbpcOperation.values().length];
+    private final AtomicLong loadedPlayerRecords = new AtomicLong();
+    private final AtomicLong pendingSpecials = new AtomicLong();
+    private final long startedAtMillis = System.currentTimeMillis();
+
+    public SpecialsMetrics() {
+        for (int i = 0; i < eventLatency.length; i++) {
+            eventLatency[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < triggerFires.length; i++) {
+            triggerFires[i] = new LongAdder();
+        }
+        for (int i = 0; i < outcomeTotals.length; i++) {
+            outcomeTotals[i] = new LongAdder();
+        }
+        for (int i = 0; i < persistenceLatency.length; i++) {
+            persistenceLatency[i] = new LatencyHistogram();
+            persistenceFailures[i] = new LongAdder();
+        }
+        for (int i = 0; i < sbpcCalls.length; i++) {
+            sbpcCalls[i] = new LongAdder();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Recording
+    // ------------------------------------------------------------------------
+
+    /**
+     * Record the main-thread time spent inside an event handler.
+     */
+    public void recordEvent(EventSource source, long nanos) {
+        eventLatency[source.ordinal()].record(nanos);
+    }
+
+    /**
+     * Record that an event reached the dispatch stage of a trigger type.
+     */
+    public void recordTriggerFire(TriggerType type) {
+        triggerFires[type.ordinal()].increment();
+    }
+
+    /**
+     * Record the outcome and latency of evaluating one candidate special.
+     */
+    public void recordCandidate(String specialId, Outcome outcome, long nanos) {
+        candidatesEvaluated.increment();
+        outcomeTotals[outcome.ordinal()].increment();
+        SpecialStats stats = specialStats.get(specialId);
+        if (stats == null) {
+            stats = specialStats.computeIfAbsent(specialId, k -> new SpecialStats());
+        }
+        stats.outcomes[outcome.ordinal()].increment();
+        stats.latency.record(nanos);
+    }
+
+    /**
+     * Record the duration of a persistence operation.
+     */
+    public void recordPersistence(PersistenceOperation operation, long nanos, boolean success) {
+        persistenceLatency[operation.ordinal()].record(nanos);
+        if (!success) {
+            persistenceFailures[operation.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Count one call into the SBPC API.
+     */
+    public void recordSbpcCall(SbpcOperation operation) {
+        sbpcCalls[operation.ordinal()].increment();
+    }
+
+    /**
+     * Publish gauges computed on the main thread so other threads can read them.
+     *
+     * @param loadedRecords   player records currently held in memory
+     * @param pendingSpecials completed specials waiting for the right section or potion
+     */
+    public void updateGauges(long loadedRecords, long pendingSpecials) {
+        this.loadedPlayerRecords.set(loadedRecords);
+        this.pendingSpecials.set(pendingSpecials);
+    }
+
+    // ------------------------------------------------------------------------
+    // Queries
+    // ------------------------------------------------------------------------
+
+    /**
+     * @return latency histogram of the given event handler.
+     */
+    public LatencyHistogram getEventLatency(EventSource source) {
+        return eventLatency[source.ordinal()];
+    }
+
+    /**
+     * @return number of dispatches for the trigger type.
+     */
+    public long getTriggerFires(TriggerType type) {
+        return triggerFires[type.ordinal()].sum();
+    }
+
+    /**
+     * @return total candidate specials evaluated across all triggers.
+     */
+    public long getCandidatesEvaluated() {
+        return candidatesEvaluated.sum();
+    }
+
+    /**
+     * @return number of evaluations across all specials that ended with the outcome.
+     */
+    public long getOutcomeTotal(Outcome outcome) {
+        return outcomeTotals[outcome.ordinal()].sum();
+    }
+
+    /**
+     * @return stats for one special, or null if it was never evaluated.
+     */
+    public SpecialStats getSpecialStats(String specialId) {
+        return specialStats.get(specialId);
+    }
+
+    /**
+     * @return live read-only view of per-special stats keyed by id.
+     */
+    public Map<String, SpecialStats> getAllSpecialStats() {
+        return Collections.unmodifiableMap(specialStats);
+    }
+
+    /**
+     * @return latency histogram of a persistence operation.
+     */
+    public LatencyHistogram getPersistenceLatency(PersistenceOperation operation) {
+        return persistenceLatency[operation.ordinal()];
+    }
+
+    /**
+     * @return number of failed runs of a persistence operation.
+     */
+    public long getPersistenceFailures(PersistenceOperation operation) {
+        return persistenceFailures[operation.ordinal()].sum();
+    }
+
+    /**
+     * @return number of calls made into SBPC for the operation.
+     */
+    public long getSbpcCalls(SbpcOperation operation) {
+        return sbpcCalls[operation.ordinal()].sum();
+    }
+
+    /**
+     * @return player records held in memory at the last gauge update.
+     */
+    public long getLoadedPlayerRecords() {
+        return loadedPlayerRecords.get();
+    }
+
+    /**
+     * @return completed-but-unapplied specials across players at the last gauge update.
+     */
+    public long getPendingSpecials() {
+        return pendingSpecials.get();
+    }
+
+    /**
+     * @return wall-clock millis when collection started.
+     */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+}
@@ -0,0 +1,27 @@
+package me.BaddCamden.SBPCSpecials;
+
+import org.bukkit.entity.Entity;
+
+/**
+ * Side effects of applying specials that depend on the host: message delivery
+ * and notification of other plugins.
+ */
+public interface SpecialsOutput {
+
+    /**
+     * Deliver a special-related message to a player; repeats may be coalesced.
+     */
+    void sendSpecialMessage(SpecialsPlayer player, String message);
+
+    /**
+     * Broadcast a special's announcement to the server; may be rate limited per special.
+     */
+    void broadcast(String specialId, String message);
+
+    /**
+     * Called after a special was applied to a player.
+     *
+     * @param contextEntity entity that triggered the special, or null
+     */
+    void specialApplied(SpecialDefinition def, SpecialsPlayer player, Entity contextEntity);
+}
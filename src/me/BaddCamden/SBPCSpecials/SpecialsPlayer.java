@@ -0,0 +1,31 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.UUID;
+
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * The view of an online player that the specials engine needs.
+ */
+public interface SpecialsPlayer {
+
+    /**
+     * @return the player's unique id.
+     */
+    UUID getUniqueId();
+
+    /**
+     * @return the player's name, used in messages.
+     */
+    String getName();
+
+    /**
+     * @return amplifier of the active effect, or -1 if the player does not have it.
+     */
+    int getPotionAmplifier(PotionEffectType type);
+
+    /**
+     * Send a chat message directly, bypassing message coalescing.
+     */
+    void sendMessage(String message);
+}
@@ -0,0 +1,238 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Builds a new specials snapshot for {@code /specials reload} off the main thread.
+ *
+ * The config file and the specials directory are read, parsed into a
+ * {@link SpecialIndex} and validated on an async task; the result, including a diff against the active specials, is
+ * handed back on the main thread where the caller swaps it in.
+ */
+public class SpecialsReloader {
+
+    private final Plugin plugin;
+    private final SpecialsDirectoryLoader directoryLoader;
+
+    /**
+     * @param plugin          owning plugin, used for scheduling
+     * @param directoryLoader loads the specials directory alongside config.yml
+     */
+    public SpecialsReloader(Plugin plugin, SpecialsDirectoryLoader directoryLoader) {
+        this.plugin = plugin;
+        this.directoryLoader = directoryLoader;
+    }
+
+    /**
+     * Parse and validate the config asynchronously.
+     *
+     * @param configFile   config.yml to read
+     * @param force        accept specials with parse warnings instead of rejecting the reload
+     * @param current      fingerprints of the active specials, see {@link #fingerprints(Collection)}
+     * @param onMainThread receives the result on the main thread
+     */
+    public void reload(File configFile, boolean force, Map<String, byte[]> current, Consumer<Result> onMainThread) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Result result = build(configFile, directoryLoader, force, current);
+            Bukkit.getScheduler().runTask(plugin, () -> onMainThread.accept(result));
+        });
+    }
+
+    /**
+     * Parse, validate and diff a config file on the calling thread.
+     */
+    static Result build(File configFile, SpecialsDirectoryLoader directoryLoader, boolean force, Map<String, byte[]> current) {
+        long start = System.nanoTime();
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(configFile);
+        } catch (IOException | InvalidConfigurationException ex) {
+            return Result.failed("Could not read " + configFile.getName() + ": " + ex.getMessage(), Collections.emptyList());
+        }
+
+        List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+        Logger capture = SpecialsDirectoryLoader.capturingLogger(warnings);
+        ConfigurationSection root = config.getConfigurationSection("specials");
+        SpecialsDirectoryLoader.Result directory = directoryLoader.load(capture);
+        if (root == null && directory.getFiles() == 0) {
+            return Result.failed("No specials section in " + configFile.getName() + " and no files in "
+                    + directoryLoader.getDirectory().getName() + "/.", Collections.emptyList());
+        }
+
+        List<SpecialDefinition> definitions = SpecialsDirectoryLoader.merge(
+                SpecialConfigParser.parse(root, capture), directory, capture);
+        if (!warnings.isEmpty() && !force) {
+            return Result.failed(warnings.size() + " problem(s) in the specials config; fix them or use 'reload force'.", warnings);
+        }
+        SpecialIndex index = new SpecialIndex(definitions);
+        Map<String, Map<String, ConfigurationSection>> sourceSections = sourceTriggerSections(root, directory);
+
+        Map<String, byte[]> fingerprints = fingerprints(index.getSpecialsById().values());
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : fingerprints.entrySet()) {
+            byte[] previous = current.get(entry.getKey());
+            if (previous == null) {
+                added.add(entry.getKey());
+            } else if (!Arrays.equals(previous, entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String id : current.keySet()) {
+            if (!fingerprints.containsKey(id)) {
+                removed.add(id);
+            }
+        }
+        Collections.sort(added);
+        Collections.sort(removed);
+        Collections.sort(changed);
+
+        return new Result(true, null, warnings, config, index, sourceSections, fingerprints, added, removed, changed,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * @return sections of specials with a non-built-in trigger type; config.yml first, like
+     *         {@link SpecialsDirectoryLoader#merge}
+     */
+    public static Map<String, Map<String, ConfigurationSection>> sourceTriggerSections(
+            ConfigurationSection root, SpecialsDirectoryLoader.Result directory) {
+        Map<String, Map<String, ConfigurationSection>> sections = new LinkedHashMap<>();
+        SpecialConfigParser.collectSourceTriggerSections(root, sections);
+        for (Map.Entry<String, Map<String, ConfigurationSection>> type : directory.getSourceTriggerSections().entrySet()) {
+            Map<String, ConfigurationSection> merged = sections.computeIfAbsent(type.getKey(), k -> new LinkedHashMap<>());
+            type.getValue().forEach(merged::putIfAbsent);
+        }
+        return sections;
+    }
+
+    /**
+     * @return per special id, its compiled definition in binary form; used to diff reloads
+     */
+    public static Map<String, byte[]> fingerprints(Collection<SpecialDefinition> specials) {
+        Map<String, byte[]> result = new HashMap<>();
+        for (SpecialDefinition def : specials) {
+            result.put(def.getId(), SpecialDefinitionCodec.encode(def));
+        }
+        return result;
+    }
+
+    /**
+     * Outcome of a reload attempt. Successful results carry the new snapshot and diff.
+     */
+    public static final class Result {
+        private final boolean success;
+        private final String error;
+        private final List<String> warnings;
+        private final YamlConfiguration config;
+        private final SpecialIndex index;
+        private final Map<String, Map<String, ConfigurationSection>> sourceTriggerSections;
+        private final Map<String, byte[]> fingerprints;
+        private final List<String> added;
+        private final List<String> removed;
+        private final List<String> changed;
+        private final long buildNanos;
+
+        Result(boolean success, String error, List<String> warnings, YamlConfiguration config, SpecialIndex index,
+               Map<String, Map<String, ConfigurationSection>> sourceTriggerSections, Map<String, byte[]> fingerprints,
+               List<String> added, List<String> removed, List<String> changed, long buildNanos) {
+            this.success = success;
+            this.error = error;
+            this.warnings = warnings;
+            this.config = config;
+            this.index = index;
+            this.sourceTriggerSections = sourceTriggerSections;
+            this.fingerprints = fingerprints;
+            this.added = added;
+            this.removed = removed;
+            this.changed = changed;
+            this.buildNanos = buildNanos;
+        }
+
+        static Result failed(String error, List<String> warnings) {
+            return new Result(false, error, warnings, null, null, Collections.emptyMap(), Collections.emptyMap(),
+                    Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), 0L);
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * @return why the reload was rejected, or null on success.
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * @return parser warnings; non-empty on success only for forced reloads.
+         */
+        public List<String> getWarnings() {
+            return warnings;
+        }
+
+        /**
+         * @return the freshly read config file.
+         */
+        public YamlConfiguration getConfig() {
+            return config;
+        }
+
+        /**
+         * @return the new, fully built snapshot.
+         */
+        public SpecialIndex getIndex() {
+            return index;
+        }
+
+        /**
+         * @return sections of specials with a non-built-in trigger type, parsed again from
+         *         memory when a trigger source registers later.
+         */
+        public Map<String, Map<String, ConfigurationSection>> getSourceTriggerSections() {
+            return sourceTriggerSections;
+        }
+
+        public Map<String, byte[]> getFingerprints() {
+            return fingerprints;
+        }
+
+        public List<String> getAdded() {
+            return added;
+        }
+
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        public List<String> getChanged() {
+            return changed;
+        }
+
+        /**
+         * @return time spent reading, parsing and indexing off the main thread.
+         */
+        public long getBuildNanos() {
+            return buildNanos;
+        }
+    }
+}
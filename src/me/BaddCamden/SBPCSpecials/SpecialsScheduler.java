@@ -0,0 +1,29 @@
+package me.BaddCamden.SBPCSpecials;
+
+/**
+ * Main-thread task scheduling used by the specials engine.
+ *
+ * Delays and periods are in server ticks (20 per second).
+ */
+public interface SpecialsScheduler {
+
+    /**
+     * Handle to a scheduled task.
+     */
+    interface Task {
+        /**
+         * Stop the task; further runs are skipped.
+         */
+        void cancel();
+    }
+
+    /**
+     * Run a task once after the delay.
+     */
+    Task runLater(Runnable task, long delayTicks);
+
+    /**
+     * Run a task repeatedly until cancelled.
+     */
+    Task runRepeating(Runnable task, long delayTicks, long periodTicks);
+}
@@ -0,0 +1,56 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Stored as a single "theoretical arrival time" (the generic cell rate
+ * algorithm): every granted token pushes it one interval into the future, and a
+ * request is denied while it is further ahead of now than the burst allows. One
+ * {@link AtomicLong} replaces the token count and refill timestamp, so
+ * {@link #tryAcquire(long)} is a single compare-and-set in the common case.
+ * Times are {@link System#nanoTime()}-style values and only compared by
+ * difference.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param limit    rate and burst of the bucket
+     * @param nowNanos current time; the bucket starts full
+     */
+    public TokenBucket(SpecialDefinition.RateLimit limit, long nowNanos) {
+        this.intervalNanos = Math.max(1L, limit.getIntervalNanos());
+        this.toleranceNanos = (limit.getBurst() - 1L) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token if available.
+     *
+     * @return true if the activation is within the limit
+     */
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - nowNanos > 0L ? arrival : nowNanos;
+            if (start - nowNanos > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket has refilled completely, i.e. forgetting it changes nothing.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0L;
+    }
+}
@@ -0,0 +1,228 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Registers event listeners per trigger source, only while the loaded specials
+ * need them.
+ *
+ * An event nobody listens to is never dispatched to this plugin, which matters
+ * for high-frequency events such as item pickups and player interaction.
+ * {@link #update(Set)} is called after every config load or reload with the
+ * sources the new snapshot requires. {@link TriggerSource}s bind their handlers
+ * under their id and are switched the same way by {@link #updateTriggerSources(Set)}.
+ * Main-thread only.
+ */
+public class TriggerListeners {
+
+    /**
+     * Groups of events that are registered and unregistered together.
+     */
+    public enum Source {
+        ENTITY_DEATH,
+        ENTITY_PICKUP,
+        HAS_ITEM,
+        UNLOCK_ENTRY,
+        POTION_EFFECT,
+        SECTION_PROGRESS,
+        SPAWN_REASON,
+        DAMAGE_ATTRIBUTION
+    }
+
+    private final Plugin plugin;
+    private final Map<Source, List<Binding>> bindings = new EnumMap<>(Source.class);
+    private final Map<Source, Listener> registered = new EnumMap<>(Source.class);
+    private final Map<String, List<Binding>> sourceBindings = new HashMap<>();
+    private final Map<String, Listener> sourcesRegistered = new HashMap<>();
+
+    /**
+     * @param plugin plugin the listeners are registered for
+     */
+    public TriggerListeners(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Bind a handler for one event type to a source. Cancelled events are skipped.
+     */
+    public <E extends Event> void bind(Source source, Class<E> eventType, Consumer<? super E> handler) {
+        bindings.computeIfAbsent(source, k -> new ArrayList<>()).add(new Binding(eventType, handler));
+    }
+
+    /**
+     * Start binding a trigger source's handlers; a source is bound once until {@link #unbind(String)}.
+     */
+    public void bindTriggerSource(String sourceId) {
+        sourceBindings.putIfAbsent(sourceId, new ArrayList<>());
+    }
+
+    /**
+     * @return true if the trigger source's handlers have been bound.
+     */
+    public boolean isBound(String sourceId) {
+        return sourceBindings.containsKey(sourceId);
+    }
+
+    /**
+     * Bind a handler for one event type to a trigger source. Cancelled events are skipped.
+     */
+    public <E extends Event> void bind(String sourceId, Class<E> eventType, Consumer<? super E> handler) {
+        sourceBindings.computeIfAbsent(sourceId, k -> new ArrayList<>()).add(new Binding(eventType, handler));
+    }
+
+    /**
+     * Unregister and forget a trigger source's handlers, e.g. after the source was unregistered.
+     */
+    public void unbind(String sourceId) {
+        Listener key = sourcesRegistered.remove(sourceId);
+        if (key != null) {
+            HandlerList.unregisterAll(key);
+        }
+        sourceBindings.remove(sourceId);
+    }
+
+    /**
+     * @return the specials-driven sources the snapshot needs listeners for.
+     */
+    public static EnumSet<Source> requiredBy(SpecialIndex specials) {
+        EnumSet<Source> sources = EnumSet.noneOf(Source.class);
+        for (SpecialDefinition def : specials.getSpecialsById().values()) {
+            switch (def.getTrigger().getType()) {
+                case ENTITY_DEATH -> {
+                    sources.add(Source.ENTITY_DEATH);
+                    if (def.getTrigger().getSpawnReasons() != null) {
+                        sources.add(Source.SPAWN_REASON);
+                    }
+                    if (!def.getTrigger().isKillerMustBePlayer()) {
+                        sources.add(Source.DAMAGE_ATTRIBUTION);
+                    }
+                }
+                case ENTITY_PICKUP -> {
+                    if (def.getTrigger().getItemType() != null) {
+                        sources.add(Source.ENTITY_PICKUP);
+                    }
+                }
+                case HAS_ITEM -> {
+                    if (def.getTrigger().getItemType() != null) {
+                        sources.add(Source.HAS_ITEM);
+                    }
+                }
+                case UNLOCK_ENTRY -> {
+                    if (def.getTrigger().getEntryId() != null && !def.getTrigger().getEntryId().isEmpty()) {
+                        sources.add(Source.UNLOCK_ENTRY);
+                    }
+                }
+            }
+            if (def.getPotionRequirement() != null) {
+                sources.add(Source.POTION_EFFECT);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Register listeners for newly required sources and unregister those no longer needed.
+     */
+    public void update(Set<Source> required) {
+        for (Source source : Source.values()) {
+            boolean active = registered.containsKey(source);
+            if (required.contains(source) && !active) {
+                register(source);
+            } else if (!required.contains(source) && active) {
+                HandlerList.unregisterAll(registered.remove(source));
+            }
+        }
+    }
+
+    /**
+     * Register handlers of newly required trigger sources and unregister those no longer needed.
+     */
+    public void updateTriggerSources(Set<String> required) {
+        for (String sourceId : new ArrayList<>(sourcesRegistered.keySet())) {
+            if (!required.contains(sourceId)) {
+                HandlerList.unregisterAll(sourcesRegistered.remove(sourceId));
+            }
+        }
+        for (String sourceId : required) {
+            List<Binding> list = sourceBindings.get(sourceId);
+            if (list != null && !sourcesRegistered.containsKey(sourceId)) {
+                sourcesRegistered.put(sourceId, register(list));
+            }
+        }
+    }
+
+    /**
+     * Unregister everything, e.g. on disable.
+     */
+    public void clear() {
+        update(Collections.emptySet());
+        updateTriggerSources(Collections.emptySet());
+    }
+
+    /**
+     * @return sources that currently have listeners registered.
+     */
+    public Set<Source> getActive() {
+        return registered.isEmpty() ? EnumSet.noneOf(Source.class) : EnumSet.copyOf(registered.keySet());
+    }
+
+    /**
+     * @return trigger sources that currently have handlers registered.
+     */
+    public Set<String> getActiveTriggerSources() {
+        return new TreeSet<>(sourcesRegistered.keySet());
+    }
+
+    private void register(Source source) {
+        List<Binding> list = bindings.get(source);
+        if (list == null) {
+            return;
+        }
+        registered.put(source, register(list));
+    }
+
+    private Listener register(List<Binding> list) {
+        // Fresh key object per registration so unregisterAll removes exactly this source.
+        Listener key = new Listener() {
+        };
+        for (Binding binding : list) {
+            Bukkit.getPluginManager().registerEvent(binding.eventType, key, EventPriority.NORMAL,
+                    (listener, event) -> binding.dispatch(event), plugin, true);
+        }
+        return key;
+    }
+
+    private static final class Binding {
+        final Class<? extends Event> eventType;
+        final Consumer<Event> handler;
+
+        @SuppressWarnings("unchecked")
+        <E extends Event> Binding(Class<E> eventType, Consumer<? super E> handler) {
+            this.eventType = eventType;
+            this.handler = event -> handler.accept((E) event);
+        }
+
+        void dispatch(Event event) {
+            // Executors also receive subclasses sharing the handler list.
+            if (eventType.isInstance(event)) {
+                handler.accept(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+/**
+ * A pluggable trigger type, registered through
+ * {@link SpecialsAPI#registerTriggerSource(org.bukkit.plugin.Plugin, TriggerSource)}.
+ *
+ * A source owns its part of the pipeline: it compiles a special's trigger
+ * section into a string key, and its event handlers turn events into keys and
+ * fire the specials indexed under them. Specials using a source are indexed per
+ * source and key, and its handlers are only registered while a loaded special
+ * uses it, so a source never adds work to the events of other trigger types.
+ * Handlers should call {@link Context#isWatched(String)} before doing anything
+ * costly with an event.
+ */
+public interface TriggerSource {
+
+    /**
+     * @return the trigger type as written in config ({@code trigger.type}), e.g. {@code CRAFT_ITEM};
+     *         compared case-insensitively and must not be a built-in {@link TriggerType}
+     */
+    String getId();
+
+    /**
+     * Compile a trigger section into the key events are matched against.
+     * Called on parser threads, so it must be thread-safe and must not touch the world.
+     *
+     * @return the key, or null if the section is invalid (log the reason); the special is skipped
+     */
+    String parseKey(String specialId, ConfigurationSection trigger, Logger logger);
+
+    /**
+     * Bind the source's event handlers. Called once, when a loaded special first uses the source.
+     */
+    void bind(Context context);
+
+    /**
+     * What a source's handlers can do, backed by the active specials snapshot.
+     */
+    interface Context {
+
+        /**
+         * Handle an event type while the source is in use. Cancelled events are skipped.
+         */
+        <E extends Event> void on(Class<E> eventType, Consumer<? super E> handler);
+
+        /**
+         * @return true if a loaded special uses the key; a single hash lookup.
+         */
+        boolean isWatched(String key);
+
+        /**
+         * Evaluate the specials indexed under the key for the player.
+         *
+         * @param entity event entity passed on to handlers, or null
+         */
+        void fire(Player player, String key, Entity entity);
+    }
+}
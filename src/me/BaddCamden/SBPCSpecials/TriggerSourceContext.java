@@ -0,0 +1,49 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.function.Consumer;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+/**
+ * {@link TriggerSource.Context} of one source: binds its handlers in
+ * {@link TriggerListeners} under the source id, times them as
+ * {@link SpecialsMetrics.EventSource#TRIGGER_SOURCE} and routes keys to the engine.
+ */
+final class TriggerSourceContext implements TriggerSource.Context {
+
+    private final String sourceId;
+    private final TriggerListeners listeners;
+    private final SpecialsEngine engine;
+    private final SpecialsMetrics metrics;
+
+    TriggerSourceContext(String sourceId, TriggerListeners listeners, SpecialsEngine engine, SpecialsMetrics metrics) {
+        this.sourceId = sourceId;
+        this.listeners = listeners;
+        this.engine = engine;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <E extends Event> void on(Class<E> eventType, Consumer<? super E> handler) {
+        listeners.bind(sourceId, eventType, (E event) -> {
+            long start = System.nanoTime();
+            try {
+                handler.accept(event);
+            } finally {
+                metrics.recordEvent(SpecialsMetrics.EventSource.TRIGGER_SOURCE, System.nanoTime() - start);
+            }
+        });
+    }
+
+    @Override
+    public boolean isWatched(String key) {
+        return key != null && engine.getSpecials().isTriggerSourceKeyWatched(sourceId, key);
+    }
+
+    @Override
+    public void fire(Player player, String key, Entity entity) {
+        engine.handleSourceTrigger(player.getUniqueId(), sourceId, key, entity);
+    }
+}
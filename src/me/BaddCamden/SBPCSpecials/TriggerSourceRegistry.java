@@ -0,0 +1,114 @@
+package me.BaddCamden.SBPCSpecials;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Registered {@link TriggerSource}s by upper-case id.
+ *
+ * Thread-safe: the parser looks sources up from its worker threads while
+ * plugins register and unregister on the main thread.
+ */
+final class TriggerSourceRegistry {
+
+    private final Map<String, Registration> sources = new ConcurrentHashMap<>();
+
+    /**
+     * A registered source and the plugin that owns it (null for built-in sources).
+     */
+    static final class Registration {
+        private final Plugin owner;
+        private final TriggerSource source;
+
+        Registration(Plugin owner, TriggerSource source) {
+            this.owner = owner;
+            this.source = source;
+        }
+    }
+
+    /**
+     * @return the normalized id of the source
+     * @throws IllegalArgumentException if the id is blank, a built-in trigger type or already taken
+     */
+    String register(Plugin owner, TriggerSource source) {
+        if (source == null || source.getId() == null || source.getId().trim().isEmpty()) {
+            throw new IllegalArgumentException("Trigger source id is required");
+        }
+        String id = normalize(source.getId());
+        for (TriggerType type : TriggerType.values()) {
+            if (type.name().equals(id)) {
+                throw new IllegalArgumentException("Trigger source id " + id + " is a built-in trigger type");
+            }
+        }
+        Registration previous = sources.putIfAbsent(id, new Registration(owner, source));
+        if (previous != null) {
+            throw new IllegalArgumentException("Trigger source " + id + " is already registered by "
+                    + (previous.owner != null ? previous.owner.getName() : "SBPCSpecials"));
+        }
+        return id;
+    }
+
+    /**
+     * @return the source registered under the id (any case), or null
+     */
+    TriggerSource get(String id) {
+        Registration registration = id != null ? sources.get(normalize(id)) : null;
+        return registration != null ? registration.source : null;
+    }
+
+    /**
+     * @return true if the id names a source that ships with SBPCSpecials.
+     */
+    boolean isBuiltin(String id) {
+        Registration registration = id != null ? sources.get(normalize(id)) : null;
+        return registration != null && registration.owner == null;
+    }
+
+    /**
+     * @return true if the source was registered.
+     */
+    boolean unregister(String id) {
+        return sources.remove(normalize(id)) != null;
+    }
+
+    /**
+     * Remove every source owned by the plugin.
+     *
+     * @return ids of the removed sources
+     */
+    List<String> unregisterAll(Plugin owner) {
+        List<String> removed = new ArrayList<>();
+        sources.entrySet().removeIf(entry -> {
+            if (owner != null && owner.equals(entry.getValue().owner)) {
+                removed.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        return removed;
+    }
+
+    /**
+     * Remove the built-in sources, e.g. when SBPCSpecials disables. Sources of other plugins
+     * stay until their owner disables, since they only register once.
+     */
+    void unregisterBuiltins() {
+        sources.values().removeIf(registration -> registration.owner == null);
+    }
+
+    /**
+     * Remove sources whose owner disabled while SBPCSpecials was not listening.
+     */
+    void unregisterDisabledOwners() {
+        sources.values().removeIf(registration -> registration.owner != null && !registration.owner.isEnabled());
+    }
+
+    static String normalize(String id) {
+        return id.trim().toUpperCase(Locale.ROOT);
+    }
+}
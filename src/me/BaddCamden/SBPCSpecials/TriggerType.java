@@ -3,5 +3,10 @@ package me.BaddCamden.SBPCSpecials;
 public enum TriggerType {
     ENTITY_DEATH,
     ENTITY_PICKUP,
-    UNLOCK_ENTRY
+    HAS_ITEM,
+    UNLOCK_ENTRY,
+    /**
+     * Provided by a registered {@link TriggerSource}; see {@link SpecialDefinition.TriggerDefinition#getSourceId()}.
+     */
+    CUSTOM
 }